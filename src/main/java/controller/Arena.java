@@ -0,0 +1,87 @@
+package controller;
+
+import static model.ShipType.BATTLESHIP;
+import static model.ShipType.CARRIER;
+import static model.ShipType.DESTROYER;
+import static model.ShipType.SUBMARINE;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import model.ShipType;
+
+/**
+ * Record of the board size and fleet a tournament's games are played with.
+ *
+ * @param height         - The height of both boards.
+ * @param width          - The width of both boards.
+ * @param specifications - A map of ship type to the number of occurrences of each ship in both
+ *                         fleets.
+ */
+public record Arena(int height, int width, Map<ShipType, Integer> specifications) {
+
+  private static final ShipType[] SHIP_TYPES = {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
+
+  /**
+   * Makes every arena with a height and width in the given range, each once with one ship of
+   * every type and once with the largest fleet the rules allow. The largest fleet adds ships one
+   * at a time, smallest type first, to one ship of every type until it has as many ships as the
+   * board's smaller side.
+   *
+   * @param minSize - The smallest height and width, at least 6.
+   * @param maxSize - The largest height and width, at most 15.
+   * @return - The arenas, by height, then width, then fleet.
+   */
+  public static List<Arena> grid(int minSize, int maxSize) {
+    List<Arena> arenas = new ArrayList<>();
+
+    for (int height = minSize; height <= maxSize; height++) {
+      for (int width = minSize; width <= maxSize; width++) {
+        arenas.add(new Arena(height, width, fleet(4)));
+        int largest = Math.min(height, width);
+        if (largest > 4) {
+          arenas.add(new Arena(height, width, fleet(largest)));
+        }
+      }
+    }
+
+    return arenas;
+  }
+
+  /**
+   * Gets the fleet of this arena written as the counts of carriers, battleships, destroyers and
+   * submarines, joined by dashes.
+   *
+   * @return - The fleet, such as "1-1-2-2".
+   */
+  public String fleetLabel() {
+    StringBuilder label = new StringBuilder();
+    for (ShipType type : SHIP_TYPES) {
+      if (label.length() > 0) {
+        label.append('-');
+      }
+      label.append(specifications.getOrDefault(type, 0));
+    }
+    return label.toString();
+  }
+
+  /**
+   * Makes a fleet of one ship of every type plus extra ships, smallest type first.
+   *
+   * @param ships - The number of ships in the fleet, at least 4.
+   * @return - The fleet.
+   */
+  private static Map<ShipType, Integer> fleet(int ships) {
+    Map<ShipType, Integer> fleet = new EnumMap<>(ShipType.class);
+    for (ShipType type : SHIP_TYPES) {
+      fleet.put(type, 1);
+    }
+    for (int extra = 0; extra < ships - SHIP_TYPES.length; extra++) {
+      ShipType type = SHIP_TYPES[SHIP_TYPES.length - 1 - extra % SHIP_TYPES.length];
+      fleet.merge(type, 1, Integer::sum);
+    }
+    return fleet;
+  }
+
+}
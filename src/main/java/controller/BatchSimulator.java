@@ -0,0 +1,276 @@
+package controller;
+
+import static model.ShipType.BATTLESHIP;
+import static model.ShipType.CARRIER;
+import static model.ShipType.DESTROYER;
+import static model.ShipType.SUBMARINE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import model.Board;
+import model.Coord;
+import model.GameRecord;
+import model.GameResult;
+import model.PlacementStrategy;
+import model.Ship;
+import model.ShipType;
+
+/**
+ * Plays a batch of games between two randomly shooting AI players in lockstep. The state of every
+ * game lives in flat primitive arrays indexed by game, rather than in boards, ships and coords,
+ * and each phase of a turn is one loop over every game still running: both sides take their
+ * shots, then both sides' shots are resolved against the other's fleet, then games with a sunk
+ * fleet are retired.
+ *
+ * <p>The games are the games a {@link SelfPlayEngine} plays between two players made by
+ * {@code PlayerFactory.of("random", ...)}: each fleet is placed by the same placement strategy
+ * from the same seed, and the shots continue the same random sequence, so every game gives the
+ * same record in both engines. The self-play engine in turn plays a game turn for turn as
+ * {@link BattleshipSalvo#run()} does, and gives it the same result.
+ *
+ * <p>State for a side of a game is at slot side * games + game, and per-cell and per-ship state
+ * at slot * cells + cell and slot * ships + ship.
+ */
+public class BatchSimulator {
+
+  private static final ShipType[] SHIP_TYPES = {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
+
+  private final int height;
+  private final int width;
+  private final int cells;
+  private final List<ShipType> fleet = new ArrayList<>();
+  private final int ships;
+  private final PlacementStrategy[] placements;
+  private final Board scratch = new Board(); // empty board the fleets are placed on
+
+  private int games;
+  private long[] random = new long[0]; // random state of each side
+  private int[] pool = new int[0]; // cells not yet shot at, drawn ones kept past the end
+  private int[] poolSize = new int[0];
+  private byte[] occupant = new byte[0]; // ship index + 1 on each cell of a side's board, or 0
+  private boolean[] struck = new boolean[0]; // whether a cell of a side's board has been hit
+  private int[] health = new int[0]; // cells of each ship not yet hit
+  private int[] afloat = new int[0]; // ships of each side not yet sunk
+  private int[] volley = new int[0]; // cells each side shot at this turn
+  private int[] volleySize = new int[0];
+  private int[] shots = new int[0]; // shots each side has fired
+  private int[] hits = new int[0]; // shots of each side that hit
+  private int[] turns = new int[0];
+  private int[] live = new int[0]; // games still running, in no order
+  private int liveCount;
+
+  /**
+   * Creates a simulator for games on boards of the given size with the given fleet.
+   *
+   * @param height         - The height of both boards.
+   * @param width          - The width of both boards.
+   * @param specifications - A map of ship type to the number of occurrences of each ship in both
+   *                         fleets.
+   * @param first          - Places the first player's fleet.
+   * @param second         - Places the second player's fleet.
+   */
+  public BatchSimulator(int height, int width, Map<ShipType, Integer> specifications,
+                        PlacementStrategy first, PlacementStrategy second) {
+    this.height = height;
+    this.width = width;
+    this.cells = height * width;
+    for (ShipType type : SHIP_TYPES) {
+      for (int i = 0; i < specifications.getOrDefault(type, 0); i++) {
+        fleet.add(type);
+      }
+    }
+    this.ships = fleet.size();
+    this.placements = new PlacementStrategy[] {first, second};
+  }
+
+  /**
+   * Plays one game from each of the given seeds, all in lockstep.
+   *
+   * @param seeds - The seed of each game.
+   * @return - The record of each game, in the order of the seeds.
+   * @throws IllegalStateException - If a fleet cannot be placed.
+   */
+  public GameRecord[] play(long[] seeds) throws IllegalStateException {
+    setup(seeds);
+
+    while (liveCount > 0) {
+      takeShots();
+      reportDamage();
+      retireSunk();
+    }
+
+    GameRecord[] records = new GameRecord[games];
+    for (int game = 0; game < games; game++) {
+      records[game] = record(game, seeds[game]);
+    }
+    return records;
+  }
+
+  /**
+   * Sizes the arrays for the given number of games, reusing them when they are large enough, and
+   * places both fleets of every game.
+   *
+   * @param seeds - The seed of each game.
+   * @throws IllegalStateException - If a fleet cannot be placed.
+   */
+  private void setup(long[] seeds) throws IllegalStateException {
+    games = seeds.length;
+    int slots = 2 * games;
+    if (random.length < slots) {
+      random = new long[slots];
+      pool = new int[slots * cells];
+      poolSize = new int[slots];
+      occupant = new byte[slots * cells];
+      struck = new boolean[slots * cells];
+      health = new int[slots * ships];
+      afloat = new int[slots];
+      volley = new int[slots * ships];
+      volleySize = new int[slots];
+      shots = new int[slots];
+      hits = new int[slots];
+      turns = new int[games];
+      live = new int[games];
+    }
+    Arrays.fill(occupant, 0, slots * cells, (byte) 0);
+    Arrays.fill(struck, 0, slots * cells, false);
+
+    for (int game = 0; game < games; game++) {
+      place(game, seeds[game]);
+      place(games + game, seeds[game] ^ SelfPlayEngine.SECOND_SEED);
+      turns[game] = 0;
+      live[game] = game;
+    }
+    liveCount = games;
+  }
+
+  /**
+   * Places the fleet of one side of a game and fills its shot pool, leaving its random state
+   * where a player seeded the same way would be after placing its fleet.
+   *
+   * @param slot - The side of the game.
+   * @param seed - The seed of the side.
+   * @throws IllegalStateException - If the fleet cannot be placed.
+   */
+  private void place(int slot, long seed) throws IllegalStateException {
+    TrackedRandom sideRandom = new TrackedRandom(seed);
+    scratch.changeDimensions(height, width);
+    List<Ship> placed = placements[slot / games].place(scratch, fleet, sideRandom);
+    if (placed == null) {
+      throw new IllegalStateException("A fleet of " + ships + " ships cannot be placed on a "
+          + height + "x" + width + " board");
+    }
+
+    for (int ship = 0; ship < ships; ship++) {
+      for (Coord coord : placed.get(ship).getShipCoords()) {
+        occupant[slot * cells + coord.getY() * width + coord.getX()] = (byte) (ship + 1);
+      }
+      health[slot * ships + ship] = placed.get(ship).getShipCoords().size();
+    }
+    afloat[slot] = ships;
+    random[slot] = sideRandom.state();
+    for (int cell = 0; cell < cells; cell++) {
+      pool[slot * cells + cell] = cell;
+    }
+    poolSize[slot] = cells;
+    shots[slot] = 0;
+    hits[slot] = 0;
+  }
+
+  /**
+   * Has both sides of every running game draw one shot per ship afloat from their pools, as
+   * {@code RandomShotStrategy} does.
+   */
+  private void takeShots() {
+    for (int i = 0; i < liveCount; i++) {
+      for (int slot = live[i]; slot < 2 * games; slot += games) {
+        int base = slot * cells;
+        int size = poolSize[slot];
+        int count = afloat[slot];
+        int out = slot * ships;
+
+        if (count < size) {
+          for (int k = 0; k < count; k++) {
+            int randomIndex = TrackedRandom.nextInt(random, slot, size);
+            int cell = pool[base + randomIndex];
+            size--;
+            pool[base + randomIndex] = pool[base + size];
+            pool[base + size] = cell;
+            volley[out + k] = cell;
+          }
+        } else {
+          System.arraycopy(pool, base, volley, out, size);
+          count = size;
+          size = 0;
+        }
+
+        poolSize[slot] = size;
+        volleySize[slot] = count;
+        shots[slot] += count;
+      }
+    }
+  }
+
+  /**
+   * Resolves both sides' volleys of every running game against the other side's fleet, sinking
+   * a ship when its last cell is hit.
+   */
+  private void reportDamage() {
+    for (int i = 0; i < liveCount; i++) {
+      int game = live[i];
+      for (int attacker = game; attacker < 2 * games; attacker += games) {
+        int defender = attacker < games ? attacker + games : attacker - games;
+        int base = defender * cells;
+        int out = attacker * ships;
+
+        for (int k = 0; k < volleySize[attacker]; k++) {
+          int cell = base + volley[out + k];
+          int ship = occupant[cell];
+          if (ship != 0) {
+            hits[attacker]++;
+            if (!struck[cell]) {
+              struck[cell] = true;
+              if (--health[defender * ships + ship - 1] == 0) {
+                afloat[defender]--;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts the turn of every running game, and retires the games in which a fleet was sunk or
+   * that ran out of turns.
+   */
+  private void retireSunk() {
+    for (int i = 0; i < liveCount; i++) {
+      int game = live[i];
+      turns[game]++;
+      if (afloat[game] == 0 || afloat[games + game] == 0 || turns[game] >= cells) {
+        live[i--] = live[--liveCount];
+      }
+    }
+  }
+
+  /**
+   * Makes the record of a finished game.
+   *
+   * @param game - The game.
+   * @param seed - The seed of the game.
+   * @return - The record, seen from the first player.
+   */
+  private GameRecord record(int game, long seed) {
+    int second = games + game;
+    boolean firstSunk = afloat[game] == 0;
+    boolean secondSunk = afloat[second] == 0;
+    GameResult result = firstSunk == secondSunk ? GameResult.TIE
+        : secondSunk ? GameResult.WIN : GameResult.LOSE;
+
+    return new GameRecord(seed, height, width, result, turns[game], shots[game], hits[game],
+        shots[second], hits[second], afloat[game], afloat[second]);
+  }
+
+}
@@ -5,6 +5,7 @@ import static model.ShipType.CARRIER;
 import static model.ShipType.DESTROYER;
 import static model.ShipType.SUBMARINE;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,7 @@ import model.AbstractPlayer;
 import model.ArtificialPlayer;
 import model.Board;
 import model.Coord;
+import model.GameResult;
 import model.RealPlayer;
 import model.Ship;
 import model.ShipType;
@@ -31,6 +33,9 @@ public class BattleshipSalvo implements Controller {
   private ShipType[] shipTypes;
   private Random random1;
   private Random random2;
+  private long seed1;
+  private long seed2;
+  private GameLogWriter log;
   private Scanner sc;
 
   /**
@@ -44,8 +49,11 @@ public class BattleshipSalvo implements Controller {
 
     this.sc = new Scanner(input);
     this.view = new ViewImpl(input, output, sc);
-    this.random1 = new Random();
-    this.random2 = new Random();
+    // seeded from random seeds so that a logged game can be played again
+    this.seed1 = new Random().nextLong();
+    this.seed2 = new Random().nextLong();
+    this.random1 = new Random(seed1);
+    this.random2 = new Random(seed2);
     specifications.put(CARRIER, 0);
     specifications.put(BATTLESHIP, 0);
     specifications.put(DESTROYER, 0);
@@ -64,9 +72,28 @@ public class BattleshipSalvo implements Controller {
    * @param seed2  - Seed for seeding random in real user console player (for testing).
    */
   public BattleshipSalvo(Readable input, Appendable output, int seed1, int seed2) {
+    this(input, output, seed1, seed2, null);
+  }
+
+  /**
+   * Creates a controller object for a game of BattleSalvo in which a console player plays against
+   * an AI player, with seeded randoms, that writes the game to a game log with the AI player as
+   * the first player. If the log cannot be written the game goes on without it.
+   *
+   * @param input  - Readable input, from where input is coming from.
+   * @param output - Appendable output, where the output goes.
+   * @param seed1  - Seed for seeding random in AI player.
+   * @param seed2  - Seed for seeding random in real user console player.
+   * @param log    - Where the game is logged, or null to not log it.
+   */
+  public BattleshipSalvo(Readable input, Appendable output, long seed1, long seed2,
+                         GameLogWriter log) {
     this(input, output);
+    this.seed1 = seed1;
+    this.seed2 = seed2;
     this.random1 = new Random(seed1);
     this.random2 = new Random(seed2);
+    this.log = log;
   }
 
   /**
@@ -81,10 +108,17 @@ public class BattleshipSalvo implements Controller {
     Board realBoard = new Board(height, width);
     AbstractPlayer aiPlayer = new ArtificialPlayer("AI", view, aiBoard, realBoard, random1);
     AbstractPlayer realUser = new RealPlayer("You", view, realBoard, aiBoard, random2);
-    List<Ship> aiShips = aiPlayer.setup(height, width, specifications);
-    List<Ship> realShips = realUser.setup(height, width, specifications);
+    List<Ship> aiFleet = aiPlayer.setup(height, width, specifications);
+    List<Ship> realFleet = realUser.setup(height, width, specifications);
+    if (log != null) {
+      try {
+        log.start(seed1, seed2, height, width, specifications, aiFleet, realFleet);
+      } catch (IOException e) {
+        stopLogging();
+      }
+    }
 
-    while (!(isGameOver(aiShips) || (isGameOver(realShips)))) {
+    while (!(aiPlayer.isFleetSunk() || realUser.isFleetSunk())) {
 
       //aiBoard.displayBoard(aiPlayer, view);
       aiBoard.displayOpponentBoard(aiPlayer, view);
@@ -100,9 +134,18 @@ public class BattleshipSalvo implements Controller {
       realUser.successfulHits(hitShipsOnAiBoard);
       aiPlayer.successfulHits(hitShipsOnUserBoard);
 
+      if (log != null) {
+        try {
+          log.turn(shotCoordsOnUserBoard, shotCoordsOnAiBoard, hitShipsOnUserBoard,
+              hitShipsOnAiBoard);
+        } catch (IOException e) {
+          stopLogging();
+        }
+      }
+
     }
 
-    endBattleSalvo(aiPlayer, realUser, isGameOver(aiShips), isGameOver(realShips));
+    endBattleSalvo(aiPlayer, realUser, aiPlayer.isFleetSunk(), realUser.isFleetSunk());
 
   }
 
@@ -116,6 +159,14 @@ public class BattleshipSalvo implements Controller {
    */
   private void endBattleSalvo(
       AbstractPlayer ai, AbstractPlayer user, boolean aiLost, boolean userLost) {
+    if (log != null) {
+      try {
+        log.end(aiLost == userLost ? GameResult.TIE : aiLost ? GameResult.LOSE : GameResult.WIN);
+      } catch (IOException e) {
+        stopLogging();
+      }
+    }
+
     if (aiLost && userLost) {
       view.displayString("\n\ntie!\n");
     } else if (aiLost) {
@@ -126,23 +177,11 @@ public class BattleshipSalvo implements Controller {
   }
 
   /**
-   * Whether the BattleSalvo game is over or not for the given list of ships.
-   *
-   * @param ships - A list of ships.
-   * @return - boolean that is returned based on if all the ships in a list of ships are sunk
-   *         or if there is at least 1 ship that is not sunk.
+   * Tells the user the game log could not be written, and stops writing it.
    */
-  private boolean isGameOver(List<Ship> ships) {
-    boolean gameOver = true;
-
-    for (Ship s : ships) {
-      if (!s.getSunk()) {
-        gameOver = false;
-        break;
-      }
-    }
-
-    return gameOver;
+  private void stopLogging() {
+    view.displayString("\nThe game log could not be written; this game will not be logged.\n");
+    log = null;
   }
 
   /**
@@ -0,0 +1,283 @@
+package controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import json.JsonCodec;
+import json.MessageDecoder;
+
+/**
+ * Carries the messages of a game between a client and a server over channels, one json message
+ * per line. Bytes are read into and written from direct buffers, so they go between the channels
+ * and the json code without being copied onto the heap.
+ *
+ * <p>Each line that arrives is a frame, and is handed whole to a non-blocking parser, so a
+ * message is only decoded once all of it has arrived and reading it never waits on the channel.
+ * A response is written into the output buffer and sent when the output is flushed, so each
+ * response reaches the channel in one write however many pieces it is written in.
+ *
+ * <p>The channels may be blocking, in which case {@link #receive()} waits for the next message,
+ * or non-blocking, in which case it returns as soon as no whole message has arrived, so that one
+ * thread can serve many transports.
+ */
+public final class ChannelTransport implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final ReadableByteChannel source;
+  private final WritableByteChannel sink;
+  private final JsonParser parser;
+  private final ByteBufferFeeder feeder;
+  private final MessageDecoder decoder;
+  private final Output output = new Output();
+  private ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private ByteBuffer frame = input.duplicate();
+  private ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private int start; // index in the input of the first byte not yet framed
+  private int scanned; // index in the input of the first byte not yet searched for a newline
+  private boolean ended;
+
+  /**
+   * Creates a transport over one channel, such as a socket channel.
+   *
+   * @param channel - The channel messages are read from and written to.
+   * @throws IOException - If a parser cannot be made.
+   */
+  public ChannelTransport(ByteChannel channel) throws IOException {
+    this(channel, channel);
+  }
+
+  /**
+   * Creates a transport that reads messages from one channel and writes them to another.
+   *
+   * @param source - The channel messages are read from.
+   * @param sink   - The channel messages are written to.
+   * @throws IOException - If a parser cannot be made.
+   */
+  public ChannelTransport(ReadableByteChannel source, WritableByteChannel sink)
+      throws IOException {
+    this.source = source;
+    this.sink = sink;
+    this.parser = JsonCodec.mapper().getFactory().createNonBlockingByteBufferParser();
+    this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    this.decoder = new MessageDecoder(parser);
+  }
+
+  /**
+   * Decodes the next message, reading from the source as needed. On a blocking source this waits
+   * until a whole message has arrived; on a non-blocking source it returns false as soon as none
+   * has.
+   *
+   * @return - true if a message was decoded, and can be read from {@link #message()}; false on a
+   *         blocking source means the peer closed it after its last message.
+   * @throws IOException - If the source cannot be read, the message is not valid, or the peer
+   *                     closed the source in the middle of a message.
+   */
+  public boolean receive() throws IOException {
+    while (true) {
+      int end = newline();
+      if (end >= 0) {
+        int frameStart = start;
+        int frameEnd = trim(frameStart, end);
+        start = end + 1;
+        scanned = start;
+        if (frameEnd > frameStart) {
+          decode(frameStart, frameEnd);
+          return true;
+        }
+      } else if (ended) {
+        int frameStart = start;
+        int frameEnd = trim(frameStart, input.position());
+        start = input.position();
+        scanned = start;
+        if (frameEnd > frameStart) {
+          decode(frameStart, frameEnd); // the last message may have no newline
+          return true;
+        }
+        return false;
+      } else {
+        makeRoom();
+        int read = source.read(input);
+        if (read < 0) {
+          ended = true;
+        } else if (read == 0) {
+          return false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the decoder that holds the last message received.
+   *
+   * @return - The decoder.
+   */
+  public MessageDecoder message() {
+    return decoder;
+  }
+
+  /**
+   * Gets the stream responses are written to. Written bytes are kept until the stream is flushed,
+   * and then sent in one write. On a non-blocking sink the bytes the sink does not take are kept
+   * and sent on the next flush.
+   *
+   * @return - The stream.
+   */
+  public OutputStream output() {
+    return output;
+  }
+
+  /**
+   * Whether the peer has closed the source and every message it sent has been received.
+   *
+   * @return - true if no more messages will arrive.
+   */
+  public boolean ended() {
+    return ended && start == input.position();
+  }
+
+  /**
+   * Whether bytes written to the output are waiting to be sent.
+   *
+   * @return - true if a flush left bytes unsent.
+   */
+  public boolean flushPending() {
+    return pending.position() > 0;
+  }
+
+  /**
+   * Closes both channels.
+   *
+   * @throws IOException - If a channel cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      parser.close();
+      source.close();
+    } finally {
+      sink.close();
+    }
+  }
+
+  /**
+   * Finds the next newline in the bytes that have arrived.
+   *
+   * @return - Its index in the input, or -1 if none has arrived.
+   */
+  private int newline() {
+    int position = input.position();
+    for (int i = scanned; i < position; i++) {
+      if (input.get(i) == '\n') {
+        return i;
+      }
+    }
+    scanned = position;
+    return -1;
+  }
+
+  /**
+   * Drops the whitespace, such as a carriage return, at the end of a frame.
+   *
+   * @param from - Index in the input of the frame's first byte.
+   * @param to   - Index in the input after the frame's last byte.
+   * @return - Index in the input after the frame's last byte that is not whitespace.
+   */
+  private int trim(int from, int to) {
+    while (to > from && input.get(to - 1) <= ' ') {
+      to--;
+    }
+    return to;
+  }
+
+  /**
+   * Decodes the one message in a frame.
+   *
+   * @param from - Index in the input of the frame's first byte.
+   * @param to   - Index in the input after the frame's last byte.
+   * @throws IOException - If the frame is not one valid message.
+   */
+  private void decode(int from, int to) throws IOException {
+    frame.limit(to).position(from);
+    feeder.feedInput(frame);
+    if (!decoder.next() || !feeder.needMoreInput()) {
+      throw new IOException("A line must hold exactly one message");
+    }
+  }
+
+  /**
+   * Makes room in the input for more bytes: moves the bytes not yet framed to the front, and if
+   * the input is full of them, moves them into an input twice as large.
+   */
+  private void makeRoom() {
+    int position = input.position();
+    if (start > 0) {
+      input.limit(position).position(start);
+      input.compact();
+      scanned -= start;
+      start = 0;
+    }
+    if (!input.hasRemaining()) {
+      ByteBuffer larger = ByteBuffer.allocateDirect(input.capacity() * 2);
+      input.flip();
+      larger.put(input);
+      input = larger;
+      frame = input.duplicate();
+    }
+  }
+
+  /**
+   * The stream responses are written to.
+   */
+  private class Output extends OutputStream {
+
+    @Override
+    public void write(int b) {
+      ensure(1);
+      pending.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      ensure(len);
+      pending.put(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      pending.flip();
+      try {
+        while (pending.hasRemaining()) {
+          if (sink.write(pending) == 0) {
+            break; // a non-blocking sink is full; the rest goes with the next flush
+          }
+        }
+      } finally {
+        pending.compact();
+      }
+    }
+
+    /**
+     * Makes room in the pending bytes.
+     *
+     * @param more - The number of bytes to be written.
+     */
+    private void ensure(int more) {
+      if (pending.remaining() < more) {
+        ByteBuffer larger = ByteBuffer.allocateDirect(
+            Math.max(pending.capacity() * 2, pending.position() + more));
+        pending.flip();
+        larger.put(pending);
+        pending = larger;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,47 @@
+package controller;
+
+import model.StrategyRegistry;
+
+/**
+ * Record of an AI entered into a tournament, by the names of its shot and placement strategies.
+ *
+ * @param shotStrategy      - The name of the strategy choosing its shots.
+ * @param placementStrategy - The name of the strategy placing its fleet.
+ */
+public record Contender(String shotStrategy, String placementStrategy) {
+
+  /**
+   * Parses a contender written as its shot strategy, optionally followed by a colon and its
+   * placement strategy, which is the default placement strategy if left out.
+   *
+   * @param label - The contender, such as "heatmap" or "heatmap:uniform".
+   * @return - The contender.
+   */
+  public static Contender parse(String label) {
+    int colon = label.indexOf(':');
+    if (colon < 0) {
+      return new Contender(label, StrategyRegistry.DEFAULT_PLACEMENT_STRATEGY);
+    }
+    return new Contender(label.substring(0, colon), label.substring(colon + 1));
+  }
+
+  /**
+   * Gets this contender written as its shot strategy, a colon and its placement strategy.
+   *
+   * @return - The label of this contender.
+   */
+  public String label() {
+    return shotStrategy + ":" + placementStrategy;
+  }
+
+  /**
+   * Gets a factory of players with this contender's strategies.
+   *
+   * @return - The factory.
+   * @throws IllegalArgumentException - If either strategy is unknown.
+   */
+  public PlayerFactory factory() throws IllegalArgumentException {
+    return PlayerFactory.of(shotStrategy, placementStrategy);
+  }
+
+}
@@ -0,0 +1,79 @@
+package controller;
+
+/**
+ * Fits Elo-style ratings to the results of a round robin. Ratings are the maximum likelihood fit
+ * of the Bradley-Terry model, in which a player rated d points above another scores
+ * 1 / (1 + 10^(-d / 400)) against it on average, found with the minorization-maximization
+ * iteration. Ties count as half a win, and every pair that met is credited one extra tie, so that
+ * a player that won every game still gets a finite rating.
+ */
+public final class EloRatings {
+
+  /**
+   * The mean of the fitted ratings.
+   */
+  public static final double MEAN_RATING = 1500;
+
+  private static final double SCALE = 400 / Math.log(10);
+  private static final int MAX_ITERATIONS = 10_000;
+  private static final double TOLERANCE = 1e-10;
+
+  private EloRatings() {
+
+  }
+
+  /**
+   * Fits ratings to the given results.
+   *
+   * @param score - score[i][j] is what player i scored against player j: its wins plus half its
+   *              ties.
+   * @param games - games[i][j] is the number of games between players i and j.
+   * @return - The rating of each player.
+   */
+  public static double[] fit(double[][] score, double[][] games) {
+    int players = score.length;
+    double[] strength = new double[players];
+    double[] wins = new double[players];
+
+    for (int i = 0; i < players; i++) {
+      strength[i] = 1;
+      for (int j = 0; j < players; j++) {
+        if (i != j && games[i][j] > 0) {
+          wins[i] += score[i][j] + 0.5;
+        }
+      }
+    }
+
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double change = 0;
+      double logSum = 0;
+      for (int i = 0; i < players; i++) {
+        double denominator = 0;
+        for (int j = 0; j < players; j++) {
+          if (i != j && games[i][j] > 0) {
+            denominator += (games[i][j] + 1) / (strength[i] + strength[j]);
+          }
+        }
+        double next = denominator == 0 ? 1 : wins[i] / denominator;
+        change = Math.max(change, Math.abs(Math.log(next / strength[i])));
+        strength[i] = next;
+        logSum += Math.log(next);
+      }
+      // rescale so the strengths keep a geometric mean of 1
+      double norm = Math.exp(logSum / players);
+      for (int i = 0; i < players; i++) {
+        strength[i] /= norm;
+      }
+      if (change < TOLERANCE) {
+        break;
+      }
+    }
+
+    double[] ratings = new double[players];
+    for (int i = 0; i < players; i++) {
+      ratings[i] = MEAN_RATING + SCALE * Math.log(strength[i]);
+    }
+    return ratings;
+  }
+
+}
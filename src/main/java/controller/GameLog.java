@@ -0,0 +1,271 @@
+package controller;
+
+import static model.CoordStatus.UNKNOWN;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import model.Coord;
+import model.GameResult;
+import model.Ship;
+import model.ShipType;
+
+/**
+ * One game of BattleSalvo as read back from a binary game log written by a
+ * {@link GameLogWriter}. Cells are numbered y * width + x.
+ *
+ * <p>A log is a sequence of games. Each game is the magic bytes "BSL" and a version byte, both
+ * players' seeds as 8 bytes each, the board height and width and the number of ships of each type
+ * as varints, then each player's fleet, then one record per turn and an end record. A fleet is its
+ * number of ships, zero if it is not known, and for each ship its first cell as a varint and a byte
+ * holding its type and whether it runs down the board. A turn is the first player's volley, the
+ * second player's volley, the first player's shots that hit and the second player's shots that hit,
+ * each as its length and its cells in order, each cell written as the zig-zag varint of its
+ * difference from the one before. Every cell is on the board, since the writer rejects a ship or
+ * shot off it, and a log with a list longer than the board or a cell off it is malformed. An end
+ * record is the result's ordinal as a byte, or 255 for a game that was cut off before it had a
+ * result.
+ *
+ * <p>A game cut off, or with a result that is not known, did not finish and has no result. So
+ * does a game whose log ends before its end record, or where the next game's magic bytes stand
+ * in place of its next record, as when the process writing it was stopped before it could end
+ * the game; the games after it are read as usual.
+ *
+ * @param firstSeed      - The seed of the first player's random object.
+ * @param secondSeed     - The seed of the second player's random object, or 0 if it is not known.
+ * @param height         - The height of both boards.
+ * @param width          - The width of both boards.
+ * @param specifications - A map of ship type to the number of occurrences of each ship in both
+ *                       fleets.
+ * @param firstFleet     - The first player's ships, or an empty list if they are not known.
+ * @param secondFleet    - The second player's ships, or an empty list if they are not known.
+ * @param turns          - The turns played.
+ * @param result         - Whether the first player won, lost or tied, or null if the game did
+ *                       not finish.
+ */
+public record GameLog(
+    long firstSeed,
+    long secondSeed,
+    int height,
+    int width,
+    Map<ShipType, Integer> specifications,
+    List<Ship> firstFleet,
+    List<Ship> secondFleet,
+    List<Turn> turns,
+    GameResult result) {
+
+  static final byte[] MAGIC = {'B', 'S', 'L'};
+  static final int VERSION = 1;
+  static final int TURN = 1;
+  static final int END = 2;
+  static final int UNFINISHED = 0xFF; // the result of an end record of a game with no result
+  static final ShipType[] SHIP_TYPES = {
+      ShipType.CARRIER, ShipType.BATTLESHIP, ShipType.DESTROYER, ShipType.SUBMARINE};
+
+  /**
+   * One turn of a logged game.
+   *
+   * @param firstVolley  - The cells the first player shot at.
+   * @param secondVolley - The cells the second player shot at.
+   * @param firstHits    - The first player's shots that hit a ship, in the order they were shot.
+   * @param secondHits   - The second player's shots that hit a ship, in the order they were shot.
+   */
+  public record Turn(int[] firstVolley, int[] secondVolley, int[] firstHits, int[] secondHits) {
+
+  }
+
+  /**
+   * Reads every game in a binary game log.
+   *
+   * @param in - The log. It is read to its end but not closed.
+   * @return - The games, in the order they were logged.
+   * @throws IOException - If the log cannot be read, or is not a game log or is malformed.
+   */
+  public static List<GameLog> read(InputStream in) throws IOException {
+    PushbackInputStream source = new PushbackInputStream(new BufferedInputStream(in));
+    DataInputStream data = new DataInputStream(source);
+    List<GameLog> games = new ArrayList<>();
+    int first;
+    while ((first = data.read()) != -1) {
+      games.add(readGame(data, source, first));
+    }
+    return games;
+  }
+
+  /**
+   * Turns a cell into a coord on a board of the given width.
+   *
+   * @param cell  - The cell.
+   * @param width - The width of the board.
+   * @return - The coord, with an unknown status.
+   */
+  static Coord coord(int cell, int width) {
+    return new Coord(cell % width, cell / width, UNKNOWN);
+  }
+
+  /**
+   * Reads one game, whose first byte has already been read.
+   *
+   * @param data   - The log.
+   * @param source - The stream the log is read from, where the first byte of a game that starts
+   *               in place of this one's next record is pushed back.
+   * @param first  - The first byte of the game.
+   * @return - The game.
+   * @throws IOException - If the game cannot be read or is malformed.
+   */
+  private static GameLog readGame(DataInputStream data, PushbackInputStream source, int first)
+      throws IOException {
+    if (first != MAGIC[0] || data.read() != MAGIC[1] || data.read() != MAGIC[2]) {
+      throw new IOException("Not a game log");
+    }
+    int version = data.read();
+    if (version != VERSION) {
+      throw new IOException("Unsupported game log version " + version);
+    }
+
+    long firstSeed = data.readLong();
+    long secondSeed = data.readLong();
+    int height = readVarint(data);
+    int width = readVarint(data);
+    if (height < 1 || width < 1 || height > Integer.MAX_VALUE / width) {
+      throw new IOException("Invalid board size " + height + "x" + width);
+    }
+    Map<ShipType, Integer> specifications = new EnumMap<>(ShipType.class);
+    for (ShipType type : SHIP_TYPES) {
+      specifications.put(type, readVarint(data));
+    }
+    List<Ship> firstFleet = readFleet(data, height, width);
+    List<Ship> secondFleet = readFleet(data, height, width);
+
+    List<Turn> turns = new ArrayList<>();
+    GameResult result = null;
+    boolean ended = false;
+    int tag;
+    while (!ended && (tag = data.read()) != -1) {
+      if (tag == TURN) {
+        try {
+          int cells = height * width;
+          turns.add(new Turn(readCells(data, cells), readCells(data, cells),
+              readCells(data, cells), readCells(data, cells)));
+        } catch (EOFException e) {
+          break; // the writer stopped part way through the turn
+        }
+      } else if (tag == END) {
+        int ordinal = data.readUnsignedByte();
+        if (ordinal != UNFINISHED && ordinal >= GameResult.values().length) {
+          throw new IOException("Unknown game result " + ordinal);
+        }
+        result = ordinal == UNFINISHED ? null : GameResult.values()[ordinal];
+        ended = true;
+      } else if (tag == MAGIC[0]) {
+        source.unread(tag); // the next game starts where this one stopped
+        ended = true;
+      } else {
+        throw new IOException("Unknown game log record " + tag);
+      }
+    }
+
+    return new GameLog(firstSeed, secondSeed, height, width, specifications, firstFleet,
+        secondFleet, turns, result);
+  }
+
+  /**
+   * Reads a fleet.
+   *
+   * @param data   - The log.
+   * @param height - The height of the board.
+   * @param width  - The width of the board.
+   * @return - The ships of the fleet.
+   * @throws IOException - If the fleet cannot be read or is malformed, or a ship is off the board.
+   */
+  private static List<Ship> readFleet(DataInputStream data, int height, int width)
+      throws IOException {
+    int ships = readVarint(data);
+    if (ships < 0 || ships > height * width) {
+      throw new IOException("Fleet of " + ships + " ships on a board of " + height * width
+          + " cells");
+    }
+    List<Ship> fleet = new ArrayList<>(ships);
+    for (int i = 0; i < ships; i++) {
+      int start = readVarint(data);
+      int shape = data.readUnsignedByte();
+      if (shape >> 1 >= SHIP_TYPES.length) {
+        throw new IOException("Unknown ship type " + (shape >> 1));
+      }
+      ShipType type = SHIP_TYPES[shape >> 1];
+      boolean vertical = (shape & 1) == 1;
+      if (start < 0 || start >= height * width
+          || (vertical ? start / width : start % width) + type.getSize()
+          > (vertical ? height : width)) {
+        throw new IOException("Ship off the board at cell " + start);
+      }
+      int step = vertical ? width : 1;
+
+      List<Coord> coords = new ArrayList<>(type.getSize());
+      for (int j = 0; j < type.getSize(); j++) {
+        int cell = start + j * step;
+        coords.add(new Coord(cell % width, cell / width, type.getStatus()));
+      }
+      fleet.add(new Ship(type, coords, false));
+    }
+    return fleet;
+  }
+
+  /**
+   * Reads a list of cells.
+   *
+   * @param data - The log.
+   * @param size - The number of cells on the board, which bounds the length of the list.
+   * @return - The cells, in order.
+   * @throws IOException - If the cells cannot be read, or the list is too long or has a cell off
+   *                     the board.
+   */
+  private static int[] readCells(DataInputStream data, int size) throws IOException {
+    int length = readVarint(data);
+    if (length < 0 || length > size) {
+      throw new IOException("List of " + length + " cells on a board of " + size + " cells");
+    }
+    int[] cells = new int[length];
+    int previous = 0;
+    for (int i = 0; i < cells.length; i++) {
+      int delta = readVarint(data);
+      previous += (delta >>> 1) ^ -(delta & 1);
+      if (previous < 0 || previous >= size) {
+        throw new IOException("Cell " + previous + " off the board");
+      }
+      cells[i] = previous;
+    }
+    return cells;
+  }
+
+  /**
+   * Reads an unsigned varint: seven bits per byte, low bits first, with the top bit of every byte
+   * but the last set.
+   *
+   * @param data - The log.
+   * @return - The number.
+   * @throws IOException - If the log ends within the varint or the varint is too long.
+   */
+  private static int readVarint(DataInputStream data) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = data.read();
+      if (b == -1) {
+        throw new EOFException("Game log ends within a record");
+      }
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint in game log");
+  }
+
+}
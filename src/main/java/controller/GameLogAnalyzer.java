@@ -0,0 +1,466 @@
+package controller;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.GameResult;
+import model.ShipType;
+
+/**
+ * Mines binary game logs for heatmaps of where the opponent, the second player of each game,
+ * places its ships and shoots, one heatmap per board size.
+ *
+ * <p>Logs are read through memory-mapped files and decoded in place, with no object made per
+ * game, turn or cell. Each log is first walked once to find where every game starts and ends,
+ * checking its records but skipping over the bytes of every cell without decoding them. Its
+ * games are then split into segments that are decoded in parallel, each checking that its ships
+ * and cells lie on the board and counting them into its own heatmaps, which are merged at the
+ * end.
+ */
+public final class GameLogAnalyzer {
+
+  private static final int SEGMENT_GAMES = 1024;
+  private static final int MAX_SIZE = 255;
+  private static final int[] SIZES = new int[ShipType.values().length];
+
+  static {
+    for (ShipType type : ShipType.values()) {
+      SIZES[type.ordinal()] = type.getSize();
+    }
+  }
+
+  private GameLogAnalyzer() {
+
+  }
+
+  /**
+   * Counts every game in the given logs.
+   *
+   * @param logs - The game logs.
+   * @return - A heatmap for each size of board played on, by height then width.
+   * @throws IOException - If a log cannot be read, is not a game log, or is 2 GB or larger.
+   */
+  public static List<OpponentHeatmap> analyze(List<Path> logs) throws IOException {
+    return analyze(logs, SEGMENT_GAMES);
+  }
+
+  /**
+   * Counts every game in the given logs, in segments of the given number of games.
+   *
+   * @param logs         - The game logs.
+   * @param segmentGames - The number of games in each segment.
+   * @return - A heatmap for each size of board played on, by height then width.
+   * @throws IOException - If a log cannot be read, is not a game log, or is 2 GB or larger.
+   */
+  static List<OpponentHeatmap> analyze(List<Path> logs, int segmentGames) throws IOException {
+    List<Segment> segments = new ArrayList<>();
+    for (Path log : logs) {
+      ByteBuffer buffer = map(log);
+      int[] bounds = index(buffer, log);
+      int games = bounds.length / 2;
+      for (int from = 0; from < games; from += segmentGames) {
+        segments.add(new Segment(log, buffer, bounds, from,
+            Math.min(games, from + segmentGames)));
+      }
+    }
+
+    Map<Integer, OpponentHeatmap> merged;
+    try {
+      merged = segments.parallelStream()
+          .map(segment -> {
+            try {
+              return segment.scan();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          })
+          .reduce(GameLogAnalyzer::merge)
+          .orElse(new HashMap<>());
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    List<OpponentHeatmap> heatmaps = new ArrayList<>(merged.values());
+    heatmaps.sort((a, b) -> a.getHeight() != b.getHeight()
+        ? Integer.compare(a.getHeight(), b.getHeight())
+        : Integer.compare(a.getWidth(), b.getWidth()));
+    return heatmaps;
+  }
+
+  /**
+   * Maps a log into memory.
+   *
+   * @param log - The game log.
+   * @return - The contents of the log.
+   * @throws IOException - If the log cannot be read or is 2 GB or larger.
+   */
+  private static ByteBuffer map(Path log) throws IOException {
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(log + " is 2 GB or larger; split it into smaller logs");
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Walks a log, checking the shape of every record, to find where each game starts and where
+   * its last whole record ends.
+   *
+   * @param buffer - The contents of the log.
+   * @param log    - The game log, for messages.
+   * @return - The start and end of each game, in pairs.
+   * @throws IOException - If the log is not a game log.
+   */
+  private static int[] index(ByteBuffer buffer, Path log) throws IOException {
+    Cursor cursor = new Cursor(buffer);
+    int[] bounds = new int[16];
+    int count = 0;
+
+    while (cursor.position < buffer.limit()) {
+      int start = cursor.position;
+      int end;
+      try {
+        end = checkGame(cursor);
+      } catch (IOException e) {
+        throw new IOException(log + ": game at byte " + start + ": " + e.getMessage(), e);
+      }
+      if (count == bounds.length) {
+        bounds = Arrays.copyOf(bounds, count * 2);
+      }
+      bounds[count++] = start;
+      bounds[count++] = end;
+    }
+    return Arrays.copyOf(bounds, count);
+  }
+
+  /**
+   * Checks the header and records of one game, leaving the cursor after it. Ships and cells are
+   * skipped over, and are checked when the game is counted. A game that the next game's magic
+   * bytes follow in place of a record is unfinished, and so is the last game of a log if it has
+   * no end record; a turn cut off part way at the end of the log is left out of it.
+   *
+   * @param cursor - The cursor, at the start of the game.
+   * @return - Where the game's last whole record ends.
+   * @throws IOException - If the game is malformed.
+   */
+  private static int checkGame(Cursor cursor) throws IOException {
+    for (byte b : GameLog.MAGIC) {
+      if (cursor.read() != b) {
+        throw new IOException("not a game log");
+      }
+    }
+    if (cursor.read() != GameLog.VERSION) {
+      throw new IOException("unsupported game log version");
+    }
+    cursor.skip(2 * Long.BYTES);
+    int height = cursor.varint();
+    int width = cursor.varint();
+    if (height < 1 || height > MAX_SIZE || width < 1 || width > MAX_SIZE) {
+      throw new IOException("invalid board size " + height + "x" + width);
+    }
+    for (int i = 0; i < GameLog.SHIP_TYPES.length; i++) {
+      cursor.varint();
+    }
+    skipFleet(cursor);
+    skipFleet(cursor);
+
+    int limit = cursor.buffer.limit();
+    while (cursor.position < limit) {
+      int record = cursor.position;
+      int tag = cursor.read();
+      if (tag == GameLog.TURN) {
+        try {
+          for (int list = 0; list < 4; list++) {
+            skipCells(cursor, height * width);
+          }
+        } catch (EOFException e) {
+          cursor.position = limit;
+          return record; // the writer stopped part way through the turn
+        }
+      } else if (tag == GameLog.END) {
+        int result = cursor.read();
+        if (result != GameLog.UNFINISHED && result >= GameResult.values().length) {
+          throw new IOException("unknown game result");
+        }
+        return cursor.position;
+      } else if (tag == GameLog.MAGIC[0]) {
+        cursor.position = record; // the next game starts where this one stopped
+        return record;
+      } else {
+        throw new IOException("unknown record " + tag);
+      }
+    }
+    return limit;
+  }
+
+  /**
+   * Skips a fleet, without decoding where its ships are.
+   *
+   * @param cursor - The cursor, at the start of the fleet.
+   * @throws IOException - If a varint is malformed or the log ends within the fleet.
+   */
+  private static void skipFleet(Cursor cursor) throws IOException {
+    for (int ships = cursor.varint(); ships > 0; ships--) {
+      cursor.skipVarint();
+      cursor.read();
+    }
+  }
+
+  /**
+   * Skips a list of cells, without decoding them.
+   *
+   * @param cursor - The cursor, at the start of the list.
+   * @param cells  - The number of cells on the board.
+   * @throws IOException - If the list is longer than the board, a varint is malformed, or the
+   *                     log ends within the list.
+   */
+  private static void skipCells(Cursor cursor, int cells) throws IOException {
+    int length = cursor.varint();
+    if (length < 0 || length > cells) {
+      throw new IOException("list of " + length + " cells on a board of " + cells);
+    }
+    for (int i = 0; i < length; i++) {
+      cursor.skipVarint();
+    }
+  }
+
+  /**
+   * Checks that a ship lies on the board.
+   *
+   * @param start  - The ship's first cell.
+   * @param shape  - The byte holding the ship's type and whether it runs down the board.
+   * @param height - The height of the board.
+   * @param width  - The width of the board.
+   * @throws IOException - If the type is unknown or the ship is off the board.
+   */
+  private static void checkShip(int start, int shape, int height, int width) throws IOException {
+    if (shape >> 1 >= SIZES.length) {
+      throw new IOException("unknown ship type");
+    }
+    int size = SIZES[shape >> 1];
+    boolean vertical = (shape & 1) == 1;
+    if (start < 0 || start >= height * width
+        || (vertical ? start / width : start % width) + size > (vertical ? height : width)) {
+      throw new IOException("ship off the board");
+    }
+  }
+
+  /**
+   * Adds every heatmap of one map to another.
+   *
+   * @param into  - The map added to.
+   * @param other - The map added.
+   * @return - The map added to.
+   */
+  private static Map<Integer, OpponentHeatmap> merge(Map<Integer, OpponentHeatmap> into,
+                                                     Map<Integer, OpponentHeatmap> other) {
+    for (Map.Entry<Integer, OpponentHeatmap> entry : other.entrySet()) {
+      into.merge(entry.getKey(), entry.getValue(), OpponentHeatmap::merge);
+    }
+    return into;
+  }
+
+  /**
+   * A run of games in one log, whose records have been checked, counted together.
+   *
+   * @param log    - The game log, for messages.
+   * @param buffer - The contents of the log.
+   * @param bounds - The start and end of each game in the log, in pairs.
+   * @param from   - The first game of the run.
+   * @param to     - The game after the last of the run.
+   */
+  private record Segment(Path log, ByteBuffer buffer, int[] bounds, int from, int to) {
+
+    /**
+     * Checks that the ships and cells of the games of this run lie on the board, and counts
+     * them.
+     *
+     * @return - A heatmap for each size of board, by height * 256 + width.
+     * @throws IOException - If a ship or cell is off the board.
+     */
+    Map<Integer, OpponentHeatmap> scan() throws IOException {
+      Map<Integer, OpponentHeatmap> heatmaps = new HashMap<>();
+      Cursor cursor = new Cursor(buffer); // absolute reads leave the shared buffer alone
+
+      for (int game = from; game < to; game++) {
+        try {
+          scanGame(cursor, game, heatmaps);
+        } catch (IOException e) {
+          throw new IOException(log + ": game at byte " + bounds[2 * game] + ": "
+              + e.getMessage(), e);
+        }
+      }
+      return heatmaps;
+    }
+
+    /**
+     * Checks and counts one game.
+     *
+     * @param cursor   - The cursor to read with.
+     * @param game     - The index of the game in the log.
+     * @param heatmaps - The heatmaps counted into, by height * 256 + width.
+     * @throws IOException - If a ship or cell is off the board.
+     */
+    private void scanGame(Cursor cursor, int game, Map<Integer, OpponentHeatmap> heatmaps)
+        throws IOException {
+      cursor.position = bounds[2 * game] + GameLog.MAGIC.length + 1 + 2 * Long.BYTES;
+      int end = bounds[2 * game + 1];
+      int height = cursor.next();
+      int width = cursor.next();
+      OpponentHeatmap heatmap = heatmaps.get(height * (MAX_SIZE + 1) + width);
+      if (heatmap == null) {
+        heatmap = new OpponentHeatmap(height, width);
+        heatmaps.put(height * (MAX_SIZE + 1) + width, heatmap);
+      }
+      for (int i = 0; i < GameLog.SHIP_TYPES.length; i++) {
+        cursor.next();
+      }
+
+      for (int ships = cursor.next(); ships > 0; ships--) {
+        checkShip(cursor.next(), buffer.get(cursor.position++) & 0xFF, height, width);
+      }
+      int ships = cursor.next();
+      heatmap.addGame(ships > 0);
+      for (; ships > 0; ships--) {
+        int start = cursor.next();
+        int shape = buffer.get(cursor.position++) & 0xFF;
+        checkShip(start, shape, height, width);
+        int step = (shape & 1) == 1 ? width : 1;
+        for (int i = 0; i < SIZES[shape >> 1]; i++) {
+          heatmap.addPlacement(shape >> 1, start + i * step);
+        }
+      }
+
+      int cells = height * width;
+      while (cursor.position < end) {
+        if (buffer.get(cursor.position++) == GameLog.END) {
+          cursor.position++;
+          continue;
+        }
+        // the first player's volley, the second's volley, the first's hits, the second's hits
+        for (int list = 0; list < 4; list++) {
+          for (int length = cursor.next(), cell = 0; length > 0; length--) {
+            int delta = cursor.next();
+            cell += (delta >>> 1) ^ -(delta & 1);
+            if (cell < 0 || cell >= cells) {
+              throw new IOException("cell off the board");
+            }
+            if (list == 1) {
+              heatmap.addShot(cell);
+            } else if (list == 2) {
+              heatmap.addHit(cell);
+            }
+          }
+        }
+      }
+    }
+
+  }
+
+  /**
+   * A read position in a log's contents. The checked reads throw at the end of the log; the
+   * unchecked ones are only used on games that have been checked.
+   */
+  private static final class Cursor {
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    /**
+     * Creates a cursor at the start of a log's contents.
+     *
+     * @param buffer - The contents of the log.
+     */
+    Cursor(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @return - The byte, from 0 to 255.
+     * @throws EOFException - If the log ends.
+     */
+    int read() throws EOFException {
+      if (position >= buffer.limit()) {
+        throw new EOFException("log ends within a record");
+      }
+      return buffer.get(position++) & 0xFF;
+    }
+
+    /**
+     * Skips bytes.
+     *
+     * @param bytes - The number of bytes.
+     * @throws EOFException - If the log ends first.
+     */
+    void skip(int bytes) throws EOFException {
+      if (buffer.limit() - position < bytes) {
+        throw new EOFException("log ends within a record");
+      }
+      position += bytes;
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @return - The number.
+     * @throws IOException - If the log ends within the varint or the varint is too long.
+     */
+    int varint() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        int b = read();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("malformed varint");
+    }
+
+    /**
+     * Reads an unsigned varint that has been checked.
+     *
+     * @return - The number.
+     */
+    int next() {
+      int value = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = buffer.get(position++);
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+
+    /**
+     * Skips an unsigned varint by its continuation bytes, without decoding it.
+     *
+     * @throws IOException - If the log ends within the varint or the varint is too long.
+     */
+    void skipVarint() throws IOException {
+      for (int i = 0; i < 5; i++) {
+        if ((read() & 0x80) == 0) {
+          return;
+        }
+      }
+      throw new IOException("malformed varint");
+    }
+
+  }
+
+}
@@ -0,0 +1,215 @@
+package controller;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import model.Coord;
+import model.GameResult;
+import model.Ship;
+import model.ShipType;
+
+/**
+ * Writes games of BattleSalvo to a binary game log as they are played, in the format described
+ * by {@link GameLog}. Games are written one after another: a game is started with
+ * {@link #start}, then has each turn written with {@link #turn}, and is finished with
+ * {@link #end}. A cell off the board has no encoding, so a fleet or turn with one is rejected
+ * before any of it is written.
+ */
+public class GameLogWriter implements Closeable {
+
+  private final DataOutputStream out;
+  private int height;
+  private int width;
+
+  /**
+   * Creates a writer that writes games to the given stream.
+   *
+   * @param out - Where the log is written.
+   */
+  public GameLogWriter(OutputStream out) {
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+  }
+
+  /**
+   * Starts a game.
+   *
+   * @param firstSeed      - The seed of the first player's random object.
+   * @param secondSeed     - The seed of the second player's random object, or 0 if it is not
+   *                       known.
+   * @param height         - The height of both boards.
+   * @param width          - The width of both boards.
+   * @param specifications - A map of ship type to the number of occurrences of each ship in both
+   *                       fleets.
+   * @param firstFleet     - The first player's ships, or null if they are not known.
+   * @param secondFleet    - The second player's ships, or null if they are not known.
+   * @throws IOException              - If the log cannot be written.
+   * @throws IllegalArgumentException - If a ship is not wholly on the board.
+   */
+  public void start(long firstSeed, long secondSeed, int height, int width,
+                    Map<ShipType, Integer> specifications, List<Ship> firstFleet,
+                    List<Ship> secondFleet) throws IOException, IllegalArgumentException {
+    for (List<Ship> fleet : List.of(nonNull(firstFleet), nonNull(secondFleet))) {
+      for (Ship ship : fleet) {
+        checkCells(ship.getShipCoords(), height, width);
+      }
+    }
+    this.height = height;
+    this.width = width;
+    out.write(GameLog.MAGIC);
+    out.write(GameLog.VERSION);
+    out.writeLong(firstSeed);
+    out.writeLong(secondSeed);
+    writeVarint(height);
+    writeVarint(width);
+    for (ShipType type : GameLog.SHIP_TYPES) {
+      writeVarint(specifications.getOrDefault(type, 0));
+    }
+    writeFleet(firstFleet);
+    writeFleet(secondFleet);
+  }
+
+  /**
+   * Writes one turn of the game.
+   *
+   * @param firstVolley  - The coords the first player shot at.
+   * @param secondVolley - The coords the second player shot at.
+   * @param firstHits    - The first player's shots that hit a ship.
+   * @param secondHits   - The second player's shots that hit a ship.
+   * @throws IOException              - If the log cannot be written.
+   * @throws IllegalArgumentException - If a coord is off the board.
+   */
+  public void turn(List<Coord> firstVolley, List<Coord> secondVolley, List<Coord> firstHits,
+                   List<Coord> secondHits) throws IOException, IllegalArgumentException {
+    checkCells(firstVolley, height, width);
+    checkCells(secondVolley, height, width);
+    checkCells(firstHits, height, width);
+    checkCells(secondHits, height, width);
+    out.write(GameLog.TURN);
+    writeCells(firstVolley);
+    writeCells(secondVolley);
+    writeCells(firstHits);
+    writeCells(secondHits);
+  }
+
+  /**
+   * Finishes the game and flushes the log. Every started game must be finished, even one that
+   * was cut off, before the next is started.
+   *
+   * @param result - Whether the first player won, lost or tied, or null if the game was cut off
+   *               before it had a result.
+   * @throws IOException - If the log cannot be written.
+   */
+  public void end(GameResult result) throws IOException {
+    out.write(GameLog.END);
+    out.write(result == null ? GameLog.UNFINISHED : result.ordinal());
+    out.flush();
+  }
+
+  /**
+   * Writes everything written so far to the underlying stream.
+   *
+   * @throws IOException - If the log cannot be written.
+   */
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Flushes the log and closes the underlying stream.
+   *
+   * @throws IOException - If the log cannot be written or closed.
+   */
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Gives a fleet that is not known as one with no ships.
+   *
+   * @param fleet - The ships, or null if they are not known.
+   * @return - The ships.
+   */
+  private static List<Ship> nonNull(List<Ship> fleet) {
+    return fleet == null ? List.of() : fleet;
+  }
+
+  /**
+   * Checks that coords are on the board.
+   *
+   * @param coords - The coords.
+   * @param height - The height of the board.
+   * @param width  - The width of the board.
+   * @throws IllegalArgumentException - If a coord is off the board.
+   */
+  private static void checkCells(List<Coord> coords, int height, int width)
+      throws IllegalArgumentException {
+    for (Coord coord : coords) {
+      if (coord.getX() < 0 || coord.getX() >= width || coord.getY() < 0
+          || coord.getY() >= height) {
+        throw new IllegalArgumentException("Coord (" + coord.getX() + ", " + coord.getY()
+            + ") is off the board");
+      }
+    }
+  }
+
+  /**
+   * Writes a fleet: its number of ships, then each ship's first cell and a byte holding its type
+   * and whether it runs down the board.
+   *
+   * @param fleet - The ships, or null if they are not known.
+   * @throws IOException - If the log cannot be written.
+   */
+  private void writeFleet(List<Ship> fleet) throws IOException {
+    if (fleet == null) {
+      writeVarint(0);
+      return;
+    }
+    writeVarint(fleet.size());
+    for (Ship ship : fleet) {
+      List<Coord> coords = ship.getShipCoords();
+      Coord start = coords.get(0);
+      boolean vertical = coords.size() > 1 && coords.get(1).getX() == start.getX();
+      writeVarint(start.getY() * width + start.getX());
+      out.write(ship.getShip().ordinal() << 1 | (vertical ? 1 : 0));
+    }
+  }
+
+  /**
+   * Writes a list of coords as its length and its cells, each as the zig-zag varint of its
+   * difference from the one before.
+   *
+   * @param coords - The coords.
+   * @throws IOException - If the log cannot be written.
+   */
+  private void writeCells(List<Coord> coords) throws IOException {
+    writeVarint(coords.size());
+    int previous = 0;
+    for (Coord coord : coords) {
+      int cell = coord.getY() * width + coord.getX();
+      int delta = cell - previous;
+      writeVarint(delta << 1 ^ delta >> 31);
+      previous = cell;
+    }
+  }
+
+  /**
+   * Writes an unsigned varint: seven bits per byte, low bits first, with the top bit of every
+   * byte but the last set.
+   *
+   * @param value - The number, read as unsigned.
+   * @throws IOException - If the log cannot be written.
+   */
+  private void writeVarint(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write(value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+}
@@ -0,0 +1,304 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.AbstractPlayer;
+import model.Board;
+import model.Coord;
+import model.GameRecord;
+import model.GameResult;
+import model.Ship;
+
+/**
+ * Plays logged games of BattleSalvo again, with no view, no console and no network, and checks
+ * that they come out exactly as logged.
+ *
+ * <p>Each side of a game is either re-run or read back. A side with a player factory is played
+ * again by a new player seeded with the side's logged seed, which must place the logged fleet and
+ * fire the logged volleys; this is how a change to an AI is checked against logged games. A side
+ * without one fires its logged volleys. Shots at a side whose fleet is known are resolved against
+ * that fleet and must hit as logged, and shots at a side whose fleet was not logged, such as a
+ * server's, hit as logged.
+ */
+public class GameReplayer {
+
+  private final PlayerFactory first;
+  private final PlayerFactory second;
+
+  /**
+   * Creates a replayer.
+   *
+   * @param first  - Makes the player that re-runs the first side of each game, or null to read
+   *               the first side back from the log.
+   * @param second - Makes the player that re-runs the second side of each game, or null to read
+   *               the second side back from the log.
+   */
+  public GameReplayer(PlayerFactory first, PlayerFactory second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  /**
+   * Plays a logged game again.
+   *
+   * @param log - The logged game.
+   * @return - The record of the game. A side whose fleet is not known has -1 ships afloat, and
+   *         the result of an unfinished game is a tie.
+   * @throws IllegalStateException - If the game does not come out as logged.
+   */
+  public GameRecord replay(GameLog log) throws IllegalStateException {
+    Board firstBoard = new Board(log.height(), log.width());
+    Board secondBoard = new Board(log.height(), log.width());
+    Side firstSide = new Side(log, first, true, firstBoard, secondBoard);
+    Side secondSide = new Side(log, second, false, secondBoard, firstBoard);
+    firstSide.setup();
+    secondSide.setup();
+
+    int turns = 0;
+    int firstShots = 0;
+    int firstHits = 0;
+    int secondShots = 0;
+    int secondHits = 0;
+
+    for (GameLog.Turn turn : log.turns()) {
+      turns++;
+      List<Coord> firstVolley = firstSide.takeShots(turn.firstVolley(), turns);
+      List<Coord> secondVolley = secondSide.takeShots(turn.secondVolley(), turns);
+
+      List<Coord> hitsOnSecond = secondSide.reportDamage(firstVolley, turn.firstHits(), turns);
+      List<Coord> hitsOnFirst = firstSide.reportDamage(secondVolley, turn.secondHits(), turns);
+
+      firstSide.successfulHits(hitsOnSecond);
+      secondSide.successfulHits(hitsOnFirst);
+
+      firstShots += firstVolley.size();
+      firstHits += hitsOnSecond.size();
+      secondShots += secondVolley.size();
+      secondHits += hitsOnFirst.size();
+    }
+
+    GameResult result = log.result() == null ? GameResult.TIE : log.result();
+    if (firstSide.known() && secondSide.known()) {
+      GameResult played = result(firstSide.afloat(), secondSide.afloat());
+      if (log.result() != null && played != log.result()) {
+        throw new IllegalStateException("The game ended in a " + played + " but was logged as a "
+            + log.result());
+      }
+      result = played;
+    }
+
+    return new GameRecord(log.firstSeed(), log.height(), log.width(), result, turns, firstShots,
+        firstHits, secondShots, secondHits, firstSide.afloat(), secondSide.afloat());
+  }
+
+  /**
+   * Decides a game from the ships each side has afloat, as {@link SelfPlayEngine} does.
+   *
+   * @param firstAfloat  - The first side's ships afloat.
+   * @param secondAfloat - The second side's ships afloat.
+   * @return - Whether the first side won, lost or tied.
+   */
+  private static GameResult result(int firstAfloat, int secondAfloat) {
+    if ((firstAfloat == 0) == (secondAfloat == 0)) {
+      return GameResult.TIE;
+    }
+    return secondAfloat == 0 ? GameResult.WIN : GameResult.LOSE;
+  }
+
+  /**
+   * Turns cells into coords.
+   *
+   * @param cells - The cells.
+   * @param width - The width of the board.
+   * @return - The coords.
+   */
+  private static List<Coord> coords(int[] cells, int width) {
+    List<Coord> coords = new ArrayList<>(cells.length);
+    for (int cell : cells) {
+      coords.add(GameLog.coord(cell, width));
+    }
+    return coords;
+  }
+
+  /**
+   * Checks that coords are the logged cells.
+   *
+   * @param coords - The coords.
+   * @param cells  - The logged cells.
+   * @param width  - The width of the board.
+   * @return - Whether they are the same, in the same order.
+   */
+  private static boolean matches(List<Coord> coords, int[] cells, int width) {
+    if (coords.size() != cells.length) {
+      return false;
+    }
+    for (int i = 0; i < cells.length; i++) {
+      if (coords.get(i).getY() * width + coords.get(i).getX() != cells[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * One side of a replayed game: its board, and its player if it is re-run.
+   */
+  private static class Side {
+
+    private final GameLog log;
+    private final Board board;
+    private final AbstractPlayer player;
+    private final List<Ship> fleet;
+    private final String name;
+    private final int width;
+
+    /**
+     * Creates a side.
+     *
+     * @param log     - The logged game.
+     * @param factory - Makes the side's player, or null to read the side back from the log.
+     * @param first   - Whether this is the first side of the game.
+     * @param board   - The side's board.
+     * @param other   - The other side's board.
+     */
+    Side(GameLog log, PlayerFactory factory, boolean first, Board board, Board other) {
+      this.log = log;
+      this.board = board;
+      this.fleet = first ? log.firstFleet() : log.secondFleet();
+      this.name = first ? "first" : "second";
+      this.width = log.width();
+      long seed = first ? log.firstSeed() : log.secondSeed();
+      this.player = factory == null ? null : factory.create(name, board, other, new Random(seed));
+    }
+
+    /**
+     * Places the side's fleet: by its player if it is re-run, checking it against the log, or as
+     * logged.
+     */
+    void setup() {
+      if (player == null) {
+        for (Ship ship : fleet) {
+          // a copy, so the logged ships are never hit and the log can be played again
+          List<Coord> coords = new ArrayList<>();
+          for (Coord coord : ship.getShipCoords()) {
+            coords.add(new Coord(coord.getX(), coord.getY(), ship.getShip().getStatus()));
+          }
+          board.placeShip(new Ship(ship.getShip(), coords, false));
+        }
+        return;
+      }
+
+      List<Ship> placed = player.setup(log.height(), log.width(), log.specifications());
+      if (fleet.isEmpty()) {
+        return;
+      }
+      boolean same = placed.size() == fleet.size();
+      for (int i = 0; same && i < placed.size(); i++) {
+        same = placed.get(i).getShip() == fleet.get(i).getShip()
+            && matches(placed.get(i).getShipCoords(), cells(fleet.get(i).getShipCoords()), width);
+      }
+      if (!same) {
+        throw new IllegalStateException("The " + name + " player placed its fleet differently");
+      }
+    }
+
+    /**
+     * Takes the side's shots: from its player if it is re-run, checking them against the log, or
+     * as logged.
+     *
+     * @param logged - The logged volley.
+     * @param turn   - The number of the turn, for messages.
+     * @return - The volley.
+     */
+    List<Coord> takeShots(int[] logged, int turn) {
+      if (player == null) {
+        return coords(logged, width);
+      }
+      List<Coord> volley = player.takeShots();
+      if (!matches(volley, logged, width)) {
+        throw new IllegalStateException("The " + name + " player fired a different volley on turn "
+            + turn);
+      }
+      return volley;
+    }
+
+    /**
+     * Resolves the other side's shots against this side's fleet, or takes the logged hits if the
+     * fleet is not known.
+     *
+     * @param volley - The other side's volley.
+     * @param logged - The logged hits.
+     * @param turn   - The number of the turn, for messages.
+     * @return - The shots that hit.
+     */
+    List<Coord> reportDamage(List<Coord> volley, int[] logged, int turn) {
+      if (!known()) {
+        return coords(logged, width);
+      }
+
+      List<Coord> hits;
+      if (player == null) {
+        hits = new ArrayList<>();
+        for (Coord shot : volley) {
+          if (board.reportBoardDamage(shot)) {
+            hits.add(shot);
+          }
+        }
+      } else {
+        hits = player.reportDamage(volley);
+      }
+
+      if (!matches(hits, logged, width)) {
+        throw new IllegalStateException("Shots at the " + name + " player hit differently on turn "
+            + turn);
+      }
+      return hits;
+    }
+
+    /**
+     * Tells the side's player, if it is re-run, which of its shots hit.
+     *
+     * @param hits - The side's shots that hit.
+     */
+    void successfulHits(List<Coord> hits) {
+      if (player != null) {
+        player.successfulHits(hits);
+      }
+    }
+
+    /**
+     * Whether the side's fleet is known, because it is re-run or was logged.
+     *
+     * @return - true if the fleet is known.
+     */
+    boolean known() {
+      return player != null || !fleet.isEmpty();
+    }
+
+    /**
+     * Gets the side's ships afloat.
+     *
+     * @return - The number of ships afloat, or -1 if the fleet is not known.
+     */
+    int afloat() {
+      return known() ? board.getShipsAfloat() : -1;
+    }
+
+    /**
+     * Gets the cells of coords.
+     *
+     * @param coords - The coords.
+     * @return - The cells.
+     */
+    private int[] cells(List<Coord> coords) {
+      int[] cells = new int[coords.size()];
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = coords.get(i).getY() * width + coords.get(i).getX();
+      }
+      return cells;
+    }
+
+  }
+
+}
@@ -0,0 +1,292 @@
+package controller;
+
+import java.util.Arrays;
+import model.GameRecord;
+
+/**
+ * Tallies the games between two contenders: the wins of each and the ties, and how many turns
+ * each win took. Turns are kept as a histogram, so tallies merge exactly and any percentile can
+ * be read back from them.
+ */
+public class MatchStats {
+
+  private static final double Z = 1.959964; // normal quantile of a two-sided 95% interval
+  private static final char FIELD = ',';
+  private static final char COUNT = ':';
+  private static final String EMPTY = "-";
+
+  private long firstWins;
+  private long secondWins;
+  private long ties;
+  private long[] firstWinTurns = new long[0]; // games the first contender won, by turns taken
+  private long[] secondWinTurns = new long[0];
+
+  /**
+   * Adds one game, seen from the first contender.
+   *
+   * @param record - The record of the game.
+   */
+  public void add(GameRecord record) {
+    switch (record.result()) {
+      case WIN -> {
+        firstWins++;
+        firstWinTurns = count(firstWinTurns, record.turns(), 1);
+      }
+      case LOSE -> {
+        secondWins++;
+        secondWinTurns = count(secondWinTurns, record.turns(), 1);
+      }
+      default -> ties++;
+    }
+  }
+
+  /**
+   * Adds every game of another tally to this one.
+   *
+   * @param other - The other tally, of games between the same contenders in the same order.
+   */
+  public void merge(MatchStats other) {
+    firstWins += other.firstWins;
+    secondWins += other.secondWins;
+    ties += other.ties;
+    for (int turns = 0; turns < other.firstWinTurns.length; turns++) {
+      firstWinTurns = count(firstWinTurns, turns, other.firstWinTurns[turns]);
+    }
+    for (int turns = 0; turns < other.secondWinTurns.length; turns++) {
+      secondWinTurns = count(secondWinTurns, turns, other.secondWinTurns[turns]);
+    }
+  }
+
+  /**
+   * Makes a copy of this tally seen from the second contender.
+   *
+   * @return - The tally with the contenders swapped.
+   */
+  public MatchStats reversed() {
+    MatchStats reversed = new MatchStats();
+    reversed.firstWins = secondWins;
+    reversed.secondWins = firstWins;
+    reversed.ties = ties;
+    reversed.firstWinTurns = secondWinTurns.clone();
+    reversed.secondWinTurns = firstWinTurns.clone();
+    return reversed;
+  }
+
+  /**
+   * Gets the number of games tallied.
+   *
+   * @return - The number of games.
+   */
+  public long getGames() {
+    return firstWins + secondWins + ties;
+  }
+
+  /**
+   * Gets the number of games one of the contenders won.
+   *
+   * @param first - Whether to count the first contender's wins, rather than the second's.
+   * @return - The number of wins.
+   */
+  public long getWins(boolean first) {
+    return first ? firstWins : secondWins;
+  }
+
+  /**
+   * Gets the number of tied games.
+   *
+   * @return - The number of ties.
+   */
+  public long getTies() {
+    return ties;
+  }
+
+  /**
+   * Gets the first contender's score: its share of the games, counting a tie as half a win.
+   *
+   * @return - The score, from 0 to 1, or 0.5 if no games were tallied.
+   */
+  public double score() {
+    long games = getGames();
+    return games == 0 ? 0.5 : (firstWins + 0.5 * ties) / games;
+  }
+
+  /**
+   * Gets a 95% confidence interval for the first contender's score, as a Wilson score interval.
+   *
+   * @return - The lower and upper bounds of the interval.
+   */
+  public double[] scoreInterval() {
+    long games = getGames();
+    if (games == 0) {
+      return new double[] {0, 1};
+    }
+    double score = score();
+    double z2 = Z * Z / games;
+    double centre = (score + z2 / 2) / (1 + z2);
+    double half = Z * Math.sqrt(score * (1 - score) / games + z2 / (4 * games)) / (1 + z2);
+    return new double[] {Math.max(0, centre - half), Math.min(1, centre + half)};
+  }
+
+  /**
+   * Gets the mean number of turns one contender's wins took.
+   *
+   * @param first - Whether to read the first contender's wins, rather than the second's.
+   * @return - The mean, or NaN if it never won.
+   */
+  public double meanTurnsToWin(boolean first) {
+    long[] histogram = first ? firstWinTurns : secondWinTurns;
+    long wins = 0;
+    long turns = 0;
+    for (int t = 0; t < histogram.length; t++) {
+      wins += histogram[t];
+      turns += t * histogram[t];
+    }
+    return wins == 0 ? Double.NaN : (double) turns / wins;
+  }
+
+  /**
+   * Gets a percentile of the number of turns one contender's wins took, by the nearest-rank
+   * method.
+   *
+   * @param first      - Whether to read the first contender's wins, rather than the second's.
+   * @param percentile - The percentile, from 0 exclusive to 100 inclusive.
+   * @return - The number of turns, or -1 if it never won.
+   */
+  public int turnsToWin(boolean first, double percentile) {
+    long[] histogram = first ? firstWinTurns : secondWinTurns;
+    long wins = first ? firstWins : secondWins;
+    if (wins == 0) {
+      return -1;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * wins));
+    long seen = 0;
+    for (int turns = 0; turns < histogram.length; turns++) {
+      seen += histogram[turns];
+      if (seen >= rank) {
+        return turns;
+      }
+    }
+    return histogram.length - 1;
+  }
+
+  /**
+   * Writes this tally as text that {@link #decode(String)} reads back: the two win counts, the
+   * ties, and each histogram as turns:count pairs, all separated by commas, with a dash for an
+   * empty histogram and a semicolon between the two histograms.
+   *
+   * @return - The tally as text, with no whitespace.
+   */
+  public String encode() {
+    StringBuilder text = new StringBuilder();
+    text.append(firstWins).append(FIELD).append(secondWins).append(FIELD).append(ties)
+        .append(FIELD);
+    encodeHistogram(firstWinTurns, text);
+    text.append(';');
+    encodeHistogram(secondWinTurns, text);
+    return text.toString();
+  }
+
+  /**
+   * Reads a tally written by {@link #encode()}.
+   *
+   * @param text - The tally as text.
+   * @return - The tally.
+   * @throws IllegalArgumentException - If the text is not a tally.
+   */
+  public static MatchStats decode(String text) throws IllegalArgumentException {
+    try {
+      MatchStats stats = new MatchStats();
+      String[] halves = text.split(";", -1);
+      String[] head = halves[0].split(String.valueOf(FIELD), 4);
+      stats.firstWins = Long.parseLong(head[0]);
+      stats.secondWins = Long.parseLong(head[1]);
+      stats.ties = Long.parseLong(head[2]);
+      stats.firstWinTurns = decodeHistogram(head[3]);
+      stats.secondWinTurns = decodeHistogram(halves[1]);
+      if (halves.length != 2 || sum(stats.firstWinTurns) != stats.firstWins
+          || sum(stats.secondWinTurns) != stats.secondWins || stats.ties < 0) {
+        throw new IllegalArgumentException("Inconsistent tally: " + text);
+      }
+      return stats;
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Not a tally: " + text, e);
+    }
+  }
+
+  /**
+   * Adds to the count of one number of turns in a histogram, growing it if needed.
+   *
+   * @param histogram - The histogram.
+   * @param turns     - The number of turns.
+   * @param count     - The amount to add.
+   * @return - The histogram, or a larger copy of it.
+   */
+  private static long[] count(long[] histogram, int turns, long count) {
+    if (count == 0) {
+      return histogram;
+    }
+    if (turns >= histogram.length) {
+      histogram = Arrays.copyOf(histogram, Math.max(turns + 1, histogram.length * 2));
+    }
+    histogram[turns] += count;
+    return histogram;
+  }
+
+  /**
+   * Writes a histogram as turns:count pairs separated by commas, or a dash if it is empty.
+   *
+   * @param histogram - The histogram.
+   * @param text      - Where the histogram is written.
+   */
+  private static void encodeHistogram(long[] histogram, StringBuilder text) {
+    int start = text.length();
+    for (int turns = 0; turns < histogram.length; turns++) {
+      if (histogram[turns] != 0) {
+        if (text.length() > start) {
+          text.append(FIELD);
+        }
+        text.append(turns).append(COUNT).append(histogram[turns]);
+      }
+    }
+    if (text.length() == start) {
+      text.append(EMPTY);
+    }
+  }
+
+  /**
+   * Reads a histogram written by {@link #encodeHistogram(long[], StringBuilder)}.
+   *
+   * @param text - The histogram as text.
+   * @return - The histogram.
+   */
+  private static long[] decodeHistogram(String text) {
+    long[] histogram = new long[0];
+    if (text.equals(EMPTY)) {
+      return histogram;
+    }
+    for (String pair : text.split(String.valueOf(FIELD))) {
+      int colon = pair.indexOf(COUNT);
+      long count = Long.parseLong(pair.substring(colon + 1));
+      if (count < 0) {
+        throw new IllegalArgumentException("Negative count: " + pair);
+      }
+      histogram = count(histogram, Integer.parseInt(pair.substring(0, colon)), count);
+    }
+    return histogram;
+  }
+
+  /**
+   * Adds up the counts of a histogram.
+   *
+   * @param histogram - The histogram.
+   * @return - The total count.
+   */
+  private static long sum(long[] histogram) {
+    long total = 0;
+    for (long count : histogram) {
+      total += count;
+    }
+    return total;
+  }
+
+}
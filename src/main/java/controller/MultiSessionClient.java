@@ -0,0 +1,350 @@
+package controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.AbstractPlayer;
+import model.ArtificialPlayer;
+import model.Board;
+import model.GameRecord;
+import model.TurnBudget;
+
+/**
+ * Plays many games against a server at once from one process, each over its own connection with
+ * its own board and player. The connections are non-blocking and served by a few event loops,
+ * each a thread with a selector, so thousands of games can be open at once without a thread for
+ * each: a loop only works on a game when a whole message of it has arrived.
+ *
+ * <p>Every game is a session with an index and a seed drawn from the client's seed, so the
+ * player of a session always makes the same choices. A session that cannot connect, is sent an
+ * invalid message, or is closed by the server before the game ends has no record, and the reason
+ * is kept.
+ */
+public class MultiSessionClient {
+
+  private static final String NAME = "Floob AI";
+
+  private final InetSocketAddress server;
+  private final PlayerFactory players;
+  private final int concurrency;
+  private final int threads;
+  private final long[] seeds;
+  private final GameRecord[] records;
+  private final String[] failures;
+  private final TurnBudget[] budgets; // each session's player's budget, if it has one
+  private final AtomicInteger next = new AtomicInteger();
+  private long elapsedNanos;
+
+  /**
+   * Creates a client that plays the given number of games against a server.
+   *
+   * @param server      - The address of the server.
+   * @param players     - Makes the player of each session.
+   * @param sessions    - The number of games to play.
+   * @param concurrency - The most games open at once.
+   * @param threads     - The number of event loops serving the open games.
+   * @param seed        - The seed every session's seed is drawn from.
+   * @throws IllegalArgumentException - If sessions is negative, or concurrency or threads is not
+   *                                  positive.
+   */
+  public MultiSessionClient(InetSocketAddress server, PlayerFactory players, int sessions,
+                            int concurrency, int threads, long seed)
+      throws IllegalArgumentException {
+    if (sessions < 0 || concurrency < 1 || threads < 1) {
+      throw new IllegalArgumentException("Invalid number of sessions, concurrency or threads");
+    }
+    this.server = server;
+    this.players = players;
+    this.concurrency = concurrency;
+    this.threads = Math.min(threads, concurrency);
+    this.seeds = new long[sessions];
+    this.records = new GameRecord[sessions];
+    this.failures = new String[sessions];
+    this.budgets = new TurnBudget[sessions];
+    Random random = new Random(seed);
+    for (int i = 0; i < sessions; i++) {
+      seeds[i] = random.nextLong();
+    }
+  }
+
+  /**
+   * Plays every session, and waits for them all to end. Running again plays every session again,
+   * with the same seeds.
+   *
+   * @return - The record of each session, in order, or null for a session that failed.
+   * @throws IOException - If a selector cannot be opened.
+   */
+  public List<GameRecord> run() throws IOException {
+    next.set(0);
+    Arrays.fill(records, null);
+    Arrays.fill(failures, null);
+    Arrays.fill(budgets, null);
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> loops = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        int slots = concurrency / threads + (i < concurrency % threads ? 1 : 0);
+        loops.add(pool.submit(new Loop(slots)));
+      }
+      for (Future<Void> loop : loops) {
+        loop.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while playing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException unchecked) {
+        throw unchecked.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    elapsedNanos = System.nanoTime() - start;
+    return Arrays.asList(records.clone());
+  }
+
+  /**
+   * Gets why a session failed.
+   *
+   * @param session - The index of the session.
+   * @return - The reason, or null if the session has a record.
+   */
+  public String getFailure(int session) {
+    return failures[session];
+  }
+
+  /**
+   * Gets the seed of a session's player.
+   *
+   * @param session - The index of the session.
+   * @return - The seed.
+   */
+  public long getSeed(int session) {
+    return seeds[session];
+  }
+
+  /**
+   * Gets how long the last run took.
+   *
+   * @return - The time in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Writes a line for each session, and then the totals and the rate games were played at. If
+   * the players have a turn budget, a last line tells how often their turns ran into it.
+   *
+   * @param out - Where the report is written.
+   * @throws IOException - If the report cannot be written.
+   */
+  public void report(Appendable out) throws IOException {
+    MatchStats stats = new MatchStats();
+    int failed = 0;
+    long turns = 0;
+    for (int i = 0; i < records.length; i++) {
+      out.append("Session ").append(String.valueOf(i)).append(": ");
+      if (records[i] == null) {
+        failed++;
+        out.append("failed, ").append(failures[i] == null ? "not played" : failures[i]);
+      } else {
+        stats.add(records[i]);
+        turns += records[i].turns();
+        out.append(records[i].result().toString()).append(" in ")
+            .append(String.valueOf(records[i].turns())).append(" turns, ")
+            .append(String.valueOf(records[i].firstHits())).append('/')
+            .append(String.valueOf(records[i].firstShots())).append(" shots hit");
+      }
+      out.append('\n');
+    }
+
+    double seconds = elapsedNanos / 1e9;
+    out.append(String.format(Locale.ROOT, "%d games in %.2f s (%.1f games/s): %d won, %d lost, "
+            + "%d tied, %d failed, %.1f turns per game%n", stats.getGames(), seconds,
+        seconds > 0 ? stats.getGames() / seconds : 0.0, stats.getWins(true), stats.getWins(false),
+        stats.getTies(), failed, stats.getGames() > 0 ? (double) turns / stats.getGames() : 0.0));
+
+    TurnBudget total = null;
+    for (TurnBudget budget : budgets) {
+      if (budget != null) {
+        if (total == null) {
+          total = new TurnBudget(budget.getBudget());
+        }
+        total.merge(budget);
+      }
+    }
+    if (total != null) {
+      out.append(total.summary()).append('\n');
+    }
+  }
+
+  /**
+   * An event loop: a thread that keeps up to a number of sessions open, taking the next session
+   * whenever one ends, until every session has been taken and has ended.
+   */
+  private class Loop implements Callable<Void> {
+
+    private final int slots;
+
+    /**
+     * Creates an event loop.
+     *
+     * @param slots - The most sessions it keeps open at once.
+     */
+    Loop(int slots) {
+      this.slots = slots;
+    }
+
+    @Override
+    public Void call() {
+      try (Selector selector = Selector.open()) {
+        int open = 0;
+        boolean taken = false;
+        while (true) {
+          while (open < slots && !taken) {
+            int index = next.getAndIncrement();
+            if (index >= seeds.length) {
+              taken = true;
+            } else if (new Session(index).start(selector)) {
+              open++;
+            }
+          }
+          if (open == 0) {
+            return null;
+          }
+
+          selector.select();
+          Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+          while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!((Session) key.attachment()).handle(key)) {
+              open--;
+            }
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+  }
+
+  /**
+   * One game, over its own connection.
+   */
+  private class Session {
+
+    private final int index;
+    private SocketChannel channel;
+    private ChannelTransport transport;
+    private ProxyController controller;
+
+    /**
+     * Creates a session.
+     *
+     * @param index - The index of the session.
+     */
+    Session(int index) {
+      this.index = index;
+    }
+
+    /**
+     * Starts connecting to the server, and makes the session's board, player and controller.
+     *
+     * @param selector - The selector of the event loop that serves the session.
+     * @return - Whether the session is open; if not, it has failed.
+     */
+    boolean start(Selector selector) {
+      try {
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        transport = new ChannelTransport(channel);
+        Board board = new Board();
+        AbstractPlayer player = players.create(NAME, board, board, new Random(seeds[index]));
+        if (player instanceof ArtificialPlayer artificial) {
+          budgets[index] = artificial.getTurnBudget();
+        }
+        controller = new ProxyController(transport, player, board, seeds[index], null);
+        boolean connected = channel.connect(server);
+        channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT,
+            this);
+        return true;
+      } catch (IOException | RuntimeException e) {
+        end(e.toString());
+        return false;
+      }
+    }
+
+    /**
+     * Does what the session is ready for: finishes connecting, sends what is waiting to be sent,
+     * or handles the messages that have arrived.
+     *
+     * @param key - The session's key, with what it is ready for.
+     * @return - Whether the session is still open.
+     */
+    boolean handle(SelectionKey key) {
+      try {
+        if (key.isConnectable()) {
+          if (channel.finishConnect()) {
+            key.interestOps(SelectionKey.OP_READ);
+          }
+          return true; // still connecting, so the key keeps waiting to connect
+        }
+        if (key.isWritable()) {
+          transport.output().flush();
+        }
+        if (key.isReadable() && !controller.poll()) {
+          GameRecord record = controller.getRecord();
+          records[index] = record;
+          end(record == null ? "the server closed the connection before the game ended" : null);
+          return false;
+        }
+        key.interestOps(transport.flushPending()
+            ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        return true;
+      } catch (IOException | RuntimeException e) {
+        end(e.toString());
+        return false;
+      }
+    }
+
+    /**
+     * Closes the session's connection.
+     *
+     * @param failure - Why the session failed, or null if it has a record.
+     */
+    private void end(String failure) {
+      failures[index] = failure;
+      try {
+        if (transport != null) {
+          transport.close();
+        } else if (channel != null) {
+          channel.close();
+        }
+      } catch (IOException e) {
+        // the session is over either way
+      }
+    }
+
+  }
+
+}
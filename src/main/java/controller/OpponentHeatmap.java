@@ -0,0 +1,215 @@
+package controller;
+
+import java.io.IOException;
+import model.ShipType;
+
+/**
+ * Counts, over many logged games on boards of one size, where the opponent (the second player of
+ * each game) placed each type of ship, where its ships were hit, and where it shot. Placements
+ * are only known from games whose log has the opponent's fleet; hits are known from every game,
+ * and show where the opponent's ships were found even when its fleet was not logged.
+ */
+public class OpponentHeatmap {
+
+  private static final String SHADES = " .:-=+*#%@";
+
+  private final int height;
+  private final int width;
+  private final int cells;
+  private long games;
+  private long fleets;
+  private final long[] placements; // [type * cells + cell]
+  private final long[] hits;
+  private final long[] shots;
+
+  /**
+   * Creates an empty heatmap for boards of the given size.
+   *
+   * @param height - The height of the boards.
+   * @param width  - The width of the boards.
+   */
+  public OpponentHeatmap(int height, int width) {
+    this.height = height;
+    this.width = width;
+    this.cells = height * width;
+    this.placements = new long[ShipType.values().length * cells];
+    this.hits = new long[cells];
+    this.shots = new long[cells];
+  }
+
+  /**
+   * Counts one more game.
+   *
+   * @param fleet - Whether the opponent's fleet was logged.
+   */
+  void addGame(boolean fleet) {
+    games++;
+    if (fleet) {
+      fleets++;
+    }
+  }
+
+  /**
+   * Counts a cell covered by one of the opponent's ships.
+   *
+   * @param type - The type of the ship.
+   * @param cell - The cell, y * width + x.
+   */
+  void addPlacement(int type, int cell) {
+    placements[type * cells + cell]++;
+  }
+
+  /**
+   * Counts a hit on one of the opponent's ships.
+   *
+   * @param cell - The cell, y * width + x.
+   */
+  void addHit(int cell) {
+    hits[cell]++;
+  }
+
+  /**
+   * Counts a shot by the opponent.
+   *
+   * @param cell - The cell, y * width + x.
+   */
+  void addShot(int cell) {
+    shots[cell]++;
+  }
+
+  /**
+   * Adds every count of another heatmap for boards of the same size to this one.
+   *
+   * @param other - The other heatmap.
+   * @return - This heatmap.
+   */
+  OpponentHeatmap merge(OpponentHeatmap other) {
+    games += other.games;
+    fleets += other.fleets;
+    for (int i = 0; i < placements.length; i++) {
+      placements[i] += other.placements[i];
+    }
+    for (int cell = 0; cell < cells; cell++) {
+      hits[cell] += other.hits[cell];
+      shots[cell] += other.shots[cell];
+    }
+    return this;
+  }
+
+  /**
+   * Gets the height of the boards.
+   *
+   * @return - The height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the width of the boards.
+   *
+   * @return - The width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the number of games counted.
+   *
+   * @return - The number of games.
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Gets the number of games counted whose log has the opponent's fleet.
+   *
+   * @return - The number of games.
+   */
+  public long getFleets() {
+    return fleets;
+  }
+
+  /**
+   * Gets how often a ship of the given type covered a cell.
+   *
+   * @param type - The type of ship.
+   * @param x    - x value of the cell.
+   * @param y    - y value of the cell.
+   * @return - The number of games in which a ship of the type covered the cell.
+   */
+  public long getPlacements(ShipType type, int x, int y) {
+    return placements[type.ordinal() * cells + y * width + x];
+  }
+
+  /**
+   * Gets how often one of the opponent's ships was hit on a cell.
+   *
+   * @param x - x value of the cell.
+   * @param y - y value of the cell.
+   * @return - The number of hits on the cell.
+   */
+  public long getHits(int x, int y) {
+    return hits[y * width + x];
+  }
+
+  /**
+   * Gets how often the opponent shot at a cell.
+   *
+   * @param x - x value of the cell.
+   * @param y - y value of the cell.
+   * @return - The number of shots at the cell.
+   */
+  public long getShots(int x, int y) {
+    return shots[y * width + x];
+  }
+
+  /**
+   * Draws the heatmaps as text: where the opponent shot, where its ships were hit, and where it
+   * placed each type of ship, with each cell shaded from blank, never, to @, most often.
+   *
+   * @param out - Where the heatmaps are drawn.
+   * @throws IOException - If the heatmaps cannot be written.
+   */
+  public void report(Appendable out) throws IOException {
+    out.append(String.valueOf(height)).append('x').append(String.valueOf(width)).append(": ")
+        .append(String.valueOf(games)).append(" games, ").append(String.valueOf(fleets))
+        .append(" with the opponent's fleet\n");
+    draw(out, "Shots", shots, 0);
+    draw(out, "Hits", hits, 0);
+    if (fleets > 0) {
+      for (ShipType type : ShipType.values()) {
+        draw(out, type.toString(), placements, type.ordinal() * cells);
+      }
+    }
+  }
+
+  /**
+   * Draws one heatmap.
+   *
+   * @param out    - Where the heatmap is drawn.
+   * @param title  - The title of the heatmap.
+   * @param counts - The counts.
+   * @param offset - Index of the heatmap's first cell in the counts.
+   * @throws IOException - If the heatmap cannot be written.
+   */
+  private void draw(Appendable out, String title, long[] counts, int offset) throws IOException {
+    long max = 1;
+    for (int cell = 0; cell < cells; cell++) {
+      max = Math.max(max, counts[offset + cell]);
+    }
+    out.append(title).append('\n');
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        long count = counts[offset + y * width + x];
+        int shade = count == 0 ? 0 : count == max ? SHADES.length() - 1
+            : 1 + (int) ((count - 1) * (SHADES.length() - 2) / (max - 1));
+        out.append(SHADES.charAt(shade));
+      }
+      out.append('\n');
+    }
+  }
+
+}
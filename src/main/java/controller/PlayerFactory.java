@@ -0,0 +1,77 @@
+package controller;
+
+import java.time.Duration;
+import java.util.Random;
+import model.AbstractPlayer;
+import model.ArtificialPlayer;
+import model.Board;
+import model.PlacementStrategy;
+import model.ShotStrategy;
+import model.StrategyRegistry;
+import model.TurnBudget;
+
+/**
+ * Makes a player for games played without a view, given the boards and random object it plays
+ * with.
+ */
+@FunctionalInterface
+public interface PlayerFactory {
+
+  /**
+   * Makes a player.
+   *
+   * @param name   the name of the player
+   * @param board  the player's own board
+   * @param other  the opponent's board
+   * @param random the random object the player makes every randomized choice with
+   * @return a player with no view
+   */
+  AbstractPlayer create(String name, Board board, Board other, Random random);
+
+  /**
+   * Gets a factory of AI players using the strategies with the given names.
+   *
+   * @param shotStrategy      the name of the strategy choosing the player's shots
+   * @param placementStrategy the name of the strategy placing the player's fleet
+   * @return the factory
+   * @throws IllegalArgumentException if either name is not a known strategy
+   */
+  static PlayerFactory of(String shotStrategy, String placementStrategy)
+      throws IllegalArgumentException {
+    return of(shotStrategy, placementStrategy, null);
+  }
+
+  /**
+   * Gets a factory of AI players using the strategies with the given names, each player with its
+   * own budget of the given length per turn.
+   *
+   * @param shotStrategy      the name of the strategy choosing the player's shots
+   * @param placementStrategy the name of the strategy placing the player's fleet
+   * @param turnBudget        the time each turn may spend choosing a volley, or null for no time
+   *                          limit
+   * @return the factory
+   * @throws IllegalArgumentException if either name is not a known strategy, or the budget is
+   *                                  negative
+   */
+  static PlayerFactory of(String shotStrategy, String placementStrategy, Duration turnBudget)
+      throws IllegalArgumentException {
+    // fail on unknown names and invalid budgets now rather than when the first player is made
+    StrategyRegistry.shotStrategy(shotStrategy);
+    StrategyRegistry.placementStrategy(placementStrategy);
+    if (turnBudget != null) {
+      new TurnBudget(turnBudget);
+    }
+
+    return (name, board, other, random) -> {
+      ShotStrategy shots = StrategyRegistry.shotStrategy(shotStrategy);
+      PlacementStrategy placement = StrategyRegistry.placementStrategy(placementStrategy);
+      ArtificialPlayer player = new ArtificialPlayer(name, null, board, other, random, shots,
+          placement);
+      if (turnBudget != null) {
+        player.setTurnBudget(new TurnBudget(turnBudget));
+      }
+      return player;
+    };
+  }
+
+}
@@ -2,27 +2,24 @@ package controller;
 
 import static model.CoordStatus.UNKNOWN;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.PrintStream;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.List;
-import json.CoordJson;
-import json.CoordinatesJson;
 import json.FleetJson;
 import json.JoinJson;
-import json.JsonUtils;
-import json.MessageJson;
+import json.JsonCodec;
+import json.MessageDecoder;
+import json.MessageEncoder;
 import json.SetupJson;
 import json.ShipJson;
 import model.AbstractPlayer;
 import model.Board;
 import model.Coord;
-import model.CoordAdapter;
+import model.GameRecord;
+import model.GameResult;
 import model.Ship;
 import model.ShipAdapter;
 
@@ -31,13 +28,28 @@ import model.ShipAdapter;
  */
 public class ProxyController implements Controller {
 
-  private final Socket socket;
+  private final ChannelTransport transport;
   private final AbstractPlayer player;
-  private final InputStream in;
-  private final PrintStream out;
-  private final ObjectMapper mapper = new ObjectMapper();
+  private final OutputStream out;
   private Board board;
-  private static final JsonNode EMPTY_ARGS = new ObjectMapper().getNodeFactory().arrayNode(0);
+  private Coord[] cells;
+  private int width;
+  private int height;
+  private final long seed;
+  private GameLogWriter log;
+  private boolean logging; // whether a game has been started in the log and not ended
+  private List<Coord> volley;
+  private List<Coord> serverVolley;
+  private List<Coord> serverHits;
+  private GameResult result;
+  private int turns;
+  private int shotsFired;
+  private int shotsHit;
+  private int serverShotsFired;
+  private int serverShotsHit;
+  private final List<Coord> shotsBuffer = new ArrayList<>();
+  private final List<Coord> hitsBuffer = new ArrayList<>();
+  private final MessageEncoder encoder = new MessageEncoder();
 
   /**
    * Creates a ProxyController object that handles messages from a server and helps run a game
@@ -48,48 +60,116 @@ public class ProxyController implements Controller {
    * @throws IOException - In the event of an IOException.
    */
   public ProxyController(Socket socket, AbstractPlayer player, Board board) throws IOException {
-    this.socket = socket;
+    this(socket, player, board, 0, null);
+  }
+
+  /**
+   * Creates a ProxyController object that plays against a server and writes the game to a game
+   * log, with this controller's player as the first player. The server's seed and fleet are not
+   * known, so they are not logged, and nor are shots off the board. A game the server cuts off,
+   * or ends with a result that is not known, is ended in the log with no result. If the log
+   * cannot be written the game goes on without it.
+   *
+   * @param socket - The server's socket. Its channel is used if it has one.
+   * @param player - This controller's player.
+   * @param board  - This controller's player's board.
+   * @param seed   - The seed of this controller's player's random object.
+   * @param log    - Where the game is logged, or null to not log it.
+   * @throws IOException - In the event of an IOException.
+   */
+  public ProxyController(Socket socket, AbstractPlayer player, Board board, long seed,
+                         GameLogWriter log) throws IOException {
+    this(socket.getChannel() != null ? new ChannelTransport(socket.getChannel())
+        : new ChannelTransport(Channels.newChannel(socket.getInputStream()),
+            Channels.newChannel(socket.getOutputStream())), player, board, seed, log);
+  }
+
+  /**
+   * Creates a ProxyController object that plays against a server over a transport, such as one
+   * over a socket channel, and writes the game to a game log as
+   * {@link #ProxyController(Socket, AbstractPlayer, Board, long, GameLogWriter)} does.
+   *
+   * @param transport - The transport to the server. Its channels must be blocking.
+   * @param player    - This controller's player.
+   * @param board     - This controller's player's board.
+   * @param seed      - The seed of this controller's player's random object.
+   * @param log       - Where the game is logged, or null to not log it.
+   */
+  public ProxyController(ChannelTransport transport, AbstractPlayer player, Board board,
+                         long seed, GameLogWriter log) {
+    this.transport = transport;
     this.player = player;
     this.board = board;
-    this.in = socket.getInputStream();
-    this.out = new PrintStream(socket.getOutputStream());
+    this.seed = seed;
+    this.log = log;
+    this.out = transport.output();
   }
 
   /**
-   * Runs a game of BattleSalvo in which this player plays against a server.
+   * Runs a game of BattleSalvo in which this player plays against a server, until the server
+   * closes the connection.
    */
   @Override
   public void run() {
     try {
-      JsonParser parser = this.mapper.getFactory().createParser(this.in);
-
-      while (!this.socket.isClosed()) {
-        MessageJson message = parser.readValueAs(MessageJson.class);
-        delegateMessage(message);
+      while (transport.receive()) {
+        delegateMessage(transport.message());
       }
     } catch (IOException e) {
       // if things in try block cannot be completed; server will end game
+    } finally {
+      endLog(null);
+    }
+  }
+
+  /**
+   * Handles every message that has arrived, without waiting for more, so that one thread can
+   * play many games over non-blocking transports.
+   *
+   * @return - false once the server has closed the connection after its last message.
+   * @throws IOException - If a message cannot be read or a response cannot be sent.
+   */
+  boolean poll() throws IOException {
+    while (transport.receive()) {
+      delegateMessage(transport.message());
+    }
+    if (transport.ended()) {
+      endLog(null);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Gets the record of the game, seen from this controller's player. The server's fleet is not
+   * known, so its ships afloat are -1.
+   *
+   * @return - The record, or null if the server has not ended the game with a result.
+   */
+  public GameRecord getRecord() {
+    if (result == null) {
+      return null;
     }
+    return new GameRecord(seed, height, width, result, turns, shotsFired, shotsHit,
+        serverShotsFired, serverShotsHit, board.getShipsAfloat(), -1);
   }
 
   /**
    * Decide which helper to call based
    * on what the message from the server is
    *
-   * @param message : the command the server gives us
+   * @param message : the command the server gives us, as last read by the decoder
+   * @throws IOException - If the response cannot be sent.
    */
-  private void delegateMessage(MessageJson message) {
-    String methodName = message.methodName();
-    JsonNode arguments = message.arguments();
-
-    switch (methodName) {
+  private void delegateMessage(MessageDecoder message) throws IOException {
+    switch (message.methodName()) {
 
       case "join" -> handleJoin();
-      case "setup" -> handleSetup(arguments);
+      case "setup" -> handleSetup(message.setup());
       case "take-shots" -> handleTakeShots();
-      case "report-damage" -> handleReportDamage(arguments);
-      case "successful-hits" -> handleSuccessfulHits(arguments);
-      case "end-game" -> handleEndGame();
+      case "report-damage" -> handleReportDamage(coords(message, shotsBuffer));
+      case "successful-hits" -> handleSuccessfulHits(coords(message, hitsBuffer));
+      case "end-game" -> handleEndGame(message.result());
 
       default -> throw new IllegalStateException("Invalid message from server\n");
 
@@ -98,142 +178,205 @@ public class ProxyController implements Controller {
 
   /**
    * Handle the "join" command
+   *
+   * @throws IOException - If the response cannot be sent.
    */
-  private void handleJoin() {
+  private void handleJoin() throws IOException {
     JoinJson joinResponse = new JoinJson("giovabattelli", "SINGLE"); // johnny's github username
-    JsonNode join = JsonUtils.serializeRecord(joinResponse);
-
-    MessageJson message = new MessageJson("join", join);
-    JsonNode jsonResponse = JsonUtils.serializeRecord(message);
-    this.out.println(jsonResponse);
+    JsonCodec.writeMessage("join", joinResponse, this.out);
   }
 
   /**
    * Handle the "setup" command
    *
-   * @param arguments - The setup message arguments from the server.
+   * @param setupArgs - The setup message arguments from the server.
+   * @throws IOException - If the response cannot be sent.
    */
-  private void handleSetup(JsonNode arguments) {
-    SetupJson setupArgs = this.mapper.convertValue(arguments, SetupJson.class);
+  private void handleSetup(SetupJson setupArgs) throws IOException {
     board.changeDimensions(setupArgs.height(), setupArgs.width());
+    height = setupArgs.height();
+    width = setupArgs.width();
+    result = null;
+    turns = 0;
+    shotsFired = 0;
+    shotsHit = 0;
+    serverShotsFired = 0;
+    serverShotsHit = 0;
+    cells = new Coord[height * width];
+    for (int cell = 0; cell < cells.length; cell++) {
+      cells[cell] = new Coord(cell % width, cell / width, UNKNOWN);
+    }
     List<Ship> ships = player.setup(setupArgs.height(), setupArgs.width(), setupArgs.shipSpecs());
-    List<ShipAdapter> adaptedShips = new ArrayList<>();
-
-    for (Ship ship : ships) {
-      adaptedShips.add(new ShipAdapter(ship));
+    endLog(null);
+    if (log != null) {
+      try {
+        log.start(seed, 0, setupArgs.height(), setupArgs.width(), setupArgs.shipSpecs(), ships,
+            null);
+        logging = true;
+      } catch (IOException e) {
+        log = null;
+      }
     }
 
-    JsonNode[] listOfShips = new JsonNode[ships.size()];
+    ShipJson[] listOfShips = new ShipJson[ships.size()];
     int i = 0;
 
-    for (ShipAdapter ship : adaptedShips) {
-      ShipJson shipConverted = new ShipJson(ship.getStart(), ship.getLength(), ship.getDirection());
-      JsonNode node = JsonUtils.serializeRecord(shipConverted);
-      listOfShips[i] = node;
+    for (Ship ship : ships) {
+      ShipAdapter adapted = new ShipAdapter(ship);
+      listOfShips[i] = new ShipJson(adapted.getStart(), adapted.getLength(),
+          adapted.getDirection());
       i++;
     }
 
-    FleetJson fleet = new FleetJson(listOfShips);
-    MessageJson message = new MessageJson("setup", JsonUtils.serializeRecord(fleet));
-    JsonNode fleetResponse = JsonUtils.serializeRecord(message);
-    this.out.println(fleetResponse);
+    JsonCodec.writeMessage("setup", new FleetJson(listOfShips), this.out);
   }
 
   /**
    * Handle the "take-shots" command
+   *
+   * @throws IOException - If the response cannot be sent.
    */
-  private void handleTakeShots() {
+  private void handleTakeShots() throws IOException {
     List<Coord> shots = player.takeShots();
-    List<CoordAdapter> adaptedShots = new ArrayList<>();
-
-    for (Coord coord : shots) {
-      adaptedShots.add(new CoordAdapter(coord));
-    }
-
-    JsonNode[] startCoords = new JsonNode[shots.size()];
-    int i = 0;
-
-    for (CoordAdapter coord : adaptedShots) {
-      CoordJson coordInJson = new CoordJson(coord.getX(), coord.getY());
-      JsonNode node = JsonUtils.serializeRecord(coordInJson);
-      startCoords[i] = node;
-      i++;
-    }
-
-    CoordinatesJson volley = new CoordinatesJson(startCoords);
-    MessageJson message = new MessageJson("take-shots", JsonUtils.serializeRecord(volley));
-    JsonNode jsonResponse = JsonUtils.serializeRecord(message);
-    this.out.println(jsonResponse);
+    volley = shots;
+    shotsFired += shots.size();
+    writeCoordinates("take-shots", shots);
   }
 
   /**
    * Handle the "report-damage" command
    *
-   * @param arguments - The report damage message arguments from the server
+   * @param coordsFromServer - The server's shots at this player's board
+   * @throws IOException - If the response cannot be sent.
    */
-  private void handleReportDamage(JsonNode arguments) {
-    CoordinatesJson reportDamageArgs = this.mapper.convertValue(arguments, CoordinatesJson.class);
-    List<Coord> coordsFromServer = new ArrayList<>();
-
-    for (JsonNode jn : reportDamageArgs.coordinates()) {
-      CoordJson coordAdapterJson = this.mapper.convertValue(jn, CoordJson.class);
-      coordsFromServer.add(new Coord(coordAdapterJson.x(), coordAdapterJson.y(), UNKNOWN));
-    }
-
+  private void handleReportDamage(List<Coord> coordsFromServer) throws IOException {
     List<Coord> shotsThatHit = player.reportDamage(coordsFromServer);
-    List<CoordAdapter> adaptedCoords = new ArrayList<>();
-
-    for (Coord coord : shotsThatHit) {
-      adaptedCoords.add(new CoordAdapter(coord));
-    }
+    serverVolley = coordsFromServer;
+    serverHits = shotsThatHit;
+    serverShotsFired += coordsFromServer.size();
+    serverShotsHit += shotsThatHit.size();
 
-    JsonNode[] startCoords = new JsonNode[shotsThatHit.size()];
-    int i = 0;
+    writeCoordinates("report-damage", shotsThatHit);
+  }
 
-    for (CoordAdapter coord : adaptedCoords) {
-      CoordJson coordInJson = new CoordJson(coord.getX(), coord.getY());
-      JsonNode node = JsonUtils.serializeRecord(coordInJson);
-      startCoords[i] = node;
-      i++;
+  /**
+   * Handle the "successful-hits" command
+   *
+   * @param hits - The coordinates that this player hit on the server player's board
+   * @throws IOException - If the response cannot be sent.
+   */
+  private void handleSuccessfulHits(List<Coord> hits) throws IOException {
+    player.successfulHits(hits);
+    turns++;
+    shotsHit += hits.size();
+    if (logging && volley != null && serverVolley != null) {
+      try {
+        log.turn(onBoard(volley), onBoard(serverVolley), onBoard(hits), onBoard(serverHits));
+        log.flush(); // a game cut off by the server is logged up to its last turn
+      } catch (IOException e) {
+        log = null;
+        logging = false;
+      }
     }
 
-    CoordinatesJson shots = new CoordinatesJson(startCoords);
-    MessageJson message = new MessageJson("report-damage", JsonUtils.serializeRecord(shots));
-    JsonNode jsonResponse = JsonUtils.serializeRecord(message);
-    this.out.println(jsonResponse);
+    encoder.writeEmpty("successful-hits", this.out);
+  }
 
+  /**
+   * Handle the "end-game" command
+   *
+   * @param endResult - The result in the end game message arguments from the server
+   * @throws IOException - If the response cannot be sent.
+   */
+  private void handleEndGame(String endResult) throws IOException {
+    result = switch (endResult) {
+      case "WIN" -> GameResult.WIN;
+      case "LOSE" -> GameResult.LOSE;
+      case "DRAW", "TIE" -> GameResult.TIE;
+      default -> null;
+    };
+    endLog(result);
+
+    encoder.writeEmpty("end-game", this.out);
   }
 
   /**
-   * Handle the "successful-hits" command
+   * Ends the game being logged, if one has been started and not ended, so the next game appended
+   * to the log starts after an end record.
    *
-   * @param arguments - The successful hits message arguments from the server
+   * @param gameResult - The result of the game, or null if it was cut off or its result is not
+   *                   known.
    */
-  private void handleSuccessfulHits(JsonNode arguments) {
-    // coordinates that this player hit on server player's board
-    CoordinatesJson successfulHits = this.mapper.convertValue(arguments, CoordinatesJson.class);
-    List<Coord> hits = new ArrayList<>();
+  private void endLog(GameResult gameResult) {
+    if (logging) {
+      logging = false;
+      try {
+        log.end(gameResult);
+      } catch (IOException e) {
+        log = null;
+      }
+    }
+  }
 
-    for (JsonNode cj : successfulHits.coordinates()) {
-      CoordJson coordJson = this.mapper.convertValue(cj, CoordJson.class);
-      Coord coord = new Coord(coordJson.x(), coordJson.y(), UNKNOWN);
-      hits.add(coord);
+  /**
+   * Sends a message of coords, written straight from their x and y values.
+   *
+   * @param methodName - The name of the method.
+   * @param coords     - The coords.
+   * @throws IOException - If the message cannot be sent.
+   */
+  private void writeCoordinates(String methodName, List<Coord> coords) throws IOException {
+    encoder.startCoordinates(methodName);
+    for (int i = 0; i < coords.size(); i++) {
+      encoder.coordinate(coords.get(i).getX(), coords.get(i).getY());
     }
+    encoder.writeCoordinates(this.out);
+  }
 
-    player.successfulHits(hits);
+  /**
+   * Leaves out the coords off the board, which cannot hit and are not logged.
+   *
+   * @param coords - The coords.
+   * @return - The coords, or a copy without those off the board if there are any.
+   */
+  private List<Coord> onBoard(List<Coord> coords) {
+    for (Coord coord : coords) {
+      if (!isOnBoard(coord.getX(), coord.getY())) {
+        return coords.stream().filter(c -> isOnBoard(c.getX(), c.getY())).toList();
+      }
+    }
+    return coords;
+  }
 
-    MessageJson successfulHitsResponse = new MessageJson("successful-hits", EMPTY_ARGS);
-    JsonNode jsonResponse = JsonUtils.serializeRecord(successfulHitsResponse);
-    this.out.println(jsonResponse);
+  /**
+   * Checks whether a coordinate is on the board.
+   *
+   * @param x - The x value.
+   * @param y - The y value.
+   * @return - Whether it is on the board.
+   */
+  private boolean isOnBoard(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height;
   }
 
   /**
-   * Handle the "end-game" command
+   * Gets the coordinates of the last message as coords, in a reused list. A coordinate on the
+   * board is always the same coord, made at setup, so a volley allocates no coords; this is safe
+   * because players only read the coords they are given.
+   *
+   * @param message - The decoder that read the message.
+   * @param coords  - The list to fill; its last contents are cleared.
+   * @return - The list.
    */
-  private void handleEndGame() {
-    MessageJson endGameResponse = new MessageJson("end-game", EMPTY_ARGS);
-    JsonNode jsonResponse = JsonUtils.serializeRecord(endGameResponse);
-    this.out.println(jsonResponse);
+  private List<Coord> coords(MessageDecoder message, List<Coord> coords) {
+    coords.clear();
+    for (int i = 0; i < message.size(); i++) {
+      int x = message.x(i);
+      int y = message.y(i);
+      boolean onBoard = cells != null && isOnBoard(x, y);
+      coords.add(onBoard ? cells[y * width + x] : new Coord(x, y, UNKNOWN));
+    }
+    return coords;
   }
 
 }
@@ -0,0 +1,155 @@
+package controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.AbstractPlayer;
+import model.Board;
+import model.Coord;
+import model.GameRecord;
+import model.GameResult;
+import model.Ship;
+import model.ShipType;
+
+/**
+ * Plays games of BattleSalvo between two players with no view, no console and no rendering, and
+ * records the outcome of each. The two players and their boards are made once and reused for
+ * every game, with each game reseeding the players' random objects, so any game can be played
+ * again from its seed alone.
+ *
+ * <p>An engine plays one game at a time; run one engine per thread to play games in parallel.
+ */
+public class SelfPlayEngine {
+
+  static final long SECOND_SEED = 0x9E3779B97F4A7C15L; // keeps the players' seeds apart
+  private static final String SUNK = "All of the opponent's ships were sunk";
+  private static final String LOST = "All of your ships were sunk";
+  private static final String BOTH_SUNK = "Both fleets were sunk in the same turn";
+  private static final String STALLED = "The game ran out of turns";
+
+  private final Board firstBoard = new Board();
+  private final Board secondBoard = new Board();
+  private final Random firstRandom = new Random();
+  private final Random secondRandom = new Random();
+  private final AbstractPlayer first;
+  private final AbstractPlayer second;
+
+  /**
+   * Creates an engine for games between the players of the given factories.
+   *
+   * @param first  - Makes the first player.
+   * @param second - Makes the second player.
+   */
+  public SelfPlayEngine(PlayerFactory first, PlayerFactory second) {
+    this.first = first.create("first", firstBoard, secondBoard, firstRandom);
+    this.second = second.create("second", secondBoard, firstBoard, secondRandom);
+  }
+
+  /**
+   * Plays one game to completion. A game in which neither fleet is sunk after as many turns as
+   * there are cells, which players that never shoot the same cell twice cannot reach, is a tie.
+   *
+   * @param seed           - The seed the game is played from.
+   * @param height         - The height of both boards.
+   * @param width          - The width of both boards.
+   * @param specifications - A map of ship type to the number of occurrences of each ship in both
+   *                         fleets.
+   * @return - The record of the game.
+   */
+  public GameRecord play(long seed, int height, int width,
+                         Map<ShipType, Integer> specifications) {
+    try {
+      return play(seed, height, width, specifications, null);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // nothing is written without a log
+    }
+  }
+
+  /**
+   * Plays one game to completion, writing it to a game log.
+   *
+   * @param seed           - The seed the game is played from.
+   * @param height         - The height of both boards.
+   * @param width          - The width of both boards.
+   * @param specifications - A map of ship type to the number of occurrences of each ship in both
+   *                         fleets.
+   * @param log            - Where the game is logged, or null to not log it.
+   * @return - The record of the game.
+   * @throws IOException - If the game cannot be written to the log.
+   */
+  public GameRecord play(long seed, int height, int width, Map<ShipType, Integer> specifications,
+                         GameLogWriter log) throws IOException {
+    firstRandom.setSeed(seed);
+    secondRandom.setSeed(seed ^ SECOND_SEED);
+    firstBoard.changeDimensions(height, width);
+    secondBoard.changeDimensions(height, width);
+    List<Ship> firstFleet = first.setup(height, width, specifications);
+    List<Ship> secondFleet = second.setup(height, width, specifications);
+    if (log != null) {
+      log.start(seed, seed ^ SECOND_SEED, height, width, specifications, firstFleet, secondFleet);
+    }
+
+    int maxTurns = height * width;
+    int turns = 0;
+    int firstShots = 0;
+    int firstHits = 0;
+    int secondShots = 0;
+    int secondHits = 0;
+
+    while (firstBoard.getShipsAfloat() > 0 && secondBoard.getShipsAfloat() > 0
+        && turns < maxTurns) {
+      List<Coord> firstVolley = first.takeShots();
+      List<Coord> secondVolley = second.takeShots();
+
+      List<Coord> hitsOnSecond = second.reportDamage(firstVolley);
+      List<Coord> hitsOnFirst = first.reportDamage(secondVolley);
+
+      first.successfulHits(hitsOnSecond);
+      second.successfulHits(hitsOnFirst);
+
+      if (log != null) {
+        log.turn(firstVolley, secondVolley, hitsOnSecond, hitsOnFirst);
+      }
+      firstShots += firstVolley.size();
+      firstHits += hitsOnSecond.size();
+      secondShots += secondVolley.size();
+      secondHits += hitsOnFirst.size();
+      turns++;
+    }
+
+    GameResult result = endGame();
+    if (log != null) {
+      log.end(result);
+    }
+    return new GameRecord(seed, height, width, result, turns, firstShots, firstHits,
+        secondShots, secondHits, firstBoard.getShipsAfloat(), secondBoard.getShipsAfloat());
+  }
+
+  /**
+   * Tells both players how the game ended.
+   *
+   * @return - Whether the first player won, lost or tied.
+   */
+  private GameResult endGame() {
+    boolean firstSunk = firstBoard.getShipsAfloat() == 0;
+    boolean secondSunk = secondBoard.getShipsAfloat() == 0;
+
+    if (firstSunk == secondSunk) {
+      String reason = firstSunk ? BOTH_SUNK : STALLED;
+      first.endGame(GameResult.TIE, reason);
+      second.endGame(GameResult.TIE, reason);
+      return GameResult.TIE;
+    } else if (secondSunk) {
+      first.endGame(GameResult.WIN, SUNK);
+      second.endGame(GameResult.LOSE, LOST);
+      return GameResult.WIN;
+    } else {
+      first.endGame(GameResult.LOSE, LOST);
+      second.endGame(GameResult.WIN, SUNK);
+      return GameResult.LOSE;
+    }
+  }
+
+}
@@ -0,0 +1,436 @@
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays a round robin between AI contenders on every arena of a grid, spread over a fork/join
+ * pool, and reports each match's scores and turns to win along with a rating of every contender.
+ *
+ * <p>Every pair of contenders plays the same number of games on every arena, split into blocks.
+ * The games of a block are played by one {@link SelfPlayEngine} from seeds that only depend on
+ * the tournament's seed, the arena's size and fleet and the game's index on it, so every match
+ * is played on the same seeds, however the arenas are listed. Each finished block appends one
+ * line holding its key and tally to the results file. Running a tournament again with the same
+ * results file reads the blocks already played back from it and only plays the rest, so an
+ * interrupted run picks up where it stopped. The key holds everything a block's seeds depend on,
+ * so blocks played with another seed are played again rather than resumed, while a run over
+ * reordered or fewer arenas resumes the blocks it shares with the file.
+ */
+public class Tournament {
+
+  private static final int DEFAULT_BLOCK_GAMES = 1000;
+  private static final char TAB = '\t';
+  private static final double[] PERCENTILES = {50, 90, 99};
+
+  private final List<Contender> contenders;
+  private final List<Arena> arenas;
+  private final int gamesPerArena;
+  private final int blockGames;
+  private final long seed;
+  private final Path results;
+  private final ForkJoinPool pool;
+  private final MatchStats[][] stats; // tallies of each pair, first index below the second
+  private long resumedGames;
+  private long playedGames;
+
+  /**
+   * Creates a tournament.
+   *
+   * @param contenders    - The contenders, at least two, all different.
+   * @param arenas        - The arenas every pair of contenders plays on.
+   * @param gamesPerArena - The number of games every pair plays on each arena.
+   * @param seed          - The seed all games are played from.
+   * @param results       - The file each finished block of games is appended to.
+   * @param pool          - The pool the games are played on.
+   * @throws IllegalArgumentException - If a contender is unknown or repeated, or there are too
+   *                                  few contenders or games.
+   */
+  public Tournament(List<Contender> contenders, List<Arena> arenas, int gamesPerArena, long seed,
+                    Path results, ForkJoinPool pool) throws IllegalArgumentException {
+    this(contenders, arenas, gamesPerArena, seed, results, pool, DEFAULT_BLOCK_GAMES);
+  }
+
+  /**
+   * Creates a tournament that plays and records games in blocks of the given size.
+   *
+   * @param contenders    - The contenders, at least two, all different.
+   * @param arenas        - The arenas every pair of contenders plays on.
+   * @param gamesPerArena - The number of games every pair plays on each arena.
+   * @param seed          - The seed all games are played from.
+   * @param results       - The file each finished block of games is appended to.
+   * @param pool          - The pool the games are played on.
+   * @param blockGames    - The number of games in a full block.
+   * @throws IllegalArgumentException - If a contender is unknown or repeated, or there are too
+   *                                  few contenders or games.
+   */
+  Tournament(List<Contender> contenders, List<Arena> arenas, int gamesPerArena, long seed,
+             Path results, ForkJoinPool pool, int blockGames) throws IllegalArgumentException {
+    if (contenders.size() < 2 || contenders.stream().distinct().count() < contenders.size()) {
+      throw new IllegalArgumentException("A tournament needs at least two different contenders");
+    }
+    if (gamesPerArena <= 0 || blockGames <= 0 || arenas.isEmpty()) {
+      throw new IllegalArgumentException("A tournament needs at least one game on one arena");
+    }
+    for (Contender contender : contenders) {
+      contender.factory();
+    }
+
+    this.contenders = List.copyOf(contenders);
+    this.arenas = List.copyOf(arenas);
+    this.gamesPerArena = gamesPerArena;
+    this.blockGames = blockGames;
+    this.seed = seed;
+    this.results = results;
+    this.pool = pool;
+    this.stats = new MatchStats[contenders.size()][contenders.size()];
+    clear();
+  }
+
+  /**
+   * Reads the blocks already in the results file, then plays every other block, appending each
+   * one to the file as it finishes.
+   *
+   * @throws IOException - If the results file cannot be read or written.
+   */
+  public void run() throws IOException {
+    Map<String, Block> planned = new LinkedHashMap<>();
+    for (int first = 0; first < contenders.size(); first++) {
+      for (int second = first + 1; second < contenders.size(); second++) {
+        for (int arena = 0; arena < arenas.size(); arena++) {
+          for (int start = 0; start < gamesPerArena; start += blockGames) {
+            Block block = new Block(first, second, arena, start,
+                Math.min(blockGames, gamesPerArena - start));
+            planned.put(key(block), block);
+          }
+        }
+      }
+    }
+
+    boolean endsMidLine = resume(planned);
+    List<Block> pending = new ArrayList<>(planned.values());
+
+    try (Writer writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      if (endsMidLine) {
+        writer.write('\n'); // ends a line cut short by an interrupted run
+      }
+      pool.invoke(new BlockTask(pending, 0, pending.size(), writer));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Gets the tally of every game played so far between two contenders.
+   *
+   * @param first  - Index of the contender the tally is seen from.
+   * @param second - Index of the other contender.
+   * @return - A copy of the tally.
+   */
+  public MatchStats getStats(int first, int second) {
+    if (first == second) {
+      throw new IllegalArgumentException("A contender does not play itself");
+    }
+    synchronized (this) {
+      if (first < second) {
+        MatchStats copy = new MatchStats();
+        copy.merge(stats[first][second]);
+        return copy;
+      }
+      return stats[second][first].reversed();
+    }
+  }
+
+  /**
+   * Fits a rating to every contender from the games played so far.
+   *
+   * @return - The rating of each contender, in the order they were given.
+   */
+  public Map<Contender, Double> ratings() {
+    int count = contenders.size();
+    double[][] score = new double[count][count];
+    double[][] games = new double[count][count];
+
+    for (int first = 0; first < count; first++) {
+      for (int second = first + 1; second < count; second++) {
+        MatchStats match = getStats(first, second);
+        double ties = 0.5 * match.getTies();
+        score[first][second] = match.getWins(true) + ties;
+        score[second][first] = match.getWins(false) + ties;
+        games[first][second] = match.getGames();
+        games[second][first] = match.getGames();
+      }
+    }
+
+    double[] fitted = EloRatings.fit(score, games);
+    Map<Contender, Double> ratings = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      ratings.put(contenders.get(i), fitted[i]);
+    }
+    return ratings;
+  }
+
+  /**
+   * Writes a report of the games played so far: every contender's rating, then for every match
+   * the first contender's score with its 95% interval, and the mean and percentile turns each
+   * side's wins took.
+   *
+   * @param out - Where the report is written.
+   * @throws IOException - If the report cannot be written.
+   */
+  public void report(Appendable out) throws IOException {
+    out.append(String.format(Locale.ROOT, "%-32s %8s%n", "contender", "rating"));
+    for (Map.Entry<Contender, Double> rating : ratings().entrySet()) {
+      out.append(String.format(Locale.ROOT, "%-32s %8.1f%n", rating.getKey().label(),
+          rating.getValue()));
+    }
+
+    out.append(String.format(Locale.ROOT, "%n%-48s %10s %7s %17s  %s%n", "match", "games",
+        "score", "95% interval", "turns to win: mean p50 p90 p99 (first / second)"));
+    for (int first = 0; first < contenders.size(); first++) {
+      for (int second = first + 1; second < contenders.size(); second++) {
+        MatchStats match = getStats(first, second);
+        double[] interval = match.scoreInterval();
+        out.append(String.format(Locale.ROOT, "%-48s %10d %7.4f  [%.4f, %.4f]  %s / %s%n",
+            contenders.get(first).label() + " vs " + contenders.get(second).label(),
+            match.getGames(), match.score(), interval[0], interval[1], turns(match, true),
+            turns(match, false)));
+      }
+    }
+  }
+
+  /**
+   * Gets the number of games read back from the results file by the last run.
+   *
+   * @return - The number of games resumed.
+   */
+  public long getResumedGames() {
+    return resumedGames;
+  }
+
+  /**
+   * Gets the number of games played by the last run.
+   *
+   * @return - The number of games played.
+   */
+  public synchronized long getPlayedGames() {
+    return playedGames;
+  }
+
+  /**
+   * Clears the tallies, reads the blocks in the results file back into them, and drops them from
+   * the planned blocks. Lines that are cut short, corrupt, repeated, or from another tournament
+   * are skipped.
+   *
+   * @param planned - The blocks of this tournament by key, from which read blocks are removed.
+   * @return - Whether the file ends partway through a line.
+   * @throws IOException - If the file exists but cannot be read.
+   */
+  private boolean resume(Map<String, Block> planned) throws IOException {
+    clear();
+    if (!Files.exists(results)) {
+      return false;
+    }
+
+    try (BufferedReader reader = Files.newBufferedReader(results, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int split = line.lastIndexOf(TAB);
+        Block block = split < 0 ? null : planned.get(line.substring(0, split));
+        if (block == null) {
+          continue;
+        }
+        try {
+          MatchStats tally = MatchStats.decode(line.substring(split + 1));
+          if (tally.getGames() == block.games()) {
+            stats[block.first()][block.second()].merge(tally);
+            resumedGames += block.games();
+            planned.remove(key(block));
+          }
+        } catch (IllegalArgumentException e) {
+          // a line cut short by an interrupted run is played again
+        }
+      }
+    }
+
+    try (FileChannel channel = FileChannel.open(results, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0) {
+        return false;
+      }
+      ByteBuffer last = ByteBuffer.allocate(1);
+      channel.read(last, size - 1);
+      return last.get(0) != '\n';
+    }
+  }
+
+  /**
+   * Empties every tally and the counts of games resumed and played.
+   */
+  private synchronized void clear() {
+    resumedGames = 0;
+    playedGames = 0;
+    for (int first = 0; first < contenders.size(); first++) {
+      for (int second = first + 1; second < contenders.size(); second++) {
+        stats[first][second] = new MatchStats();
+      }
+    }
+  }
+
+  /**
+   * Plays the games of one block.
+   *
+   * @param block - The block.
+   * @return - The tally of the block's games.
+   */
+  private MatchStats play(Block block) {
+    SelfPlayEngine engine = new SelfPlayEngine(contenders.get(block.first()).factory(),
+        contenders.get(block.second()).factory());
+    Arena arena = arenas.get(block.arena());
+    long arenaSeed = mix(((long) arena.height() << 32 | arena.width())
+        ^ mix(arena.fleetLabel().hashCode()));
+    MatchStats tally = new MatchStats();
+
+    for (int game = block.start(); game < block.start() + block.games(); game++) {
+      long gameSeed = mix(seed ^ mix(arenaSeed + game));
+      tally.add(engine.play(gameSeed, arena.height(), arena.width(), arena.specifications()));
+    }
+
+    return tally;
+  }
+
+  /**
+   * Adds a finished block to its match's tally and appends it to the results file.
+   *
+   * @param block  - The block.
+   * @param tally  - The tally of the block's games.
+   * @param writer - Writes to the results file.
+   */
+  private synchronized void finish(Block block, MatchStats tally, Writer writer) {
+    stats[block.first()][block.second()].merge(tally);
+    playedGames += block.games();
+    try {
+      writer.write(key(block) + TAB + tally.encode() + '\n');
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Gets the key a block is recorded under: the tournament's seed, both contenders, the arena's
+   * size and fleet, the first game and the number of games, separated by tabs.
+   *
+   * @param block - The block.
+   * @return - The key.
+   */
+  private String key(Block block) {
+    Arena arena = arenas.get(block.arena());
+    return String.valueOf(seed) + TAB + contenders.get(block.first()).label() + TAB
+        + contenders.get(block.second()).label() + TAB + arena.height() + TAB + arena.width()
+        + TAB + arena.fleetLabel() + TAB + block.start() + TAB + block.games();
+  }
+
+  /**
+   * Writes the mean and percentile turns one side's wins took.
+   *
+   * @param match - The tally of a match.
+   * @param first - Whether to read the first contender's wins, rather than the second's.
+   * @return - The turns, or a dash if the side never won.
+   */
+  private static String turns(MatchStats match, boolean first) {
+    if (match.getWins(first) == 0) {
+      return "-";
+    }
+    StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%.2f",
+        match.meanTurnsToWin(first)));
+    for (double percentile : PERCENTILES) {
+      text.append(' ').append(match.turnsToWin(first, percentile));
+    }
+    return text.toString();
+  }
+
+  /**
+   * Scrambles a number with the SplitMix64 finalizer, so that nearby inputs give unrelated seeds.
+   *
+   * @param value - The number.
+   * @return - The scrambled number.
+   */
+  private static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * A run of games between two contenders on one arena.
+   *
+   * @param first  - Index of the first contender.
+   * @param second - Index of the second contender.
+   * @param arena  - Index of the arena.
+   * @param start  - Index of the block's first game on the arena.
+   * @param games  - The number of games in the block.
+   */
+  private record Block(int first, int second, int arena, int start, int games) {
+
+  }
+
+  /**
+   * Plays a range of blocks, splitting it in half until one block is left so that idle workers
+   * can steal the other half.
+   */
+  private final class BlockTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Block> blocks;
+    private final int from;
+    private final int to;
+    private final Writer writer;
+
+    /**
+     * Creates a task for the blocks in the given range.
+     *
+     * @param blocks - The blocks.
+     * @param from   - Index of the first block of the range.
+     * @param to     - Index after the last block of the range.
+     * @param writer - Writes to the results file.
+     */
+    BlockTask(List<Block> blocks, int from, int to, Writer writer) {
+      this.blocks = blocks;
+      this.from = from;
+      this.to = to;
+      this.writer = writer;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        Block block = blocks.get(from);
+        finish(block, play(block), writer);
+      } else if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new BlockTask(blocks, from, middle, writer),
+            new BlockTask(blocks, middle, to, writer));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+package controller;
+
+import java.util.Random;
+
+/**
+ * A java.util.Random that draws exactly the same numbers from the same seed, and whose 48-bit
+ * state can be read, so that a sequence started through the Random API can be continued over
+ * plain arrays with {@link #next(long[], int, int)} and {@link #nextInt(long[], int, int)}.
+ */
+class TrackedRandom extends Random {
+
+  private static final long serialVersionUID = 1L;
+  private static final long MULTIPLIER = 0x5DEECE66DL;
+  private static final long ADDEND = 0xBL;
+  private static final long MASK = (1L << 48) - 1;
+
+  private long state;
+
+  /**
+   * Creates a random object seeded as {@code new Random(seed)} would be.
+   *
+   * @param seed - The seed.
+   */
+  TrackedRandom(long seed) {
+    super(seed);
+  }
+
+  /**
+   * Reseeds this random object as {@link Random#setSeed(long)} does.
+   *
+   * @param seed - The seed.
+   */
+  @Override
+  public synchronized void setSeed(long seed) {
+    super.setSeed(seed);
+    state = (seed ^ MULTIPLIER) & MASK;
+  }
+
+  /**
+   * Draws the given number of random bits, as {@link Random#next(int)} does.
+   *
+   * @param bits - The number of bits, from 1 to 32.
+   * @return - The bits.
+   */
+  @Override
+  protected int next(int bits) {
+    state = (state * MULTIPLIER + ADDEND) & MASK;
+    return (int) (state >>> (48 - bits));
+  }
+
+  /**
+   * Gets the state the next number is drawn from.
+   *
+   * @return - The 48-bit state.
+   */
+  long state() {
+    return state;
+  }
+
+  /**
+   * Draws the given number of random bits from a state held in an array, advancing it.
+   *
+   * @param states - The states.
+   * @param index  - Index of the state to draw from.
+   * @param bits   - The number of bits, from 1 to 32.
+   * @return - The bits.
+   */
+  static int next(long[] states, int index, int bits) {
+    long state = (states[index] * MULTIPLIER + ADDEND) & MASK;
+    states[index] = state;
+    return (int) (state >>> (48 - bits));
+  }
+
+  /**
+   * Draws a number in [0, bound) from a state held in an array, as {@link Random#nextInt(int)}
+   * does.
+   *
+   * @param states - The states.
+   * @param index  - Index of the state to draw from.
+   * @param bound  - The bound, at least 1.
+   * @return - The number.
+   */
+  static int nextInt(long[] states, int index, int bound) {
+    int r = next(states, index, 31);
+    int m = bound - 1;
+    if ((bound & m) == 0) {
+      return (int) ((bound * (long) r) >> 31);
+    }
+    for (int u = r; u - (r = u % bound) + m < 0; u = next(states, index, 31)) {
+      // draw again when u falls in the incomplete last run of bound values
+    }
+    return r;
+  }
+
+}
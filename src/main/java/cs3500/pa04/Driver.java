@@ -1,17 +1,41 @@
 package cs3500.pa04;
 
+import controller.Arena;
 import controller.BattleshipSalvo;
+import controller.ChannelTransport;
+import controller.Contender;
 import controller.Controller;
+import controller.GameLog;
+import controller.GameLogAnalyzer;
+import controller.GameLogWriter;
+import controller.GameReplayer;
+import controller.MultiSessionClient;
+import controller.OpponentHeatmap;
+import controller.PlayerFactory;
 import controller.ProxyController;
+import controller.Tournament;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
-import model.AbstractPlayer;
+import java.util.concurrent.ForkJoinPool;
 import model.ArtificialPlayer;
 import model.Board;
+import model.GameRecord;
+import model.PlacementStrategy;
+import model.ShotStrategy;
+import model.StrategyRegistry;
+import model.TurnBudget;
 import view.ViewImpl;
 
 /**
@@ -19,35 +43,174 @@ import view.ViewImpl;
  */
 public class Driver {
 
+  private static final String TOURNAMENT = "tournament";
+  private static final String REPLAY = "replay";
+  private static final String HEATMAPS = "heatmaps";
+  private static final String SESSIONS = "sessions";
+  private static final String LOGGED = "-";
+  private static final int MIN_SIZE = 6;
+  private static final int MAX_SIZE = 15;
+
   /**
-   * Runs the BattleSalvo client side with an AI player.
+   * Runs the BattleSalvo client side with an AI player. With a turn budget, prints how often the
+   * player's turns ran into it once the game is over.
    *
-   * @param host - The host of the server.
-   * @param port - The port of the server.
+   * @param host      - The host of the server.
+   * @param port      - The port of the server.
+   * @param shots     - The strategy that chooses the AI player's shots.
+   * @param placement - The strategy that places the AI player's fleet.
+   * @param log       - The file the game is appended to as a game log, or null to not log it.
+   * @param budget    - The time each turn may spend choosing a volley, or null for no time limit.
    * @throws IOException - In the event that a socket cannot be instantiated.
    */
-  private static void runClient(String host, int port) throws IOException {
+  private static void runClient(String host, int port, ShotStrategy shots,
+                                PlacementStrategy placement, Path log, Duration budget)
+      throws IOException {
 
     String clientName = "Floob AI";
     Board clientBoard = new Board();
     Readable readable = new StringReader("");
     Appendable appendable = new StringBuilder();
     ViewImpl view = new ViewImpl(readable, appendable, new Scanner(readable));
-    Random rand = new Random();
+    long seed = new Random().nextLong();
+    Random rand = new Random(seed);
+
+    ArtificialPlayer player = new ArtificialPlayer(clientName, view, clientBoard, clientBoard,
+        rand, shots, placement);
+    if (budget != null) {
+      player.setTurnBudget(new TurnBudget(budget));
+    }
+
+    try (ChannelTransport transport = new ChannelTransport(
+        SocketChannel.open(new InetSocketAddress(host, port)))) {
+      if (log == null) {
+        new ProxyController(transport, player, clientBoard, 0, null).run();
+      } else {
+        try (GameLogWriter writer = new GameLogWriter(Files.newOutputStream(log,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+          new ProxyController(transport, player, clientBoard, seed, writer).run();
+        }
+      }
+    }
+
+    if (player.getTurnBudget() != null) {
+      System.out.println(player.getTurnBudget().summary());
+    }
+
+  }
+
+  /**
+   * Plays many games against a server at once, with an event loop on each core, and prints how
+   * each game came out and how fast they were played.
+   *
+   * @param host        - The host of the server.
+   * @param port        - The port of the server.
+   * @param games       - The number of games to play.
+   * @param concurrency - The most games open at once.
+   * @param players     - Makes the AI player of each game.
+   * @throws IOException - If the games cannot be played.
+   */
+  private static void runSessions(String host, int port, int games, int concurrency,
+                                  PlayerFactory players) throws IOException {
+
+    MultiSessionClient client = new MultiSessionClient(new InetSocketAddress(host, port), players,
+        games, concurrency, Runtime.getRuntime().availableProcessors(), new Random().nextLong());
+
+    client.run();
+    client.report(System.out);
+
+  }
+
+  /**
+   * Runs a tournament between AI contenders on every board size and both grid fleets on all
+   * cores, resuming from the results file if it has games in it, and prints a report.
+   *
+   * @param results    - The file the games are recorded in.
+   * @param games      - The number of games every pair of contenders plays on each arena.
+   * @param contenders - The contenders.
+   * @throws IOException - If the results file cannot be read or written.
+   */
+  private static void runTournament(Path results, int games, List<Contender> contenders)
+      throws IOException {
+
+    Tournament tournament = new Tournament(contenders, Arena.grid(MIN_SIZE, MAX_SIZE), games, 0,
+        results, ForkJoinPool.commonPool());
+
+    tournament.run();
+    tournament.report(System.out);
+
+  }
+
+  /**
+   * Plays every game in a game log again and prints how each came out, or where it stopped
+   * matching the log.
+   *
+   * @param log    - The game log.
+   * @param first  - The contender that re-runs the first side of each game, or null to read it
+   *               back from the log.
+   * @param second - The contender that re-runs the second side of each game, or null to read it
+   *               back from the log.
+   * @throws IOException - If the game log cannot be read.
+   */
+  private static void runReplay(Path log, Contender first, Contender second)
+      throws IOException {
+
+    List<GameLog> games;
+    try (InputStream in = Files.newInputStream(log)) {
+      games = GameLog.read(in);
+    }
+    GameReplayer replayer = new GameReplayer(first == null ? null : first.factory(),
+        second == null ? null : second.factory());
+
+    int diverged = 0;
+    for (int i = 0; i < games.size(); i++) {
+      try {
+        GameRecord record = replayer.replay(games.get(i));
+        System.out.println("Game " + (i + 1) + ": " + record.result().getGameOutcome() + " in "
+            + record.turns() + " turns");
+      } catch (IllegalStateException e) {
+        diverged++;
+        System.out.println("Game " + (i + 1) + ": " + e.getMessage());
+      }
+    }
+    System.out.println("Replayed " + games.size() + " games, " + diverged
+        + " of which did not match the log");
 
-    Socket socket = new Socket(host, port);
-    AbstractPlayer player = new ArtificialPlayer(clientName, view, clientBoard, clientBoard, rand);
-    ProxyController serverGameController = new ProxyController(socket, player, clientBoard);
+  }
 
-    serverGameController.run();
+  /**
+   * Mines game logs for where the opponents in them placed their ships and shot, and prints a
+   * heatmap for each board size.
+   *
+   * @param logs - The game logs.
+   * @throws IOException - If a game log cannot be read.
+   */
+  private static void runHeatmaps(List<Path> logs) throws IOException {
+
+    for (OpponentHeatmap heatmap : GameLogAnalyzer.analyze(logs)) {
+      heatmap.report(System.out);
+      System.out.println();
+    }
 
   }
 
   /**
    * Based on command-line arguments, starts a game of BattleSalvo where client AI plays against
-   * server or player in console plays against an AI.
+   * server or player in console plays against an AI. The client is started with the arguments
+   * host, port, and optionally the names of a shot strategy and a placement strategy, a file to
+   * log the game to or "-" to not log it, and the milliseconds each turn may spend choosing a
+   * volley. A tournament between AIs is started with the arguments "tournament", a
+   * results file, the number of games per arena, and two or more contenders such as "heatmap" or
+   * "heatmap:uniform". The games in a game log are played again with the arguments "replay", the
+   * log, and optionally a contender to re-run each side with, or "-" to read a side back from the
+   * log. Heatmaps of the opponents in game logs are printed with the arguments "heatmaps" and one
+   * or more logs. Many games are played against a server at once with the arguments "sessions",
+   * host, port, the number of games, the most games open at once, and optionally the names of a
+   * shot strategy and a placement strategy and the milliseconds each turn may spend choosing a
+   * volley.
    *
    * @param args - Array of strings; command-line arguments.
+   * @throws IllegalArgumentException - If the arguments are invalid or name an unknown strategy.
    */
   public static void main(String[] args) {
 
@@ -59,12 +222,72 @@ public class Driver {
 
       battleSalvo.run();
 
+    } else if (args[0].equals(TOURNAMENT)) {
+      try {
+
+        int games = Integer.parseInt(args[2]);
+        List<Contender> contenders = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+          contenders.add(Contender.parse(args[i]));
+        }
+        Driver.runTournament(Path.of(args[1]), games, contenders);
+
+      } catch (NumberFormatException | IndexOutOfBoundsException | IOException e) {
+        throw new IllegalArgumentException("Invalid command-line arguments");
+      }
+
+    } else if (args[0].equals(REPLAY)) {
+      try {
+
+        Contender first = args.length > 2 && !args[2].equals(LOGGED)
+            ? Contender.parse(args[2]) : null;
+        Contender second = args.length > 3 && !args[3].equals(LOGGED)
+            ? Contender.parse(args[3]) : null;
+        Driver.runReplay(Path.of(args[1]), first, second);
+
+      } catch (IndexOutOfBoundsException | IOException e) {
+        throw new IllegalArgumentException("Invalid command-line arguments");
+      }
+
+    } else if (args[0].equals(HEATMAPS)) {
+      try {
+
+        List<Path> logs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+          logs.add(Path.of(args[i]));
+        }
+        Driver.runHeatmaps(logs);
+
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Invalid command-line arguments");
+      }
+
+    } else if (args[0].equals(SESSIONS)) {
+      try {
+
+        PlayerFactory players = PlayerFactory.of(
+            args.length > 5 ? args[5] : StrategyRegistry.DEFAULT_SHOT_STRATEGY,
+            args.length > 6 ? args[6] : StrategyRegistry.DEFAULT_PLACEMENT_STRATEGY,
+            args.length > 7 ? Duration.ofMillis(Long.parseLong(args[7])) : null);
+        Driver.runSessions(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+            Integer.parseInt(args[4]), players);
+
+      } catch (NumberFormatException | IndexOutOfBoundsException | IOException e) {
+        throw new IllegalArgumentException("Invalid command-line arguments");
+      }
+
     } else {
       try {
 
         String host = args[0];
         int port = Integer.parseInt(args[1]);
-        Driver.runClient(host, port);
+        ShotStrategy shots = StrategyRegistry.shotStrategy(
+            args.length > 2 ? args[2] : StrategyRegistry.DEFAULT_SHOT_STRATEGY);
+        PlacementStrategy placement = StrategyRegistry.placementStrategy(
+            args.length > 3 ? args[3] : StrategyRegistry.DEFAULT_PLACEMENT_STRATEGY);
+        Path log = args.length > 4 && !args[4].equals(LOGGED) ? Path.of(args[4]) : null;
+        Duration budget = args.length > 5 ? Duration.ofMillis(Long.parseLong(args[5])) : null;
+        Driver.runClient(host, port, shots, placement, log, budget);
 
       } catch (NumberFormatException | IOException e) {
         throw new IllegalArgumentException("Invalid command-line arguments");
@@ -1,14 +1,13 @@
 package json;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Record representing a fleet in json format
  *
- * @param ships - A list of ships in JsonNode form
+ * @param ships - A list of ships
  */
 public record FleetJson(
-    @JsonProperty("fleet") JsonNode[] ships) {
+    @JsonProperty("fleet") ShipJson[] ships) {
 
 }
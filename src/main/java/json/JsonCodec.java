@@ -0,0 +1,150 @@
+package json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import model.CoordAdapter;
+import model.Coord;
+import model.CoordStatus;
+import model.Direction;
+import model.ShipType;
+
+/**
+ * Shared codec for the json messages of BattleSalvo. One mapper is configured once, and a reader
+ * and a writer are made once for each record type and reused by every thread, so encoding a
+ * message builds no mapper and no tree of nodes. The readers and writers of the protocol's
+ * records are made, and have encoded and decoded a sample, when this class is loaded.
+ */
+public final class JsonCodec {
+
+  private static final String METHOD_NAME = "method-name";
+  private static final String ARGUMENTS = "arguments";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+  private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+    @Override
+    protected ObjectWriter computeValue(Class<?> type) {
+      return MAPPER.writerFor(type);
+    }
+  };
+
+  private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+    @Override
+    protected ObjectReader computeValue(Class<?> type) {
+      return MAPPER.readerFor(type);
+    }
+  };
+
+  static {
+    MAPPER.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    warm();
+  }
+
+  private JsonCodec() {
+
+  }
+
+  /**
+   * Gets the shared mapper. It must not be reconfigured.
+   *
+   * @return - The mapper.
+   */
+  public static ObjectMapper mapper() {
+    return MAPPER;
+  }
+
+  /**
+   * Gets the shared writer for a type.
+   *
+   * @param type - The type of value written.
+   * @return - The writer.
+   */
+  public static ObjectWriter writer(Class<?> type) {
+    return WRITERS.get(type);
+  }
+
+  /**
+   * Gets the shared reader for a type.
+   *
+   * @param type - The type of value read.
+   * @return - The reader.
+   */
+  public static ObjectReader reader(Class<?> type) {
+    return READERS.get(type);
+  }
+
+  /**
+   * Reads a value out of a tree of json nodes.
+   *
+   * @param node - The json.
+   * @param type - The type of the value.
+   * @param <T>  - The type of the value.
+   * @return - The value.
+   * @throws IllegalArgumentException - If the json is not a value of the type.
+   */
+  public static <T> T read(JsonNode node, Class<T> type) throws IllegalArgumentException {
+    try {
+      return reader(type).readValue(node);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Json cannot be read as " + type.getSimpleName(), e);
+    }
+  }
+
+  /**
+   * Writes a message in the layout of {@link MessageJson}, followed by a newline, straight to a
+   * stream, and flushes it.
+   *
+   * @param methodName - The name of the method.
+   * @param arguments  - The arguments: a record, or a json node.
+   * @param out        - Where the message is written. It is not closed.
+   * @throws IOException - If the message cannot be written.
+   */
+  public static void writeMessage(String methodName, Object arguments, OutputStream out)
+      throws IOException {
+    try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeStringField(METHOD_NAME, methodName);
+      generator.writeFieldName(ARGUMENTS);
+      writer(arguments.getClass()).writeValue(generator, arguments);
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+  }
+
+  /**
+   * Makes the readers and writers of the protocol's records, and has each encode and decode a
+   * sample, so that the first real message does not pay for it.
+   */
+  private static void warm() {
+    CoordJson coord = new CoordJson(0, 0);
+    ShipJson ship = new ShipJson(new CoordAdapter(new Coord(0, 0, CoordStatus.UNKNOWN)), 3,
+        Direction.HORIZONTAL);
+    Record[] samples = {
+        coord,
+        new CoordinatesJson(new CoordJson[] {coord}),
+        ship,
+        new FleetJson(new ShipJson[] {ship}),
+        new JoinJson("", ""),
+        new SetupJson(6, 6, Map.of(ShipType.CARRIER, 1)),
+        new MessageJson("", MAPPER.getNodeFactory().arrayNode()),
+    };
+    try {
+      for (Record sample : samples) {
+        JsonNode tree = MAPPER.readTree(writer(sample.getClass()).writeValueAsBytes(sample));
+        reader(sample.getClass()).readValue(tree);
+        writeMessage("", sample, OutputStream.nullOutputStream());
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("The json records cannot be encoded", e);
+    }
+  }
+
+}
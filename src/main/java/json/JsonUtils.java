@@ -1,7 +1,6 @@
 package json;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Any utility methods for serializing/deserializing json
@@ -17,8 +16,7 @@ public class JsonUtils {
    */
   public static JsonNode serializeRecord(Record record) throws IllegalArgumentException {
     try {
-      ObjectMapper mapper = new ObjectMapper();
-      return mapper.convertValue(record, JsonNode.class);
+      return JsonCodec.mapper().convertValue(record, JsonNode.class);
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException("Given record cannot be serialized");
     }
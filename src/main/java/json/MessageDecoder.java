@@ -0,0 +1,309 @@
+package json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import model.ShipType;
+
+/**
+ * Reads the messages of a server one at a time, straight from the parser's tokens, without a
+ * tree of json nodes. The coordinates of a message are read into arrays of ints that are reused
+ * for every message, so reading a volley allocates nothing once the arrays are large enough.
+ *
+ * <p>The arguments of a message are read the same way whatever its method, and its fields may
+ * come in any order: a field this decoder does not know is skipped.
+ */
+public final class MessageDecoder {
+
+  private static final String METHOD_NAME = "method-name";
+  private static final String ARGUMENTS = "arguments";
+  private static final String[] METHOD_NAMES = {
+      "join", "setup", "take-shots", "report-damage", "successful-hits", "end-game"};
+
+  private final JsonParser parser;
+  private String methodName;
+  private int[] xs = new int[16];
+  private int[] ys = new int[16];
+  private int size;
+  private int width;
+  private int height;
+  private final Map<ShipType, Integer> fleetSpec = new EnumMap<>(ShipType.class);
+  private String result;
+  private String reason;
+
+  /**
+   * Creates a decoder of the messages on a stream.
+   *
+   * @param in - The stream of messages.
+   * @throws IOException - If a parser cannot be made for the stream.
+   */
+  public MessageDecoder(InputStream in) throws IOException {
+    this(JsonCodec.mapper().getFactory().createParser(in));
+  }
+
+  /**
+   * Creates a decoder of the messages a parser reads. A non-blocking parser must have been fed
+   * a whole message before each call to {@link #next()}.
+   *
+   * @param parser - The parser.
+   */
+  public MessageDecoder(JsonParser parser) {
+    this.parser = parser;
+  }
+
+  /**
+   * Reads the next message, replacing the last one.
+   *
+   * @return - true if a message was read, or false if the stream has ended or, for a
+   *         non-blocking parser, no more input has been fed.
+   * @throws IOException - If the stream cannot be read, or the message is not valid.
+   */
+  public boolean next() throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null || token == JsonToken.NOT_AVAILABLE) {
+      return false;
+    }
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "A message must be a json object");
+    }
+
+    methodName = null;
+    size = 0;
+    width = 0;
+    height = 0;
+    fleetSpec.clear();
+    result = "";
+    reason = "";
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (METHOD_NAME.equals(field)) {
+        methodName = readMethodName(value);
+      } else if (ARGUMENTS.equals(field)) {
+        readArguments(value);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    expectEnd(JsonToken.END_OBJECT);
+    if (methodName == null) {
+      throw new JsonParseException(parser, "A message has no method name");
+    }
+    return true;
+  }
+
+  /**
+   * Gets the method of the last message. A known method is always the same string.
+   *
+   * @return - The name of the method.
+   */
+  public String methodName() {
+    return methodName;
+  }
+
+  /**
+   * Gets the number of coordinates in the last message's arguments.
+   *
+   * @return - The number of coordinates.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the x value of a coordinate in the last message's arguments.
+   *
+   * @param index - Index of the coordinate, below {@link #size()}.
+   * @return - The x value.
+   */
+  public int x(int index) {
+    return xs[index];
+  }
+
+  /**
+   * Gets the y value of a coordinate in the last message's arguments.
+   *
+   * @param index - Index of the coordinate, below {@link #size()}.
+   * @return - The y value.
+   */
+  public int y(int index) {
+    return ys[index];
+  }
+
+  /**
+   * Gets the arguments of the last message as those of a setup message.
+   *
+   * @return - The setup arguments.
+   */
+  public SetupJson setup() {
+    return new SetupJson(width, height, new EnumMap<>(fleetSpec));
+  }
+
+  /**
+   * Gets the result in the last message's arguments.
+   *
+   * @return - The result, or an empty string if there is none.
+   */
+  public String result() {
+    return result;
+  }
+
+  /**
+   * Gets the reason in the last message's arguments.
+   *
+   * @return - The reason, or an empty string if there is none.
+   */
+  public String reason() {
+    return reason;
+  }
+
+  /**
+   * Reads the name of a method, giving the same string for each known method without copying
+   * it out of the parser.
+   *
+   * @param token - The token of the name.
+   * @return - The name.
+   * @throws IOException - If the name is not a string.
+   */
+  private String readMethodName(JsonToken token) throws IOException {
+    if (token != JsonToken.VALUE_STRING) {
+      throw new JsonParseException(parser, "A method name must be a string");
+    }
+    char[] text = parser.getTextCharacters();
+    int offset = parser.getTextOffset();
+    int length = parser.getTextLength();
+    for (String name : METHOD_NAMES) {
+      if (name.length() == length && matches(name, text, offset)) {
+        return name;
+      }
+    }
+    return parser.getText();
+  }
+
+  /**
+   * Checks whether characters spell a name.
+   *
+   * @param name   - The name.
+   * @param text   - The characters.
+   * @param offset - Index of the first character.
+   * @return - Whether they are the same.
+   */
+  private static boolean matches(String name, char[] text, int offset) {
+    for (int i = 0; i < name.length(); i++) {
+      if (name.charAt(i) != text[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the fields of a message's arguments. Arguments that are not an object, such as the
+   * empty array of a take-shots message, have no fields.
+   *
+   * @param token - The first token of the arguments.
+   * @throws IOException - If the arguments cannot be read.
+   */
+  private void readArguments(JsonToken token) throws IOException {
+    if (token != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "coordinates" -> readCoordinates(value);
+        case "width" -> width = parser.getIntValue();
+        case "height" -> height = parser.getIntValue();
+        case "fleet-spec" -> readFleetSpec(value);
+        case "result" -> result = parser.getValueAsString("");
+        case "reason" -> reason = parser.getValueAsString("");
+        default -> parser.skipChildren();
+      }
+    }
+    expectEnd(JsonToken.END_OBJECT);
+  }
+
+  /**
+   * Reads an array of coordinates into the reused arrays.
+   *
+   * @param token - The first token of the array.
+   * @throws IOException - If the array cannot be read.
+   */
+  private void readCoordinates(JsonToken token) throws IOException {
+    if (token != JsonToken.START_ARRAY) {
+      throw new JsonParseException(parser, "Coordinates must be a json array");
+    }
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      int x = 0;
+      int y = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        switch (field) {
+          case "x" -> x = parser.getIntValue();
+          case "y" -> y = parser.getIntValue();
+          default -> parser.skipChildren();
+        }
+      }
+      expectEnd(JsonToken.END_OBJECT);
+      if (size == xs.length) {
+        xs = Arrays.copyOf(xs, size * 2);
+        ys = Arrays.copyOf(ys, size * 2);
+      }
+      xs[size] = x;
+      ys[size] = y;
+      size++;
+    }
+    if (parser.currentToken() != JsonToken.END_ARRAY) {
+      expectEnd(JsonToken.END_ARRAY);
+      throw new JsonParseException(parser, "A coordinate must be a json object");
+    }
+  }
+
+  /**
+   * Reads the number of ships of each type in a fleet.
+   *
+   * @param token - The first token of the fleet.
+   * @throws IOException - If the fleet cannot be read.
+   */
+  private void readFleetSpec(JsonToken token) throws IOException {
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "A fleet must be a json object");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      try {
+        fleetSpec.put(ShipType.valueOf(field), parser.getIntValue());
+      } catch (IllegalArgumentException e) {
+        throw new JsonParseException(parser, "Unknown ship type " + field, e);
+      }
+    }
+    expectEnd(JsonToken.END_OBJECT);
+  }
+
+  /**
+   * Checks that an object or array was ended, rather than cut off where a non-blocking parser
+   * ran out of input.
+   *
+   * @param end - The token that ends it.
+   * @throws IOException - If it was cut off.
+   */
+  private void expectEnd(JsonToken end) throws IOException {
+    if (parser.currentToken() == JsonToken.NOT_AVAILABLE) {
+      throw new JsonParseException(parser, "A message was cut off");
+    }
+    if (parser.currentToken() != end) {
+      throw new JsonParseException(parser, "Expected " + end.asString());
+    }
+  }
+
+}
@@ -0,0 +1,187 @@
+package json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the messages of a volley, {"method-name":..,"arguments":{"coordinates":[..]}}, straight
+ * from the coordinates' ints into a byte buffer that is reused for every message, and sends each
+ * message with a single write. The bytes are the same as {@link JsonCodec} writes for a
+ * {@link CoordinatesJson}, and once the buffer is large enough a message allocates nothing.
+ *
+ * <p>An encoder is not safe to share between threads; each connection has its own.
+ */
+public final class MessageEncoder {
+
+  private static final byte[] METHOD_NAME = ascii("{\"method-name\":\"");
+  private static final byte[] COORDINATES = ascii("\",\"arguments\":{\"coordinates\":[");
+  private static final byte[] X = ascii("{\"x\":");
+  private static final byte[] Y = ascii(",\"y\":");
+  private static final byte[] END_COORDINATES = ascii("]}}\n");
+  private static final byte[] EMPTY_ARGUMENTS = ascii("\",\"arguments\":[]}\n");
+
+  private byte[] buffer = new byte[256];
+  private int length;
+  private int coordinates;
+
+  /**
+   * Starts a message of coordinates, dropping any message that was started and not written.
+   *
+   * @param methodName - The name of the method, in printable ascii that needs no escaping.
+   * @throws IllegalArgumentException - If the name needs escaping.
+   */
+  public void startCoordinates(String methodName) throws IllegalArgumentException {
+    length = 0;
+    coordinates = 0;
+    append(METHOD_NAME);
+    appendName(methodName);
+    append(COORDINATES);
+  }
+
+  /**
+   * Adds a coordinate to the message that was started.
+   *
+   * @param x - x value of the coordinate.
+   * @param y - y value of the coordinate.
+   */
+  public void coordinate(int x, int y) {
+    if (coordinates > 0) {
+      append((byte) ',');
+    }
+    append(X);
+    appendInt(x);
+    append(Y);
+    appendInt(y);
+    append((byte) '}');
+    coordinates++;
+  }
+
+  /**
+   * Ends the message that was started, followed by a newline, writes it with a single write, and
+   * flushes the stream.
+   *
+   * @param out - Where the message is written. It is not closed.
+   * @throws IOException - If the message cannot be written.
+   */
+  public void writeCoordinates(OutputStream out) throws IOException {
+    append(END_COORDINATES);
+    send(out);
+  }
+
+  /**
+   * Writes a message whose arguments are an empty array, followed by a newline, with a single
+   * write, and flushes the stream.
+   *
+   * @param methodName - The name of the method, in printable ascii that needs no escaping.
+   * @param out        - Where the message is written. It is not closed.
+   * @throws IOException - If the message cannot be written.
+   * @throws IllegalArgumentException - If the name needs escaping.
+   */
+  public void writeEmpty(String methodName, OutputStream out)
+      throws IOException, IllegalArgumentException {
+    length = 0;
+    append(METHOD_NAME);
+    appendName(methodName);
+    append(EMPTY_ARGUMENTS);
+    send(out);
+  }
+
+  /**
+   * Writes the buffer and forgets it.
+   *
+   * @param out - Where the buffer is written.
+   * @throws IOException - If the buffer cannot be written.
+   */
+  private void send(OutputStream out) throws IOException {
+    int written = length;
+    length = 0;
+    coordinates = 0;
+    out.write(buffer, 0, written);
+    out.flush();
+  }
+
+  /**
+   * Adds the name of a method, checking that it needs no escaping.
+   *
+   * @param name - The name.
+   * @throws IllegalArgumentException - If the name needs escaping.
+   */
+  private void appendName(String name) throws IllegalArgumentException {
+    ensure(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c < ' ' || c > '~' || c == '"' || c == '\\') {
+        throw new IllegalArgumentException("Method name needs escaping: " + name);
+      }
+      buffer[length++] = (byte) c;
+    }
+  }
+
+  /**
+   * Adds an int in decimal.
+   *
+   * @param value - The int.
+   */
+  private void appendInt(int value) {
+    ensure(11);
+    long rest = value;
+    if (rest < 0) {
+      buffer[length++] = '-';
+      rest = -rest;
+    }
+    int digits = 1;
+    for (long limit = 10; limit <= rest; limit *= 10) {
+      digits++;
+    }
+    for (int i = length + digits - 1; i >= length; i--) {
+      buffer[i] = (byte) ('0' + rest % 10);
+      rest /= 10;
+    }
+    length += digits;
+  }
+
+  /**
+   * Adds bytes.
+   *
+   * @param bytes - The bytes.
+   */
+  private void append(byte[] bytes) {
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buffer, length, bytes.length);
+    length += bytes.length;
+  }
+
+  /**
+   * Adds a byte.
+   *
+   * @param b - The byte.
+   */
+  private void append(byte b) {
+    ensure(1);
+    buffer[length++] = b;
+  }
+
+  /**
+   * Makes room in the buffer.
+   *
+   * @param more - The number of bytes to be added.
+   */
+  private void ensure(int more) {
+    if (length + more > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + more));
+    }
+  }
+
+  /**
+   * Gets the bytes of ascii text.
+   *
+   * @param text - The text.
+   * @return - Its bytes.
+   */
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+}
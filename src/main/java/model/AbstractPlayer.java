@@ -1,7 +1,5 @@
 package model;
 
-import static model.CoordStatus.HIT;
-import static model.CoordStatus.MISS;
 import static model.ShipType.BATTLESHIP;
 import static model.ShipType.CARRIER;
 import static model.ShipType.DESTROYER;
@@ -23,10 +21,10 @@ public abstract class AbstractPlayer implements Player {
   protected Board otherBoard;
   protected Random random;
   protected ViewImpl view;
-  private List<Ship> listOfShips;
+  private final PlacementStrategy placement;
 
   /**
-   * Creates an AbstractPlayer with the given information.
+   * Creates an AbstractPlayer with the given information, which places its fleet greedily.
    *
    * @param name - Name of this player.
    * @param view - Object that has input and output and handles them accordingly.
@@ -35,11 +33,28 @@ public abstract class AbstractPlayer implements Player {
    * @param random - A random object.
    */
   public AbstractPlayer(String name, ViewImpl view, Board board, Board other, Random random) {
+    this(name, view, board, other, random, new GreedyPlacementStrategy());
+  }
+
+  /**
+   * Creates an AbstractPlayer with the given information.
+   *
+   * @param name      - Name of this player.
+   * @param view      - Object that has input and output and handles them accordingly, or null
+   *                    for a player that plays without any output.
+   * @param board     - This player's board in a game of BattleSalvo.
+   * @param other     - The opponent's board in a game of BattleSalvo.
+   * @param random    - A random object.
+   * @param placement - The strategy that places this player's fleet.
+   */
+  public AbstractPlayer(String name, ViewImpl view, Board board, Board other, Random random,
+                        PlacementStrategy placement) {
     this.userName = name;
     this.view = view;
     this.random = random;
     this.board = board;
     this.otherBoard = other;
+    this.placement = placement;
   }
 
   /**
@@ -64,139 +79,28 @@ public abstract class AbstractPlayer implements Player {
    */
   @Override
   public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
-    List<Ship> ships = new ArrayList<>();
+    List<ShipType> fleet = new ArrayList<>();
     ShipType[] shipTypes = new ShipType[] {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
 
     for (ShipType s : shipTypes) {
       int numberOfShips = specifications.get(s);
       for (int i = 0; i < numberOfShips; i++) {
-        Ship newShip = new Ship(s, initShipCoords(s), false);
-        ships.add(newShip);
-      }
-    }
-
-    listOfShips = ships;
-    return listOfShips;
-  }
-
-  /**
-   * Returns a list of coordinates that are vertically or horizontally connected on this board.
-   *
-   * @param shipType - The type of ship from which coordinates will be set.
-   * @return - A list of coordinates.
-   */
-  private List<Coord> initShipCoords(ShipType shipType) {
-
-    List<Coord> horiCoords = new ArrayList<>();
-    List<Coord> vertCoords = new ArrayList<>();
-    List<Coord> finalShipCoords = new ArrayList<>();
-    boolean randomBool = random.nextBoolean();
-
-    filterCoords(horiCoords, vertCoords, shipType.getSize());
-
-    if (horiCoords.size() == 0) {
-      Coord vertCoord = vertCoords.get(random.nextInt(vertCoords.size()));
-      for (int i = 0; i < shipType.getSize(); i++) {
-        finalShipCoords.add(board.coords[vertCoord.getY() + i][vertCoord.getX()]);
-      }
-    } else if (vertCoords.size() == 0) {
-      Coord horiCoord = horiCoords.get(random.nextInt(horiCoords.size()));
-      for (int i = 0; i < shipType.getSize(); i++) {
-        finalShipCoords.add(board.coords[horiCoord.getY()][horiCoord.getX() + i]);
-      }
-    } else {
-      Coord horiCoord = horiCoords.get(random.nextInt(horiCoords.size()));
-      Coord vertCoord = vertCoords.get(random.nextInt(vertCoords.size()));
-      for (int i = 0; i < shipType.getSize(); i++) {
-        if (randomBool) {
-          finalShipCoords.add(board.coords[horiCoord.getY()][horiCoord.getX() + i]);
-        } else {
-          finalShipCoords.add(board.coords[vertCoord.getY() + i][vertCoord.getX()]);
-        }
-      }
-    }
-
-    changeStatus(finalShipCoords, shipType);
-
-    return finalShipCoords;
-  }
-
-  /**
-   * Updates the list of vertical coordinates that have space vertically, and the list of horizontal
-   * coordinates that have space horizontally, (number of spaces equivalent to the shipSize).
-   *
-   * @param hori     - The list of coords that have space horizontally given a ship size.
-   * @param vert     - The list of coords that have space vertically given a ship size.
-   * @param shipSize - The size of the ship; how many spaces need to be open vertically or
-   *                 horizontally from a coordinate on a board.
-   */
-  private void filterCoords(List<Coord> hori, List<Coord> vert, int shipSize) {
-    for (int i = 0; i < board.coords.length; i++) {
-      for (int j = 0; j < board.coords[i].length - shipSize + 1; j++) {
-        if (enoughHorizontalSpace(board.coords[i][j], shipSize)) {
-          hori.add(board.coords[i][j]);
-        }
+        fleet.add(s);
       }
     }
-    for (int i = 0; i < board.coords.length - shipSize + 1; i++) {
-      for (int j = 0; j < board.coords[i].length; j++) {
-        if (enoughVerticalSpace(board.coords[i][j], shipSize)) {
-          vert.add(board.coords[i][j]);
-        }
-      }
-    }
-  }
 
-  /**
-   * Checks if the current coord has enough spoace equivalent to the given shipSize horizontally.
-   *
-   * @param current  - A coord.
-   * @param shipSize - The size of a ship.
-   * @return boolean - Whether or not there is space horizontally next to the current given coord.
-   */
-  private boolean enoughHorizontalSpace(Coord current, int shipSize) {
-    boolean spaceAvailable = true;
+    List<Ship> ships = placement.place(board, fleet, random);
 
-    for (int i = 0; i < shipSize; i++) {
-      if (!(board.coords[current.getY()][current.getX() + i].getStatus() == CoordStatus.UNKNOWN)) {
-        spaceAvailable = false;
-        break;
-      }
+    if (ships == null) {
+      throw new IllegalStateException("A fleet of " + fleet.size() + " ships cannot be placed on a "
+          + board.getHeight() + "x" + board.getWidth() + " board");
     }
 
-    return spaceAvailable;
-  }
-
-  /**
-   * Checks if the current coord has enough space equivalent to the given shipSize vertically.
-   *
-   * @param current  - A coord.
-   * @param shipSize - The size of a ship.
-   * @return boolean - Whether or not there is space vertically next to the current given coord.
-   */
-  private boolean enoughVerticalSpace(Coord current, int shipSize) {
-    boolean spaceAvailable = true;
-
-    for (int i = 0; i < shipSize; i++) {
-      if (!(board.coords[current.getY() + i][current.getX()].getStatus() == CoordStatus.UNKNOWN)) {
-        spaceAvailable = false;
-        break;
-      }
+    for (Ship ship : ships) {
+      board.placeShip(ship);
     }
 
-    return spaceAvailable;
-  }
-
-  /**
-   * Updates the status of each coord in the given list of coords based on the given shipType.
-   *
-   * @param coords   - A list of coords adjacent to each other.
-   * @param shipType - shipType populating each coord in the given list of coords.
-   */
-  private void changeStatus(List<Coord> coords, ShipType shipType) {
-    for (Coord c : coords) {
-      c.changeStatus(shipType.getStatus());
-    }
+    return ships;
   }
 
   /**
@@ -213,14 +117,11 @@ public abstract class AbstractPlayer implements Player {
     List<Coord> shotsThatHitBoard = new ArrayList<>();
 
     for (Coord coord : opponentShotsOnBoard) {
-      board.reportBoardDamage(shotsThatHitBoard, coord, listOfShips);
-      if (!shotsThatHitBoard.contains(coord)) {
-        coord.changeStatus(MISS);
+      if (board.reportBoardDamage(coord)) {
+        shotsThatHitBoard.add(coord);
       }
     }
 
-    updateSunkShips(listOfShips);
-
     return shotsThatHitBoard;
   }
 
@@ -233,6 +134,10 @@ public abstract class AbstractPlayer implements Player {
   @Override
   public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
 
+    if (view == null) {
+      return;
+    }
+
     int shotsHit = shotsThatHitOpponentShips.size();
 
     if (shotsHit == 0) {
@@ -259,26 +164,16 @@ public abstract class AbstractPlayer implements Player {
    * that are not sunk.
    */
   protected int shotsAvailable() {
-    int possibleShots = 0;
-
-    for (Ship s : listOfShips) {
-      if (!s.getSunk()) {
-        possibleShots++;
-      }
-    }
-
-    return possibleShots;
+    return board.getShipsAfloat();
   }
 
   /**
-   * Updates the status of one or more ships in the given list of ships if any are now sunk.
+   * Whether every ship this player placed has been sunk.
    *
-   * @param ships - A list of ships.
+   * @return - true if this player has no ships afloat.
    */
-  private void updateSunkShips(List<Ship> ships) {
-    for (Ship ship : ships) {
-      ship.updateSunk();
-    }
+  public boolean isFleetSunk() {
+    return board.getShipsAfloat() == 0;
   }
 
 }
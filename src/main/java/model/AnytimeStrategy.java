@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * A shot strategy whose volley can be improved step by step and taken at any point. A volley is
+ * begun, refined for as many steps as time allows, and then the best volley found so far is
+ * taken. Taking a volley before any refinement still gives a full, legal volley.
+ */
+public interface AnytimeStrategy extends ShotStrategy {
+
+  /**
+   * Begins work on the next volley, dropping whatever was left of the work on the last one.
+   */
+  void beginVolley();
+
+  /**
+   * Runs one bounded step of refinement on the volley being worked on.
+   *
+   * @return whether further steps could still improve the volley
+   */
+  boolean refine();
+
+  /**
+   * Takes the best volley found so far, ending the work on it. Fewer cells than asked for are
+   * chosen only when fewer cells are left to shoot at.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  int bestVolley(int shots, int[] cells);
+
+}
@@ -1,6 +1,8 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import view.ViewImpl;
 
@@ -9,8 +11,16 @@ import view.ViewImpl;
  */
 public class ArtificialPlayer extends AbstractPlayer {
 
+  private final ShotStrategy strategy;
+  private int[] volley = new int[0]; // packed cells of the last volley
+  private int volleySize;
+  private long[] volleyHits = new long[0];
+  private int opponentHeight;
+  private int opponentWidth;
+  private TurnBudget turnBudget; // null when volleys are chosen without a time limit
+
   /**
-   * Creates an AI player object.
+   * Creates an AI player object that shoots at random.
    *
    * @param user - The String name of this AI player.
    * @param view - The object from which input can be taken and output can be sent to.
@@ -19,7 +29,69 @@ public class ArtificialPlayer extends AbstractPlayer {
    * @param random - A random object.
    */
   public ArtificialPlayer(String user, ViewImpl view, Board board, Board other, Random random) {
+    this(user, view, board, other, random, new RandomShotStrategy());
+  }
+
+  /**
+   * Creates an AI player object that chooses its shots with the given strategy.
+   *
+   * @param user     - The String name of this AI player.
+   * @param view     - The object from which input can be taken and output can be sent to.
+   * @param board    - This AI player's board.
+   * @param other    - The opponent of this AI player in a game of BattleSalvo.
+   * @param random   - A random object.
+   * @param strategy - The strategy that chooses this player's shots.
+   */
+  public ArtificialPlayer(
+      String user, ViewImpl view, Board board, Board other, Random random, ShotStrategy strategy) {
     super(user, view, board, other, random);
+    this.strategy = strategy;
+  }
+
+  /**
+   * Creates an AI player object that places its fleet and chooses its shots with the given
+   * strategies.
+   *
+   * @param user      - The String name of this AI player.
+   * @param view      - The object from which input can be taken and output can be sent to, or
+   *                    null for a player that plays without any output.
+   * @param board     - This AI player's board.
+   * @param other     - The opponent of this AI player in a game of BattleSalvo.
+   * @param random    - A random object.
+   * @param strategy  - The strategy that chooses this player's shots.
+   * @param placement - The strategy that places this player's fleet.
+   */
+  public ArtificialPlayer(String user, ViewImpl view, Board board, Board other, Random random,
+                          ShotStrategy strategy, PlacementStrategy placement) {
+    super(user, view, board, other, random, placement);
+    this.strategy = strategy;
+  }
+
+  /**
+   * Places this player's fleet, and prepares this player's shot strategy for a game against an
+   * identical fleet.
+   *
+   * @param height         the height of the board, range: [6, 15] inclusive
+   * @param width          the width of the board, range: [6, 15] inclusive
+   * @param specifications a map of ship type to the number of occurrences each ship should
+   *                       appear on the board
+   * @return the placements of each ship on the board
+   */
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    List<Ship> ships = super.setup(height, width, specifications);
+
+    // without the opponent's board at hand, its size is taken to match this setup's
+    opponentHeight = otherBoard == null ? height : otherBoard.getHeight();
+    opponentWidth = otherBoard == null ? width : otherBoard.getWidth();
+    strategy.setup(opponentHeight, opponentWidth, specifications, random);
+    volleySize = 0;
+    volleyHits = new long[Bits.words(opponentHeight * opponentWidth)];
+    if (volley.length < ships.size()) {
+      volley = new int[ships.size()];
+    }
+
+    return ships;
   }
 
   /**
@@ -31,8 +103,86 @@ public class ArtificialPlayer extends AbstractPlayer {
   @Override
   public List<Coord> takeShots() {
     int shots = shotsAvailable();
-    view.displayString("\n\n" + userName + ": " + shots + " shots available.\n");
-    return otherBoard.takeArtificialPlayerShots(shots, random);
+    if (view != null) {
+      view.displayString("\n\n" + userName + ": " + shots + " shots available.\n");
+    }
+
+    if (turnBudget != null && strategy instanceof AnytimeStrategy anytime) {
+      volleySize = turnBudget.run(anytime, shots, volley);
+    } else {
+      volleySize = strategy.selectShots(shots, volley);
+    }
+    List<Coord> finalShots = new ArrayList<>(volleySize);
+    for (int i = 0; i < volleySize; i++) {
+      finalShots.add(new Coord(volley[i] % opponentWidth, volley[i] / opponentWidth,
+          CoordStatus.UNKNOWN));
+    }
+
+    return finalShots;
+  }
+
+  /**
+   * Reports to this player what shots in their previous volley returned from takeShots()
+   * successfully hit an opponent's ship, and passes the result of every shot of that volley on to
+   * this player's shot strategy. A reported hit that is off the board, or is not a shot of that
+   * volley, is not passed on.
+   *
+   * @param shotsThatHitOpponentShips the list of shots that successfully hit the opponent's ships
+   */
+  @Override
+  public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+    super.successfulHits(shotsThatHitOpponentShips);
+
+    if (volleySize == 0) {
+      return; // no volley of this player's is waiting on its results
+    }
+    for (Coord coord : shotsThatHitOpponentShips) {
+      int x = coord.getX();
+      int y = coord.getY();
+      if (x >= 0 && x < opponentWidth && y >= 0 && y < opponentHeight
+          && inVolley(y * opponentWidth + x)) {
+        Bits.set(volleyHits, y * opponentWidth + x);
+      }
+    }
+    for (int i = 0; i < volleySize; i++) {
+      strategy.recordShot(volley[i], Bits.get(volleyHits, volley[i]));
+      Bits.clear(volleyHits, volley[i]);
+    }
+    volleySize = 0;
+  }
+
+  /**
+   * Checks whether a cell was shot in the last volley.
+   *
+   * @param cell - The packed cell.
+   * @return - Whether the volley holds it.
+   */
+  private boolean inVolley(int cell) {
+    for (int i = 0; i < volleySize; i++) {
+      if (volley[i] == cell) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets the time each turn may spend choosing a volley. The budget only applies to a shot
+   * strategy that can be refined step by step; others always run to completion.
+   *
+   * @param turnBudget - The budget per turn, or null for no time limit.
+   */
+  public void setTurnBudget(TurnBudget turnBudget) {
+    this.turnBudget = turnBudget;
+  }
+
+  /**
+   * Gets the time each turn may spend choosing a volley, along with how often it ran out.
+   *
+   * @return - The budget per turn, or null if there is no time limit.
+   */
+  public TurnBudget getTurnBudget() {
+    return turnBudget;
   }
 
 }
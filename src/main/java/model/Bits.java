@@ -0,0 +1,134 @@
+package model;
+
+/**
+ * Static helpers for working with bitsets stored as arrays of longs, where bit i of the set lives
+ * in word i / 64 at position i % 64.
+ */
+public final class Bits {
+
+  private static final long ALL = -1L;
+
+  private Bits() {
+
+  }
+
+  /**
+   * Gets the number of 64-bit words needed to hold the given number of bits.
+   *
+   * @param bits - The number of bits.
+   * @return - The number of words.
+   */
+  public static int words(int bits) {
+    return (bits + 63) >>> 6;
+  }
+
+  /**
+   * Checks whether the given bit is set.
+   *
+   * @param set - A bitset.
+   * @param bit - The index of the bit.
+   * @return - true if the bit is set.
+   */
+  public static boolean get(long[] set, int bit) {
+    return (set[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Sets the given bit.
+   *
+   * @param set - A bitset.
+   * @param bit - The index of the bit.
+   */
+  public static void set(long[] set, int bit) {
+    set[bit >>> 6] |= 1L << bit;
+  }
+
+  /**
+   * Clears the given bit.
+   *
+   * @param set - A bitset.
+   * @param bit - The index of the bit.
+   */
+  public static void clear(long[] set, int bit) {
+    set[bit >>> 6] &= ~(1L << bit);
+  }
+
+  /**
+   * Sets every bit in [from, to).
+   *
+   * @param set  - A bitset.
+   * @param from - First bit, inclusive.
+   * @param to   - Last bit, exclusive.
+   */
+  public static void setRange(long[] set, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int first = from >>> 6;
+    int last = (to - 1) >>> 6;
+    long firstMask = ALL << from;
+    long lastMask = ALL >>> -to;
+    if (first == last) {
+      set[first] |= firstMask & lastMask;
+      return;
+    }
+    set[first] |= firstMask;
+    for (int w = first + 1; w < last; w++) {
+      set[w] = ALL;
+    }
+    set[last] |= lastMask;
+  }
+
+  /**
+   * Checks whether two bitsets of the same length share any set bit.
+   *
+   * @param a - A bitset.
+   * @param b - Another bitset.
+   * @return - true if some bit is set in both.
+   */
+  public static boolean intersects(long[] a, long[] b) {
+    for (int w = 0; w < a.length; w++) {
+      if ((a[w] & b[w]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Counts the set bits in the given bitset.
+   *
+   * @param set - A bitset.
+   * @return - The number of set bits.
+   */
+  public static int count(long[] set) {
+    int count = 0;
+    for (long word : set) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Finds the first set bit at or after the given bit.
+   *
+   * @param set  - A bitset.
+   * @param from - The bit to start at.
+   * @return - The index of the set bit, or -1 if there is none.
+   */
+  public static int nextSet(long[] set, int from) {
+    int w = from >>> 6;
+    if (w >= set.length) {
+      return -1;
+    }
+    long word = set[w] & (ALL << from);
+    while (word == 0) {
+      if (++w == set.length) {
+        return -1;
+      }
+      word = set[w];
+    }
+    return (w << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+}
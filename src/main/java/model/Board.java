@@ -4,20 +4,24 @@ import static model.CoordStatus.HIT;
 import static model.CoordStatus.MISS;
 import static model.CoordStatus.UNKNOWN;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 import view.ViewImpl;
 
 /**
- * Represents a board in a game of BattleSalvo
+ * Represents a board in a game of BattleSalvo. Every cell is packed into the index
+ * y * width + x, and the state of the board is held as one bitset per CoordStatus plus an index
+ * of the ship occupying each cell. The 2D array of coords is only built when it is asked for.
  */
 public class Board {
 
-  protected Coord[][] coords;
-  private boolean addToArray = true;
-  private ArrayList<Coord> arrayOfCoords = new ArrayList<>();
+  private static final CoordStatus[] STATUSES = CoordStatus.values();
+
+  private int height;
+  private int width;
+  private long[][] statusBits;
+  private Ship[] occupancy; // the ship on each cell, null where there is none
+  private int shipsAfloat;
+  private Coord[][] coords; // lazily materialized view of the bitsets, null until requested
 
   /**
    * Creates a Board object.
@@ -27,17 +31,17 @@ public class Board {
    */
   public Board(int height, int width) {
 
-    this.coords = new Coord[height][width];
-
-    initCoords();
+    initCells(height, width);
 
   }
 
   /**
-   * Creates a board object with all null fields.
+   * Creates a board object with no cells.
    */
   public Board() {
 
+    initCells(0, 0);
+
   }
 
   /**
@@ -47,7 +51,7 @@ public class Board {
    * @param view     - Object in which information is sent to appropriate appendable.
    */
   public void displayOpponentBoard(AbstractPlayer aiPlayer, ViewImpl view) {
-    view.displayOpponentBoard(aiPlayer, coords);
+    view.displayOpponentBoard(aiPlayer, getCoords());
   }
 
   /**
@@ -57,19 +61,27 @@ public class Board {
    * @param view     - Object in which information is sent to appropriate appendable.
    */
   public void displayBoard(AbstractPlayer realUser, ViewImpl view) {
-    view.displayBoard(realUser, coords);
+    view.displayBoard(realUser, getCoords());
   }
 
   /**
-   * Initializes the coord objects in this 2D array of coords.
+   * Initializes the bitsets of this board so that every cell is unknown, and drops any
+   * materialized view.
+   *
+   * @param height - Height of this board.
+   * @param width  - Width of this board.
    */
-  private void initCoords() {
+  private void initCells(int height, int width) {
 
-    for (int i = 0; i < coords.length; i++) {
-      for (int j = 0; j < coords[i].length; j++) {
-        coords[i][j] = new Coord(j, i, UNKNOWN);
-      }
-    }
+    this.height = height;
+    this.width = width;
+    int words = Bits.words(height * width);
+
+    this.statusBits = new long[STATUSES.length][words];
+    this.occupancy = new Ship[height * width];
+    this.shipsAfloat = 0;
+    Bits.setRange(statusBits[UNKNOWN.ordinal()], 0, height * width);
+    this.coords = null;
 
   }
 
@@ -81,76 +93,116 @@ public class Board {
    * @return - List of coords on this board.
    */
   public List<Coord> takeRealPlayerShots(int shots, ViewImpl view) {
-    return view.shotsFromUser(shots, coords);
+    return view.shotsFromUser(shots, getCoords());
   }
 
   /**
-   * Produces a list of coords of locations the AI want to shoot at on this board.
+   * Reports whether the given shot hits a ship or an already hit location on this board, and
+   * marks the shot's cell as hit or missed. Looking up the ship is a single read of this board's
+   * occupancy index, and a hit that sinks a ship lowers this board's count of ships afloat. A shot
+   * off this board misses and changes nothing.
    *
-   * @param shots  - The number of shots available.
-   * @param random - A random object to randomize shot selection.
-   * @return - List of coords on this board.
+   * @param shot - Opponent shot coordinate location this board.
+   * @return - true if the shot hit a ship.
    */
-  public List<Coord> takeArtificialPlayerShots(int shots, Random random) {
+  public boolean reportBoardDamage(Coord shot) {
 
-    List<Coord> finalShots = new ArrayList<>();
+    if (!onBoard(shot.getX(), shot.getY())) {
+      return false;
+    }
 
-    if (addToArray) {
-      for (Coord[] row : coords) {
-        arrayOfCoords.addAll(Arrays.asList(row));
-      }
-      addToArray = false;
+    int cell = index(shot.getX(), shot.getY());
+    Ship ship = occupancy[cell];
+
+    if (ship == null) {
+      changeStatus(cell, MISS);
+      return false;
     }
 
-    if (shots < arrayOfCoords.size()) {
-      for (int i = 0; i < shots; i++) {
-        int randomIndex = random.nextInt(arrayOfCoords.size());
-        Coord randomCoord = arrayOfCoords.get(randomIndex);
-        finalShots.add(randomCoord);
-        arrayOfCoords.remove(randomCoord);
-      }
-    } else {
-      finalShots.addAll(arrayOfCoords);
-      arrayOfCoords.clear();
+    changeStatus(cell, HIT);
+    if (ship.hit(shot.getX(), shot.getY())) {
+      shipsAfloat--;
     }
+    return true;
 
-    return finalShots;
   }
 
   /**
-   * Adds given shot (coord) to the given shotsThatHitBoard if the given shot hits a ship or an
-   * already hit location on this board.
+   * Places the given ship on this board, giving each of its cells the ship's status and recording
+   * the ship in this board's occupancy index.
    *
-   * @param shotsThatHitBoard - List of coords that hit ships and already hit coords on this board.
-   * @param shot              - Opponent shot coordinate location this board.
+   * @param ship - A ship whose coords lie on this board.
    */
-  public void reportBoardDamage(List<Coord> shotsThatHitBoard, Coord shot, List<Ship> listOfShips) {
+  public void placeShip(Ship ship) {
+    CoordStatus status = ship.getShip().getStatus();
 
-    List<Coord> allShipCoords = new ArrayList<>();
-
-    for (Ship ship : listOfShips) {
-      allShipCoords.addAll(ship.getShipCoords());
+    for (Coord coord : ship.getShipCoords()) {
+      int cell = index(coord.getX(), coord.getY());
+      occupancy[cell] = ship;
+      changeStatus(cell, status);
     }
 
-    for (Coord coord : allShipCoords) {
-      if (coord.getX() == shot.getX() && coord.getY() == shot.getY()) {
-        shotsThatHitBoard.add(shot);
-        coord.changeStatus(HIT);
-        break;
-      }
+    if (!ship.getSunk()) {
+      shipsAfloat++;
     }
+  }
 
+  /**
+   * Gets the status of the cell at the given location.
+   *
+   * @param x - x value of the cell.
+   * @param y - y value of the cell.
+   * @return - The CoordStatus of the cell.
+   */
+  public CoordStatus getStatus(int x, int y) {
+    return statusOf(index(x, y));
   }
 
   /**
-   * Gets this board's 2D array of coords.
+   * Gets this board's 2D array of coords, building it from the bitsets the first time it is
+   * asked for. Once built, it is kept in sync with every change to this board.
    *
    * @return - 2D array of coords.
    */
   public Coord[][] getCoords() {
+    if (coords == null) {
+      coords = new Coord[height][width];
+      for (int i = 0; i < height; i++) {
+        for (int j = 0; j < width; j++) {
+          coords[i][j] = new Coord(j, i, statusOf(index(j, i)));
+        }
+      }
+    }
     return coords;
   }
 
+  /**
+   * Gets the number of ships placed on this board that are not sunk.
+   *
+   * @return - The number of ships afloat.
+   */
+  public int getShipsAfloat() {
+    return shipsAfloat;
+  }
+
+  /**
+   * Gets this board's height.
+   *
+   * @return - The number of rows on this board.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets this board's width.
+   *
+   * @return - The number of columns on this board.
+   */
+  public int getWidth() {
+    return width;
+  }
+
   /**
    * Changes the dimensions of this Board.
    *
@@ -158,7 +210,61 @@ public class Board {
    * @param width  - Desired width of this board.
    */
   public void changeDimensions(int height, int width) {
-    this.coords = new Coord[height][width];
-    initCoords();
+    initCells(height, width);
+  }
+
+  /**
+   * Checks whether the given location is on this board.
+   *
+   * @param x - x value of the location.
+   * @param y - y value of the location.
+   * @return - Whether the location is on this board.
+   */
+  public boolean onBoard(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height;
+  }
+
+  /**
+   * Packs the given location, which must be on this board, into a cell index.
+   *
+   * @param x - x value of the cell.
+   * @param y - y value of the cell.
+   * @return - The index of the cell.
+   */
+  int index(int x, int y) {
+    return y * width + x;
+  }
+
+  /**
+   * Finds the status whose bitset holds the given cell.
+   *
+   * @param cell - The index of a cell.
+   * @return - The CoordStatus of the cell.
+   */
+  private CoordStatus statusOf(int cell) {
+    for (CoordStatus status : STATUSES) {
+      if (Bits.get(statusBits[status.ordinal()], cell)) {
+        return status;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Moves the given cell into the bitset of the given status, updating the materialized view if
+   * there is one.
+   *
+   * @param cell   - The index of a cell.
+   * @param status - The desired new status of the cell.
+   */
+  private void changeStatus(int cell, CoordStatus status) {
+    for (long[] bits : statusBits) {
+      Bits.clear(bits, cell);
+    }
+    Bits.set(statusBits[status.ordinal()], cell);
+
+    if (coords != null) {
+      coords[cell / width][cell % width].changeStatus(status);
+    }
   }
 }
@@ -0,0 +1,359 @@
+package model;
+
+import static model.ShipType.BATTLESHIP;
+import static model.ShipType.CARRIER;
+import static model.ShipType.DESTROYER;
+import static model.ShipType.SUBMARINE;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts, exactly, every layout of a fleet that agrees with the shots fired at it so far, and how
+ * many of those layouts cover each cell. Layouts are enumerated ship size by ship size, largest
+ * first, with ships of one size placed in increasing placement order so that each layout is met
+ * once. The number of layouts completing a partial layout only depends on the ships left and the
+ * cells taken, so sub-counts are memoized on (ships left, occupancy bitmask).
+ *
+ * <p>Enumeration is bounded. It gives up as soon as any count passes the layout limit, or the
+ * number of placements it has tried passes the step limit, and the caller falls back to an
+ * estimate. {@link #layoutBound(long[])} gives a cheap upper bound on the number of layouts, so a
+ * caller can skip enumerations that are bound to give up.
+ */
+public class EndgameSolver {
+
+  private static final ShipType[] SHIP_TYPES = {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
+  private static final int COUNT_BITS = 8; // bits per ship size in a packed count of ships left
+
+  private final int cells;
+  private final PlacementMasks[] groups; // placements of each ship size in the fleet
+  private final int fleetCode; // packed count of each ship size in the fleet
+  private final long maxLayouts;
+  private final long maxSteps;
+  private final Map<State, Long> memo = new HashMap<>();
+  private long[] hits;
+  private long steps;
+  private long stepLimit; // placements the current enumeration may try
+
+  /**
+   * Creates a solver for the given fleet on a board of the given size.
+   *
+   * @param height         - Height of the board.
+   * @param width          - Width of the board.
+   * @param specifications - A map of ship type to the number of occurrences of each ship.
+   * @param maxLayouts     - The number of layouts above which the solver gives up.
+   * @param maxSteps       - The number of placements tried above which the solver gives up.
+   */
+  public EndgameSolver(int height, int width, Map<ShipType, Integer> specifications,
+                       long maxLayouts, long maxSteps) {
+    this.cells = height * width;
+    this.maxLayouts = maxLayouts;
+    this.maxSteps = maxSteps;
+
+    int groupCount = 0;
+    for (ShipType type : SHIP_TYPES) {
+      if (specifications.getOrDefault(type, 0) > 0) {
+        groupCount++;
+      }
+    }
+    this.groups = new PlacementMasks[groupCount];
+    int code = 0;
+    int g = 0;
+    for (ShipType type : SHIP_TYPES) {
+      int count = specifications.getOrDefault(type, 0);
+      if (count > 0) {
+        groups[g] = PlacementMasks.of(height, width, type.getSize());
+        code += count << (COUNT_BITS * g);
+        g++;
+      }
+    }
+    this.fleetCode = code;
+  }
+
+  /**
+   * Counts the layouts that put no ship on a miss and cover every hit, and how many of them cover
+   * each cell.
+   *
+   * @param misses - Bitset of the cells known to be empty.
+   * @param hits   - Bitset of the cells known to hold a ship.
+   * @return - The number of layouts covering each cell, followed by the number of layouts, or null
+   *           if there are too many layouts to enumerate.
+   */
+  public long[] solve(long[] misses, long[] hits) {
+    return solve(misses, hits, maxSteps);
+  }
+
+  /**
+   * Counts the layouts that put no ship on a miss and cover every hit, and how many of them cover
+   * each cell, trying at most the given number of placements.
+   *
+   * @param misses    - Bitset of the cells known to be empty.
+   * @param hits      - Bitset of the cells known to hold a ship.
+   * @param stepLimit - The number of placements tried above which the solver gives up; the
+   *                    solver's own step limit still applies.
+   * @return - The number of layouts covering each cell, followed by the number of layouts, or null
+   *           if there are too many layouts to enumerate within the limits.
+   */
+  public long[] solve(long[] misses, long[] hits, long stepLimit) {
+    this.hits = hits;
+    this.steps = 0;
+    this.stepLimit = Math.min(stepLimit, maxSteps);
+    memo.clear();
+
+    State root = new State(fleetCode, 0, misses.clone());
+    long total;
+    try {
+      total = count(root);
+    } catch (TooManyLayouts e) {
+      memo.clear();
+      return null;
+    }
+
+    long[] covered = new long[cells + 1];
+    covered[cells] = total;
+    if (total > 0) {
+      spread(root, covered);
+    }
+    memo.clear();
+    return covered;
+  }
+
+  /**
+   * Gets an upper bound on the number of layouts that put no ship on a miss: for each ship size,
+   * the number of ways to choose that many of its placements clear of the misses, multiplied
+   * together. Overlaps between ships and the hits to cover are ignored, so it takes one pass over
+   * the placements, where {@link #solve(long[], long[])} may take many.
+   *
+   * @param misses - Bitset of the cells known to be empty.
+   * @return - The bound, or Long.MAX_VALUE if it does not fit in a long.
+   */
+  public long layoutBound(long[] misses) {
+    long bound = 1;
+    for (int g = 0; g < groups.length; g++) {
+      PlacementMasks masks = groups[g];
+      int open = 0;
+      for (int p = 0; p < masks.count(); p++) {
+        if (!masks.intersects(p, misses)) {
+          open++;
+        }
+      }
+      int ships = fleetCode >>> (COUNT_BITS * g) & ((1 << COUNT_BITS) - 1);
+      // bound * C(open, i) * (open - i) is always divisible by i + 1
+      for (int i = 0; i < ships; i++) {
+        if (open - i <= 0) {
+          return 0;
+        }
+        if (bound > Long.MAX_VALUE / (open - i)) {
+          return Long.MAX_VALUE;
+        }
+        bound = bound * (open - i) / (i + 1);
+      }
+    }
+    return bound;
+  }
+
+  /**
+   * Counts the layouts completing the given partial layout, memoizing every sub-count.
+   *
+   * @param state - The partial layout.
+   * @return - The number of layouts completing it.
+   * @throws TooManyLayouts - If a limit is passed.
+   */
+  private long count(State state) throws TooManyLayouts {
+    Long known = memo.get(state);
+    if (known != null) {
+      return known;
+    }
+
+    long total;
+    int g = currentGroup(state.code);
+    if (g < 0) {
+      total = coversHits(state.occupied) ? 1 : 0;
+    } else if (uncoveredHits(state.occupied) > remainingCells(state.code)) {
+      total = 0;
+    } else {
+      total = 0;
+      PlacementMasks masks = groups[g];
+      for (int p = state.minPlacement; p < masks.count(); p++) {
+        if (++steps > stepLimit) {
+          throw new TooManyLayouts();
+        }
+        if (!masks.intersects(p, state.occupied)) {
+          total += count(child(state, g, p));
+          if (total > maxLayouts) {
+            throw new TooManyLayouts();
+          }
+        }
+      }
+    }
+
+    memo.put(state, total);
+    return total;
+  }
+
+  /**
+   * Adds up, level by level from the empty board, how many complete layouts pass through each
+   * placement, crediting each cell of the placement.
+   *
+   * @param root    - The empty partial layout.
+   * @param covered - Where the number of layouts covering each cell is added.
+   */
+  private void spread(State root, long[] covered) {
+    Map<State, Long> level = new HashMap<>();
+    level.put(root, 1L);
+
+    while (!level.isEmpty()) {
+      Map<State, Long> next = new HashMap<>();
+      for (Map.Entry<State, Long> entry : level.entrySet()) {
+        State state = entry.getKey();
+        long inflow = entry.getValue();
+        int g = currentGroup(state.code);
+        if (g < 0) {
+          continue;
+        }
+        PlacementMasks masks = groups[g];
+        for (int p = state.minPlacement; p < masks.count(); p++) {
+          if (masks.intersects(p, state.occupied)) {
+            continue;
+          }
+          State child = child(state, g, p);
+          long completions = memo.getOrDefault(child, 0L);
+          if (completions == 0) {
+            continue;
+          }
+          for (int k = 0; k < masks.getSize(); k++) {
+            covered[masks.cell(p, k)] += inflow * completions;
+          }
+          next.merge(child, inflow, Long::sum);
+        }
+      }
+      level = next;
+    }
+  }
+
+  /**
+   * Makes the partial layout that places one more ship of the given size.
+   *
+   * @param state     - The partial layout.
+   * @param group     - Index of the ship size.
+   * @param placement - Number of the placement.
+   * @return - The partial layout with the ship placed.
+   */
+  private State child(State state, int group, int placement) {
+    long[] occupied = state.occupied.clone();
+    groups[group].addTo(placement, occupied);
+    int code = state.code - (1 << (COUNT_BITS * group));
+    boolean sameSizeLeft = (code >>> (COUNT_BITS * group) & ((1 << COUNT_BITS) - 1)) > 0;
+    return new State(code, sameSizeLeft ? placement + 1 : 0, occupied);
+  }
+
+  /**
+   * Gets the index of the largest ship size with ships left to place.
+   *
+   * @param code - Packed count of the ships left.
+   * @return - The index of the ship size, or -1 if no ships are left.
+   */
+  private int currentGroup(int code) {
+    for (int g = 0; g < groups.length; g++) {
+      if ((code >>> (COUNT_BITS * g) & ((1 << COUNT_BITS) - 1)) > 0) {
+        return g;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the number of cells the ships left to place will cover.
+   *
+   * @param code - Packed count of the ships left.
+   * @return - The number of cells.
+   */
+  private int remainingCells(int code) {
+    int total = 0;
+    for (int g = 0; g < groups.length; g++) {
+      total += (code >>> (COUNT_BITS * g) & ((1 << COUNT_BITS) - 1)) * groups[g].getSize();
+    }
+    return total;
+  }
+
+  /**
+   * Counts the hits not covered by a ship yet.
+   *
+   * @param occupied - Bitset of the misses and the cells of ships placed so far.
+   * @return - The number of uncovered hits.
+   */
+  private int uncoveredHits(long[] occupied) {
+    int count = 0;
+    for (int w = 0; w < hits.length; w++) {
+      count += Long.bitCount(hits[w] & ~occupied[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Checks whether every hit is covered by a ship.
+   *
+   * @param occupied - Bitset of the misses and the cells of every ship.
+   * @return - true if no hit is left uncovered.
+   */
+  private boolean coversHits(long[] occupied) {
+    return uncoveredHits(occupied) == 0;
+  }
+
+  /**
+   * A partial layout: the ships left to place, the first placement the next ship may take if it
+   * is the same size as the last one, and the cells taken by misses and placed ships.
+   */
+  private static final class State {
+
+    private final int code;
+    private final int minPlacement;
+    private final long[] occupied;
+    private final int hash;
+
+    /**
+     * Creates a partial layout.
+     *
+     * @param code         - Packed count of the ships left.
+     * @param minPlacement - The first placement the next ship may take.
+     * @param occupied     - Bitset of the misses and the cells of ships placed so far.
+     */
+    State(int code, int minPlacement, long[] occupied) {
+      this.code = code;
+      this.minPlacement = minPlacement;
+      this.occupied = occupied;
+      this.hash = 31 * (31 * code + minPlacement) + Arrays.hashCode(occupied);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof State state)) {
+        return false;
+      }
+      return code == state.code && minPlacement == state.minPlacement
+          && Arrays.equals(occupied, state.occupied);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * Thrown to abandon an enumeration that passed a limit.
+   */
+  private static final class TooManyLayouts extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception without a stack trace, as it only unwinds the enumeration.
+     */
+    TooManyLayouts() {
+      super(null, null, false, false);
+    }
+  }
+
+}
@@ -0,0 +1,273 @@
+package model;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shoots exactly once few enough layouts of the opponent's fleet are left, and leaves every other
+ * volley to another strategy. Before each volley an {@link EndgameSolver} tries to enumerate every
+ * layout that agrees with the shots so far. If it finishes within its limits, the volley goes to
+ * the unshot cells covered by the most layouts. By linearity of expectation, these are the cells
+ * that give the most hits expected from one volley among all volleys of its size. If it gives up,
+ * the other strategy chooses the volley.
+ *
+ * <p>Enumerating is only tried once the solver's cheap bound on the number of layouts is within
+ * a thousand times the layout limit. The bound ignores the hits, which late in a game leave far
+ * fewer layouts than it counts, so a bound within the limit itself would come too late to help.
+ * An attempt that still gives up is remembered, and the next is only made once the bound has
+ * halved, so a volley does not repeat work that just failed.
+ *
+ * <p>Within a turn budget, the enumeration is refined in attempts of growing step limits, so the
+ * budget can cut it short; the fallback then chooses the volley, and always runs to completion.
+ *
+ * <p>Sinks are never reported, so the layouts are of the whole fleet, with ships already sunk
+ * lying over hits.
+ */
+public class EndgameStrategy implements AnytimeStrategy {
+
+  private static final long DEFAULT_MAX_LAYOUTS = 100_000;
+  private static final long STEPS_PER_LAYOUT = 16; // steps allowed per layout of the limit
+  private static final long FIRST_STEPS = 1 << 12; // step limit of a volley's first attempt
+  private static final long BOUND_PER_LAYOUT = 1000; // bound allowed per layout of the limit
+
+  private final ShotStrategy fallback;
+  private final long maxLayouts;
+  private final long maxSteps;
+  private final long maxBound;
+  private EndgameSolver solver;
+  private int cells;
+  private Random random;
+  private long[] misses;
+  private long[] hits;
+  private long[] fired;
+  private int unfired;
+  private int solvedVolleys;
+  private int attemptedVolleys;
+  private long retryBound; // the bound must fall below this before the solver is tried again
+  private long bound; // the bound on the layouts left for the volley being worked on
+  private long stepLimit; // the step limit of the next attempt, or 0 if no attempt is left
+  private long[] covered; // the solver's counts for the volley being worked on, if it finished
+  private final TopCells top = new TopCells();
+
+  /**
+   * Creates an endgame strategy over a heatmap strategy, solving once at most a default number
+   * of layouts is left.
+   */
+  public EndgameStrategy() {
+    this(new HeatmapStrategy(), DEFAULT_MAX_LAYOUTS);
+  }
+
+  /**
+   * Creates an endgame strategy.
+   *
+   * @param fallback   - The strategy choosing volleys while too many layouts are left.
+   * @param maxLayouts - The number of layouts at or below which volleys are solved exactly.
+   */
+  public EndgameStrategy(ShotStrategy fallback, long maxLayouts) {
+    this(fallback, maxLayouts, maxLayouts * STEPS_PER_LAYOUT);
+  }
+
+  /**
+   * Creates an endgame strategy with the given limit on the placements one volley's enumeration
+   * may try.
+   *
+   * @param fallback   - The strategy choosing volleys while too many layouts are left.
+   * @param maxLayouts - The number of layouts at or below which volleys are solved exactly.
+   * @param maxSteps   - The number of placements tried above which a volley's enumeration gives
+   *                   up.
+   */
+  EndgameStrategy(ShotStrategy fallback, long maxLayouts, long maxSteps) {
+    if (maxLayouts <= 0) {
+      throw new IllegalArgumentException("The layout threshold must be positive, not "
+          + maxLayouts);
+    }
+    this.fallback = fallback;
+    this.maxLayouts = maxLayouts;
+    this.maxSteps = maxSteps;
+    this.maxBound = maxLayouts > Long.MAX_VALUE / BOUND_PER_LAYOUT ? Long.MAX_VALUE
+        : maxLayouts * BOUND_PER_LAYOUT;
+  }
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "endgame"
+   */
+  @Override
+  public String name() {
+    return "endgame";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#SEARCH}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.SEARCH;
+  }
+
+  /**
+   * Prepares this strategy and its fallback for a new game.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    fallback.setup(height, width, specifications, random);
+    this.solver = new EndgameSolver(height, width, specifications, maxLayouts, maxSteps);
+    this.cells = height * width;
+    this.random = random;
+    this.misses = new long[Bits.words(cells)];
+    this.hits = new long[Bits.words(cells)];
+    this.fired = new long[Bits.words(cells)];
+    this.unfired = cells;
+    this.solvedVolleys = 0;
+    this.attemptedVolleys = 0;
+    this.retryBound = Long.MAX_VALUE;
+    this.stepLimit = 0;
+    this.covered = null;
+  }
+
+  /**
+   * Chooses the next volley exactly if few enough layouts are left, or with the fallback if not.
+   * Ties go to whichever cell comes first in a scan of the board that starts at a random cell.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    beginVolley();
+    while (refine()) {
+      // enumerate until the solver finishes or gives up
+    }
+    return bestVolley(shots, cells);
+  }
+
+  /**
+   * Begins work on the next volley, bounding the layouts left to decide whether to enumerate
+   * them.
+   */
+  @Override
+  public void beginVolley() {
+    covered = null;
+    stepLimit = 0;
+    if (unfired == 0) {
+      return;
+    }
+    bound = solver.layoutBound(misses);
+    if (bound > 0 && bound <= maxBound && bound < retryBound) {
+      attemptedVolleys++;
+      stepLimit = Math.min(FIRST_STEPS, maxSteps);
+    }
+  }
+
+  /**
+   * Makes one attempt at enumerating the layouts, with four times the step limit of the last.
+   *
+   * @return whether a further attempt with a larger step limit is left
+   */
+  @Override
+  public boolean refine() {
+    if (stepLimit == 0) {
+      return false;
+    }
+    covered = solver.solve(misses, hits, stepLimit);
+    if (covered != null) {
+      stepLimit = 0;
+    } else if (stepLimit >= maxSteps) {
+      retryBound = bound / 2;
+      stepLimit = 0;
+    } else {
+      stepLimit = stepLimit > maxSteps / 4 ? maxSteps : stepLimit * 4;
+    }
+    return stepLimit > 0;
+  }
+
+  /**
+   * Chooses the unshot cells covered by the most layouts if the enumeration finished, or has the
+   * fallback choose the volley if not.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int bestVolley(int shots, int[] cells) {
+    int chosen = Math.min(shots, unfired);
+    if (chosen == 0) {
+      return 0;
+    }
+
+    if (covered == null || covered[this.cells] == 0) {
+      chosen = fallback.selectShots(shots, cells);
+    } else {
+      solvedVolleys++;
+      bestCells(covered, chosen, cells);
+    }
+    covered = null;
+    stepLimit = 0;
+
+    for (int i = 0; i < chosen; i++) {
+      if (!Bits.get(fired, cells[i])) {
+        Bits.set(fired, cells[i]);
+        unfired--;
+      }
+    }
+    return chosen;
+  }
+
+  /**
+   * Records the result of one shot here and with the fallback.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  @Override
+  public void recordShot(int cell, boolean hit) {
+    fallback.recordShot(cell, hit);
+    if (!Bits.get(fired, cell)) {
+      Bits.set(fired, cell);
+      unfired--;
+    }
+    Bits.set(hit ? hits : misses, cell);
+  }
+
+  /**
+   * Gets the number of volleys this game that were solved exactly.
+   *
+   * @return - The number of solved volleys.
+   */
+  public int getSolvedVolleys() {
+    return solvedVolleys;
+  }
+
+  /**
+   * Gets the number of volleys this game for which the layouts were enumerated.
+   *
+   * @return - The number of volleys the solver was run for.
+   */
+  public int getAttemptedVolleys() {
+    return attemptedVolleys;
+  }
+
+  /**
+   * Chooses the given number of unshot cells covered by the most layouts.
+   *
+   * @param covered - The number of layouts covering each cell.
+   * @param chosen  - The number of cells to choose.
+   * @param cells   - Where the packed indices of the chosen cells are written, from index 0.
+   */
+  private void bestCells(long[] covered, int chosen, int[] cells) {
+    top.choose(cell -> covered[cell], fired, this.cells, random.nextInt(this.cells), chosen,
+        cells);
+  }
+
+}
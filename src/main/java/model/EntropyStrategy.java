@@ -0,0 +1,211 @@
+package model;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shoots at the cells whose result says the most about where the opponent's fleet lies, as well
+ * as where it is likely to be. From the placement weights of a {@link HeatmapStrategy}, each cell
+ * gets a chance of holding a ship. The information in a shot there is the entropy of its
+ * hit-or-miss result: a cell that is sure to hit or sure to miss tells nothing, while a cell that
+ * is as likely to hit as to miss rules out the most layouts whichever way it goes. A cell scores
+ * its chance of a hit plus a weighted amount of that information, since every ship cell has to be
+ * hit in the end and a sure hit is never a wasted shot.
+ *
+ * <p>Entropies are cached per cell. A shot only reweighs placements through the shot cell, which
+ * lie in its row or column, so only that row and column are recomputed. The chances of every other
+ * cell also depend on the total weight of each ship size; the cache keeps the totals it was
+ * computed with, and is rebuilt in full before a volley only once a total has drifted from them
+ * by more than a small fraction. A turn therefore costs a row and a column per shot and per pick
+ * of the volley, plus at most one full rebuild.
+ *
+ * <p>That cost is fixed by the board and fleet, and a turn takes well under a millisecond on a
+ * 15x15 board, so there is no refinement for a {@link TurnBudget} to cut short and this is not an
+ * {@link AnytimeStrategy}: a turn budget does not apply to it.
+ */
+public class EntropyStrategy extends HeatmapStrategy {
+
+  private static final double DRIFT = 1.0 / 32; // relative change of a total that forces a rebuild
+  private static final double LOG_2 = Math.log(2);
+  private static final double DEFAULT_INFORMATION_WEIGHT = 0.25;
+
+  private final double informationWeight;
+  private int height;
+  private int width;
+  private double[] scores;
+  private long[] cachedTotals; // the total weight of each ship size the cache was computed with
+  private int rebuilds;
+
+  /**
+   * Creates an entropy strategy with the default weight of information against hit chance.
+   */
+  public EntropyStrategy() {
+    this(DEFAULT_INFORMATION_WEIGHT);
+  }
+
+  /**
+   * Creates an entropy strategy that chooses each volley jointly.
+   *
+   * @param informationWeight - The weight of a bit of information against a certain hit.
+   */
+  public EntropyStrategy(double informationWeight) {
+    super(true);
+    if (informationWeight < 0) {
+      throw new IllegalArgumentException("Information cannot have a negative weight");
+    }
+    this.informationWeight = informationWeight;
+  }
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "entropy"
+   */
+  @Override
+  public String name() {
+    return "entropy";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#PLACEMENTS}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.PLACEMENTS;
+  }
+
+  /**
+   * Prepares this strategy for a new game, building the score of every cell.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    this.height = height;
+    this.width = width;
+    this.scores = new double[height * width];
+    this.cachedTotals = null;
+    this.rebuilds = 0;
+    super.setup(height, width, specifications, random);
+    rebuild();
+  }
+
+  /**
+   * Scores the given unshot cell by its chance of a hit and the entropy of its result.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The cached score of the cell.
+   */
+  @Override
+  protected double score(int cell) {
+    return scores[cell];
+  }
+
+  /**
+   * Chooses the next volley, first rebuilding the cache if the total weights have drifted too far
+   * from the ones it was computed with.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    for (int g = 0; g < groupCount(); g++) {
+      if (Math.abs(totalWeight(g) - cachedTotals[g]) > DRIFT * cachedTotals[g]) {
+        rebuild();
+        break;
+      }
+    }
+    return super.selectShots(shots, cells);
+  }
+
+  /**
+   * Recomputes the cached scores in the row and column of the given cell.
+   *
+   * @param cell - The packed index of the cell.
+   */
+  @Override
+  protected void reweighted(int cell) {
+    if (cachedTotals == null) {
+      // still being set up
+      return;
+    }
+    int row = cell / width * width;
+    for (int x = 0; x < width; x++) {
+      scores[row + x] = cellScore(row + x);
+    }
+    for (int y = 0; y < height; y++) {
+      scores[y * width + cell % width] = cellScore(y * width + cell % width);
+    }
+  }
+
+  /**
+   * Gets the cached score of a shot at the given cell.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The chance of a hit plus the weighted entropy of the result.
+   */
+  public double getScore(int cell) {
+    return scores[cell];
+  }
+
+  /**
+   * Gets the number of times the whole cache has been rebuilt this game, counting the first build.
+   *
+   * @return - The number of rebuilds.
+   */
+  public int getRebuilds() {
+    return rebuilds;
+  }
+
+  /**
+   * Recomputes every cached score against the current total weights.
+   */
+  private void rebuild() {
+    if (cachedTotals == null || cachedTotals.length != groupCount()) {
+      cachedTotals = new long[groupCount()];
+    }
+    for (int g = 0; g < groupCount(); g++) {
+      cachedTotals[g] = totalWeight(g);
+    }
+    for (int cell = 0; cell < scores.length; cell++) {
+      scores[cell] = cellScore(cell);
+    }
+    rebuilds++;
+  }
+
+  /**
+   * Computes the score of a shot at the given cell. Each ship of a size is taken to cover the cell
+   * with the share of that size's weight that covers it, independently of the other ships.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The chance of a hit plus the weighted entropy of the result, in bits.
+   */
+  private double cellScore(int cell) {
+    double miss = 1;
+    for (int g = 0; g < groupCount(); g++) {
+      if (cachedTotals[g] > 0) {
+        double share = Math.min(1, (double) coverWeight(g, cell) / cachedTotals[g]);
+        for (long ship = 0; ship < shipsOfSize(g); ship++) {
+          miss *= 1 - share;
+        }
+      }
+    }
+    if (miss <= 0) {
+      return 1;
+    }
+    if (miss >= 1) {
+      return 0;
+    }
+    double hit = 1 - miss;
+    return hit - informationWeight * (hit * Math.log(hit) + miss * Math.log(miss)) / LOG_2;
+  }
+
+}
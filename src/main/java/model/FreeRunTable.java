@@ -0,0 +1,178 @@
+package model;
+
+/**
+ * Tracks, for every cell of a board, how many open cells run rightwards and downwards from it
+ * (the cell included). A ship of a given size can be anchored at a cell exactly when the run in
+ * its direction is at least that size, so valid anchors are read straight out of this table.
+ * Per-row counts of anchors for every size are kept alongside the runs, and both are updated
+ * incrementally as ships are placed.
+ */
+public class FreeRunTable {
+
+  private final int height;
+  private final int width;
+  private final int[] horizontalRuns;
+  private final int[] verticalRuns;
+  private final int[][] horizontalRowCounts; // [size][row] cells whose horizontal run >= size
+  private final int[][] verticalRowCounts; // [size][row] cells whose vertical run >= size
+  private final int[] horizontalTotals;
+  private final int[] verticalTotals;
+
+  /**
+   * Creates a FreeRunTable from the unknown cells of the given board.
+   *
+   * @param board - The board whose open cells are tracked.
+   */
+  public FreeRunTable(Board board) {
+    this.height = board.getHeight();
+    this.width = board.getWidth();
+    int maxRun = Math.max(height, width);
+
+    this.horizontalRuns = new int[height * width];
+    this.verticalRuns = new int[height * width];
+    this.horizontalRowCounts = new int[maxRun + 1][height];
+    this.verticalRowCounts = new int[maxRun + 1][height];
+    this.horizontalTotals = new int[maxRun + 1];
+    this.verticalTotals = new int[maxRun + 1];
+
+    for (int y = height - 1; y >= 0; y--) {
+      for (int x = width - 1; x >= 0; x--) {
+        if (board.getStatus(x, y) != CoordStatus.UNKNOWN) {
+          continue;
+        }
+        int cell = y * width + x;
+        horizontalRuns[cell] = x + 1 < width ? horizontalRuns[cell + 1] + 1 : 1;
+        verticalRuns[cell] = y + 1 < height ? verticalRuns[cell + width] + 1 : 1;
+        for (int s = 1; s <= horizontalRuns[cell]; s++) {
+          horizontalRowCounts[s][y]++;
+          horizontalTotals[s]++;
+        }
+        for (int s = 1; s <= verticalRuns[cell]; s++) {
+          verticalRowCounts[s][y]++;
+          verticalTotals[s]++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of cells a ship of the given size can be anchored at in the given direction.
+   *
+   * @param size      - The size of a ship.
+   * @param direction - The direction the ship would run in from its anchor.
+   * @return - The number of valid anchors.
+   */
+  public int countAnchors(int size, Direction direction) {
+    if (size >= horizontalTotals.length) {
+      return 0;
+    }
+    return direction == Direction.HORIZONTAL ? horizontalTotals[size] : verticalTotals[size];
+  }
+
+  /**
+   * Gets the n-th cell, in row-major order, that a ship of the given size can be anchored at in
+   * the given direction.
+   *
+   * @param size      - The size of a ship.
+   * @param direction - The direction the ship would run in from its anchor.
+   * @param n         - Which anchor to get, in [0, countAnchors(size, direction)).
+   * @return - The packed index y * width + x of the anchor.
+   * @throws IllegalArgumentException - If there is no such anchor.
+   */
+  public int anchor(int size, Direction direction, int n) throws IllegalArgumentException {
+    boolean horizontal = direction == Direction.HORIZONTAL;
+    int[] runs = horizontal ? horizontalRuns : verticalRuns;
+    int[] rowCounts = horizontal ? horizontalRowCounts[size] : verticalRowCounts[size];
+
+    for (int y = 0; y < height; y++) {
+      if (n >= rowCounts[y]) {
+        n -= rowCounts[y];
+        continue;
+      }
+      for (int cell = y * width; cell < (y + 1) * width; cell++) {
+        if (runs[cell] >= size && n-- == 0) {
+          return cell;
+        }
+      }
+    }
+
+    throw new IllegalArgumentException("No such anchor for a ship of size " + size);
+  }
+
+  /**
+   * Marks the cells of a ship as taken, shortening every run that reached into them.
+   *
+   * @param anchor    - The packed index of the ship's first cell.
+   * @param size      - The size of the ship.
+   * @param direction - The direction the ship runs in from its anchor.
+   */
+  public void occupy(int anchor, int size, Direction direction) {
+    int step = direction == Direction.HORIZONTAL ? 1 : width;
+
+    for (int i = 0; i < size; i++) {
+      int cell = anchor + i * step;
+      cutHorizontal(cell);
+      cutVertical(cell);
+    }
+  }
+
+  /**
+   * Closes the given cell's horizontal run and shortens the runs to its left in the same row.
+   *
+   * @param cell - The packed index of a newly taken cell.
+   */
+  private void cutHorizontal(int cell) {
+    int y = cell / width;
+    int rowStart = y * width;
+
+    setHorizontal(cell, y, 0);
+    for (int k = cell - 1; k >= rowStart && horizontalRuns[k] > 0; k--) {
+      setHorizontal(k, y, cell - k);
+    }
+  }
+
+  /**
+   * Closes the given cell's vertical run and shortens the runs above it in the same column.
+   *
+   * @param cell - The packed index of a newly taken cell.
+   */
+  private void cutVertical(int cell) {
+    int y = cell / width;
+
+    setVertical(cell, y, 0);
+    for (int k = cell - width, row = y - 1; k >= 0 && verticalRuns[k] > 0; k -= width, row--) {
+      setVertical(k, row, y - row);
+    }
+  }
+
+  /**
+   * Lowers a horizontal run, keeping the anchor counts in step.
+   *
+   * @param cell  - The packed index of a cell.
+   * @param row   - The row of the cell.
+   * @param value - The new, shorter run.
+   */
+  private void setHorizontal(int cell, int row, int value) {
+    for (int s = value + 1; s <= horizontalRuns[cell]; s++) {
+      horizontalRowCounts[s][row]--;
+      horizontalTotals[s]--;
+    }
+    horizontalRuns[cell] = Math.min(horizontalRuns[cell], value);
+  }
+
+  /**
+   * Lowers a vertical run, keeping the anchor counts in step.
+   *
+   * @param cell  - The packed index of a cell.
+   * @param row   - The row of the cell.
+   * @param value - The new, shorter run.
+   */
+  private void setVertical(int cell, int row, int value) {
+    for (int s = value + 1; s <= verticalRuns[cell]; s++) {
+      verticalRowCounts[s][row]--;
+      verticalTotals[s]--;
+    }
+    verticalRuns[cell] = Math.min(verticalRuns[cell], value);
+  }
+
+}
@@ -0,0 +1,31 @@
+package model;
+
+/**
+ * Record of the outcome of one game of BattleSalvo between two players, seen from the first.
+ *
+ * @param seed              - The seed the game was played from.
+ * @param height            - The height of both boards.
+ * @param width             - The width of both boards.
+ * @param result            - Whether the first player won, lost or tied.
+ * @param turns             - The number of volleys each player fired.
+ * @param firstShots        - The number of shots the first player fired.
+ * @param firstHits         - The number of the first player's shots that hit a ship.
+ * @param secondShots       - The number of shots the second player fired.
+ * @param secondHits        - The number of the second player's shots that hit a ship.
+ * @param firstShipsAfloat  - The number of the first player's ships left afloat.
+ * @param secondShipsAfloat - The number of the second player's ships left afloat.
+ */
+public record GameRecord(
+    long seed,
+    int height,
+    int width,
+    GameResult result,
+    int turns,
+    int firstShots,
+    int firstHits,
+    int secondShots,
+    int secondHits,
+    int firstShipsAfloat,
+    int secondShipsAfloat) {
+
+}
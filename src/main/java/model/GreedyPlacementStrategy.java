@@ -0,0 +1,143 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Places each ship in turn at a random open spot, read from the board's free-run table, and only
+ * when some ship is left with nowhere to go searches for a whole layout with a
+ * {@link PlacementSolver}. This is quick, and is how players place their fleets by default.
+ */
+public class GreedyPlacementStrategy implements PlacementStrategy {
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "greedy"
+   */
+  @Override
+  public String name() {
+    return "greedy";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to place one fleet.
+   *
+   * @return {@link TurnCost#LINEAR}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.LINEAR;
+  }
+
+  /**
+   * Places the fleet greedily, falling back to a backtracking search if that gets stuck.
+   *
+   * @param board  the empty board the fleet goes on
+   * @param fleet  the types of the ships to place, largest first
+   * @param random a random object for any randomized choices
+   * @return the placed ships, or null if no layout was found
+   */
+  @Override
+  public List<Ship> place(Board board, List<ShipType> fleet, Random random) {
+    List<Ship> ships = placeGreedily(board, fleet, random);
+
+    if (ships == null) {
+      PlacementSolver solver = new PlacementSolver(board.getHeight(), board.getWidth(), fleet);
+      ships = solver.solve(random);
+    }
+
+    return ships;
+  }
+
+  /**
+   * Places each ship of the given fleet in turn at a random open spot, without ever moving a
+   * ship that has already been placed.
+   *
+   * @param board  - The empty board the fleet goes on.
+   * @param fleet  - The types of the ships to place, in order.
+   * @param random - A random object to choose the spots with.
+   * @return - The placed ships, or null if some ship was left with nowhere to go.
+   */
+  private List<Ship> placeGreedily(Board board, List<ShipType> fleet, Random random) {
+    List<Ship> ships = new ArrayList<>(fleet.size());
+    FreeRunTable table = new FreeRunTable(board);
+
+    for (ShipType s : fleet) {
+      List<Coord> shipCoords = initShipCoords(s, table, board.getWidth(), random);
+      if (shipCoords == null) {
+        return null;
+      }
+      ships.add(new Ship(s, shipCoords, false));
+    }
+
+    return ships;
+  }
+
+  /**
+   * Returns a list of coordinates that are vertically or horizontally connected on the board.
+   * Anchors with enough room are read from the given free-run table, which is then updated with
+   * the chosen placement.
+   *
+   * @param shipType - The type of ship from which coordinates will be set.
+   * @param table    - The free runs of the board.
+   * @param width    - Width of the board.
+   * @param random   - A random object to choose the spot with.
+   * @return - A list of coordinates, or null if there is no room left for the ship.
+   */
+  private List<Coord> initShipCoords(ShipType shipType, FreeRunTable table, int width,
+                                     Random random) {
+
+    int size = shipType.getSize();
+    boolean randomBool = random.nextBoolean();
+    int horiCount = table.countAnchors(size, Direction.HORIZONTAL);
+    int vertCount = table.countAnchors(size, Direction.VERTICAL);
+    int anchor;
+    Direction direction;
+
+    if (horiCount == 0 && vertCount == 0) {
+      return null;
+    } else if (horiCount == 0) {
+      anchor = table.anchor(size, Direction.VERTICAL, random.nextInt(vertCount));
+      direction = Direction.VERTICAL;
+    } else if (vertCount == 0) {
+      anchor = table.anchor(size, Direction.HORIZONTAL, random.nextInt(horiCount));
+      direction = Direction.HORIZONTAL;
+    } else {
+      int horiAnchor = table.anchor(size, Direction.HORIZONTAL, random.nextInt(horiCount));
+      int vertAnchor = table.anchor(size, Direction.VERTICAL, random.nextInt(vertCount));
+      anchor = randomBool ? horiAnchor : vertAnchor;
+      direction = randomBool ? Direction.HORIZONTAL : Direction.VERTICAL;
+    }
+
+    table.occupy(anchor, size, direction);
+
+    return shipCoords(anchor, direction, shipType, width);
+  }
+
+  /**
+   * Builds the coords of a ship of the given type, starting at the given cell and running in the
+   * given direction.
+   *
+   * @param anchor    - The packed index y * width + x of the ship's first cell.
+   * @param direction - The direction the ship runs in from its first cell.
+   * @param shipType  - The type of the ship.
+   * @param width     - Width of the board.
+   * @return - The ship's coords.
+   */
+  private List<Coord> shipCoords(int anchor, Direction direction, ShipType shipType, int width) {
+    List<Coord> shipCoords = new ArrayList<>(shipType.getSize());
+    int startX = anchor % width;
+    int startY = anchor / width;
+    int stepX = direction == Direction.HORIZONTAL ? 1 : 0;
+    int stepY = direction == Direction.VERTICAL ? 1 : 0;
+
+    for (int i = 0; i < shipType.getSize(); i++) {
+      shipCoords.add(new Coord(startX + i * stepX, startY + i * stepY, shipType.getStatus()));
+    }
+
+    return shipCoords;
+  }
+
+}
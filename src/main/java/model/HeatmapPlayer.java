@@ -0,0 +1,25 @@
+package model;
+
+import java.util.Random;
+import view.ViewImpl;
+
+/**
+ * Represents an AI player in a game of BattleSalvo that shoots where the opponent's remaining
+ * fleet is most likely to be, using a {@link HeatmapStrategy}.
+ */
+public class HeatmapPlayer extends ArtificialPlayer {
+
+  /**
+   * Creates a heatmap AI player object.
+   *
+   * @param user - The String name of this AI player.
+   * @param view - The object from which input can be taken and output can be sent to.
+   * @param board - This AI player's board.
+   * @param other - The opponent of this AI player in a game of BattleSalvo.
+   * @param random - A random object.
+   */
+  public HeatmapPlayer(String user, ViewImpl view, Board board, Board other, Random random) {
+    super(user, view, board, other, random, new HeatmapStrategy());
+  }
+
+}
@@ -0,0 +1,429 @@
+package model;
+
+import static model.ShipType.BATTLESHIP;
+import static model.ShipType.CARRIER;
+import static model.ShipType.DESTROYER;
+import static model.ShipType.SUBMARINE;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shoots at the cells where the opponent's fleet is most likely to be. For every cell, this
+ * strategy keeps a density: the number of placements of each ship in the fleet that cover the
+ * cell and do not cover a known miss, with placements that cover known hits counting for more.
+ * Each volley is chosen jointly: after each pick, the rest of the volley is chosen as though the
+ * pick had missed, so that a volley does not spend several shots on the same likely ship. Setting
+ * joint salvos off instead takes the unshot cells of highest density.
+ *
+ * <p>The density map is built once per game from the shared {@link PlacementMasks} tables. After
+ * that, a shot result only touches the placements covering the shot cell: a miss takes their
+ * weight off every cell they cover, and a hit adds to it. A joint volley uses the same update to
+ * take each pick's placements off the map, and puts them back once the volley is chosen.
+ */
+public class HeatmapStrategy implements ShotStrategy {
+
+  private static final ShipType[] SHIP_TYPES = {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
+  private static final long HIT_BONUS = 4; // extra weight of a placement per hit it covers
+
+  private final boolean jointSalvo;
+  private int cells;
+  private Random random;
+  private PlacementMasks[] groups; // placements of each ship size in the fleet
+  private long[] multiplicity; // number of ships of each size in the fleet
+  private boolean[][] blocked; // [group][placement] true once the placement covers a miss
+  private int[][] hitsCovered; // [group][placement] number of hits the placement covers
+  private boolean[][] crossing; // [group][placement] true once it crosses a line of hits
+  private long[] density;
+  private long[][] cover; // [group][cell] weight of the group's placements covering the cell
+  private long[] total; // [group] weight of all the group's placements
+  private long[] fired;
+  private long[] hits;
+  private int width;
+  private int unfired;
+  private final TopCells top = new TopCells();
+  private int[] undoGroups = new int[0]; // placements taken off the map during a joint volley
+  private int[] undoPlacements = new int[0];
+  private int undoSize;
+
+  /**
+   * Creates a heatmap strategy that chooses each volley jointly.
+   */
+  public HeatmapStrategy() {
+    this(true);
+  }
+
+  /**
+   * Creates a heatmap strategy.
+   *
+   * @param jointSalvo - Whether each volley is chosen jointly, rather than as the unshot cells of
+   *                   highest density.
+   */
+  public HeatmapStrategy(boolean jointSalvo) {
+    this.jointSalvo = jointSalvo;
+  }
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "heatmap"
+   */
+  @Override
+  public String name() {
+    return "heatmap";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#PLACEMENTS}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.PLACEMENTS;
+  }
+
+  /**
+   * Prepares this strategy for a new game, building the density map of an untouched board.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    this.cells = height * width;
+    this.width = width;
+    this.random = random;
+    this.density = new long[cells];
+    this.fired = new long[Bits.words(cells)];
+    this.hits = new long[Bits.words(cells)];
+    this.unfired = cells;
+
+    int groupCount = 0;
+    for (ShipType type : SHIP_TYPES) {
+      if (specifications.getOrDefault(type, 0) > 0) {
+        groupCount++;
+      }
+    }
+
+    this.groups = new PlacementMasks[groupCount];
+    this.multiplicity = new long[groupCount];
+    this.blocked = new boolean[groupCount][];
+    this.hitsCovered = new int[groupCount][];
+    this.crossing = new boolean[groupCount][];
+    this.cover = new long[groupCount][cells];
+    this.total = new long[groupCount];
+
+    int g = 0;
+    for (ShipType type : SHIP_TYPES) {
+      int count = specifications.getOrDefault(type, 0);
+      if (count == 0) {
+        continue;
+      }
+      groups[g] = PlacementMasks.of(height, width, type.getSize());
+      multiplicity[g] = count;
+      blocked[g] = new boolean[groups[g].count()];
+      hitsCovered[g] = new int[groups[g].count()];
+      crossing[g] = new boolean[groups[g].count()];
+      for (int p = 0; p < groups[g].count(); p++) {
+        addWeight(g, p, count);
+      }
+      g++;
+    }
+  }
+
+  /**
+   * Chooses the next volley. Ties go to whichever cell comes first in a scan of the board that
+   * starts at a random cell.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    int chosen = Math.min(shots, unfired);
+    if (chosen == 0) {
+      return 0;
+    }
+    int start = random.nextInt(this.cells);
+
+    if (jointSalvo) {
+      jointShots(chosen, cells, start);
+    } else {
+      highestShots(chosen, cells, start);
+    }
+
+    for (int i = 0; i < chosen; i++) {
+      Bits.set(fired, cells[i]);
+    }
+    unfired -= chosen;
+
+    return chosen;
+  }
+
+  /**
+   * Chooses the given number of unshot cells of highest score.
+   *
+   * @param chosen - The number of cells to choose.
+   * @param cells  - Where the packed indices of the chosen cells are written, from index 0.
+   * @param start  - The cell the scan of the board starts at.
+   */
+  private void highestShots(int chosen, int[] cells, int start) {
+    top.choose(this::score, fired, this.cells, start, chosen, cells);
+  }
+
+  /**
+   * Chooses the given number of unshot cells one at a time, each of highest score given that
+   * every earlier pick of the volley missed. Each pick's placements are taken off the density map
+   * while the volley is chosen, and put back afterwards.
+   *
+   * @param chosen - The number of cells to choose.
+   * @param cells  - Where the packed indices of the chosen cells are written, from index 0.
+   * @param start  - The cell the scan of the board starts at.
+   */
+  private void jointShots(int chosen, int[] cells, int start) {
+    undoSize = 0;
+
+    for (int k = 0; k < chosen; k++) {
+      int pick = -1;
+      double value = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < this.cells; i++) {
+        int cell = start + i < this.cells ? start + i : start + i - this.cells;
+        if (!Bits.get(fired, cell) && score(cell) > value) {
+          value = score(cell);
+          pick = cell;
+        }
+      }
+      cells[k] = pick;
+      Bits.set(fired, pick);
+
+      for (int g = 0; g < groups.length; g++) {
+        PlacementMasks masks = groups[g];
+        for (int i = 0; i < masks.coveringCount(pick); i++) {
+          int p = masks.covering(pick, i);
+          if (!blocked[g][p]) {
+            addWeight(g, p, -weight(g, p));
+            blocked[g][p] = true;
+            pushUndo(g, p);
+          }
+        }
+      }
+      reweighted(pick);
+    }
+
+    while (undoSize > 0) {
+      undoSize--;
+      int g = undoGroups[undoSize];
+      int p = undoPlacements[undoSize];
+      blocked[g][p] = false;
+      addWeight(g, p, weight(g, p));
+    }
+    for (int k = 0; k < chosen; k++) {
+      reweighted(cells[k]);
+    }
+  }
+
+  /**
+   * Remembers a placement taken off the density map during a joint volley.
+   *
+   * @param group     - Index of the ship size.
+   * @param placement - Number of the placement.
+   */
+  private void pushUndo(int group, int placement) {
+    if (undoSize == undoGroups.length) {
+      int length = Math.max(64, 2 * undoSize);
+      undoGroups = Arrays.copyOf(undoGroups, length);
+      undoPlacements = Arrays.copyOf(undoPlacements, length);
+    }
+    undoGroups[undoSize] = group;
+    undoPlacements[undoSize] = placement;
+    undoSize++;
+  }
+
+  /**
+   * Updates the density map with the result of one shot. A miss rules out every placement
+   * covering the cell, and a hit makes every such placement that is still possible more likely.
+   * A hit next to an earlier hit forms a line, and placements crossing that line lose their bonus:
+   * the line is better explained by one ship lying along it, so once that ship is found its cells
+   * stop drawing shots to either side of it.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  @Override
+  public void recordShot(int cell, boolean hit) {
+    if (!Bits.get(fired, cell)) {
+      Bits.set(fired, cell);
+      unfired--;
+    }
+
+    for (int g = 0; g < groups.length; g++) {
+      PlacementMasks masks = groups[g];
+      for (int i = 0; i < masks.coveringCount(cell); i++) {
+        int p = masks.covering(cell, i);
+        if (blocked[g][p]) {
+          continue;
+        }
+        long before = weight(g, p);
+        if (hit) {
+          hitsCovered[g][p]++;
+          addWeight(g, p, weight(g, p) - before);
+        } else {
+          addWeight(g, p, -before);
+          blocked[g][p] = true;
+        }
+      }
+    }
+    reweighted(cell);
+
+    if (hit) {
+      Bits.set(hits, cell);
+      int x = cell % width;
+      if (x > 0 && Bits.get(hits, cell - 1)) {
+        crossLine(cell, Direction.VERTICAL);
+        crossLine(cell - 1, Direction.VERTICAL);
+      }
+      if (x < width - 1 && Bits.get(hits, cell + 1)) {
+        crossLine(cell, Direction.VERTICAL);
+        crossLine(cell + 1, Direction.VERTICAL);
+      }
+      if (cell >= width && Bits.get(hits, cell - width)) {
+        crossLine(cell, Direction.HORIZONTAL);
+        crossLine(cell - width, Direction.HORIZONTAL);
+      }
+      if (cell + width < cells && Bits.get(hits, cell + width)) {
+        crossLine(cell, Direction.HORIZONTAL);
+        crossLine(cell + width, Direction.HORIZONTAL);
+      }
+    }
+  }
+
+  /**
+   * Scores the given unshot cell; volleys go to the cells of highest score. The score of a cell is
+   * its density.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The score of the cell.
+   */
+  protected double score(int cell) {
+    return density[cell];
+  }
+
+  /**
+   * Called after the weights of the placements covering the given cell change. Every such
+   * placement lies in the cell's row or column, so only densities in that row and column change.
+   *
+   * @param cell - The packed index of the cell.
+   */
+  protected void reweighted(int cell) {
+    // densities are kept up to date by addWeight
+  }
+
+  /**
+   * Gets the number of ship sizes in the fleet.
+   *
+   * @return - The number of ship sizes.
+   */
+  protected int groupCount() {
+    return groups.length;
+  }
+
+  /**
+   * Gets the number of ships of the given size in the fleet.
+   *
+   * @param group - Index of the ship size.
+   * @return - The number of ships of that size.
+   */
+  protected long shipsOfSize(int group) {
+    return multiplicity[group];
+  }
+
+  /**
+   * Gets the weight of the placements of the given ship size that cover the given cell.
+   *
+   * @param group - Index of the ship size.
+   * @param cell  - The packed index of a cell.
+   * @return - The weight of the placements covering the cell.
+   */
+  protected long coverWeight(int group, int cell) {
+    return cover[group][cell];
+  }
+
+  /**
+   * Gets the weight of all possible placements of the given ship size.
+   *
+   * @param group - Index of the ship size.
+   * @return - The weight of its placements.
+   */
+  protected long totalWeight(int group) {
+    return total[group];
+  }
+
+  /**
+   * Gets the density of the given cell.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The weight of the possible placements covering the cell.
+   */
+  public long getDensity(int cell) {
+    return density[cell];
+  }
+
+  /**
+   * Takes the hit bonus off every placement in the given direction that covers a hit which is part
+   * of a line of hits running across that direction.
+   *
+   * @param cell      - The packed index of a hit in a line of hits.
+   * @param direction - The direction across the line.
+   */
+  private void crossLine(int cell, Direction direction) {
+    for (int g = 0; g < groups.length; g++) {
+      PlacementMasks masks = groups[g];
+      for (int i = 0; i < masks.coveringCount(cell); i++) {
+        int p = masks.covering(cell, i);
+        if (blocked[g][p] || crossing[g][p] || masks.direction(p) != direction) {
+          continue;
+        }
+        long before = weight(g, p);
+        crossing[g][p] = true;
+        addWeight(g, p, weight(g, p) - before);
+      }
+    }
+    reweighted(cell);
+  }
+
+  /**
+   * Gets the weight the given placement currently adds to each cell it covers.
+   *
+   * @param group     - Index of the ship size.
+   * @param placement - Number of the placement.
+   * @return - The placement's weight.
+   */
+  private long weight(int group, int placement) {
+    long bonus = crossing[group][placement] ? 0 : HIT_BONUS * hitsCovered[group][placement];
+    return multiplicity[group] * (1 + bonus);
+  }
+
+  /**
+   * Adds the given amount to the density of every cell of the given placement.
+   *
+   * @param group     - Index of the ship size.
+   * @param placement - Number of the placement.
+   * @param amount    - The amount to add.
+   */
+  private void addWeight(int group, int placement, long amount) {
+    PlacementMasks masks = groups[group];
+    for (int k = 0; k < masks.getSize(); k++) {
+      int cell = masks.cell(placement, k);
+      density[cell] += amount;
+      cover[group][cell] += amount;
+    }
+    total[group] += amount;
+  }
+
+}
@@ -0,0 +1,273 @@
+package model;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Hunts for ships on a parity pattern, then targets the cells around every hit. While hunting,
+ * shots go at random to the cells where (x + y) is a fixed remainder modulo the size of the
+ * smallest ship in the fleet, since every ship covers at least one such cell. Each hit queues its
+ * orthogonal neighbours, and two neighbouring hits queue, ahead of everything else, the cells just
+ * past both ends of the line they form. The queue is worked through before hunting resumes.
+ *
+ * <p>Hits are the only feedback the game gives, so sunk ships cannot be told apart and the parity
+ * is kept for the whole game. Queued and fired cells are held in bitsets, so checking a cell
+ * against them costs one word lookup.
+ */
+public class HuntTargetStrategy implements ShotStrategy {
+
+  private int width;
+  private int cells;
+  private Random random;
+  private long[] fired;
+  private long[] hits;
+  private long[] queued;
+  private long[] promoted; // cells queued at the front, which may also still be further back
+  private int[] queue = new int[0]; // circular buffer of cells to target
+  private int queueHead;
+  private int queueSize;
+  private int[] huntPool = new int[0]; // parity cells first, then every other cell
+  private int parityCount; // number of parity cells not yet drawn from the pool
+  private int otherCount; // number of other cells not yet drawn from the pool
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "hunt-target"
+   */
+  @Override
+  public String name() {
+    return "hunt-target";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#CONSTANT}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.CONSTANT;
+  }
+
+  /**
+   * Prepares this strategy for a new game, picking the parity pattern to hunt on.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    this.width = width;
+    this.cells = height * width;
+    this.random = random;
+    this.fired = new long[Bits.words(cells)];
+    this.hits = new long[Bits.words(cells)];
+    this.queued = new long[Bits.words(cells)];
+    this.promoted = new long[Bits.words(cells)];
+    if (queue.length < 2 * cells) {
+      queue = new int[2 * cells];
+      huntPool = new int[cells];
+    }
+    queueHead = 0;
+    queueSize = 0;
+
+    int parity = smallestShip(specifications);
+    int remainder = random.nextInt(parity);
+    parityCount = 0;
+    otherCount = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if ((cell % width + cell / width) % parity == remainder) {
+        huntPool[parityCount++] = cell;
+      }
+    }
+    for (int cell = 0; cell < cells; cell++) {
+      if ((cell % width + cell / width) % parity != remainder) {
+        huntPool[parityCount + otherCount++] = cell;
+      }
+    }
+  }
+
+  /**
+   * Chooses the next volley: queued targets first, then random cells of the hunting pattern, then
+   * random cells off the pattern.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    int chosen = 0;
+
+    while (chosen < shots && queueSize > 0) {
+      int cell = queue[queueHead];
+      queueHead = queueHead + 1 == queue.length ? 0 : queueHead + 1;
+      queueSize--;
+      if (!Bits.get(fired, cell)) {
+        Bits.set(fired, cell);
+        cells[chosen++] = cell;
+      }
+    }
+
+    while (chosen < shots && parityCount + otherCount > 0) {
+      int cell = parityCount > 0 ? drawParity() : drawOther();
+      if (!Bits.get(fired, cell)) {
+        Bits.set(fired, cell);
+        cells[chosen++] = cell;
+      }
+    }
+
+    return chosen;
+  }
+
+  /**
+   * Records the result of one shot, queueing the cells around a hit.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  @Override
+  public void recordShot(int cell, boolean hit) {
+    Bits.set(fired, cell);
+    if (!hit) {
+      return;
+    }
+    Bits.set(hits, cell);
+
+    int x = cell % width;
+    boolean left = x > 0;
+    boolean right = x < width - 1;
+    boolean up = cell >= width;
+    boolean down = cell + width < cells;
+
+    if (left && Bits.get(hits, cell - 1) || right && Bits.get(hits, cell + 1)) {
+      extendLine(cell, 1);
+    }
+    if (up && Bits.get(hits, cell - width) || down && Bits.get(hits, cell + width)) {
+      extendLine(cell, width);
+    }
+
+    if (left) {
+      enqueue(cell - 1, false);
+    }
+    if (right) {
+      enqueue(cell + 1, false);
+    }
+    if (up) {
+      enqueue(cell - width, false);
+    }
+    if (down) {
+      enqueue(cell + width, false);
+    }
+  }
+
+  /**
+   * Queues, ahead of every other target, the cells just past both ends of the line of hits
+   * through the given hit.
+   *
+   * @param cell - The packed index of a hit in the line.
+   * @param step - 1 for a horizontal line, or the board width for a vertical one.
+   */
+  private void extendLine(int cell, int step) {
+    int row = cell / width;
+
+    int end = cell;
+    while (inLine(end + step, row, step) && Bits.get(hits, end + step)) {
+      end += step;
+    }
+    if (inLine(end + step, row, step)) {
+      enqueue(end + step, true);
+    }
+
+    end = cell;
+    while (inLine(end - step, row, step) && Bits.get(hits, end - step)) {
+      end -= step;
+    }
+    if (inLine(end - step, row, step)) {
+      enqueue(end - step, true);
+    }
+  }
+
+  /**
+   * Checks whether the given cell is on the board and, for a horizontal line, in the given row.
+   *
+   * @param cell - The packed index of a cell, which may be off the board.
+   * @param row  - The row of the line.
+   * @param step - 1 for a horizontal line, or the board width for a vertical one.
+   * @return - true if the cell continues the line.
+   */
+  private boolean inLine(int cell, int row, int step) {
+    return cell >= 0 && cell < cells && (step != 1 || cell / width == row);
+  }
+
+  /**
+   * Queues the given cell unless it has been fired at. A cell goes to the back of the queue at
+   * most once and to the front at most once, so the queue never holds more than two entries per
+   * cell.
+   *
+   * @param cell  - The packed index of the cell.
+   * @param front - Whether the cell goes ahead of every other target.
+   */
+  private void enqueue(int cell, boolean front) {
+    long[] seen = front ? promoted : queued;
+    if (Bits.get(fired, cell) || Bits.get(seen, cell)) {
+      return;
+    }
+    Bits.set(seen, cell);
+    if (front) {
+      queueHead = queueHead == 0 ? queue.length - 1 : queueHead - 1;
+      queue[queueHead] = cell;
+    } else {
+      int tail = queueHead + queueSize;
+      queue[tail < queue.length ? tail : tail - queue.length] = cell;
+    }
+    queueSize++;
+  }
+
+  /**
+   * Draws a random cell of the hunting pattern from the pool.
+   *
+   * @return - The packed index of the cell.
+   */
+  private int drawParity() {
+    int i = random.nextInt(parityCount);
+    int cell = huntPool[i];
+    huntPool[i] = huntPool[--parityCount];
+    // keep the other cells packed right behind the pattern cells
+    huntPool[parityCount] = huntPool[parityCount + otherCount];
+    return cell;
+  }
+
+  /**
+   * Draws a random cell off the hunting pattern from the pool.
+   *
+   * @return - The packed index of the cell.
+   */
+  private int drawOther() {
+    int i = parityCount + random.nextInt(otherCount);
+    int cell = huntPool[i];
+    huntPool[i] = huntPool[parityCount + --otherCount];
+    return cell;
+  }
+
+  /**
+   * Gets the size of the smallest ship in the given fleet.
+   *
+   * @param specifications - A map of ship type to the number of occurrences of each ship.
+   * @return - The size of the smallest ship, or 1 for an empty fleet.
+   */
+  private static int smallestShip(Map<ShipType, Integer> specifications) {
+    int smallest = Integer.MAX_VALUE;
+    for (Map.Entry<ShipType, Integer> entry : specifications.entrySet()) {
+      if (entry.getValue() > 0) {
+        smallest = Math.min(smallest, entry.getKey().getSize());
+      }
+    }
+    return smallest == Integer.MAX_VALUE ? 1 : smallest;
+  }
+
+}
@@ -0,0 +1,43 @@
+package model;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import view.ViewImpl;
+
+/**
+ * Represents an AI player in a game of BattleSalvo that shoots where random layouts of the
+ * opponent's fleet, sampled in parallel, most often put a ship, using a {@link MonteCarloStrategy}.
+ */
+public class MonteCarloPlayer extends ArtificialPlayer {
+
+  /**
+   * Creates a Monte Carlo AI player object sampling a default number of layouts per volley.
+   *
+   * @param user - The String name of this AI player.
+   * @param view - The object from which input can be taken and output can be sent to.
+   * @param board - This AI player's board.
+   * @param other - The opponent of this AI player in a game of BattleSalvo.
+   * @param random - A random object.
+   */
+  public MonteCarloPlayer(String user, ViewImpl view, Board board, Board other, Random random) {
+    super(user, view, board, other, random, new MonteCarloStrategy());
+  }
+
+  /**
+   * Creates a Monte Carlo AI player object sampling the given number of layouts per volley on
+   * the given pool.
+   *
+   * @param user - The String name of this AI player.
+   * @param view - The object from which input can be taken and output can be sent to.
+   * @param board - This AI player's board.
+   * @param other - The opponent of this AI player in a game of BattleSalvo.
+   * @param random - A random object.
+   * @param samples - The number of layouts to sample before each volley.
+   * @param pool - The pool the sampling runs on.
+   */
+  public MonteCarloPlayer(String user, ViewImpl view, Board board, Board other, Random random,
+                          int samples, ForkJoinPool pool) {
+    super(user, view, board, other, random, new MonteCarloStrategy(samples, pool));
+  }
+
+}
@@ -0,0 +1,432 @@
+package model;
+
+import static model.ShipType.BATTLESHIP;
+import static model.ShipType.CARRIER;
+import static model.ShipType.DESTROYER;
+import static model.ShipType.SUBMARINE;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Shoots at the cells that are most often covered by a ship in random layouts of the opponent's
+ * fleet that agree with every shot so far: no ship on a known miss and every known hit covered by
+ * a ship. Before each volley a batch of layouts is sampled in parallel on a fork/join pool, the
+ * number of layouts covering each cell is counted, and the volley goes to the unshot cells with
+ * the highest counts.
+ *
+ * <p>The batch is cut into fixed chunks of samples, and each chunk draws from its own random
+ * stream seeded from one per-volley seed and the chunk's number. The counts are therefore the
+ * same for a given seed however many workers the pool has and however the chunks are scheduled.
+ * Placements come from the shared {@link PlacementMasks} tables, so workers share no mutable
+ * state.
+ *
+ * <p>As an {@link AnytimeStrategy}, each refinement step samples one more round of chunks, one
+ * chunk per worker of the pool, and the best volley is taken from the counts gathered so far.
+ */
+public class MonteCarloStrategy implements AnytimeStrategy {
+
+  private static final ShipType[] SHIP_TYPES = {CARRIER, BATTLESHIP, DESTROYER, SUBMARINE};
+  private static final int DEFAULT_SAMPLES = 4096;
+  private static final int CHUNK_SAMPLES = 64;
+  private static final int MAX_ATTEMPTS = 16; // tries at drawing a layout for one sample
+  private static final long CHUNK_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+  private final int samples;
+  private final ForkJoinPool pool;
+  private int cells;
+  private Random random;
+  private PlacementMasks[] fleet; // one table per ship, largest ships first
+  private long[] misses;
+  private long[] hits;
+  private long[] fired;
+  private int unfired;
+  private final TopCells top = new TopCells();
+  private int[] counts = new int[1]; // counts gathered for the volley being worked on
+  private long volleySeed;
+  private int nextChunk; // first chunk of the volley not sampled yet
+
+  /**
+   * Creates a strategy that samples a default number of layouts per volley on the common pool.
+   */
+  public MonteCarloStrategy() {
+    this(DEFAULT_SAMPLES, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a strategy that samples the given number of layouts per volley on the given pool.
+   *
+   * @param samples - The number of layouts to sample before each volley.
+   * @param pool    - The pool the sampling runs on.
+   */
+  public MonteCarloStrategy(int samples, ForkJoinPool pool) {
+    if (samples <= 0) {
+      throw new IllegalArgumentException("At least one layout must be sampled, not " + samples);
+    }
+    this.samples = samples;
+    this.pool = pool;
+  }
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "monte-carlo"
+   */
+  @Override
+  public String name() {
+    return "monte-carlo";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#SAMPLING}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.SAMPLING;
+  }
+
+  /**
+   * Prepares this strategy for a new game.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    this.cells = height * width;
+    this.random = random;
+    this.misses = new long[Bits.words(cells)];
+    this.hits = new long[Bits.words(cells)];
+    this.fired = new long[Bits.words(cells)];
+    this.unfired = cells;
+    this.counts = new int[cells + 1];
+    this.nextChunk = 0;
+
+    int ships = 0;
+    for (ShipType type : SHIP_TYPES) {
+      ships += specifications.getOrDefault(type, 0);
+    }
+    this.fleet = new PlacementMasks[ships];
+    int s = 0;
+    for (ShipType type : SHIP_TYPES) {
+      for (int i = 0; i < specifications.getOrDefault(type, 0); i++) {
+        fleet[s++] = PlacementMasks.of(height, width, type.getSize());
+      }
+    }
+  }
+
+  /**
+   * Samples a full batch of layouts and chooses the unshot cells covered by the most of them.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    beginVolley();
+    while (refine()) {
+      // sample until the batch is complete
+    }
+    return bestVolley(shots, cells);
+  }
+
+  /**
+   * Begins work on the next volley, drawing its seed and clearing the counts.
+   */
+  @Override
+  public void beginVolley() {
+    volleySeed = random.nextLong();
+    nextChunk = 0;
+    Arrays.fill(counts, 0);
+  }
+
+  /**
+   * Samples one more round of chunks, one for each worker of the pool, and adds their counts.
+   *
+   * @return whether chunks of the batch are left to sample
+   */
+  @Override
+  public boolean refine() {
+    int chunks = chunkCount();
+    if (nextChunk >= chunks) {
+      return false;
+    }
+    int to = Math.min(chunks, nextChunk + Math.max(1, pool.getParallelism()));
+    int[] step = pool.invoke(new SampleTask(volleySeed, nextChunk, to));
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += step[i];
+    }
+    nextChunk = to;
+    return nextChunk < chunks;
+  }
+
+  /**
+   * Chooses the unshot cells covered by the most layouts sampled so far. Ties go to whichever cell
+   * comes first in a scan of the board that starts at a random cell.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int bestVolley(int shots, int[] cells) {
+    int chosen = Math.min(shots, unfired);
+    if (chosen == 0) {
+      return 0;
+    }
+    top.choose(cell -> counts[cell], fired, this.cells, random.nextInt(this.cells), chosen,
+        cells);
+
+    for (int i = 0; i < chosen; i++) {
+      Bits.set(fired, cells[i]);
+    }
+    unfired -= chosen;
+
+    return chosen;
+  }
+
+  /**
+   * Records the result of one shot, which every later layout must agree with.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  @Override
+  public void recordShot(int cell, boolean hit) {
+    if (!Bits.get(fired, cell)) {
+      Bits.set(fired, cell);
+      unfired--;
+    }
+    Bits.set(hit ? hits : misses, cell);
+  }
+
+  /**
+   * Samples a batch of layouts that agree with every shot so far and counts how many of them
+   * cover each cell.
+   *
+   * @param seed - The seed every chunk's random stream is derived from.
+   * @return - The number of layouts covering each cell, followed by the number of layouts found.
+   */
+  int[] sampleCounts(long seed) {
+    return pool.invoke(new SampleTask(seed, 0, chunkCount()));
+  }
+
+  /**
+   * Gets the number of chunks in a batch.
+   *
+   * @return - The number of chunks.
+   */
+  private int chunkCount() {
+    return (samples + CHUNK_SAMPLES - 1) / CHUNK_SAMPLES;
+  }
+
+  /**
+   * Samples one chunk of layouts.
+   *
+   * @param seed  - The seed of the whole batch.
+   * @param chunk - The number of the chunk.
+   * @return - The number of layouts covering each cell, followed by the number of layouts found.
+   */
+  private int[] sampleChunk(long seed, int chunk) {
+    SplittableRandom rng = new SplittableRandom(seed + chunk * CHUNK_SEED_STEP);
+    int[] counts = new int[cells + 1];
+    long[] occupied = new long[misses.length];
+    long[] uncovered = new long[hits.length];
+    int[] placements = new int[fleet.length];
+    boolean[] placed = new boolean[fleet.length];
+    int size = Math.min(CHUNK_SAMPLES, samples - chunk * CHUNK_SAMPLES);
+
+    for (int sample = 0; sample < size; sample++) {
+      for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+        if (drawLayout(rng, occupied, uncovered, placements, placed)) {
+          for (int s = 0; s < fleet.length; s++) {
+            for (int k = 0; k < fleet[s].getSize(); k++) {
+              counts[fleet[s].cell(placements[s], k)]++;
+            }
+          }
+          counts[cells]++;
+          break;
+        }
+      }
+    }
+
+    return counts;
+  }
+
+  /**
+   * Tries to draw one layout that agrees with every shot so far. Ships are first placed over hits
+   * no ship covers yet, and the rest go anywhere they fit.
+   *
+   * @param rng        - The random stream to draw from.
+   * @param occupied   - Scratch bitset of cells ships may not use.
+   * @param uncovered  - Scratch bitset of hits not yet covered.
+   * @param placements - Where the placement of each ship is written.
+   * @param placed     - Scratch flags of the ships already placed.
+   * @return - true if a layout was drawn.
+   */
+  private boolean drawLayout(SplittableRandom rng, long[] occupied, long[] uncovered,
+                             int[] placements, boolean[] placed) {
+    System.arraycopy(misses, 0, occupied, 0, occupied.length);
+    System.arraycopy(hits, 0, uncovered, 0, uncovered.length);
+    Arrays.fill(placed, false);
+    int left = fleet.length;
+
+    for (int hit = Bits.nextSet(uncovered, 0); hit >= 0; hit = Bits.nextSet(uncovered, 0)) {
+      if (left == 0) {
+        return false;
+      }
+      // try the ships left in a random order until one can cover the hit
+      int first = rng.nextInt(fleet.length);
+      int ship = -1;
+      int placement = -1;
+      for (int i = 0; i < fleet.length && placement < 0; i++) {
+        ship = first + i < fleet.length ? first + i : first + i - fleet.length;
+        if (!placed[ship]) {
+          placement = coveringPlacement(fleet[ship], hit, occupied, rng);
+        }
+      }
+      if (placement < 0) {
+        return false;
+      }
+      place(ship, placement, occupied, placements, placed);
+      fleet[ship].removeFrom(placement, uncovered);
+      left--;
+    }
+
+    for (int ship = 0; ship < fleet.length; ship++) {
+      if (placed[ship]) {
+        continue;
+      }
+      int placement = freePlacement(fleet[ship], occupied, rng);
+      if (placement < 0) {
+        return false;
+      }
+      place(ship, placement, occupied, placements, placed);
+    }
+
+    return true;
+  }
+
+  /**
+   * Picks, at random, a placement covering the given cell that avoids the occupied cells.
+   *
+   * @param masks    - The placements of the ship.
+   * @param cell     - The packed index of the cell to cover.
+   * @param occupied - Bitset of cells the ship may not use.
+   * @param rng      - The random stream to draw from.
+   * @return - The number of the placement, or -1 if there is none.
+   */
+  private static int coveringPlacement(PlacementMasks masks, int cell, long[] occupied,
+                                       SplittableRandom rng) {
+    int count = masks.coveringCount(cell);
+    if (count == 0) {
+      return -1;
+    }
+    int first = rng.nextInt(count);
+    for (int i = 0; i < count; i++) {
+      int p = masks.covering(cell, first + i < count ? first + i : first + i - count);
+      if (!masks.intersects(p, occupied)) {
+        return p;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Picks, at random, a placement that avoids the occupied cells. A few placements are drawn
+   * outright, then the table is scanned from a random placement.
+   *
+   * @param masks    - The placements of the ship.
+   * @param occupied - Bitset of cells the ship may not use.
+   * @param rng      - The random stream to draw from.
+   * @return - The number of the placement, or -1 if there is none.
+   */
+  private static int freePlacement(PlacementMasks masks, long[] occupied, SplittableRandom rng) {
+    int count = masks.count();
+    if (count == 0) {
+      return -1;
+    }
+    for (int i = 0; i < 8; i++) {
+      int p = rng.nextInt(count);
+      if (!masks.intersects(p, occupied)) {
+        return p;
+      }
+    }
+    int first = rng.nextInt(count);
+    for (int i = 0; i < count; i++) {
+      int p = first + i < count ? first + i : first + i - count;
+      if (!masks.intersects(p, occupied)) {
+        return p;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Places a ship of the layout being drawn.
+   *
+   * @param ship       - The index of the ship in the fleet.
+   * @param placement  - The number of its placement.
+   * @param occupied   - Bitset of cells later ships may not use.
+   * @param placements - Where the placement of each ship is written.
+   * @param placed     - Flags of the ships already placed.
+   */
+  private void place(int ship, int placement, long[] occupied, int[] placements,
+                     boolean[] placed) {
+    fleet[ship].addTo(placement, occupied);
+    placements[ship] = placement;
+    placed[ship] = true;
+  }
+
+  /**
+   * Samples a range of chunks, splitting the range in half until one chunk is left.
+   */
+  private class SampleTask extends RecursiveTask<int[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long seed;
+    private final int from;
+    private final int to;
+
+    /**
+     * Creates a task sampling the chunks in [from, to).
+     *
+     * @param seed - The seed of the whole batch.
+     * @param from - The first chunk.
+     * @param to   - One past the last chunk.
+     */
+    SampleTask(long seed, int from, int to) {
+      this.seed = seed;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected int[] compute() {
+      if (to - from == 1) {
+        return sampleChunk(seed, from);
+      }
+      int middle = (from + to) >>> 1;
+      SampleTask left = new SampleTask(seed, from, middle);
+      left.fork();
+      int[] counts = new SampleTask(seed, middle, to).compute();
+      int[] other = left.join();
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += other[i];
+      }
+      return counts;
+    }
+  }
+
+}
@@ -0,0 +1,229 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Every legal placement of a ship of one size on a board of one geometry, each held as a bitmask
+ * over the board's packed cells y * width + x. Placements are numbered horizontal ones first, each
+ * in row-major order of their first cell. For every cell, the placements that cover it are also
+ * listed.
+ *
+ * <p>Tables are immutable, so one table is shared by every game and thread that uses the same
+ * geometry. They are built lazily by {@link #of(int, int, int)} and kept in a bounded cache that
+ * evicts the least recently used table.
+ */
+public final class PlacementMasks {
+
+  private static final int MAX_CACHED = 128;
+
+  private static final Map<Long, PlacementMasks> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PlacementMasks> eldest) {
+          return size() > MAX_CACHED;
+        }
+      });
+
+  private final int height;
+  private final int width;
+  private final int size;
+  private final long[][] masks;
+  private final int[] anchors;
+  private final int horizontalCount;
+  private final int[][] covering; // [cell] placements covering the cell
+
+  /**
+   * Builds the table of placements for the given geometry.
+   *
+   * @param height - Height of the board.
+   * @param width  - Width of the board.
+   * @param size   - Size of the ship.
+   */
+  private PlacementMasks(int height, int width, int size) {
+    this.height = height;
+    this.width = width;
+    this.size = size;
+
+    int horizontal = size <= width ? height * (width - size + 1) : 0;
+    int vertical = size <= height ? (height - size + 1) * width : 0;
+    int words = Bits.words(height * width);
+    this.horizontalCount = horizontal;
+    this.masks = new long[horizontal + vertical][words];
+    this.anchors = new int[horizontal + vertical];
+
+    int p = 0;
+    for (int y = 0; y < height && horizontal > 0; y++) {
+      for (int x = 0; x + size <= width; x++) {
+        anchors[p++] = y * width + x;
+      }
+    }
+    for (int y = 0; y + size <= height; y++) {
+      for (int x = 0; x < width; x++) {
+        anchors[p++] = y * width + x;
+      }
+    }
+
+    int[] coverCounts = new int[height * width];
+    for (p = 0; p < anchors.length; p++) {
+      for (int k = 0; k < size; k++) {
+        int cell = cell(p, k);
+        Bits.set(masks[p], cell);
+        coverCounts[cell]++;
+      }
+    }
+
+    this.covering = new int[height * width][];
+    for (int cell = 0; cell < covering.length; cell++) {
+      covering[cell] = new int[coverCounts[cell]];
+      coverCounts[cell] = 0;
+    }
+    for (p = 0; p < anchors.length; p++) {
+      for (int k = 0; k < size; k++) {
+        int cell = cell(p, k);
+        covering[cell][coverCounts[cell]++] = p;
+      }
+    }
+  }
+
+  /**
+   * Gets the shared table of placements for a ship of the given size on a board of the given
+   * size, building it if it is not cached.
+   *
+   * @param height - Height of the board.
+   * @param width  - Width of the board.
+   * @param size   - Size of the ship.
+   * @return - The table of placements.
+   */
+  public static PlacementMasks of(int height, int width, int size) {
+    long key = ((long) height << 40) | ((long) width << 20) | size;
+    return CACHE.computeIfAbsent(key, k -> new PlacementMasks(height, width, size));
+  }
+
+  /**
+   * Gets the number of placements in this table.
+   *
+   * @return - The number of placements.
+   */
+  public int count() {
+    return anchors.length;
+  }
+
+  /**
+   * Gets the packed index of the first cell of the given placement.
+   *
+   * @param placement - The number of a placement.
+   * @return - The packed index of its first cell.
+   */
+  public int anchor(int placement) {
+    return anchors[placement];
+  }
+
+  /**
+   * Gets the direction the given placement runs in from its first cell.
+   *
+   * @param placement - The number of a placement.
+   * @return - The direction of the placement.
+   */
+  public Direction direction(int placement) {
+    return placement < horizontalCount ? Direction.HORIZONTAL : Direction.VERTICAL;
+  }
+
+  /**
+   * Gets the packed index of the k-th cell of the given placement.
+   *
+   * @param placement - The number of a placement.
+   * @param k         - Which cell of the placement, in [0, size).
+   * @return - The packed index of the cell.
+   */
+  public int cell(int placement, int k) {
+    return anchors[placement] + k * (placement < horizontalCount ? 1 : width);
+  }
+
+  /**
+   * Gets the number of placements covering the given cell.
+   *
+   * @param cell - The packed index of a cell.
+   * @return - The number of placements covering it.
+   */
+  public int coveringCount(int cell) {
+    return covering[cell].length;
+  }
+
+  /**
+   * Gets the i-th placement covering the given cell.
+   *
+   * @param cell - The packed index of a cell.
+   * @param i    - Which covering placement, in [0, coveringCount(cell)).
+   * @return - The number of the placement.
+   */
+  public int covering(int cell, int i) {
+    return covering[cell][i];
+  }
+
+  /**
+   * Checks whether the given placement covers any set bit of the given bitset.
+   *
+   * @param placement - The number of a placement.
+   * @param cells     - A bitset over the board's packed cells.
+   * @return - true if they share a cell.
+   */
+  public boolean intersects(int placement, long[] cells) {
+    return Bits.intersects(masks[placement], cells);
+  }
+
+  /**
+   * Sets the cells of the given placement in the given bitset.
+   *
+   * @param placement - The number of a placement.
+   * @param cells     - A bitset over the board's packed cells.
+   */
+  public void addTo(int placement, long[] cells) {
+    long[] mask = masks[placement];
+    for (int w = 0; w < mask.length; w++) {
+      cells[w] |= mask[w];
+    }
+  }
+
+  /**
+   * Clears the cells of the given placement in the given bitset.
+   *
+   * @param placement - The number of a placement.
+   * @param cells     - A bitset over the board's packed cells.
+   */
+  public void removeFrom(int placement, long[] cells) {
+    long[] mask = masks[placement];
+    for (int w = 0; w < mask.length; w++) {
+      cells[w] &= ~mask[w];
+    }
+  }
+
+  /**
+   * Gets the height of the board these placements are on.
+   *
+   * @return - The height of the board.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the width of the board these placements are on.
+   *
+   * @return - The width of the board.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the size of the ship these placements are for.
+   *
+   * @return - The size of the ship.
+   */
+  public int getSize() {
+    return size;
+  }
+
+}
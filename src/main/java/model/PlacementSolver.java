@@ -0,0 +1,202 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Finds layouts for a fleet of ships on an empty board. Every placement of a ship is a bitmask
+ * from the shared {@link PlacementMasks} tables, so checking a placement against the ships already
+ * placed is a handful of word operations. Layouts are found by a backtracking search with a
+ * bounded number of steps, or sampled uniformly at random among all valid layouts.
+ */
+public class PlacementSolver {
+
+  private static final int MAX_STEPS = 200_000;
+  private static final int MAX_SAMPLES = 20_000;
+
+  private final int height;
+  private final int width;
+  private final ShipType[] fleet;
+  private final PlacementMasks[] masks; // the placements of each ship
+  private long[] occupied;
+  private int[] chosen;
+  private int steps;
+
+  /**
+   * Creates a PlacementSolver for the given fleet on an empty board of the given size.
+   *
+   * @param height - Height of the board.
+   * @param width  - Width of the board.
+   * @param fleet  - The ships to place, largest first.
+   */
+  public PlacementSolver(int height, int width, List<ShipType> fleet) {
+    this.height = height;
+    this.width = width;
+    this.fleet = fleet.toArray(new ShipType[0]);
+    this.masks = new PlacementMasks[this.fleet.length];
+
+    for (int i = 0; i < this.fleet.length; i++) {
+      masks[i] = PlacementMasks.of(height, width, this.fleet[i].getSize());
+    }
+  }
+
+  /**
+   * Whether the fleet can fit at all: it must not need more cells than the board has, every ship
+   * must fit along one of the board's sides, and for every size there must be room for the ships
+   * at least that long, as a row holds at most width / size of them across it and a column
+   * height / size down it. A fleet that passes may still have no layout.
+   *
+   * @return - false if the fleet is certainly infeasible.
+   */
+  public boolean mayFit() {
+    int cells = 0;
+    for (int i = 0; i < fleet.length; i++) {
+      if (masks[i].count() == 0) {
+        return false;
+      }
+      cells += fleet[i].getSize();
+    }
+    if (cells > height * width) {
+      return false;
+    }
+
+    for (ShipType type : fleet) {
+      int size = type.getSize();
+      int longer = 0;
+      for (ShipType other : fleet) {
+        if (other.getSize() >= size) {
+          longer++;
+        }
+      }
+      if (longer > height * (width / size) + width * (height / size)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Searches for a layout of the fleet, trying the placements of each ship in a random order
+   * and backtracking when a ship has nowhere to go.
+   *
+   * @param random - A random object to randomize the search.
+   * @return - The placed ships, or null if there is no layout or none was found within the
+   *         search's step budget.
+   */
+  public List<Ship> solve(Random random) {
+    if (!mayFit()) {
+      return null;
+    }
+
+    occupied = new long[Bits.words(height * width)];
+    chosen = new int[fleet.length];
+    steps = 0;
+
+    return search(0, random) ? toShips() : null;
+  }
+
+  /**
+   * Samples a layout uniformly at random among all valid layouts of the fleet, by placing every
+   * ship uniformly at random and starting over whenever two ships overlap. After a bounded number
+   * of attempts it falls back to the backtracking search.
+   *
+   * @param random - A random object to sample with.
+   * @return - The placed ships, or null if no layout was found.
+   */
+  public List<Ship> sampleUniform(Random random) {
+    if (!mayFit()) {
+      return null;
+    }
+
+    occupied = new long[Bits.words(height * width)];
+    chosen = new int[fleet.length];
+
+    for (int attempt = 0; attempt < MAX_SAMPLES; attempt++) {
+      Arrays.fill(occupied, 0);
+      if (sampleOnce(random)) {
+        return toShips();
+      }
+    }
+
+    return solve(random);
+  }
+
+  /**
+   * Places every ship at a uniformly random placement.
+   *
+   * @param random - A random object to sample with.
+   * @return - false as soon as a ship overlaps one placed before it.
+   */
+  private boolean sampleOnce(Random random) {
+    for (int i = 0; i < fleet.length; i++) {
+      int p = random.nextInt(masks[i].count());
+      if (masks[i].intersects(p, occupied)) {
+        return false;
+      }
+      masks[i].addTo(p, occupied);
+      chosen[i] = p;
+    }
+    return true;
+  }
+
+  /**
+   * Places the given ship and every ship after it, undoing its placement and trying the next one
+   * whenever the ships after it cannot be placed.
+   *
+   * @param ship   - Index of the ship to place.
+   * @param random - A random object to randomize the search.
+   * @return - true if every remaining ship was placed.
+   */
+  private boolean search(int ship, Random random) {
+    if (ship == fleet.length) {
+      return true;
+    }
+
+    PlacementMasks shipMasks = masks[ship];
+    int count = shipMasks.count();
+    int offset = random.nextInt(count);
+    // identical ships are interchangeable, so only try them in increasing placement order
+    int lowest = ship > 0 && fleet[ship] == fleet[ship - 1] ? chosen[ship - 1] + 1 : 0;
+
+    for (int i = 0; i < count; i++) {
+      if (++steps > MAX_STEPS) {
+        return false;
+      }
+      int p = (offset + i) % count;
+      if (p < lowest || shipMasks.intersects(p, occupied)) {
+        continue;
+      }
+      shipMasks.addTo(p, occupied);
+      chosen[ship] = p;
+      if (search(ship + 1, random)) {
+        return true;
+      }
+      shipMasks.removeFrom(p, occupied);
+    }
+
+    return false;
+  }
+
+  /**
+   * Builds the ships of the chosen layout.
+   *
+   * @return - The placed ships, in fleet order.
+   */
+  private List<Ship> toShips() {
+    List<Ship> ships = new ArrayList<>(fleet.length);
+
+    for (int i = 0; i < fleet.length; i++) {
+      List<Coord> coords = new ArrayList<>(fleet[i].getSize());
+      for (int k = 0; k < fleet[i].getSize(); k++) {
+        int cell = masks[i].cell(chosen[i], k);
+        coords.add(new Coord(cell % width, cell / width, fleet[i].getStatus()));
+      }
+      ships.add(new Ship(fleet[i], coords, false));
+    }
+
+    return ships;
+  }
+
+}
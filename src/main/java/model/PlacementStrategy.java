@@ -0,0 +1,39 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses where a player places its fleet at the start of a game.
+ *
+ * <p>Implementations with a public no-argument constructor can be listed in
+ * META-INF/services/model.PlacementStrategy, which lets {@link StrategyRegistry} find them by
+ * name.
+ */
+public interface PlacementStrategy {
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return a short lowercase name, unique among placement strategies
+   */
+  String name();
+
+  /**
+   * Gets how much work this strategy expects to do to place one fleet.
+   *
+   * @return the expected cost of one call to place
+   */
+  TurnCost cost();
+
+  /**
+   * Chooses a layout of the given fleet on the given board, without placing it.
+   *
+   * @param board  the empty board the fleet goes on
+   * @param fleet  the types of the ships to place, largest first
+   * @param random a random object for any randomized choices
+   * @return the placed ships, or null if no layout was found
+   */
+  List<Ship> place(Board board, List<ShipType> fleet, Random random);
+
+}
@@ -0,0 +1,100 @@
+package model;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shoots at random, never at the same cell twice. Shots are drawn without replacement from a pool
+ * of the cells not yet shot at by a partial Fisher-Yates shuffle, so each shot costs constant
+ * time.
+ */
+public class RandomShotStrategy implements ShotStrategy {
+
+  private int[] pool = new int[0]; // cells not yet shot at, drawn ones kept past the end
+  private int poolSize;
+  private Random random;
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "random"
+   */
+  @Override
+  public String name() {
+    return "random";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return {@link TurnCost#CONSTANT}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.CONSTANT;
+  }
+
+  /**
+   * Puts every cell of the opponent's board back into the pool, reusing the pool's array when it
+   * is large enough.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  @Override
+  public void setup(int height, int width, Map<ShipType, Integer> specifications, Random random) {
+    int cells = height * width;
+
+    if (pool.length < cells) {
+      pool = new int[cells];
+    }
+    for (int i = 0; i < cells; i++) {
+      pool[i] = i;
+    }
+    this.poolSize = cells;
+    this.random = random;
+  }
+
+  /**
+   * Draws the next volley from the pool, or takes every cell left in it when there are no more
+   * than the volley's size.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  @Override
+  public int selectShots(int shots, int[] cells) {
+    if (shots < poolSize) {
+      for (int i = 0; i < shots; i++) {
+        int randomIndex = random.nextInt(poolSize);
+        int cell = pool[randomIndex];
+        poolSize--;
+        pool[randomIndex] = pool[poolSize];
+        pool[poolSize] = cell;
+        cells[i] = cell;
+      }
+      return shots;
+    }
+
+    int chosen = poolSize;
+    System.arraycopy(pool, 0, cells, 0, chosen);
+    poolSize = 0;
+    return chosen;
+  }
+
+  /**
+   * Ignores the result of a shot, as random shots do not depend on earlier ones.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  @Override
+  public void recordShot(int cell, boolean hit) {
+    // random shots ignore what earlier ones found
+  }
+
+}
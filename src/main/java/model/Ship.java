@@ -10,13 +10,15 @@ public class Ship {
   private ShipType ship; // this ship's type
   private List<Coord> shipCoords; // this ship's location
   private boolean sunk; // true if this ship is sunk, false if otherwise
+  private int health; // number of this ship's coords that have not been hit
 
   /**
    * Creates a Ship object.
    *
    * @param type - The type of ship for this Ship.
    * @param coords - The list of coordinates this Ship populates.
-   * @param sunk - Whether this Ship is sunk or not.
+   * @param sunk - Whether this Ship is sunk or not. A ship made sunk has no health left, so it
+   *             stays sunk whatever its coords.
    */
   public Ship(ShipType type, List<Coord> coords, boolean sunk) {
 
@@ -24,6 +26,12 @@ public class Ship {
     this.sunk = sunk;
     this.shipCoords = coords;
 
+    for (Coord coord : coords) {
+      if (!sunk && coord.getStatus() != CoordStatus.HIT) {
+        health++;
+      }
+    }
+
   }
 
   public List<Coord> getShipCoords() {
@@ -44,17 +52,63 @@ public class Ship {
   }
 
   /**
-   * Updates this ship's sunk boolean based on if it is completely hit or not.
+   * Updates this ship's sunk boolean based on if it is completely hit or not, which its remaining
+   * health already counts.
    */
   public void updateSunk() {
+    sunk = health == 0;
+  }
+
+  /**
+   * Marks the coord of this ship at the given location as hit, lowering this ship's remaining
+   * health if that coord had not been hit before. A location this ship does not populate
+   * changes nothing.
+   *
+   * @param x - x value of a location.
+   * @param y - y value of a location.
+   * @return - true if this hit is the one that sunk this ship.
+   */
+  boolean hit(int x, int y) {
+    Coord coord = coordAt(x, y);
+
+    if (coord == null || coord.getStatus() == CoordStatus.HIT) {
+      return false;
+    }
+
+    coord.changeStatus(CoordStatus.HIT);
+    if (health > 0) {
+      health--;
+    }
+    if (health == 0 && !sunk) {
+      sunk = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Finds the coord of this ship at the given location. Coords placed in order from the first
+   * are found by their offset from it; any other order falls back to a search.
+   *
+   * @param x - x value of a location.
+   * @param y - y value of a location.
+   * @return - The coord, or null if this ship does not populate the location.
+   */
+  private Coord coordAt(int x, int y) {
+    Coord start = shipCoords.get(0);
+    int offset = (x - start.getX()) + (y - start.getY());
+    if (offset >= 0 && offset < shipCoords.size()) {
+      Coord coord = shipCoords.get(offset);
+      if (coord.getX() == x && coord.getY() == y) {
+        return coord;
+      }
+    }
     for (Coord coord : shipCoords) {
-      if (!coord.getStatus().equals(CoordStatus.HIT)) {
-        sunk = false;
-        break;
-      } else {
-        sunk = true;
+      if (coord.getX() == x && coord.getY() == y) {
+        return coord;
       }
     }
+    return null;
   }
 
   /**
@@ -0,0 +1,59 @@
+package model;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Chooses where an AI player shoots on the opponent's board. Cells are addressed by their packed
+ * index y * width + x. A strategy only ever learns about the opponent's board through the results
+ * of its own shots.
+ *
+ * <p>Implementations with a public no-argument constructor can be listed in
+ * META-INF/services/model.ShotStrategy, which lets {@link StrategyRegistry} find them by name.
+ */
+public interface ShotStrategy {
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return a short lowercase name, unique among shot strategies
+   */
+  String name();
+
+  /**
+   * Gets how much work this strategy expects to do to choose one volley.
+   *
+   * @return the expected cost of one call to selectShots
+   */
+  TurnCost cost();
+
+  /**
+   * Prepares this strategy for a new game.
+   *
+   * @param height         the height of the opponent's board
+   * @param width          the width of the opponent's board
+   * @param specifications a map of ship type to the number of occurrences of each ship in the
+   *                       opponent's fleet
+   * @param random         a random object for any randomized choices
+   */
+  void setup(int height, int width, Map<ShipType, Integer> specifications, Random random);
+
+  /**
+   * Chooses the next volley. Fewer cells than asked for are chosen only when fewer cells are left
+   * to shoot at.
+   *
+   * @param shots the number of shots in the volley
+   * @param cells where the packed indices of the chosen cells are written, from index 0
+   * @return the number of cells chosen
+   */
+  int selectShots(int shots, int[] cells);
+
+  /**
+   * Records the result of one shot of the last volley.
+   *
+   * @param cell the packed index of the cell that was shot
+   * @param hit  whether the shot hit a ship
+   */
+  void recordShot(int cell, boolean hit);
+
+}
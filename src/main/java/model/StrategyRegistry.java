@@ -0,0 +1,121 @@
+package model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Finds the shot and placement strategies on the classpath with a {@link ServiceLoader}, and
+ * makes them by name. Each lookup makes a fresh instance, as strategies keep per-game state.
+ */
+public final class StrategyRegistry {
+
+  /**
+   * The name of the shot strategy used when none is asked for.
+   */
+  public static final String DEFAULT_SHOT_STRATEGY = "random";
+
+  /**
+   * The name of the placement strategy used when none is asked for.
+   */
+  public static final String DEFAULT_PLACEMENT_STRATEGY = "greedy";
+
+  private static final Map<String, Provider<ShotStrategy>> SHOT_STRATEGIES =
+      providers(ShotStrategy.class, ShotStrategy::name);
+  private static final Map<String, Provider<PlacementStrategy>> PLACEMENT_STRATEGIES =
+      providers(PlacementStrategy.class, PlacementStrategy::name);
+
+  private StrategyRegistry() {
+
+  }
+
+  /**
+   * Makes a new shot strategy with the given name.
+   *
+   * @param name - The name of the strategy.
+   * @return - A new instance of the strategy.
+   * @throws IllegalArgumentException - If no shot strategy has the given name.
+   */
+  public static ShotStrategy shotStrategy(String name) throws IllegalArgumentException {
+    return make(SHOT_STRATEGIES, "shot", name);
+  }
+
+  /**
+   * Makes a new placement strategy with the given name.
+   *
+   * @param name - The name of the strategy.
+   * @return - A new instance of the strategy.
+   * @throws IllegalArgumentException - If no placement strategy has the given name.
+   */
+  public static PlacementStrategy placementStrategy(String name)
+      throws IllegalArgumentException {
+    return make(PLACEMENT_STRATEGIES, "placement", name);
+  }
+
+  /**
+   * Gets the names of every shot strategy found.
+   *
+   * @return - The names, in alphabetical order.
+   */
+  public static Set<String> shotStrategyNames() {
+    return Collections.unmodifiableSet(SHOT_STRATEGIES.keySet());
+  }
+
+  /**
+   * Gets the names of every placement strategy found.
+   *
+   * @return - The names, in alphabetical order.
+   */
+  public static Set<String> placementStrategyNames() {
+    return Collections.unmodifiableSet(PLACEMENT_STRATEGIES.keySet());
+  }
+
+  /**
+   * Makes a new instance of the named strategy.
+   *
+   * @param providers - The providers of each strategy of one kind, by name.
+   * @param kind      - The kind of strategy, for the error message.
+   * @param name      - The name of the strategy.
+   * @param <T>       - The type of strategy.
+   * @return - A new instance of the strategy.
+   * @throws IllegalArgumentException - If no strategy has the given name.
+   */
+  private static <T> T make(Map<String, Provider<T>> providers, String kind, String name)
+      throws IllegalArgumentException {
+    Provider<T> provider = providers.get(name);
+    if (provider == null) {
+      throw new IllegalArgumentException("Unknown " + kind + " strategy \"" + name
+          + "\", expected one of " + providers.keySet());
+    }
+    return provider.get();
+  }
+
+  /**
+   * Loads every provider of the given service and indexes it by the name of its strategy.
+   *
+   * @param service - The strategy interface.
+   * @param naming  - Gets the name of a strategy.
+   * @param <T>     - The type of strategy.
+   * @return - The providers by name.
+   * @throws IllegalStateException - If two strategies share a name.
+   */
+  private static <T> Map<String, Provider<T>> providers(Class<T> service,
+                                                        Function<T, String> naming) {
+    Map<String, Provider<T>> providers = new TreeMap<>();
+
+    ServiceLoader.load(service, service.getClassLoader()).stream().forEach(provider -> {
+      String name = naming.apply(provider.get());
+      if (providers.putIfAbsent(name, provider) != null) {
+        throw new IllegalStateException("Two " + service.getSimpleName() + "s are named \""
+            + name + "\"");
+      }
+    });
+
+    return providers;
+  }
+
+}
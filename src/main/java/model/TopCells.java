@@ -0,0 +1,54 @@
+package model;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Chooses the unshot cells of highest value on a board in one scan, for strategies that shoot the
+ * best few cells of a map of scores or counts. The values of the cells kept so far are held in a
+ * buffer that is reused from volley to volley.
+ */
+final class TopCells {
+
+  private double[] best = new double[0]; // values of the cells chosen so far in a volley
+
+  /**
+   * Chooses the given number of unshot cells of highest value, best first. The board is scanned
+   * once from a start cell, wrapping around its end, and of cells of equal value the one scanned
+   * first is kept.
+   *
+   * @param value  - Gives the value of a cell.
+   * @param fired  - The bitset of cells already shot, which are never chosen.
+   * @param size   - The number of cells on the board.
+   * @param start  - The cell the scan starts at.
+   * @param chosen - The number of cells to choose, at most the number of unshot cells.
+   * @param cells  - Where the packed indices of the chosen cells are written, from index 0.
+   */
+  void choose(IntToDoubleFunction value, long[] fired, int size, int start, int chosen,
+              int[] cells) {
+    if (best.length < chosen) {
+      best = new double[chosen];
+    }
+    int found = 0;
+
+    for (int i = 0; i < size; i++) {
+      int cell = start + i < size ? start + i : start + i - size;
+      if (Bits.get(fired, cell)) {
+        continue;
+      }
+      double score = value.applyAsDouble(cell);
+      if (found == chosen && score <= best[found - 1]) {
+        continue;
+      }
+      // insert into the sorted top list, dropping its lowest entry when it is full
+      int at = found < chosen ? found++ : found - 1;
+      while (at > 0 && best[at - 1] < score) {
+        best[at] = best[at - 1];
+        cells[at] = cells[at - 1];
+        at--;
+      }
+      best[at] = score;
+      cells[at] = cell;
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package model;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * A per-turn latency budget for choosing a volley. An {@link AnytimeStrategy} is refined until it
+ * runs out of refinement or the budget runs out, whichever comes first, and then its best volley
+ * is taken. The budget keeps count of how many turns ran into the deadline, so search depth can be
+ * tuned against the server's real time limit.
+ *
+ * <p>The deadline is checked between refinement steps, so a turn overruns the budget by at most
+ * one step. A step that throws ends refinement for the turn, and the best volley found before it
+ * is taken.
+ */
+public class TurnBudget {
+
+  private final long budgetNanos;
+  private final LongSupplier clock;
+  private long turns;
+  private long budgetHits;
+  private long failures;
+  private long steps;
+  private long slowestNanos;
+
+  /**
+   * Creates a budget of the given length per turn, measured on the system's nanosecond clock.
+   *
+   * @param budget - The time a turn may spend refining its volley.
+   */
+  public TurnBudget(Duration budget) {
+    this(budget, System::nanoTime);
+  }
+
+  /**
+   * Creates a budget of the given length per turn, measured on the given clock.
+   *
+   * @param budget - The time a turn may spend refining its volley.
+   * @param clock  - Gives the current time in nanoseconds.
+   */
+  TurnBudget(Duration budget, LongSupplier clock) {
+    if (budget.isNegative()) {
+      throw new IllegalArgumentException("A turn budget cannot be negative: " + budget);
+    }
+    this.budgetNanos = budget.toNanos();
+    this.clock = clock;
+  }
+
+  /**
+   * Chooses a volley with the given strategy within this budget.
+   *
+   * @param strategy - The strategy choosing the volley.
+   * @param shots    - The number of shots in the volley.
+   * @param cells    - Where the packed indices of the chosen cells are written, from index 0.
+   * @return - The number of cells chosen.
+   */
+  public int run(AnytimeStrategy strategy, int shots, int[] cells) {
+    long start = clock.getAsLong();
+    long deadline = start + budgetNanos;
+    strategy.beginVolley();
+
+    boolean refining = true;
+    while (refining) {
+      if (clock.getAsLong() - deadline >= 0) {
+        budgetHits++;
+        break;
+      }
+      try {
+        refining = strategy.refine();
+      } catch (RuntimeException e) {
+        failures++;
+        break;
+      }
+      steps++;
+    }
+
+    int chosen = strategy.bestVolley(shots, cells);
+    turns++;
+    slowestNanos = Math.max(slowestNanos, clock.getAsLong() - start);
+    return chosen;
+  }
+
+  /**
+   * Gets the time a turn may spend refining its volley.
+   *
+   * @return - The budget per turn.
+   */
+  public Duration getBudget() {
+    return Duration.ofNanos(budgetNanos);
+  }
+
+  /**
+   * Gets the number of turns run within this budget.
+   *
+   * @return - The number of turns.
+   */
+  public long getTurns() {
+    return turns;
+  }
+
+  /**
+   * Gets the number of turns that reached the deadline before refinement was done.
+   *
+   * @return - The number of turns cut short.
+   */
+  public long getBudgetHits() {
+    return budgetHits;
+  }
+
+  /**
+   * Gets the number of turns whose refinement was ended by a failing step.
+   *
+   * @return - The number of failed turns.
+   */
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * Gets the number of refinement steps completed over every turn.
+   *
+   * @return - The number of steps.
+   */
+  public long getSteps() {
+    return steps;
+  }
+
+  /**
+   * Gets the longest time a turn took, including taking its volley.
+   *
+   * @return - The time the slowest turn took.
+   */
+  public Duration getSlowestTurn() {
+    return Duration.ofNanos(slowestNanos);
+  }
+
+  /**
+   * Adds the counts of another budget's turns to this one's, as when the games of many players
+   * are reported together.
+   *
+   * @param other - The other budget.
+   */
+  public void merge(TurnBudget other) {
+    turns += other.turns;
+    budgetHits += other.budgetHits;
+    failures += other.failures;
+    steps += other.steps;
+    slowestNanos = Math.max(slowestNanos, other.slowestNanos);
+  }
+
+  /**
+   * Describes the budget and how its turns went: how many ran into the deadline or failed, the
+   * steps taken, and the slowest turn.
+   *
+   * @return - One line of text, without a line separator.
+   */
+  public String summary() {
+    return String.format(Locale.ROOT, "turn budget %.1f ms: %d turns, %d hit the budget, "
+            + "%d failed, %d steps, slowest %.1f ms", budgetNanos / 1e6, turns, budgetHits,
+        failures, steps, slowestNanos / 1e6);
+  }
+
+}
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * How much work a strategy expects to do each time it is asked for a decision, from cheapest to
+ * most expensive, so that fast and expensive strategies can be told apart when choosing one.
+ */
+public enum TurnCost {
+
+  /**
+   * A fixed amount of work per shot, whatever the size of the board.
+   */
+  CONSTANT,
+
+  /**
+   * Work proportional to the number of cells on the board.
+   */
+  LINEAR,
+
+  /**
+   * Work proportional to the number of ship placements on the board, updated incrementally as
+   * shots land.
+   */
+  PLACEMENTS,
+
+  /**
+   * Work proportional to a number of sampled fleet layouts, which may be spread over several
+   * threads and cut short by a {@link TurnBudget}.
+   */
+  SAMPLING,
+
+  /**
+   * An exhaustive search whose work can grow exponentially, bounded only by its own limits.
+   */
+  SEARCH
+
+}
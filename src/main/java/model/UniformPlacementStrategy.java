@@ -0,0 +1,47 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Places the fleet in a layout drawn uniformly at random among all valid layouts, using a
+ * {@link PlacementSolver}. Greedy placement favours some spots over others, which an opponent
+ * that models the layouts it has not ruled out can learn from; a uniform layout gives it nothing
+ * beyond the board's geometry.
+ */
+public class UniformPlacementStrategy implements PlacementStrategy {
+
+  /**
+   * Gets the name this strategy is chosen by.
+   *
+   * @return "uniform"
+   */
+  @Override
+  public String name() {
+    return "uniform";
+  }
+
+  /**
+   * Gets how much work this strategy expects to do to place one fleet.
+   *
+   * @return {@link TurnCost#SAMPLING}
+   */
+  @Override
+  public TurnCost cost() {
+    return TurnCost.SAMPLING;
+  }
+
+  /**
+   * Samples a uniformly random layout of the fleet.
+   *
+   * @param board  the empty board the fleet goes on
+   * @param fleet  the types of the ships to place, largest first
+   * @param random a random object for any randomized choices
+   * @return the placed ships, or null if no layout was found
+   */
+  @Override
+  public List<Ship> place(Board board, List<ShipType> fleet, Random random) {
+    return new PlacementSolver(board.getHeight(), board.getWidth(), fleet).sampleUniform(random);
+  }
+
+}
@@ -0,0 +1,42 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.Board;
+import model.GreedyPlacementStrategy;
+import model.ShipType;
+import org.junit.jupiter.api.Test;
+
+class ArenaTest {
+
+  @Test
+  void gridTest() {
+    List<Arena> arenas = Arena.grid(6, 15);
+    assertEquals(200, arenas.size());
+    assertEquals("1-1-1-1", arenas.get(0).fleetLabel());
+    assertEquals("1-1-2-2", arenas.get(1).fleetLabel());
+    assertEquals("3-4-4-4", arenas.get(arenas.size() - 1).fleetLabel());
+
+    Random random = new Random(1);
+    for (Arena arena : arenas) {
+      int ships = 0;
+      List<ShipType> fleet = new ArrayList<>();
+      for (Map.Entry<ShipType, Integer> entry : arena.specifications().entrySet()) {
+        assertTrue(entry.getValue() >= 1);
+        ships += entry.getValue();
+        for (int i = 0; i < entry.getValue(); i++) {
+          fleet.add(entry.getKey());
+        }
+      }
+      assertTrue(ships <= Math.min(arena.height(), arena.width()));
+      Board board = new Board(arena.height(), arena.width());
+      assertNotNull(new GreedyPlacementStrategy().place(board, fleet, random));
+    }
+  }
+}
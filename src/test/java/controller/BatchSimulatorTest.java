@@ -0,0 +1,75 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import model.GameRecord;
+import model.GreedyPlacementStrategy;
+import model.UniformPlacementStrategy;
+import org.junit.jupiter.api.Test;
+
+class BatchSimulatorTest {
+
+  @Test
+  void matchesSelfPlayTest() {
+    List<Arena> arenas = Arena.grid(6, 15);
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+
+    for (int a = 0; a < arenas.size(); a += 7) {
+      Arena arena = arenas.get(a);
+      BatchSimulator simulator = new BatchSimulator(arena.height(), arena.width(),
+          arena.specifications(), new GreedyPlacementStrategy(), new GreedyPlacementStrategy());
+      long[] seeds = new long[40];
+      for (int game = 0; game < seeds.length; game++) {
+        seeds[game] = a * 1000L + game;
+      }
+
+      GameRecord[] records = simulator.play(seeds);
+      assertEquals(seeds.length, records.length);
+      for (int game = 0; game < seeds.length; game++) {
+        assertEquals(engine.play(seeds[game], arena.height(), arena.width(),
+            arena.specifications()), records[game]);
+      }
+    }
+  }
+
+  @Test
+  void mixedPlacementTest() {
+    Arena arena = Arena.grid(6, 15).get(57);
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "uniform"),
+        PlayerFactory.of("random", "greedy"));
+    BatchSimulator simulator = new BatchSimulator(arena.height(), arena.width(),
+        arena.specifications(), new UniformPlacementStrategy(), new GreedyPlacementStrategy());
+    long[] seeds = {-3, 0, 12, 99, Long.MAX_VALUE, 0x1234_5678_9ABCL};
+
+    GameRecord[] records = simulator.play(seeds);
+    for (int game = 0; game < seeds.length; game++) {
+      assertEquals(engine.play(seeds[game], arena.height(), arena.width(),
+          arena.specifications()), records[game]);
+    }
+  }
+
+  @Test
+  void reusedTest() {
+    Arena arena = Arena.grid(6, 15).get(21);
+    BatchSimulator simulator = new BatchSimulator(arena.height(), arena.width(),
+        arena.specifications(), new GreedyPlacementStrategy(), new GreedyPlacementStrategy());
+    long[] seeds = {5, 6, 7};
+
+    GameRecord[] records = simulator.play(seeds);
+    simulator.play(new long[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertArrayEquals(records, simulator.play(seeds));
+    assertEquals(0, simulator.play(new long[0]).length);
+  }
+
+  @Test
+  void unplaceableTest() {
+    Arena arena = Arena.grid(6, 15).get(199);
+    BatchSimulator simulator = new BatchSimulator(6, 6, arena.specifications(),
+        new GreedyPlacementStrategy(), new GreedyPlacementStrategy());
+    assertThrows(IllegalStateException.class, () -> simulator.play(new long[] {1}));
+  }
+}
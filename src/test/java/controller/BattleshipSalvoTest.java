@@ -63,7 +63,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 3 shots! :D
+        AI hit 2 shots! :D
 
 
         AI
@@ -81,8 +81,8 @@ class BattleshipSalvoTest {
         B  ~  ~  S  S  S \s
         B  ~  ~  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  ~  D  D  H  D \s
+        H  M  ~  ~  ~  M \s
+        B  ~  D  H  D  D \s
 
         AI: 4 shots available.
 
@@ -107,11 +107,11 @@ class BattleshipSalvoTest {
 
         You
 
-        C  C  H  H  C  C \s
+        C  C  H  C  C  C \s
         B  ~  ~  S  S  S \s
         B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 4 shots available.
@@ -123,7 +123,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 2 shots! :D
+        AI hit 3 shots! :D
 
 
         AI
@@ -137,11 +137,11 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  C \s
-        B  M  M  S  S  S \s
-        H  ~  M  ~  ~  ~ \s
+        H  C  H  C  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 4 shots available.
@@ -153,7 +153,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 3 shots! :D
+        AI hit 1 shots! :D
 
 
         AI
@@ -167,12 +167,12 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  S  S  S \s
-        H  ~  M  ~  ~  ~ \s
-        B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  ~  ~ \s
+        B  ~  M  ~  M  ~ \s
+        H  M  ~  ~  M  M \s
+        H  ~  D  H  H  D \s
 
         AI: 4 shots available.
 
@@ -197,12 +197,12 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  S  H  S \s
-        H  ~  M  ~  ~  ~ \s
-        B  ~  ~  ~  ~  ~ \s
-        H  M  M  M  ~  M \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  M  ~ \s
+        H  ~  M  ~  M  M \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  D \s
 
         AI: 4 shots available.
 
@@ -227,23 +227,23 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  H  H  H \s
-        H  M  M  ~  ~  ~ \s
-        B  ~  ~  ~  M  ~ \s
-        H  M  M  M  ~  M \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        H  M  M  ~  M  ~ \s
+        H  ~  M  M  M  M \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  H \s
 
         AI: 4 shots available.
 
-        You: 3 shots available.
+        You: 4 shots available.
 
         ------------------------------------------------------------------
-        Please enter 3 unique shots:
+        Please enter 4 unique shots:
 
         You didn't hit anything! :(
 
-        AI hit 1 shots! :D
+        AI hit 3 shots! :D
 
 
         AI
@@ -257,19 +257,19 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  H  H  H \s
-        H  M  M  ~  ~  M \s
-        B  ~  M  ~  M  ~ \s
+        H  C  H  H  H  H \s
+        H  M  ~  H  S  H \s
+        H  M  M  ~  M  ~ \s
         H  M  M  M  M  M \s
-        H  M  H  H  H  H \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  H \s
 
         AI: 4 shots available.
 
-        You: 2 shots available.
+        You: 3 shots available.
 
         ------------------------------------------------------------------
-        Please enter 2 unique shots:
+        Please enter 3 unique shots:
 
         You didn't hit anything! :(
 
@@ -288,10 +288,10 @@ class BattleshipSalvoTest {
         You
 
         H  H  H  H  H  H \s
-        H  M  M  H  H  H \s
-        H  M  M  M  M  M \s
-        B  ~  M  ~  M  ~ \s
+        H  M  M  H  S  H \s
+        H  M  M  ~  M  ~ \s
         H  M  M  M  M  M \s
+        H  M  ~  M  M  M \s
         H  M  H  H  H  H \s
 
         AI: 4 shots available.
@@ -366,7 +366,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 3 shots! :D
+        AI hit 2 shots! :D
 
 
         AI
@@ -384,8 +384,8 @@ class BattleshipSalvoTest {
         B  ~  ~  S  S  S \s
         B  ~  ~  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  ~  D  D  H  D \s
+        H  M  ~  ~  ~  M \s
+        B  ~  D  H  D  D \s
 
         AI: 4 shots available.
 
@@ -410,11 +410,11 @@ class BattleshipSalvoTest {
 
         You
 
-        C  C  H  H  C  C \s
+        C  C  H  C  C  C \s
         B  ~  ~  S  S  S \s
         B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 4 shots available.
@@ -426,7 +426,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 2 shots! :D
+        AI hit 3 shots! :D
 
 
         AI
@@ -440,11 +440,11 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  C \s
-        B  M  M  S  S  S \s
-        H  ~  M  ~  ~  ~ \s
+        H  C  H  C  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 4 shots available.
@@ -456,7 +456,7 @@ class BattleshipSalvoTest {
 
         You didn't hit anything! :(
 
-        AI hit 3 shots! :D
+        AI hit 1 shots! :D
 
 
         AI
@@ -470,12 +470,12 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  S  S  S \s
-        H  ~  M  ~  ~  ~ \s
-        B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  ~  ~ \s
+        B  ~  M  ~  M  ~ \s
+        H  M  ~  ~  M  M \s
+        H  ~  D  H  H  D \s
 
         AI: 4 shots available.
 
@@ -500,12 +500,12 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  S  H  S \s
-        H  ~  M  ~  ~  ~ \s
-        B  ~  ~  ~  ~  ~ \s
-        H  M  M  M  ~  M \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  M  ~ \s
+        H  ~  M  ~  M  M \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  D \s
 
         AI: 4 shots available.
 
@@ -530,23 +530,23 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  H  H  H \s
-        H  M  M  ~  ~  ~ \s
-        B  ~  ~  ~  M  ~ \s
-        H  M  M  M  ~  M \s
-        H  M  H  H  H  D \s
+        H  C  H  H  H  H \s
+        B  M  ~  S  S  S \s
+        H  M  M  ~  M  ~ \s
+        H  ~  M  M  M  M \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  H \s
 
         AI: 4 shots available.
 
-        You: 3 shots available.
+        You: 4 shots available.
 
         ------------------------------------------------------------------
-        Please enter 3 unique shots:
+        Please enter 4 unique shots:
 
         You didn't hit anything! :(
 
-        AI hit 1 shots! :D
+        AI hit 3 shots! :D
 
 
         AI
@@ -560,19 +560,19 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  H \s
-        H  M  M  H  H  H \s
-        H  M  M  ~  ~  M \s
-        B  ~  M  ~  M  ~ \s
+        H  C  H  H  H  H \s
+        H  M  ~  H  S  H \s
+        H  M  M  ~  M  ~ \s
         H  M  M  M  M  M \s
-        H  M  H  H  H  H \s
+        H  M  ~  ~  M  M \s
+        H  M  D  H  H  H \s
 
         AI: 4 shots available.
 
-        You: 2 shots available.
+        You: 3 shots available.
 
         ------------------------------------------------------------------
-        Please enter 2 unique shots:
+        Please enter 3 unique shots:
 
         You didn't hit anything! :(
 
@@ -591,10 +591,10 @@ class BattleshipSalvoTest {
         You
 
         H  H  H  H  H  H \s
-        H  M  M  H  H  H \s
-        H  M  M  M  M  M \s
-        B  ~  M  ~  M  ~ \s
+        H  M  M  H  S  H \s
+        H  M  M  ~  M  ~ \s
         H  M  M  M  M  M \s
+        H  M  ~  M  M  M \s
         H  M  H  H  H  H \s
 
         AI: 4 shots available.
@@ -679,7 +679,7 @@ class BattleshipSalvoTest {
 
         You hit 4 shots! :D
 
-        AI hit 3 shots! :D
+        AI hit 2 shots! :D
 
 
         AI
@@ -697,8 +697,8 @@ class BattleshipSalvoTest {
         B  ~  ~  S  S  S \s
         B  ~  ~  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  ~  D  D  H  D \s
+        H  M  ~  ~  ~  M \s
+        B  ~  D  H  D  D \s
 
         AI: 3 shots available.
 
@@ -727,8 +727,8 @@ class BattleshipSalvoTest {
         B  ~  ~  S  S  S \s
         B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
-        H  ~  D  H  H  D \s
+        H  M  ~  ~  ~  M \s
+        H  ~  D  H  D  D \s
 
         AI: 3 shots available.
 
@@ -739,7 +739,7 @@ class BattleshipSalvoTest {
 
         You hit 4 shots! :D
 
-        AI hit 2 shots! :D
+        AI hit 3 shots! :D
 
 
         AI
@@ -753,11 +753,11 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  C \s
-        B  ~  M  S  S  S \s
+        H  C  H  C  C  H \s
+        B  ~  ~  S  S  S \s
         B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 2 shots available.
@@ -783,11 +783,11 @@ class BattleshipSalvoTest {
 
         You
 
-        H  C  H  H  C  C \s
-        B  M  M  S  S  S \s
-        H  ~  M  ~  ~  ~ \s
+        H  C  H  C  H  H \s
+        B  M  ~  S  S  S \s
+        B  ~  M  ~  ~  ~ \s
         B  ~  ~  ~  ~  ~ \s
-        H  M  ~  ~  ~  ~ \s
+        H  M  ~  ~  ~  M \s
         H  ~  D  H  H  D \s
 
         AI: 1 shots available.
@@ -799,7 +799,7 @@ class BattleshipSalvoTest {
 
         You hit 3 shots! :D
 
-        AI hit 1 shots! :D
+        AI didn't hit anything! :(
 
 
         You won!
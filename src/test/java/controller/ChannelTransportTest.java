@@ -0,0 +1,177 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChannelTransportTest {
+
+  private static final String JOIN = "{\"method-name\":\"join\",\"arguments\":{}}";
+  private static final String SHOTS = "{\"method-name\":\"report-damage\",\"arguments\":"
+      + "{\"coordinates\":[{\"x\":1,\"y\":4},{\"x\":3,\"y\":5}]}}";
+
+  @Test
+  void receiveTest() throws IOException {
+    for (int chunk : new int[] {1, 5, 4096}) {
+      MemoryChannel channel = new MemoryChannel(new ByteArrayOutputStream(),
+          List.of(JOIN + "\r", "", "  ", SHOTS), chunk, false);
+      ChannelTransport transport = new ChannelTransport(channel);
+
+      assertTrue(transport.receive());
+      assertEquals("join", transport.message().methodName());
+      assertTrue(transport.receive());
+      assertEquals("report-damage", transport.message().methodName());
+      assertEquals(2, transport.message().size());
+      assertEquals(3, transport.message().x(1));
+      assertEquals(5, transport.message().y(1));
+      assertFalse(transport.ended());
+
+      assertFalse(transport.receive());
+      assertTrue(transport.ended());
+      assertFalse(transport.receive());
+    }
+  }
+
+  @Test
+  void nonBlockingTest() throws IOException {
+    MemoryChannel channel = new MemoryChannel(new ByteArrayOutputStream(), List.of(JOIN, SHOTS),
+        16, true);
+    ChannelTransport transport = new ChannelTransport(channel);
+
+    int empty = 0;
+    int messages = 0;
+    while (!transport.ended()) {
+      if (transport.receive()) {
+        messages++;
+      } else {
+        empty++;
+      }
+    }
+    assertEquals(2, messages);
+    assertTrue(empty > 2);
+  }
+
+  @Test
+  void largeMessageTest() throws IOException {
+    StringBuilder message = new StringBuilder("{\"method-name\":\"successful-hits\","
+        + "\"arguments\":{\"coordinates\":[");
+    for (int i = 0; i < 2000; i++) {
+      message.append(i == 0 ? "" : ",").append("{\"x\":").append(i).append(",\"y\":1}");
+    }
+    message.append("]}}");
+    MemoryChannel channel = new MemoryChannel(new ByteArrayOutputStream(),
+        List.of(JOIN, message.toString(), JOIN), 1000, false);
+    ChannelTransport transport = new ChannelTransport(channel);
+
+    assertTrue(transport.receive());
+    assertTrue(transport.receive());
+    assertEquals(2000, transport.message().size());
+    assertEquals(1999, transport.message().x(1999));
+    assertTrue(transport.receive());
+    assertEquals("join", transport.message().methodName());
+    assertFalse(transport.receive());
+  }
+
+  @Test
+  void lastLineTest() throws IOException {
+    ChannelTransport transport = transport(JOIN + "\n" + SHOTS);
+    assertTrue(transport.receive());
+    assertTrue(transport.receive());
+    assertEquals("report-damage", transport.message().methodName());
+    assertFalse(transport.receive());
+
+    ChannelTransport cutOff = transport(JOIN + "\n" + SHOTS.substring(0, SHOTS.length() - 3));
+    assertTrue(cutOff.receive());
+    assertThrows(IOException.class, cutOff::receive);
+
+    assertFalse(transport("").receive());
+  }
+
+  @Test
+  void invalidFrameTest() throws IOException {
+    assertThrows(IOException.class, transport(JOIN + JOIN)::receive);
+    assertThrows(IOException.class, transport("[]\n")::receive);
+    assertThrows(IOException.class, transport(JOIN + " 1\n")::receive);
+  }
+
+  @Test
+  void outputTest() throws IOException {
+    ByteArrayOutputStream testLog = new ByteArrayOutputStream();
+    MemoryChannel channel = new MemoryChannel(testLog, List.of());
+    ChannelTransport transport = new ChannelTransport(channel);
+    OutputStream out = transport.output();
+
+    out.write("{\"a\":".getBytes(StandardCharsets.UTF_8));
+    out.write('1');
+    out.write("}\n".getBytes(StandardCharsets.UTF_8));
+    assertEquals(0, channel.getWrites());
+    out.flush();
+    assertEquals(1, channel.getWrites());
+    assertEquals("{\"a\":1}\n", testLog.toString(StandardCharsets.UTF_8));
+
+    byte[] large = new byte[20000];
+    large[19999] = '\n';
+    out.write(large);
+    out.flush();
+    assertEquals(2, channel.getWrites());
+    assertEquals(20008, testLog.size());
+    assertFalse(transport.flushPending());
+  }
+
+  @Test
+  void partialWriteTest() throws IOException {
+    ByteArrayOutputStream testLog = new ByteArrayOutputStream();
+    MemoryChannel channel = new MemoryChannel(testLog, List.of()) {
+      private int calls;
+
+      @Override
+      public int write(ByteBuffer src) throws ClosedChannelException {
+        return calls++ % 2 == 0 ? super.write(src) : 0;
+      }
+    };
+    channel.setWriteLimit(3);
+    ChannelTransport transport = new ChannelTransport(channel);
+
+    transport.output().write("hello".getBytes(StandardCharsets.UTF_8));
+    transport.output().flush();
+    assertEquals("hel", testLog.toString(StandardCharsets.UTF_8));
+    assertTrue(transport.flushPending());
+
+    transport.output().flush();
+    assertEquals("hello", testLog.toString(StandardCharsets.UTF_8));
+    assertFalse(transport.flushPending());
+  }
+
+  @Test
+  void closeTest() throws IOException {
+    MemoryChannel channel = new MemoryChannel(new ByteArrayOutputStream(), List.of(JOIN));
+    new ChannelTransport(channel).close();
+    assertFalse(channel.isOpen());
+  }
+
+  /**
+   * Makes a transport that reads the given bytes and then the end of the input.
+   *
+   * @param input - The bytes, as text.
+   * @return - The transport.
+   * @throws IOException - If the transport cannot be made.
+   */
+  private static ChannelTransport transport(String input) throws IOException {
+    return new ChannelTransport(
+        Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+        Channels.newChannel(new ByteArrayOutputStream()));
+  }
+
+}
@@ -0,0 +1,17 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ContenderTest {
+
+  @Test
+  void parseTest() {
+    assertEquals(new Contender("heatmap", "greedy"), Contender.parse("heatmap"));
+    assertEquals(new Contender("heatmap", "uniform"), Contender.parse("heatmap:uniform"));
+    assertEquals("random:uniform", Contender.parse("random:uniform").label());
+    assertThrows(IllegalArgumentException.class, () -> Contender.parse("psychic").factory());
+  }
+}
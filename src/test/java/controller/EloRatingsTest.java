@@ -0,0 +1,38 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class EloRatingsTest {
+
+  @Test
+  void evenTest() {
+    double[] ratings = EloRatings.fit(new double[][] {{0, 50, 50}, {50, 0, 50}, {50, 50, 0}},
+        new double[][] {{0, 100, 100}, {100, 0, 100}, {100, 100, 0}});
+    for (double rating : ratings) {
+      assertEquals(EloRatings.MEAN_RATING, rating, 1e-6);
+    }
+  }
+
+  @Test
+  void differenceTest() {
+    // a player expected to score 1 / (1 + 10^-0.5) is 200 points stronger
+    double expected = 1 / (1 + Math.pow(10, -0.5));
+    double[] ratings = EloRatings.fit(
+        new double[][] {{0, 100_000 * expected}, {100_000 * (1 - expected), 0}},
+        new double[][] {{0, 100_000}, {100_000, 0}});
+    assertEquals(200, ratings[0] - ratings[1], 0.1);
+    assertEquals(2 * EloRatings.MEAN_RATING, ratings[0] + ratings[1], 1e-6);
+  }
+
+  @Test
+  void unbeatenTest() {
+    double[] ratings = EloRatings.fit(new double[][] {{0, 10, 10}, {0, 0, 5}, {0, 5, 0}},
+        new double[][] {{0, 10, 10}, {10, 0, 10}, {10, 10, 0}});
+    assertTrue(Double.isFinite(ratings[0]));
+    assertTrue(ratings[0] > ratings[1] + 300);
+    assertEquals(ratings[1], ratings[2], 1e-6);
+  }
+}
@@ -0,0 +1,196 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.Coord;
+import model.Ship;
+import model.ShipType;
+import org.junit.jupiter.api.Test;
+
+class GameLogAnalyzerTest {
+
+  @Test
+  void matchesDecodedTest() throws IOException {
+    List<Path> logs = List.of(selfPlayLog(0, 40), selfPlayLog(40, 25), serverLog());
+
+    List<OpponentHeatmap> heatmaps = GameLogAnalyzer.analyze(logs);
+    assertEquals(3, heatmaps.size());
+    assertEquals(6, heatmaps.get(0).getHeight());
+    assertEquals(7, heatmaps.get(1).getHeight());
+    assertEquals(9, heatmaps.get(2).getWidth());
+    assertEquals(1, heatmaps.get(0).getGames());
+    assertEquals(0, heatmaps.get(0).getFleets());
+    assertEquals(65, heatmaps.get(1).getGames() + heatmaps.get(2).getGames());
+    assertEquals(65, heatmaps.get(1).getFleets() + heatmaps.get(2).getFleets());
+
+    for (OpponentHeatmap heatmap : heatmaps) {
+      assertSame(decoded(logs, heatmap.getHeight(), heatmap.getWidth()), heatmap);
+    }
+    List<OpponentHeatmap> segmented = GameLogAnalyzer.analyze(logs, 3);
+    for (int i = 0; i < heatmaps.size(); i++) {
+      assertSame(heatmaps.get(i), segmented.get(i));
+    }
+  }
+
+  @Test
+  void unfinishedTest() throws IOException {
+    Path log = selfPlayLog(7, 3);
+    byte[] bytes = Files.readAllBytes(log);
+    Files.write(log, Arrays.copyOf(bytes, bytes.length - 5));
+
+    List<OpponentHeatmap> heatmaps = GameLogAnalyzer.analyze(List.of(log));
+    assertEquals(3, heatmaps.get(0).getGames() + heatmaps.get(1).getGames());
+    for (OpponentHeatmap heatmap : heatmaps) {
+      assertSame(decoded(List.of(log), heatmap.getHeight(), heatmap.getWidth()), heatmap);
+    }
+  }
+
+  @Test
+  void cutOffTest() throws IOException {
+    byte[] first = Files.readAllBytes(selfPlayLog(7, 1));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bytes.write(first, 0, first.length - 2); // stopped before its end record
+    GameLogWriter writer = new GameLogWriter(bytes);
+    writer.start(0, 0, 6, 6, Arena.grid(6, 15).get(20).specifications(), null, null);
+    writer.turn(List.of(new Coord(1, 2, null)), List.of(), List.of(), List.of());
+    writer.end(null);
+    bytes.write(Files.readAllBytes(selfPlayLog(8, 2)));
+    Path log = Files.createTempFile("games", ".bsl");
+    Files.write(log, bytes.toByteArray());
+
+    List<OpponentHeatmap> heatmaps = GameLogAnalyzer.analyze(List.of(log));
+    int games = 0;
+    for (OpponentHeatmap heatmap : heatmaps) {
+      games += heatmap.getGames();
+      assertSame(decoded(List.of(log), heatmap.getHeight(), heatmap.getWidth()), heatmap);
+    }
+    assertEquals(4, games);
+  }
+  @Test
+  void invalidTest() throws IOException {
+    Path log = Files.createTempFile("games", ".bsl");
+    Files.writeString(log, "{\"method-name\":\"join\"}");
+    assertThrows(IOException.class, () -> GameLogAnalyzer.analyze(List.of(log)));
+
+    Path offBoard = Files.createTempFile("games", ".bsl");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+    writer.start(0, 0, 6, 6, Arena.grid(6, 15).get(0).specifications(), null, null);
+    writer.turn(List.of(new Coord(0, 5, null)), List.of(), List.of(), List.of());
+    writer.close();
+    byte[] written = bytes.toByteArray();
+    written[written.length - 4] = 2 * 36; // the zig-zag delta of cell 36, below the board
+    Files.write(offBoard, written);
+    Exception e = assertThrows(IOException.class,
+        () -> GameLogAnalyzer.analyze(List.of(offBoard)));
+    assertTrue(e.getMessage().contains("cell off the board"));
+    assertTrue(e.getMessage().contains(offBoard.toString()));
+
+    bytes.reset();
+    writer = new GameLogWriter(bytes);
+    writer.start(0, 0, 6, 6, Arena.grid(6, 15).get(0).specifications(),
+        List.of(new Ship(ShipType.SUBMARINE, List.of(new Coord(0, 0, null), new Coord(1, 0, null),
+            new Coord(2, 0, null)), false)), null);
+    writer.end(null);
+    written = bytes.toByteArray();
+    written[27] = 4; // the ship's first cell, moved to where it runs off the right edge
+    Files.write(offBoard, written);
+    e = assertThrows(IOException.class, () -> GameLogAnalyzer.analyze(List.of(offBoard)));
+    assertTrue(e.getMessage().contains("ship off the board"));
+
+    Path empty = Files.createTempFile("games", ".bsl");
+    assertTrue(GameLogAnalyzer.analyze(List.of(empty)).isEmpty());
+  }
+
+  private Path selfPlayLog(long firstSeed, int games) throws IOException {
+    Path log = Files.createTempFile("games", ".bsl");
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("heatmap", "uniform"));
+    List<Arena> arenas = Arena.grid(6, 15);
+    try (GameLogWriter writer = new GameLogWriter(Files.newOutputStream(log))) {
+      for (int game = 0; game < games; game++) {
+        Arena arena = arenas.get(game % 2 == 0 ? 20 : 27);
+        engine.play(firstSeed + game, arena.height(), arena.width(), arena.specifications(),
+            writer);
+      }
+    }
+    return log;
+  }
+
+  private Path serverLog() throws IOException {
+    Path log = Files.createTempFile("games", ".bsl");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    engine.play(5, 6, 6, Arena.grid(6, 15).get(0).specifications(), new GameLogWriter(bytes));
+    GameLog game = GameLog.read(new ByteArrayInputStream(bytes.toByteArray())).get(0);
+
+    // the same game as a client would log it, without the server's fleet
+    try (GameLogWriter writer = new GameLogWriter(Files.newOutputStream(log))) {
+      writer.start(5, 0, 6, 6, game.specifications(), game.firstFleet(), null);
+      for (GameLog.Turn turn : game.turns()) {
+        writer.turn(coords(turn.firstVolley()), coords(turn.secondVolley()),
+            coords(turn.firstHits()), coords(turn.secondHits()));
+      }
+      writer.end(game.result());
+    }
+    return log;
+  }
+
+  private List<Coord> coords(int[] cells) {
+    List<Coord> coords = new ArrayList<>();
+    for (int cell : cells) {
+      coords.add(GameLog.coord(cell, 6));
+    }
+    return coords;
+  }
+
+  private OpponentHeatmap decoded(List<Path> logs, int height, int width) throws IOException {
+    OpponentHeatmap heatmap = new OpponentHeatmap(height, width);
+    for (Path log : logs) {
+      try (InputStream in = Files.newInputStream(log)) {
+        for (GameLog game : GameLog.read(in)) {
+          if (game.height() != height || game.width() != width) {
+            continue;
+          }
+          heatmap.addGame(!game.secondFleet().isEmpty());
+          for (Ship ship : game.secondFleet()) {
+            for (Coord coord : ship.getShipCoords()) {
+              heatmap.addPlacement(ship.getShip().ordinal(), coord.getY() * width + coord.getX());
+            }
+          }
+          for (GameLog.Turn turn : game.turns()) {
+            Arrays.stream(turn.secondVolley()).forEach(heatmap::addShot);
+            Arrays.stream(turn.firstHits()).forEach(heatmap::addHit);
+          }
+        }
+      }
+    }
+    return heatmap;
+  }
+
+  private void assertSame(OpponentHeatmap expected, OpponentHeatmap actual) {
+    assertEquals(expected.getGames(), actual.getGames());
+    assertEquals(expected.getFleets(), actual.getFleets());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals(expected.getShots(x, y), actual.getShots(x, y));
+        assertEquals(expected.getHits(x, y), actual.getHits(x, y));
+        for (ShipType type : ShipType.values()) {
+          assertEquals(expected.getPlacements(type, x, y), actual.getPlacements(type, x, y));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import model.Coord;
+import model.CoordStatus;
+import model.GameRecord;
+import model.Ship;
+import model.ShipType;
+import org.junit.jupiter.api.Test;
+
+class GameLogTest {
+
+  @Test
+  void roundTripTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("heatmap", "uniform"),
+        PlayerFactory.of("random", "greedy"));
+    Arena arena = Arena.grid(6, 15).get(77);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+
+    GameRecord[] records = new GameRecord[3];
+    for (int seed = 0; seed < records.length; seed++) {
+      records[seed] = engine.play(seed, arena.height(), arena.width(), arena.specifications(),
+          writer);
+    }
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertEquals(records.length, games.size());
+    for (int i = 0; i < records.length; i++) {
+      GameLog game = games.get(i);
+      assertEquals(i, game.firstSeed());
+      assertEquals(i ^ SelfPlayEngine.SECOND_SEED, game.secondSeed());
+      assertEquals(arena.height(), game.height());
+      assertEquals(arena.width(), game.width());
+      for (ShipType type : ShipType.values()) {
+        assertEquals(arena.specifications().get(type), game.specifications().get(type));
+      }
+      assertEquals(records[i].result(), game.result());
+      assertEquals(records[i].turns(), game.turns().size());
+
+      int firstShots = 0;
+      int secondHits = 0;
+      for (GameLog.Turn turn : game.turns()) {
+        firstShots += turn.firstVolley().length;
+        secondHits += turn.secondHits().length;
+      }
+      assertEquals(records[i].firstShots(), firstShots);
+      assertEquals(records[i].secondHits(), secondHits);
+
+      int fleet = 0;
+      for (int count : arena.specifications().values()) {
+        fleet += count;
+      }
+      assertEquals(fleet, game.firstFleet().size());
+      assertEquals(fleet, game.secondFleet().size());
+    }
+  }
+
+  @Test
+  void cellsTest() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+    writer.start(-1, Long.MIN_VALUE, 15, 15, Arena.grid(6, 15).get(199).specifications(), null,
+        null);
+    writer.turn(coords(224, 0, 15, 14, 223), coords(), coords(0), coords(224, 224));
+    writer.close();
+
+    GameLog game = GameLog.read(new ByteArrayInputStream(bytes.toByteArray())).get(0);
+    assertEquals(-1, game.firstSeed());
+    assertEquals(Long.MIN_VALUE, game.secondSeed());
+    assertTrue(game.firstFleet().isEmpty());
+    GameLog.Turn turn = game.turns().get(0);
+    assertArrayEquals(new int[] {224, 0, 15, 14, 223}, turn.firstVolley());
+    assertArrayEquals(new int[0], turn.secondVolley());
+    assertArrayEquals(new int[] {0}, turn.firstHits());
+    assertArrayEquals(new int[] {224, 224}, turn.secondHits());
+  }
+
+  @Test
+  void compactTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+
+    int shots = 0;
+    for (int seed = 0; seed < 20; seed++) {
+      GameRecord record = engine.play(seed, 10, 10, Arena.grid(6, 15).get(89).specifications(),
+          writer);
+      shots += record.firstShots() + record.secondShots() + record.firstHits()
+          + record.secondHits();
+    }
+
+    // every cell fits in two bytes, and most in one
+    assertTrue(bytes.size() < 2 * shots);
+  }
+
+  @Test
+  void unfinishedTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameRecord record = engine.play(4, 8, 8, Arena.grid(6, 15).get(44).specifications(),
+        new GameLogWriter(bytes));
+    byte[] log = bytes.toByteArray();
+
+    // cut off part way through the last turn, and before the end record
+    byte[] cut = Arrays.copyOf(log, log.length - 4);
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(cut));
+    assertEquals(1, games.size());
+    assertNull(games.get(0).result());
+    assertEquals(record.turns() - 1, games.get(0).turns().size());
+  }
+
+  @Test
+  void cutOffTest() throws IOException {
+    Arena arena = Arena.grid(6, 15).get(44);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+    writer.start(1, 2, arena.height(), arena.width(), arena.specifications(), null, null);
+    writer.turn(coords(0, 1), coords(2), coords(1), List.of());
+    writer.end(null);
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    GameRecord record = engine.play(4, arena.height(), arena.width(), arena.specifications(),
+        writer);
+
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+    assertEquals(2, games.size());
+    assertNull(games.get(0).result());
+    assertEquals(1, games.get(0).turns().size());
+    assertArrayEquals(new int[] {1}, games.get(0).turns().get(0).firstHits());
+    assertEquals(record.result(), games.get(1).result());
+    assertEquals(record.turns(), games.get(1).turns().size());
+  }
+
+  @Test
+  void noEndRecordTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    Map<ShipType, Integer> specifications = Arena.grid(6, 15).get(44).specifications();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameRecord first = engine.play(4, 8, 8, specifications, new GameLogWriter(bytes));
+    byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 2);
+
+    // a game appended after one whose writer stopped before its end record
+    ByteArrayOutputStream appended = new ByteArrayOutputStream();
+    appended.write(cut);
+    GameRecord second = engine.play(5, 8, 8, specifications, new GameLogWriter(appended));
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(appended.toByteArray()));
+    assertEquals(2, games.size());
+    assertNull(games.get(0).result());
+    assertEquals(first.turns(), games.get(0).turns().size());
+    assertEquals(5, games.get(1).firstSeed());
+    assertEquals(second.result(), games.get(1).result());
+    assertEquals(second.turns(), games.get(1).turns().size());
+  }
+
+  @Test
+  void offBoardTest() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+    writer.start(1, 2, 6, 6, Arena.grid(6, 15).get(0).specifications(), null, null);
+    writer.flush();
+    int size = bytes.size();
+
+    for (Coord coord : List.of(new Coord(6, 0, null), new Coord(0, 6, null),
+        new Coord(-1, 2, null), new Coord(2, -1, null))) {
+      assertThrows(IllegalArgumentException.class,
+          () -> writer.turn(List.of(), List.of(), List.of(), List.of(coord)));
+    }
+    Ship ship = new Ship(ShipType.SUBMARINE, List.of(new Coord(5, 4, null),
+        new Coord(6, 4, null), new Coord(7, 4, null)), false);
+    assertThrows(IllegalArgumentException.class, () -> writer.start(1, 2, 6, 6,
+        Arena.grid(6, 15).get(0).specifications(), null, List.of(ship)));
+    writer.flush();
+    assertEquals(size, bytes.size());
+
+    writer.end(null);
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+    assertEquals(1, games.size());
+    assertTrue(games.get(0).turns().isEmpty());
+  }
+
+  @Test
+  void notALogTest() {
+    assertThrows(IOException.class,
+        () -> GameLog.read(new ByteArrayInputStream("{\"method-name\"}".getBytes())));
+    assertThrows(IOException.class,
+        () -> GameLog.read(new ByteArrayInputStream(new byte[] {'B', 'S', 'L', 9})));
+    assertThrows(IOException.class,
+        () -> GameLog.read(new ByteArrayInputStream(new byte[] {'B', 'S', 'L', 1, 0, 0})));
+  }
+
+  @Test
+  void malformedTest() throws IOException {
+    byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+    byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+    List<byte[]> logs = List.of(
+        log(0, 6, huge),
+        log(6, 6, huge),
+        log(6, 6, negative),
+        log(6, 6, new byte[] {1, 35, 0}), // a ship running off the right of the board
+        log(6, 6, new byte[] {1, 24, 1}), // a ship running off the bottom of the board
+        log(6, 6, new byte[] {0, 0, GameLog.TURN}, huge),
+        log(6, 6, new byte[] {0, 0, GameLog.TURN}, negative),
+        log(6, 6, new byte[] {0, 0, GameLog.TURN, 1, 72})); // cell 36, off a board of 36
+    for (byte[] log : logs) {
+      assertThrows(IOException.class, () -> GameLog.read(new ByteArrayInputStream(log)));
+    }
+
+    // the same log with its ship and cell on the board reads
+    GameLog game = GameLog.read(new ByteArrayInputStream(log(6, 6,
+        new byte[] {1, 30, 0, 0, GameLog.TURN, 1, 70, 0, 0, 0, GameLog.END, 0}))).get(0);
+    assertEquals(1, game.firstFleet().size());
+    assertArrayEquals(new int[] {35}, game.turns().get(0).firstVolley());
+  }
+
+  /**
+   * Writes the header of a game log by hand, with one ship of each type.
+   *
+   * @param height - The height of the board.
+   * @param width  - The width of the board.
+   * @param rest   - The bytes after the header.
+   * @return - The log.
+   */
+  private byte[] log(int height, int width, byte[]... rest) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bytes.write(GameLog.MAGIC);
+    bytes.write(GameLog.VERSION);
+    bytes.write(new byte[2 * Long.BYTES]);
+    bytes.write(new byte[] {(byte) height, (byte) width, 1, 1, 1, 1});
+    for (byte[] part : rest) {
+      bytes.write(part);
+    }
+    return bytes.toByteArray();
+  }
+
+  private List<Coord> coords(int... cells) {
+    return Arrays.stream(cells).mapToObj(cell -> new Coord(cell % 15, cell / 15,
+        CoordStatus.UNKNOWN)).toList();
+  }
+}
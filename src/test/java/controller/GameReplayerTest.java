@@ -0,0 +1,74 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import model.GameRecord;
+import model.GameResult;
+import org.junit.jupiter.api.Test;
+
+class GameReplayerTest {
+
+  @Test
+  void selfPlayTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("hunt-target", "uniform"),
+        PlayerFactory.of("heatmap", "greedy"));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GameLogWriter writer = new GameLogWriter(bytes);
+    List<Arena> arenas = Arena.grid(6, 15);
+
+    GameRecord[] records = new GameRecord[10];
+    for (int i = 0; i < records.length; i++) {
+      Arena arena = arenas.get(i * 19);
+      records[i] = engine.play(i * 7L, arena.height(), arena.width(), arena.specifications(),
+          writer);
+    }
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+    GameReplayer logged = new GameReplayer(null, null);
+    GameReplayer rerun = new GameReplayer(PlayerFactory.of("hunt-target", "uniform"),
+        PlayerFactory.of("heatmap", "greedy"));
+    for (int i = 0; i < records.length; i++) {
+      assertEquals(records[i], logged.replay(games.get(i)));
+      assertEquals(records[i], rerun.replay(games.get(i)));
+      assertEquals(records[i], logged.replay(games.get(i)));
+    }
+  }
+
+  @Test
+  void changedStrategyTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("heatmap", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Arena arena = Arena.grid(6, 15).get(100);
+    engine.play(3, arena.height(), arena.width(), arena.specifications(),
+        new GameLogWriter(bytes));
+    GameLog game = GameLog.read(new ByteArrayInputStream(bytes.toByteArray())).get(0);
+
+    GameReplayer shots = new GameReplayer(PlayerFactory.of("entropy", "greedy"), null);
+    assertThrows(IllegalStateException.class, () -> shots.replay(game));
+    GameReplayer placement = new GameReplayer(null, PlayerFactory.of("random", "uniform"));
+    assertThrows(IllegalStateException.class, () -> placement.replay(game));
+  }
+
+  @Test
+  void consoleGameTest() throws IOException {
+    Readable input = new StringReader("6 6\n1 1 1 1\n5 0\n5 1\n5 2\n5 3\n5 4\n4 4\n3 4\n2 4\n"
+        + "1 4\n0 4\n1 5\n2 5\n3 5\n0 2\n1 2\n2 2\n3 2\n4 2\n5 2\n0 0\n");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new BattleshipSalvo(input, new StringBuilder(), 1, 2, new GameLogWriter(bytes)).run();
+    GameLog game = GameLog.read(new ByteArrayInputStream(bytes.toByteArray())).get(0);
+
+    assertEquals(GameResult.LOSE, game.result());
+    GameRecord record = new GameReplayer(PlayerFactory.of("random", "greedy"), null)
+        .replay(game);
+    assertEquals(GameResult.LOSE, record.result());
+    assertEquals(game.turns().size(), record.turns());
+    assertEquals(0, record.firstShipsAfloat());
+  }
+}
@@ -0,0 +1,80 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import model.GameRecord;
+import model.GameResult;
+import org.junit.jupiter.api.Test;
+
+class MatchStatsTest {
+
+  @Test
+  void tallyTest() {
+    MatchStats stats = new MatchStats();
+    for (int turns = 1; turns <= 10; turns++) {
+      stats.add(game(GameResult.WIN, turns));
+    }
+    stats.add(game(GameResult.LOSE, 30));
+    stats.add(game(GameResult.TIE, 12));
+
+    assertEquals(12, stats.getGames());
+    assertEquals(10, stats.getWins(true));
+    assertEquals(1, stats.getWins(false));
+    assertEquals(1, stats.getTies());
+    assertEquals(10.5 / 12, stats.score(), 1e-12);
+    assertEquals(5.5, stats.meanTurnsToWin(true), 1e-12);
+    assertEquals(5, stats.turnsToWin(true, 50));
+    assertEquals(9, stats.turnsToWin(true, 90));
+    assertEquals(10, stats.turnsToWin(true, 99));
+    assertEquals(30, stats.turnsToWin(false, 50));
+
+    MatchStats reversed = stats.reversed();
+    assertEquals(1.5 / 12, reversed.score(), 1e-12);
+    assertEquals(30, reversed.turnsToWin(true, 50));
+    assertEquals(-1, new MatchStats().turnsToWin(true, 50));
+    assertTrue(Double.isNaN(new MatchStats().meanTurnsToWin(false)));
+  }
+
+  @Test
+  void intervalTest() {
+    MatchStats stats = new MatchStats();
+    for (int game = 0; game < 1000; game++) {
+      stats.add(game(game % 4 == 0 ? GameResult.LOSE : GameResult.WIN, 20));
+    }
+
+    double[] interval = stats.scoreInterval();
+    // the Wilson interval of 750 out of 1000
+    assertEquals(0.7222, interval[0], 1e-4);
+    assertEquals(0.7758, interval[1], 1e-4);
+    assertEquals(0.0, new MatchStats().scoreInterval()[0]);
+    assertEquals(1.0, new MatchStats().scoreInterval()[1]);
+  }
+
+  @Test
+  void encodeTest() {
+    MatchStats stats = new MatchStats();
+    stats.add(game(GameResult.WIN, 14));
+    stats.add(game(GameResult.WIN, 14));
+    stats.add(game(GameResult.WIN, 3));
+    stats.add(game(GameResult.TIE, 9));
+
+    assertEquals("3,0,1,3:1,14:2;-", stats.encode());
+    MatchStats decoded = MatchStats.decode(stats.encode());
+    assertEquals(stats.encode(), decoded.encode());
+
+    MatchStats merged = new MatchStats();
+    merged.merge(stats);
+    merged.merge(stats.reversed());
+    assertEquals("3,3,2,3:1,14:2;3:1,14:2", merged.encode());
+
+    assertThrows(IllegalArgumentException.class, () -> MatchStats.decode("3,0,1,3:1,14:2"));
+    assertThrows(IllegalArgumentException.class, () -> MatchStats.decode("3,0,1,3:1,14:1;-"));
+    assertThrows(IllegalArgumentException.class, () -> MatchStats.decode("3,0,1,3:1,1"));
+  }
+
+  private GameRecord game(GameResult result, int turns) {
+    return new GameRecord(0, 10, 10, result, turns, 0, 0, 0, 0, 0, 0);
+  }
+}
@@ -0,0 +1,110 @@
+package controller;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Mock a socket channel to simulate behaviors of ProxyControllers being connected to a server
+ * over a ChannelTransport. Like a real channel, it may hand over the server's messages a few bytes
+ * at a time, and if it is non-blocking it may have nothing to read, or take only part of a write.
+ */
+public class MemoryChannel implements ByteChannel {
+
+  private final byte[] testInputs;
+  private final ByteArrayOutputStream testLog;
+  private final int chunk;
+  private final boolean nonBlocking;
+  private int position;
+  private int reads;
+  private int writes;
+  private int writeLimit = Integer.MAX_VALUE;
+  private boolean open = true;
+
+  /**
+   * @param testLog what the server has received from the client
+   * @param toSend what the server will send to the client, one message per line
+   */
+  public MemoryChannel(ByteArrayOutputStream testLog, List<String> toSend) {
+    this(testLog, toSend, Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * @param testLog     what the server has received from the client
+   * @param toSend      what the server will send to the client, one message per line
+   * @param chunk       the most bytes a read hands over
+   * @param nonBlocking whether every other read finds nothing to read
+   */
+  public MemoryChannel(ByteArrayOutputStream testLog, List<String> toSend, int chunk,
+                       boolean nonBlocking) {
+    this.testLog = testLog;
+    this.chunk = chunk;
+    this.nonBlocking = nonBlocking;
+    StringBuilder inputs = new StringBuilder();
+    for (String message : toSend) {
+      inputs.append(message).append('\n');
+    }
+    this.testInputs = inputs.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Makes each write take at most the given number of bytes, as a full non-blocking channel does.
+   *
+   * @param writeLimit - The most bytes a write takes.
+   */
+  public void setWriteLimit(int writeLimit) {
+    this.writeLimit = writeLimit;
+  }
+
+  /**
+   *
+   * @return - The number of writes the client has made.
+   */
+  public int getWrites() {
+    return writes;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws ClosedChannelException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+    if (position == testInputs.length) {
+      return -1;
+    }
+    if (nonBlocking && reads++ % 2 == 0) {
+      return 0;
+    }
+    int length = Math.min(Math.min(chunk, testInputs.length - position), dst.remaining());
+    dst.put(testInputs, position, length);
+    position += length;
+    return length;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws ClosedChannelException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+    writes++;
+    int length = Math.min(src.remaining(), writeLimit);
+    for (int i = 0; i < length; i++) {
+      testLog.write(src.get());
+    }
+    return length;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() {
+    open = false;
+  }
+
+}
@@ -0,0 +1,197 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import model.GameRecord;
+import model.GameResult;
+import org.junit.jupiter.api.Test;
+
+class MultiSessionClientTest {
+
+  private static final String[] GAME = {
+      "{\"method-name\":\"join\",\"arguments\":{}}",
+      "{\"method-name\":\"setup\",\"arguments\":{\"width\":6,\"height\":6,\"fleet-spec\":"
+          + "{\"CARRIER\":1,\"BATTLESHIP\":1,\"DESTROYER\":1,\"SUBMARINE\":1}}}",
+      "{\"method-name\":\"take-shots\",\"arguments\":{}}",
+      "{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates\":[{\"x\":0,\"y\":0}]}}",
+      "{\"method-name\":\"successful-hits\",\"arguments\":{\"coordinates\":[]}}",
+      "{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"WIN\",\"reason\":\"Sunk\"}}"};
+
+  private final PlayerFactory players = PlayerFactory.of("random", "greedy");
+
+  @Test
+  void runTest() throws IOException, InterruptedException {
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serving = serve(server, 12, GAME.length);
+      MultiSessionClient client = new MultiSessionClient(address(server), players, 12, 5, 2, 3);
+      List<GameRecord> records = client.run();
+      serving.join();
+
+      assertEquals(12, records.size());
+      for (int i = 0; i < records.size(); i++) {
+        GameRecord record = records.get(i);
+        assertNotNull(record);
+        assertNull(client.getFailure(i));
+        assertEquals(client.getSeed(i), record.seed());
+        assertEquals(GameResult.WIN, record.result());
+        assertEquals(1, record.turns());
+        assertEquals(4, record.firstShots());
+        assertEquals(0, record.firstHits());
+        assertEquals(1, record.secondShots());
+        assertEquals(-1, record.secondShipsAfloat());
+      }
+      assertNotEquals(client.getSeed(0), client.getSeed(1));
+      assertEquals(client.getSeed(5),
+          new MultiSessionClient(address(server), players, 6, 1, 1, 3).getSeed(5));
+      assertTrue(client.getElapsedNanos() > 0);
+
+      StringBuilder report = new StringBuilder();
+      Locale locale = Locale.getDefault();
+      try {
+        Locale.setDefault(Locale.GERMANY); // whose decimal separator is a comma
+        client.report(report);
+      } finally {
+        Locale.setDefault(locale);
+      }
+      assertTrue(report.toString().startsWith("Session 0: WIN in 1 turns, 0/4 shots hit\n"));
+      assertTrue(report.toString().contains("12 games in "));
+      assertTrue(report.toString().contains("12 won, 0 lost, 0 tied, 0 failed, 1.0 turns"));
+      assertFalse(report.toString().contains("turn budget"));
+    }
+  }
+
+  @Test
+  void budgetTest() throws IOException, InterruptedException {
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serving = serve(server, 3, GAME.length);
+      MultiSessionClient client = new MultiSessionClient(address(server),
+          PlayerFactory.of("monte-carlo", "greedy", Duration.ofMillis(5)), 3, 3, 1, 3);
+      client.run();
+      serving.join();
+
+      StringBuilder report = new StringBuilder();
+      client.report(report);
+      assertTrue(report.toString().contains("3 won, 0 lost, 0 tied, 0 failed"));
+      assertTrue(report.toString().contains("turn budget 5.0 ms: 3 turns, "));
+    }
+  }
+
+  @Test
+  void failureTest() throws IOException, InterruptedException {
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serving = serve(server, 3, 1); // closes each connection after join
+      MultiSessionClient client = new MultiSessionClient(address(server), players, 3, 3, 1, 0);
+      List<GameRecord> records = client.run();
+      serving.join();
+
+      for (int i = 0; i < 3; i++) {
+        assertNull(records.get(i));
+        assertTrue(client.getFailure(i).contains("before the game ended"));
+      }
+      StringBuilder report = new StringBuilder();
+      client.report(report);
+      assertTrue(report.toString().contains("0 games in "));
+      assertTrue(report.toString().contains("3 failed"));
+    }
+
+    InetSocketAddress closed;
+    try (ServerSocket server = new ServerSocket(0)) {
+      closed = address(server);
+    }
+    MultiSessionClient refused = new MultiSessionClient(closed, players, 2, 2, 2, 0);
+    assertNull(refused.run().get(1));
+    assertNotNull(refused.getFailure(1));
+  }
+
+  @Test
+  void invalidTest() {
+    InetSocketAddress address = new InetSocketAddress("localhost", 1);
+    assertThrows(IllegalArgumentException.class,
+        () -> new MultiSessionClient(address, players, -1, 1, 1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new MultiSessionClient(address, players, 1, 0, 1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new MultiSessionClient(address, players, 1, 1, 0, 0));
+  }
+
+  /**
+   * Gets the loopback address of a server socket.
+   *
+   * @param server - The server socket.
+   * @return - Its address.
+   */
+  private static InetSocketAddress address(ServerSocket server) {
+    return new InetSocketAddress("localhost", server.getLocalPort());
+  }
+
+  /**
+   * Serves a number of connections, each on its own thread, by sending the first messages of the
+   * game and reading a response to each, and then closing the connection.
+   *
+   * @param server      - The server socket.
+   * @param connections - The number of connections to serve.
+   * @param messages    - The number of messages of the game to send.
+   * @return - A thread that ends once every connection has been served.
+   */
+  private static Thread serve(ServerSocket server, int connections, int messages) {
+    Thread serving = new Thread(() -> {
+      Thread[] games = new Thread[connections];
+      for (int i = 0; i < connections; i++) {
+        try {
+          Socket socket = server.accept();
+          games[i] = new Thread(() -> play(socket, messages));
+          games[i].start();
+        } catch (IOException e) {
+          return;
+        }
+      }
+      for (Thread game : games) {
+        try {
+          game.join();
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    });
+    serving.start();
+    return serving;
+  }
+
+  /**
+   * Sends the first messages of the game over a connection, reading a response to each.
+   *
+   * @param socket   - The connection.
+   * @param messages - The number of messages to send.
+   */
+  private static void play(Socket socket, int messages) {
+    try (socket) {
+      PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      for (int i = 0; i < messages; i++) {
+        out.println(GAME[i]);
+        in.readLine();
+      }
+    } catch (IOException e) {
+      // the client closed the connection
+    }
+  }
+
+}
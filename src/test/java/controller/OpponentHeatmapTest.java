@@ -0,0 +1,46 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import model.ShipType;
+import org.junit.jupiter.api.Test;
+
+class OpponentHeatmapTest {
+
+  @Test
+  void mergeTest() {
+    OpponentHeatmap heatmap = new OpponentHeatmap(2, 3);
+    heatmap.addGame(true);
+    heatmap.addPlacement(ShipType.DESTROYER.ordinal(), 4);
+    heatmap.addShot(5);
+    OpponentHeatmap other = new OpponentHeatmap(2, 3);
+    other.addGame(false);
+    other.addShot(5);
+    other.addHit(1);
+
+    heatmap.merge(other);
+    assertEquals(2, heatmap.getGames());
+    assertEquals(1, heatmap.getFleets());
+    assertEquals(2, heatmap.getShots(2, 1));
+    assertEquals(1, heatmap.getHits(1, 0));
+    assertEquals(1, heatmap.getPlacements(ShipType.DESTROYER, 1, 1));
+    assertEquals(0, heatmap.getPlacements(ShipType.CARRIER, 1, 1));
+  }
+
+  @Test
+  void reportTest() throws IOException {
+    OpponentHeatmap heatmap = new OpponentHeatmap(1, 4);
+    heatmap.addGame(false);
+    for (int i = 0; i < 10; i++) {
+      heatmap.addShot(i % 3 == 0 ? 0 : 3);
+    }
+    heatmap.addShot(2);
+    heatmap.addHit(3);
+
+    StringBuilder out = new StringBuilder();
+    heatmap.report(out);
+    assertEquals("1x4: 1 games, 0 with the opponent's fleet\nShots\n+ .@\nHits\n   @\n",
+        out.toString());
+  }
+}
@@ -1,16 +1,20 @@
 package controller;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +28,8 @@ import json.SetupJson;
 import model.AbstractPlayer;
 import model.ArtificialPlayer;
 import model.Board;
+import model.GameRecord;
+import model.GameResult;
 import model.ShipType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -165,7 +171,7 @@ class ProxyControllerTest {
         + "\"y\":2},\"length\":5,\"direction\":\"HORIZONTAL\"},{\"coord\":{\"x\":5,\"y\":0},"
         + "\"length\":4,\"direction\":\"VERTICAL\"},{\"coord\":{\"x\":1,\"y\":5},\"length\":3,\""
         + "direction\":\"HORIZONTAL\"}]}}\n{\"method-name\":\"take-shots\",\"arguments\":{\""
-        + "coordinates\":[{\"x\":1,\"y\":4},{\"x\":4,\"y\":5},{\"x\":0,\"y\":5},"
+        + "coordinates\":[{\"x\":1,\"y\":4},{\"x\":3,\"y\":5},{\"x\":5,\"y\":4},"
         + "{\"x\":0,\"y\":4}]}}\n";
     assertEquals(expectedClientResponse, logToString());
 
@@ -186,11 +192,11 @@ class ProxyControllerTest {
     JsonNode jsonNode2 = JsonUtils.serializeRecord(new MessageJson("take-shots", EMPTY_ARGS));
 
     // report-damage message from server
-    JsonNode c1 = JsonUtils.serializeRecord(new CoordJson(0, 4)); // HIT!
-    JsonNode c2 = JsonUtils.serializeRecord(new CoordJson(0, 0)); // MISS!
-    JsonNode c3 = JsonUtils.serializeRecord(new CoordJson(1, 5)); // HIT!
-    JsonNode c4 = JsonUtils.serializeRecord(new CoordJson(0, 1)); // MISS!
-    JsonNode[] listOfCoordJson = new JsonNode[] {c1, c2, c3, c4};
+    CoordJson c1 = new CoordJson(0, 4); // HIT!
+    CoordJson c2 = new CoordJson(0, 0); // MISS!
+    CoordJson c3 = new CoordJson(1, 5); // HIT!
+    CoordJson c4 = new CoordJson(0, 1); // MISS!
+    CoordJson[] listOfCoordJson = new CoordJson[] {c1, c2, c3, c4};
     CoordinatesJson coordinatesJson = new CoordinatesJson(listOfCoordJson);
     JsonNode coordinatesSerialized = JsonUtils.serializeRecord(coordinatesJson);
     JsonNode jsonNode3 = JsonUtils.serializeRecord(
@@ -212,7 +218,7 @@ class ProxyControllerTest {
         + "\"y\":2},\"length\":5,\"direction\":\"HORIZONTAL\"},{\"coord\":{\"x\":5,\"y\":0},"
         + "\"length\":4,\"direction\":\"VERTICAL\"},{\"coord\":{\"x\":1,\"y\":5},\"length\":3,"
         + "\"direction\":\"HORIZONTAL\"}]}}\n{\"method-name\":\"take-shots\",\"arguments\""
-        + ":{\"coordinates\":[{\"x\":1,\"y\":4},{\"x\":4,\"y\":5},{\"x\":0,\"y\":5},{\"x"
+        + ":{\"coordinates\":[{\"x\":1,\"y\":4},{\"x\":3,\"y\":5},{\"x\":5,\"y\":4},{\"x"
         + "\":0,\"y\":4}]}}\n{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates"
         + "\":[{\"x\":0,\"y\":4},{\"x\":1,\"y\":5}]}}\n";
     assertEquals(expectedClientResponse, logToString());
@@ -227,8 +233,8 @@ class ProxyControllerTest {
 
     // DUMMY COORDINATE because whatever is sent from server to client, client will ALWAYS respond
     // with the same message containing empty arguments
-    JsonNode c1 = JsonUtils.serializeRecord(new CoordJson(0, 0));
-    JsonNode shots = JsonUtils.serializeRecord(new CoordinatesJson(new JsonNode[] {c1}));
+    CoordJson c1 = new CoordJson(0, 0);
+    JsonNode shots = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {c1}));
     JsonNode jsonNode = JsonUtils.serializeRecord(new MessageJson("successful-hits", shots));
 
     Mocket socket = new Mocket(this.testLog, List.of(jsonNode.toString()));
@@ -271,6 +277,140 @@ class ProxyControllerTest {
 
   }
 
+  /**
+   * When the client logs a game against the server, and the game is replayed from the log
+   */
+  @Test
+  void loggedGameTest() throws IOException {
+
+    SetupJson setupJson = new SetupJson(6, 6, specifications);
+    JsonNode setupNode = JsonUtils.serializeRecord(setupJson);
+    JsonNode jsonNode1 = JsonUtils.serializeRecord(new MessageJson("setup", setupNode));
+    JsonNode jsonNode2 = JsonUtils.serializeRecord(new MessageJson("take-shots", EMPTY_ARGS));
+
+    CoordJson c1 = new CoordJson(0, 4); // HIT!
+    CoordJson c2 = new CoordJson(0, 0); // MISS!
+    JsonNode serverShots = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {c1, c2}));
+    JsonNode jsonNode3 = JsonUtils.serializeRecord(new MessageJson("report-damage", serverShots));
+
+    CoordJson c3 = new CoordJson(3, 5);
+    JsonNode hits = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {c3}));
+    JsonNode jsonNode4 = JsonUtils.serializeRecord(new MessageJson("successful-hits", hits));
+
+    JsonNode result = new ObjectMapper().createObjectNode().put("result", "LOSE")
+        .put("reason", "All of your ships were sunk");
+    JsonNode jsonNode5 = JsonUtils.serializeRecord(new MessageJson("end-game", result));
+
+    Mocket socket = new Mocket(this.testLog, List.of(jsonNode1.toString(), jsonNode2.toString(),
+        jsonNode3.toString(), jsonNode4.toString(), jsonNode5.toString()));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    this.controller = new ProxyController(socket, player, board, 1, new GameLogWriter(bytes));
+    this.controller.run();
+    assertEquals(new GameRecord(1, 6, 6, GameResult.LOSE, 1, 4, 1, 2, 1, 4, -1),
+        this.controller.getRecord());
+
+    GameLog game = GameLog.read(new ByteArrayInputStream(bytes.toByteArray())).get(0);
+    assertEquals(GameResult.LOSE, game.result());
+    assertEquals(1, game.turns().size());
+    assertEquals(4, game.firstFleet().size());
+    assertEquals(0, game.secondFleet().size());
+    assertArrayEquals(new int[] {24, 0}, game.turns().get(0).secondVolley());
+    assertArrayEquals(new int[] {24}, game.turns().get(0).secondHits());
+    assertArrayEquals(new int[] {33}, game.turns().get(0).firstHits());
+
+    GameRecord record = new GameReplayer(PlayerFactory.of("random", "greedy"), null).replay(game);
+    assertEquals(GameResult.LOSE, record.result());
+    assertEquals(4, record.firstShots());
+    assertEquals(1, record.secondHits());
+    assertEquals(-1, record.secondShipsAfloat());
+
+  }
+
+  /**
+   * When the server cuts off a logged game, and the next game is appended to the same log; the
+   * server's shot off the board is not logged
+   */
+  @Test
+  void cutOffLoggedGameTest() throws IOException {
+
+    SetupJson setupJson = new SetupJson(6, 6, specifications);
+    JsonNode jsonNode1 = JsonUtils.serializeRecord(
+        new MessageJson("setup", JsonUtils.serializeRecord(setupJson)));
+    JsonNode jsonNode2 = JsonUtils.serializeRecord(new MessageJson("take-shots", EMPTY_ARGS));
+    JsonNode serverShots = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {
+        new CoordJson(0, 4), new CoordJson(6, 0), new CoordJson(0, 0)}));
+    JsonNode jsonNode3 = JsonUtils.serializeRecord(new MessageJson("report-damage", serverShots));
+    JsonNode hits = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {
+        new CoordJson(3, 5)}));
+    JsonNode jsonNode4 = JsonUtils.serializeRecord(new MessageJson("successful-hits", hits));
+    JsonNode unknown = new ObjectMapper().createObjectNode().put("result", "FORFEIT");
+    JsonNode jsonNode5 = JsonUtils.serializeRecord(new MessageJson("end-game", unknown));
+    JsonNode lose = new ObjectMapper().createObjectNode().put("result", "LOSE");
+    JsonNode jsonNode6 = JsonUtils.serializeRecord(new MessageJson("end-game", lose));
+    List<String> turn = List.of(jsonNode1.toString(), jsonNode2.toString(),
+        jsonNode3.toString(), jsonNode4.toString());
+
+    // cut off, then ended with a result that is not known, then won by the server
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new ProxyController(new Mocket(this.testLog, turn), player, board, 1,
+        new GameLogWriter(bytes)).run();
+    List<String> unknownEnd = new ArrayList<>(turn);
+    unknownEnd.add(jsonNode5.toString());
+    new ProxyController(new Mocket(this.testLog, unknownEnd), player, board, 2,
+        new GameLogWriter(bytes)).run();
+    List<String> lost = new ArrayList<>(turn);
+    lost.add(jsonNode6.toString());
+    new ProxyController(new Mocket(this.testLog, lost), player, board, 3,
+        new GameLogWriter(bytes)).run();
+
+    List<GameLog> games = GameLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+    assertEquals(3, games.size());
+    for (int i = 0; i < games.size(); i++) {
+      assertEquals(i + 1, games.get(i).firstSeed());
+      assertEquals(1, games.get(i).turns().size());
+      assertArrayEquals(new int[] {33}, games.get(i).turns().get(0).firstHits());
+      assertArrayEquals(new int[] {24, 0}, games.get(i).turns().get(0).secondVolley());
+    }
+    assertNull(games.get(0).result());
+    assertNull(games.get(1).result());
+    assertEquals(GameResult.LOSE, games.get(2).result());
+
+  }
+
+  /**
+   * When the client plays over a channel transport, and the server's messages arrive a few bytes
+   * at a time
+   */
+  @Test
+  void channelTransportTest() throws IOException {
+
+    SetupJson setupJson = new SetupJson(6, 6, specifications);
+    JsonNode jsonNode1 = JsonUtils.serializeRecord(
+        new MessageJson("setup", JsonUtils.serializeRecord(setupJson)));
+    JsonNode jsonNode2 = JsonUtils.serializeRecord(new MessageJson("take-shots", EMPTY_ARGS));
+    JsonNode serverShots = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {
+        new CoordJson(0, 4), new CoordJson(0, 0)}));
+    JsonNode jsonNode3 = JsonUtils.serializeRecord(new MessageJson("report-damage", serverShots));
+    List<String> messages = List.of(jsonNode1.toString(), jsonNode2.toString(),
+        jsonNode3.toString());
+
+    new ProxyController(new Mocket(this.testLog, messages), player, board).run();
+    String expectedClientResponse = logToString();
+
+    ByteArrayOutputStream channelLog = new ByteArrayOutputStream();
+    MemoryChannel channel = new MemoryChannel(channelLog, messages, 7, false);
+    Board channelBoard = new Board();
+    AbstractPlayer channelPlayer = new ArtificialPlayer("testAI", view, channelBoard,
+        channelBoard, new Random(1));
+    this.controller = new ProxyController(new ChannelTransport(channel), channelPlayer,
+        channelBoard, 0, null);
+    this.controller.run();
+
+    assertEquals(expectedClientResponse, channelLog.toString(StandardCharsets.UTF_8));
+    assertEquals(3, channel.getWrites()); // one write for each response
+
+  }
+
   /**
    * When server sends an invalid message to client
    */
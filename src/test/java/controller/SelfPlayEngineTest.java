@@ -0,0 +1,149 @@
+package controller;
+
+import static model.StrategyFixture.specs;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Random;
+import model.ArtificialPlayer;
+import model.Board;
+import model.GameRecord;
+import model.GameResult;
+import org.junit.jupiter.api.Test;
+
+class SelfPlayEngineTest {
+
+  @Test
+  void matchesConsoleGameTest() throws IOException {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    int[][] games = {{6, 6, 1, 1, 1, 1}, {8, 10, 2, 1, 3, 2}, {15, 15, 4, 4, 4, 3}};
+    int compared = 0;
+
+    for (int[] game : games) {
+      for (long seed = 0; seed < 10; seed++) {
+        ByteArrayOutputStream played = new ByteArrayOutputStream();
+        engine.play(seed, game[0], game[1], specs(game[2], game[3], game[4], game[5]),
+            new GameLogWriter(played));
+        GameLog log = GameLog.read(new ByteArrayInputStream(played.toByteArray())).get(0);
+        int fired = 0;
+        for (GameLog.Turn turn : log.turns()) {
+          fired += turn.secondVolley().length;
+        }
+        // a player that has shot every cell may have fired a short volley, which the console
+        // never lets its player do, so such games are left out
+        if (fired == game[0] * game[1]) {
+          continue;
+        }
+
+        // the console player types in the second player's volleys
+        StringBuilder input = new StringBuilder(game[0] + " " + game[1] + "\n" + game[2] + " "
+            + game[3] + " " + game[4] + " " + game[5] + "\n");
+        for (GameLog.Turn turn : log.turns()) {
+          for (int cell : turn.secondVolley()) {
+            input.append(cell % game[1]).append(' ').append(cell / game[1]).append('\n');
+          }
+        }
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        new BattleshipSalvo(new StringReader(input.toString()), new StringBuilder(), seed,
+            seed ^ SelfPlayEngine.SECOND_SEED, new GameLogWriter(console)).run();
+
+        // the same fleets, volleys, hits in the same order, and result
+        assertArrayEquals(played.toByteArray(), console.toByteArray());
+        compared++;
+      }
+    }
+    assertTrue(compared > 10);
+  }
+
+  @Test
+  void playsToCompletionTest() {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("random", "greedy"),
+        PlayerFactory.of("random", "uniform"));
+    int fleetCells = 6 + 5 + 5 + 4 + 3;
+
+    for (long seed = 0; seed < 50; seed++) {
+      GameRecord record = engine.play(seed, 9, 11, specs(1, 2, 1, 1));
+      assertEquals(seed, record.seed());
+      assertTrue(record.turns() > 0 && record.turns() <= 99);
+      assertTrue(record.firstHits() <= record.firstShots());
+      assertTrue(record.secondHits() <= record.secondShots());
+
+      if (record.result() == GameResult.WIN) {
+        assertEquals(fleetCells, record.firstHits());
+        assertEquals(0, record.secondShipsAfloat());
+        assertTrue(record.firstShipsAfloat() > 0);
+      } else if (record.result() == GameResult.LOSE) {
+        assertEquals(fleetCells, record.secondHits());
+        assertEquals(0, record.firstShipsAfloat());
+      } else {
+        assertEquals(0, record.firstShipsAfloat() + record.secondShipsAfloat());
+      }
+    }
+  }
+
+  @Test
+  void reproducibleTest() {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("heatmap", "greedy"),
+        PlayerFactory.of("hunt-target", "greedy"));
+    SelfPlayEngine other = new SelfPlayEngine(PlayerFactory.of("heatmap", "greedy"),
+        PlayerFactory.of("hunt-target", "greedy"));
+
+    GameRecord record = engine.play(7, 10, 10, specs(1, 1, 1, 1));
+    engine.play(8, 6, 15, specs(1, 1, 2, 2));
+    assertEquals(record, engine.play(7, 10, 10, specs(1, 1, 1, 1)));
+    assertEquals(record, other.play(7, 10, 10, specs(1, 1, 1, 1)));
+  }
+
+  @Test
+  void strongerStrategyWinsTest() {
+    SelfPlayEngine engine = new SelfPlayEngine(PlayerFactory.of("heatmap", "greedy"),
+        PlayerFactory.of("random", "greedy"));
+    int wins = 0;
+
+    for (long seed = 0; seed < 100; seed++) {
+      if (engine.play(seed, 10, 10, specs(1, 2, 2, 1)).result() == GameResult.WIN) {
+        wins++;
+      }
+    }
+
+    assertTrue(wins > 80);
+  }
+
+  @Test
+  void unknownStrategyTest() {
+    assertThrows(IllegalArgumentException.class, () -> PlayerFactory.of("psychic", "greedy"));
+    assertThrows(IllegalArgumentException.class, () -> PlayerFactory.of("random", "psychic"));
+    assertThrows(IllegalArgumentException.class,
+        () -> PlayerFactory.of("random", "greedy", Duration.ofMillis(-1)));
+  }
+
+  @Test
+  void turnBudgetTest() {
+    PlayerFactory budgeted = PlayerFactory.of("endgame", "greedy", Duration.ofMillis(50));
+    Board board = new Board();
+    ArtificialPlayer first = (ArtificialPlayer) budgeted.create("a", board, board, new Random(1));
+    ArtificialPlayer second = (ArtificialPlayer) budgeted.create("b", board, board, new Random(1));
+    assertEquals(Duration.ofMillis(50), first.getTurnBudget().getBudget());
+    // each player keeps its own count of turns
+    assertNotSame(first.getTurnBudget(), second.getTurnBudget());
+
+    ArtificialPlayer unlimited = (ArtificialPlayer) PlayerFactory.of("endgame", "greedy")
+        .create("c", board, board, new Random(1));
+    assertNull(unlimited.getTurnBudget());
+
+    // a budget changes how long turns may take, but not how games are played to the end
+    SelfPlayEngine engine = new SelfPlayEngine(budgeted,
+        PlayerFactory.of("monte-carlo", "greedy", Duration.ofMillis(50)));
+    assertTrue(engine.play(3, 8, 8, specs(1, 1, 1, 1)).turns() > 0);
+  }
+}
@@ -0,0 +1,144 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class TournamentTest {
+
+  private final List<Contender> contenders = List.of(Contender.parse("random"),
+      Contender.parse("hunt-target"), Contender.parse("heatmap:uniform"));
+  private final List<Arena> arenas = Arena.grid(8, 9).subList(0, 3);
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @Test
+  void runTest() throws IOException {
+    Path results = Files.createTempFile("tournament", ".tsv");
+    try {
+      Tournament tournament = new Tournament(contenders, arenas, 25, 3, results, pool, 10);
+      tournament.run();
+
+      assertEquals(0, tournament.getResumedGames());
+      assertEquals(3 * 3 * 25, tournament.getPlayedGames());
+      // three pairs, three arenas, blocks of 10, 10 and 5 games
+      assertEquals(27, Files.readAllLines(results).size());
+      assertEquals(75, tournament.getStats(0, 2).getGames());
+      assertTrue(tournament.getStats(2, 0).score() > 0.8);
+
+      Map<Contender, Double> ratings = tournament.ratings();
+      assertTrue(ratings.get(contenders.get(1)) > ratings.get(contenders.get(0)) + 400);
+      assertTrue(ratings.get(contenders.get(2)) > ratings.get(contenders.get(0)) + 400);
+
+      StringBuilder report = new StringBuilder();
+      tournament.report(report);
+      assertTrue(report.toString().contains("random:greedy vs hunt-target:greedy"));
+      assertTrue(report.toString().contains("heatmap:uniform"));
+    } finally {
+      Files.delete(results);
+    }
+  }
+
+  @Test
+  void resumeTest() throws IOException {
+    Path complete = Files.createTempFile("tournament", ".tsv");
+    Path interrupted = Files.createTempFile("tournament", ".tsv");
+    try {
+      Tournament tournament = new Tournament(contenders, arenas, 25, 3, complete, pool, 10);
+      tournament.run();
+
+      // keep eight finished blocks and half of the ninth, as if the run had been killed
+      List<String> lines = Files.readAllLines(complete);
+      StringBuilder cut = new StringBuilder();
+      for (int i = 0; i < 8; i++) {
+        cut.append(lines.get(i)).append('\n');
+      }
+      cut.append(lines.get(8), 0, lines.get(8).length() / 2);
+      Files.writeString(interrupted, cut, StandardCharsets.UTF_8);
+
+      Tournament resumed = new Tournament(contenders, arenas, 25, 3, interrupted, pool, 10);
+      resumed.run();
+      assertTrue(resumed.getResumedGames() > 0);
+      assertEquals(225, resumed.getResumedGames() + resumed.getPlayedGames());
+      assertStatsEqual(tournament, resumed);
+
+      // everything is played now, so another run plays nothing
+      Tournament again = new Tournament(contenders, arenas, 25, 3, interrupted, pool, 10);
+      again.run();
+      assertEquals(225, again.getResumedGames());
+      assertEquals(0, again.getPlayedGames());
+      assertStatsEqual(tournament, again);
+
+      // the same arenas in another order play the same games, so they are all resumed
+      List<Arena> reordered = new ArrayList<>(arenas);
+      Collections.reverse(reordered);
+      Tournament reversed = new Tournament(contenders, reordered, 25, 3, interrupted, pool, 10);
+      reversed.run();
+      assertEquals(225, reversed.getResumedGames());
+      assertEquals(0, reversed.getPlayedGames());
+      assertStatsEqual(tournament, reversed);
+      Path replayed = Files.createTempFile("tournament", ".tsv");
+      try {
+        Tournament played = new Tournament(contenders, reordered, 25, 3, replayed, pool, 10);
+        played.run();
+        assertEquals(225, played.getPlayedGames());
+        assertStatsEqual(tournament, played);
+      } finally {
+        Files.delete(replayed);
+      }
+      Tournament last = new Tournament(contenders, reordered.subList(0, 1), 25, 3, interrupted,
+          pool, 10);
+      last.run();
+      assertEquals(75, last.getResumedGames());
+      assertEquals(0, last.getPlayedGames());
+
+      // a run with another seed plays on other seeds, so it resumes nothing from the file
+      Tournament reseeded = new Tournament(contenders, arenas, 25, 4, interrupted, pool, 10);
+      reseeded.run();
+      assertEquals(0, reseeded.getResumedGames());
+      assertEquals(225, reseeded.getPlayedGames());
+      Tournament fresh = new Tournament(contenders, arenas, 25, 4, complete, pool, 10);
+      Files.writeString(complete, "");
+      fresh.run();
+      assertStatsEqual(fresh, reseeded);
+    } finally {
+      Files.delete(complete);
+      Files.delete(interrupted);
+    }
+  }
+
+  @Test
+  void invalidTest() {
+    Path results = Path.of("unused.tsv");
+    assertThrows(IllegalArgumentException.class, () -> new Tournament(
+        contenders.subList(0, 1), arenas, 10, 0, results, pool));
+    List<Contender> repeated = new ArrayList<>(contenders);
+    repeated.add(Contender.parse("random:greedy"));
+    assertThrows(IllegalArgumentException.class, () -> new Tournament(
+        repeated, arenas, 10, 0, results, pool));
+    assertThrows(IllegalArgumentException.class, () -> new Tournament(
+        contenders, arenas, 0, 0, results, pool));
+    assertThrows(IllegalArgumentException.class, () -> new Tournament(
+        List.of(Contender.parse("random"), Contender.parse("psychic")), arenas, 10, 0, results,
+        pool));
+  }
+
+  private void assertStatsEqual(Tournament expected, Tournament actual) {
+    for (int first = 0; first < contenders.size(); first++) {
+      for (int second = first + 1; second < contenders.size(); second++) {
+        assertEquals(expected.getStats(first, second).encode(),
+            actual.getStats(first, second).encode());
+      }
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TrackedRandomTest {
+
+  @Test
+  void matchesRandomTest() {
+    for (long seed = -5; seed < 5; seed++) {
+      Random expected = new Random(seed);
+      TrackedRandom actual = new TrackedRandom(seed);
+      for (int bound = 1; bound < 300; bound++) {
+        assertEquals(expected.nextInt(bound), actual.nextInt(bound));
+        assertEquals(expected.nextBoolean(), actual.nextBoolean());
+        assertEquals(expected.nextLong(), actual.nextLong());
+      }
+      expected.setSeed(seed * 31);
+      actual.setSeed(seed * 31);
+      assertEquals(expected.nextInt(), actual.nextInt());
+    }
+  }
+
+  @Test
+  void continuedTest() {
+    Random expected = new Random(42);
+    TrackedRandom started = new TrackedRandom(42);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(expected.nextInt(17), started.nextInt(17));
+    }
+
+    long[] states = {0, started.state()};
+    for (int bound = 1; bound < 2000; bound += 3) {
+      assertEquals(expected.nextInt(bound), TrackedRandom.nextInt(states, 1, bound));
+    }
+    // bounds just past a power of two reject the most draws
+    for (int i = 0; i < 500; i++) {
+      int bound = (1 << 30) + 1;
+      assertEquals(expected.nextInt(bound), TrackedRandom.nextInt(states, 1, bound));
+    }
+    assertEquals(expected.nextInt() >>> 7, TrackedRandom.next(states, 1, 25));
+    assertEquals(0, states[0]);
+  }
+}
@@ -0,0 +1,71 @@
+package json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JsonCodecTest {
+
+  @Test
+  void writeMessageTest() throws IOException {
+    CoordinatesJson volley = new CoordinatesJson(new CoordJson[] {
+        new CoordJson(1, 4), new CoordJson(3, 5)});
+    ClosingStream out = new ClosingStream();
+
+    JsonCodec.writeMessage("take-shots", volley, out);
+    JsonCodec.writeMessage("end-game", JsonCodec.mapper().createArrayNode(), out);
+
+    JsonNode tree = JsonUtils.serializeRecord(
+        new MessageJson("take-shots", JsonUtils.serializeRecord(volley)));
+    assertEquals(tree + "\n{\"method-name\":\"end-game\",\"arguments\":[]}\n",
+        out.toString(StandardCharsets.UTF_8));
+    assertFalse(out.closed);
+  }
+
+  @Test
+  void sharedTest() throws InterruptedException {
+    Object[] fromThread = new Object[2];
+    Thread thread = new Thread(() -> {
+      fromThread[0] = JsonCodec.writer(FleetJson.class);
+      fromThread[1] = JsonCodec.reader(SetupJson.class);
+    });
+    thread.start();
+    thread.join();
+
+    assertSame(JsonCodec.writer(FleetJson.class), fromThread[0]);
+    assertSame(JsonCodec.reader(SetupJson.class), fromThread[1]);
+    assertSame(JsonCodec.writer(CoordJson.class), JsonCodec.writer(CoordJson.class));
+  }
+
+  @Test
+  void readTest() {
+    JsonNode node = JsonUtils.serializeRecord(new CoordinatesJson(new CoordJson[] {
+        new CoordJson(2, 7)}));
+    CoordinatesJson read = JsonCodec.read(node, CoordinatesJson.class);
+    assertEquals(1, read.coordinates().length);
+    assertEquals(new CoordJson(2, 7), read.coordinates()[0]);
+
+    JsonNode join = JsonUtils.serializeRecord(new JoinJson("name", "SINGLE"));
+    assertThrows(IllegalArgumentException.class, () -> JsonCodec.read(join, CoordJson.class));
+  }
+
+  /**
+   * A stream that remembers whether it was closed.
+   */
+  private static class ClosingStream extends ByteArrayOutputStream {
+
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import model.ShipType;
+import org.junit.jupiter.api.Test;
+
+class MessageDecoderTest {
+
+  @Test
+  void nextTest() throws IOException {
+    MessageDecoder decoder = decoder("{\"method-name\":\"join\",\"arguments\":{}}\n"
+        + "{\"method-name\":\"setup\",\"arguments\":{\"width\":10,\"height\":8,"
+        + "\"fleet-spec\":{\"CARRIER\":2,\"SUBMARINE\":1}}}\n"
+        + "{\"method-name\":\"take-shots\",\"arguments\":[]}\n"
+        + "{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates\":"
+        + "[{\"x\":1,\"y\":4},{\"x\":3,\"y\":5}]}}\n"
+        + "{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"WIN\",\"reason\":\"sunk\"}}");
+
+    assertTrue(decoder.next());
+    assertSame("join", decoder.methodName());
+    assertEquals(0, decoder.size());
+
+    assertTrue(decoder.next());
+    assertSame("setup", decoder.methodName());
+    assertEquals(new SetupJson(10, 8, Map.of(ShipType.CARRIER, 2, ShipType.SUBMARINE, 1)),
+        decoder.setup());
+
+    assertTrue(decoder.next());
+    assertSame("take-shots", decoder.methodName());
+    assertEquals(0, decoder.size());
+
+    assertTrue(decoder.next());
+    assertSame("report-damage", decoder.methodName());
+    assertEquals(2, decoder.size());
+    assertEquals(1, decoder.x(0));
+    assertEquals(4, decoder.y(0));
+    assertEquals(3, decoder.x(1));
+    assertEquals(5, decoder.y(1));
+
+    assertTrue(decoder.next());
+    assertSame("end-game", decoder.methodName());
+    assertEquals(0, decoder.size());
+    assertEquals("WIN", decoder.result());
+    assertEquals("sunk", decoder.reason());
+
+    assertFalse(decoder.next());
+  }
+
+  @Test
+  void anyOrderTest() throws IOException {
+    MessageDecoder decoder = decoder("{\"extra\":[1,{\"a\":2}],\"arguments\":{\"coordinates\":"
+        + "[{\"y\":2,\"z\":{},\"x\":7}],\"other\":\"x\"},\"method-name\":\"successful-hits\"}"
+        + "{\"method-name\":\"floob\",\"arguments\":{}}");
+
+    assertTrue(decoder.next());
+    assertSame("successful-hits", decoder.methodName());
+    assertEquals(1, decoder.size());
+    assertEquals(7, decoder.x(0));
+    assertEquals(2, decoder.y(0));
+    assertEquals("", decoder.result());
+
+    assertTrue(decoder.next());
+    assertEquals("floob", decoder.methodName());
+  }
+
+  @Test
+  void growTest() throws IOException {
+    StringBuilder message = new StringBuilder("{\"method-name\":\"report-damage\","
+        + "\"arguments\":{\"coordinates\":[");
+    for (int i = 0; i < 100; i++) {
+      message.append(i == 0 ? "" : ",").append("{\"x\":").append(i).append(",\"y\":")
+          .append(-i).append('}');
+    }
+    MessageDecoder decoder = decoder(message.append("]}}").toString());
+
+    assertTrue(decoder.next());
+    assertEquals(100, decoder.size());
+    assertEquals(99, decoder.x(99));
+    assertEquals(-99, decoder.y(99));
+  }
+
+  @Test
+  void invalidTest() throws IOException {
+    assertThrows(IOException.class, () -> decoder("[]").next());
+    assertThrows(IOException.class, () -> decoder("{\"arguments\":{}}").next());
+    assertThrows(IOException.class, () -> decoder("{\"method-name\":3}").next());
+    assertThrows(IOException.class,
+        () -> decoder("{\"method-name\":\"x\",\"arguments\":{\"coordinates\":[1]}}").next());
+    assertThrows(IOException.class,
+        () -> decoder("{\"method-name\":\"x\",\"arguments\":{\"coordinates\":{}}}").next());
+    assertThrows(IOException.class, () -> decoder("{\"method-name\":\"setup\",\"arguments\":"
+        + "{\"fleet-spec\":{\"CANOE\":1}}}").next());
+    assertThrows(IOException.class, () -> decoder("{\"method-name\":\"x\",\"argu").next());
+  }
+
+  private static MessageDecoder decoder(String messages) throws IOException {
+    return new MessageDecoder(new ByteArrayInputStream(messages.getBytes(StandardCharsets.UTF_8)));
+  }
+
+}
@@ -0,0 +1,89 @@
+package json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class MessageEncoderTest {
+
+  @Test
+  void writeCoordinatesTest() throws IOException {
+    int[][] volleys = {{}, {1, 4}, {1, 4, 3, 5, 0, 0}, {-7, 10, Integer.MIN_VALUE,
+        Integer.MAX_VALUE, 1000000, -1}};
+    MessageEncoder encoder = new MessageEncoder();
+
+    for (int[] volley : volleys) {
+      CoordJson[] coords = new CoordJson[volley.length / 2];
+      CountingStream out = new CountingStream();
+      encoder.startCoordinates("report-damage");
+      for (int i = 0; i < coords.length; i++) {
+        coords[i] = new CoordJson(volley[2 * i], volley[2 * i + 1]);
+        encoder.coordinate(volley[2 * i], volley[2 * i + 1]);
+      }
+      encoder.writeCoordinates(out);
+
+      ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      JsonCodec.writeMessage("report-damage", new CoordinatesJson(coords), expected);
+      assertEquals(expected.toString(StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8));
+      assertEquals(1, out.writes);
+    }
+  }
+
+  @Test
+  void growTest() throws IOException {
+    MessageEncoder encoder = new MessageEncoder();
+    CoordJson[] coords = new CoordJson[400];
+    encoder.startCoordinates("take-shots");
+    for (int i = 0; i < coords.length; i++) {
+      coords[i] = new CoordJson(i, i * 31);
+      encoder.coordinate(i, i * 31);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    encoder.writeCoordinates(out);
+
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    JsonCodec.writeMessage("take-shots", new CoordinatesJson(coords), expected);
+    assertEquals(expected.toString(StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeEmptyTest() throws IOException {
+    MessageEncoder encoder = new MessageEncoder();
+    CountingStream out = new CountingStream();
+    encoder.startCoordinates("dropped");
+    encoder.coordinate(1, 1);
+    encoder.writeEmpty("end-game", out);
+
+    assertEquals("{\"method-name\":\"end-game\",\"arguments\":[]}\n",
+        out.toString(StandardCharsets.UTF_8));
+    assertEquals(1, out.writes);
+  }
+
+  @Test
+  void invalidNameTest() {
+    MessageEncoder encoder = new MessageEncoder();
+    assertThrows(IllegalArgumentException.class, () -> encoder.startCoordinates("a\"b"));
+    assertThrows(IllegalArgumentException.class,
+        () -> encoder.writeEmpty("caf\u00e9", new ByteArrayOutputStream()));
+  }
+
+  /**
+   * A stream that counts its writes.
+   */
+  private static class CountingStream extends ByteArrayOutputStream {
+
+    private int writes;
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      writes++;
+      super.write(b, off, len);
+    }
+
+  }
+
+}
@@ -5,13 +5,17 @@ import static model.ShipType.CARRIER;
 import static model.ShipType.DESTROYER;
 import static model.ShipType.SUBMARINE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import view.ViewImpl;
@@ -64,15 +68,100 @@ class ArtificialPlayerTest {
     assertEquals(1, shots.get(0).getX());
     assertEquals(4, shots.get(0).getY());
 
-    assertEquals(4, shots.get(1).getX());
+    assertEquals(3, shots.get(1).getX());
     assertEquals(5, shots.get(1).getY());
 
-    assertEquals(0, shots.get(2).getX());
-    assertEquals(5, shots.get(2).getY());
+    assertEquals(5, shots.get(2).getX());
+    assertEquals(4, shots.get(2).getY());
 
     assertEquals(0, shots.get(3).getX());
     assertEquals(4, shots.get(3).getY());
 
 
   }
+
+  @Test
+  void takeShotsDrawsEveryCellOnceTest() {
+
+    Appendable output = new StringBuilder();
+    Readable input = new StringReader("");
+    ViewImpl viewer = new ViewImpl(input, output, new Scanner(input));
+
+    aiBoard = new Board(6, 6);
+    playerBoard = new Board(6, 6);
+    aiPlayerTest =
+        new ArtificialPlayer("aiTestPlayer", viewer, aiBoard, playerBoard, new Random(1));
+    aiPlayerTest.setup(6, 6, specsTest);
+
+    Set<Integer> cells = new HashSet<>();
+    for (int turn = 0; turn < 9; turn++) {
+      for (Coord shot : aiPlayerTest.takeShots()) {
+        assertTrue(cells.add(shot.getY() * 6 + shot.getX()));
+      }
+    }
+    assertEquals(36, cells.size());
+    assertEquals(0, aiPlayerTest.takeShots().size());
+
+    aiBoard.changeDimensions(6, 6);
+    playerBoard.changeDimensions(6, 6);
+    aiPlayerTest.setup(6, 6, specsTest);
+    assertEquals(4, aiPlayerTest.takeShots().size());
+
+  }
+
+  @Test
+  void successfulHitsOutsideVolleyTest() {
+
+    List<String> recorded = new ArrayList<>();
+    ShotStrategy recording = new ShotStrategy() {
+      private int next;
+
+      @Override
+      public String name() {
+        return "recording";
+      }
+
+      @Override
+      public TurnCost cost() {
+        return TurnCost.CONSTANT;
+      }
+
+      @Override
+      public void setup(int height, int width, Map<ShipType, Integer> specifications,
+                        Random random) {
+        next = 0;
+      }
+
+      @Override
+      public int selectShots(int shots, int[] cells) {
+        for (int i = 0; i < shots; i++) {
+          cells[i] = next++;
+        }
+        return shots;
+      }
+
+      @Override
+      public void recordShot(int cell, boolean hit) {
+        recorded.add(cell + (hit ? " hit" : " miss"));
+      }
+    };
+    aiBoard = new Board(6, 6);
+    playerBoard = new Board(6, 6);
+    aiPlayerTest = new ArtificialPlayer("aiTestPlayer", null, aiBoard, playerBoard,
+        new Random(1), recording);
+    aiPlayerTest.setup(6, 6, specsTest);
+
+    // cells 0 to 3 are shot; 5 was not, (6, 0) would wrap onto cell 6, and (-1, 2) is off
+    aiPlayerTest.takeShots();
+    aiPlayerTest.successfulHits(List.of(new Coord(1, 0, null), new Coord(5, 0, null),
+        new Coord(6, 0, null), new Coord(-1, 2, null), new Coord(0, -1, null)));
+    assertEquals(List.of("0 miss", "1 hit", "2 miss", "3 miss"), recorded);
+
+    // the hits outside the last volley left nothing behind for this one
+    recorded.clear();
+    aiPlayerTest.takeShots();
+    aiPlayerTest.successfulHits(List.of());
+    assertEquals(List.of("4 miss", "5 miss", "6 miss", "7 miss"), recorded);
+
+  }
 }
\ No newline at end of file
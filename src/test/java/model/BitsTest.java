@@ -0,0 +1,66 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BitsTest {
+
+  @Test
+  void wordsTest() {
+    assertEquals(0, Bits.words(0));
+    assertEquals(1, Bits.words(36));
+    assertEquals(1, Bits.words(64));
+    assertEquals(4, Bits.words(225));
+  }
+
+  @Test
+  void setGetClearTest() {
+    long[] set = new long[Bits.words(225)];
+    Bits.set(set, 0);
+    Bits.set(set, 130);
+    assertTrue(Bits.get(set, 0));
+    assertTrue(Bits.get(set, 130));
+    assertFalse(Bits.get(set, 129));
+    Bits.clear(set, 130);
+    assertFalse(Bits.get(set, 130));
+    assertEquals(1, Bits.count(set));
+  }
+
+  @Test
+  void rangeTest() {
+    long[] set = new long[Bits.words(225)];
+    Bits.setRange(set, 60, 200);
+    assertEquals(140, Bits.count(set));
+    assertTrue(Bits.get(set, 60));
+    assertTrue(Bits.get(set, 199));
+    assertFalse(Bits.get(set, 59));
+    assertFalse(Bits.get(set, 200));
+  }
+
+  @Test
+  void intersectsTest() {
+    long[] a = new long[2];
+    long[] b = new long[2];
+    Bits.set(a, 70);
+    Bits.set(b, 71);
+    assertFalse(Bits.intersects(a, b));
+    Bits.set(b, 70);
+    assertTrue(Bits.intersects(a, b));
+  }
+
+  @Test
+  void nextSetTest() {
+    long[] set = new long[3];
+    assertEquals(-1, Bits.nextSet(set, 0));
+    Bits.set(set, 5);
+    Bits.set(set, 130);
+    assertEquals(5, Bits.nextSet(set, 0));
+    assertEquals(5, Bits.nextSet(set, 5));
+    assertEquals(130, Bits.nextSet(set, 6));
+    assertEquals(-1, Bits.nextSet(set, 131));
+    assertEquals(-1, Bits.nextSet(set, 192));
+  }
+}
@@ -0,0 +1,54 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BoardTest {
+
+  @Test
+  void reportBoardDamageTest() {
+    Board board = new Board(6, 6);
+    List<Coord> coords = new ArrayList<>();
+    for (int y = 1; y < 4; y++) {
+      coords.add(new Coord(0, y, CoordStatus.SUBMARINESTATUS));
+    }
+    board.placeShip(new Ship(ShipType.SUBMARINE, coords, false));
+
+    assertFalse(board.reportBoardDamage(new Coord(3, 3, CoordStatus.UNKNOWN)));
+    assertEquals(CoordStatus.MISS, board.getStatus(3, 3));
+    assertTrue(board.reportBoardDamage(new Coord(0, 1, CoordStatus.UNKNOWN)));
+    assertEquals(CoordStatus.HIT, board.getStatus(0, 1));
+  }
+
+  @Test
+  void offBoardTest() {
+    Board board = new Board(6, 6);
+    List<Coord> coords = new ArrayList<>();
+    for (int y = 1; y < 4; y++) {
+      coords.add(new Coord(0, y, CoordStatus.SUBMARINESTATUS));
+    }
+    board.placeShip(new Ship(ShipType.SUBMARINE, coords, false));
+
+    // (6, 0) would wrap onto (0, 1), and the others are before or after every cell
+    int[][] shots = {{6, 0}, {-1, 1}, {0, -1}, {0, 6}, {Integer.MAX_VALUE, 2}};
+    for (int[] shot : shots) {
+      assertFalse(board.reportBoardDamage(new Coord(shot[0], shot[1], CoordStatus.UNKNOWN)));
+      assertFalse(board.onBoard(shot[0], shot[1]));
+    }
+    for (int y = 0; y < 6; y++) {
+      for (int x = 0; x < 6; x++) {
+        boolean ship = x == 0 && y >= 1 && y < 4;
+        assertEquals(ship ? CoordStatus.SUBMARINESTATUS : CoordStatus.UNKNOWN,
+            board.getStatus(x, y));
+      }
+    }
+    assertEquals(1, board.getShipsAfloat());
+    assertTrue(board.onBoard(5, 5));
+  }
+
+}
@@ -0,0 +1,159 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EndgameSolverTest {
+
+  @Test
+  void countTest() {
+    // two submarines on a 3x3 board: two of the three rows or two of the three columns
+    EndgameSolver solver = new EndgameSolver(3, 3, specs(0, 0, 0, 2), 1000, 100_000);
+    long[] none = new long[1];
+
+    long[] covered = solver.solve(none, none);
+    assertEquals(6, covered[9]);
+    for (int cell = 0; cell < 9; cell++) {
+      assertEquals(4, covered[cell]);
+    }
+
+    // a miss in the centre leaves the outer rows or the outer columns
+    long[] misses = new long[1];
+    Bits.set(misses, 4);
+    covered = solver.solve(misses, none);
+    assertEquals(2, covered[9]);
+    assertEquals(2, covered[0]);
+    assertEquals(1, covered[1]);
+    assertEquals(0, covered[4]);
+
+    // a hit on the top edge needs the top row or the middle column
+    long[] hits = new long[1];
+    Bits.set(hits, 1);
+    covered = solver.solve(none, hits);
+    assertEquals(4, covered[9]);
+    assertEquals(4, covered[1]);
+  }
+
+  @Test
+  void bruteForceTest() {
+    Map<ShipType, Integer> specs = specs(0, 0, 1, 2);
+    EndgameSolver solver = new EndgameSolver(6, 6, specs, 1_000_000, 10_000_000);
+    Random random = new Random(5);
+
+    for (int round = 0; round < 10; round++) {
+      long[] misses = new long[1];
+      long[] hits = new long[1];
+      long[] layout = randomLayout(random);
+      for (int shot = 0; shot < 14; shot++) {
+        int cell = random.nextInt(36);
+        Bits.set(Bits.get(layout, cell) ? hits : misses, cell);
+      }
+
+      long[] covered = bruteForce(misses, hits);
+      assertArrayEquals(covered, solver.solve(misses, hits));
+      assertTrue(solver.layoutBound(misses) >= covered[36]);
+    }
+  }
+
+  @Test
+  void layoutBoundTest() {
+    // two of the six rows and columns of a 3x3 board, overlapping or not
+    EndgameSolver solver = new EndgameSolver(3, 3, specs(0, 0, 0, 2), 1000, 100_000);
+    assertEquals(15, solver.layoutBound(new long[1]));
+
+    long[] misses = new long[1];
+    Bits.set(misses, 4);
+    assertEquals(6, solver.layoutBound(misses));
+    Bits.set(misses, 0);
+    assertEquals(1, solver.layoutBound(misses));
+    Bits.set(misses, 8);
+    assertEquals(0, solver.layoutBound(misses));
+
+    EndgameSolver large = new EndgameSolver(15, 15, specs(9, 9, 9, 9), 1000, 100_000);
+    assertEquals(Long.MAX_VALUE, large.layoutBound(new long[4]));
+  }
+
+  @Test
+  void stepLimitTest() {
+    EndgameSolver solver = new EndgameSolver(3, 3, specs(0, 0, 0, 2), 1000, 100_000);
+    long[] none = new long[1];
+    assertNull(solver.solve(none, none, 1));
+    assertEquals(6, solver.solve(none, none, 100)[9]);
+    assertEquals(6, solver.solve(none, none)[9]);
+  }
+
+  @Test
+  void tooManyLayoutsTest() {
+    EndgameSolver solver = new EndgameSolver(10, 10, specs(1, 1, 1, 1), 10_000, 1_000_000);
+    assertNull(solver.solve(new long[2], new long[2]));
+
+    EndgameSolver slow = new EndgameSolver(10, 10, specs(1, 1, 1, 1), Long.MAX_VALUE, 1000);
+    assertNull(slow.solve(new long[2], new long[2]));
+  }
+
+  /**
+   * Places a destroyer and two submarines at random on a 6x6 board.
+   */
+  private long[] randomLayout(Random random) {
+    PlacementMasks destroyers = PlacementMasks.of(6, 6, 4);
+    PlacementMasks submarines = PlacementMasks.of(6, 6, 3);
+    while (true) {
+      long[] layout = new long[1];
+      destroyers.addTo(random.nextInt(destroyers.count()), layout);
+      int first = random.nextInt(submarines.count());
+      int second = random.nextInt(submarines.count());
+      if (!submarines.intersects(first, layout)) {
+        submarines.addTo(first, layout);
+        if (!submarines.intersects(second, layout)) {
+          submarines.addTo(second, layout);
+          return layout;
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts the layouts of a destroyer and two submarines on a 6x6 board by trying every
+   * combination of placements.
+   */
+  private long[] bruteForce(long[] misses, long[] hits) {
+    PlacementMasks destroyers = PlacementMasks.of(6, 6, 4);
+    PlacementMasks submarines = PlacementMasks.of(6, 6, 3);
+    long[] covered = new long[37];
+
+    for (int d = 0; d < destroyers.count(); d++) {
+      for (int s = 0; s < submarines.count(); s++) {
+        for (int t = s + 1; t < submarines.count(); t++) {
+          long[] layout = new long[1];
+          destroyers.addTo(d, layout);
+          if (submarines.intersects(s, layout)) {
+            continue;
+          }
+          submarines.addTo(s, layout);
+          if (submarines.intersects(t, layout)) {
+            continue;
+          }
+          submarines.addTo(t, layout);
+          if ((layout[0] & misses[0]) != 0 || (hits[0] & ~layout[0]) != 0) {
+            continue;
+          }
+          for (int cell = 0; cell < 36; cell++) {
+            if (Bits.get(layout, cell)) {
+              covered[cell]++;
+            }
+          }
+          covered[36]++;
+        }
+      }
+    }
+
+    return covered;
+  }
+}
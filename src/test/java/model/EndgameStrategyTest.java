@@ -0,0 +1,120 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static model.StrategyFixture.turnsToSink;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EndgameStrategyTest {
+
+  @Test
+  void solvesOnlyLateTest() {
+    EndgameStrategy strategy = new EndgameStrategy(new HeatmapStrategy(), 1000);
+    strategy.setup(10, 10, specs(1, 1, 1, 1), new Random(1));
+    int[] cells = new int[4];
+
+    // an empty board has far too many layouts
+    assertEquals(4, strategy.selectShots(4, cells));
+    assertEquals(0, strategy.getSolvedVolleys());
+    // and its bound is far enough over the limit that the solver is not even tried
+    assertEquals(0, strategy.getAttemptedVolleys());
+  }
+
+  @Test
+  void rememberFailedAttemptTest() {
+    // one step is too few to enumerate even the six ways a submarine can lie on a 3x3 board
+    EndgameStrategy strategy = new EndgameStrategy(new HeatmapStrategy(), 1000, 1);
+    strategy.setup(3, 3, specs(0, 0, 0, 1), new Random(3));
+    strategy.recordShot(0, true);
+    int[] cells = new int[1];
+
+    assertEquals(1, strategy.selectShots(1, cells));
+    assertEquals(1, strategy.getAttemptedVolleys());
+    assertEquals(0, strategy.getSolvedVolleys());
+
+    // a miss in a corner leaves four placements, not few enough to try again
+    strategy.recordShot(8, false);
+    strategy.selectShots(1, cells);
+    assertEquals(1, strategy.getAttemptedVolleys());
+
+    // a miss in the centre leaves two, under half of the six of the failed attempt
+    strategy.recordShot(4, false);
+    strategy.selectShots(1, cells);
+    assertEquals(2, strategy.getAttemptedVolleys());
+  }
+
+  @Test
+  void turnBudgetTest() {
+    TurnBudget none = new TurnBudget(Duration.ZERO);
+    EndgameStrategy cut = new EndgameStrategy(new HeatmapStrategy(), 1000);
+    cut.setup(3, 3, specs(0, 0, 0, 1), new Random(2));
+    cut.recordShot(0, true);
+    int[] cells = new int[2];
+
+    // the budget ends the turn before the solver runs, so the fallback chooses the volley
+    assertEquals(2, none.run(cut, 2, cells));
+    assertEquals(1, none.getBudgetHits());
+    assertEquals(1, cut.getAttemptedVolleys());
+    assertEquals(0, cut.getSolvedVolleys());
+
+    TurnBudget ample = new TurnBudget(Duration.ofSeconds(10));
+    EndgameStrategy solved = new EndgameStrategy(new HeatmapStrategy(), 1000);
+    solved.setup(3, 3, specs(0, 0, 0, 1), new Random(2));
+    solved.recordShot(0, true);
+    assertEquals(2, ample.run(solved, 2, cells));
+    assertEquals(0, ample.getBudgetHits());
+    assertEquals(1, solved.getSolvedVolleys());
+    for (int cell : cells) {
+      assertTrue(cell == 1 || cell == 2 || cell == 3 || cell == 6);
+    }
+  }
+
+  @Test
+  void exactVolleyTest() {
+    // one submarine on a 3x3 board with a hit in a corner: the top row or the left column
+    EndgameStrategy strategy = new EndgameStrategy(new HeatmapStrategy(), 1000);
+    strategy.setup(3, 3, specs(0, 0, 0, 1), new Random(2));
+    strategy.recordShot(0, true);
+
+    int[] cells = new int[2];
+    assertEquals(2, strategy.selectShots(2, cells));
+    assertEquals(1, strategy.getSolvedVolleys());
+    for (int cell : cells) {
+      assertTrue(cell == 1 || cell == 2 || cell == 3 || cell == 6);
+    }
+
+    // a miss beside the hit and a hit below it leave only the left column
+    EndgameStrategy column = new EndgameStrategy(new HeatmapStrategy(), 1000);
+    column.setup(3, 3, specs(0, 0, 0, 1), new Random(2));
+    column.recordShot(0, true);
+    column.recordShot(1, false);
+    column.recordShot(3, true);
+    assertEquals(1, column.selectShots(1, cells));
+    assertEquals(6, cells[0]);
+    assertEquals(1, column.getSolvedVolleys());
+  }
+
+  @Test
+  void finishesGamesTest() {
+    int endgameTurns = 0;
+    int heatmapTurns = 0;
+    int solved = 0;
+
+    for (int seed = 0; seed < 20; seed++) {
+      EndgameStrategy endgame = new EndgameStrategy();
+      endgameTurns += turnsToSink(endgame, 8, specs(1, 1, 1, 1), seed);
+      solved += endgame.getSolvedVolleys();
+      heatmapTurns += turnsToSink(new HeatmapStrategy(), 8, specs(1, 1, 1, 1), seed);
+    }
+
+    assertTrue(solved > 0);
+    assertTrue(endgameTurns <= heatmapTurns);
+    assertThrows(IllegalArgumentException.class,
+        () -> new EndgameStrategy(new HeatmapStrategy(), 0));
+  }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EntropyStrategyTest {
+
+  @Test
+  void scoresTest() {
+    EntropyStrategy chance = new EntropyStrategy(0);
+    chance.setup(10, 10, specs(1, 1, 1, 1), new Random(1));
+    EntropyStrategy informed = new EntropyStrategy(1);
+    informed.setup(10, 10, specs(1, 1, 1, 1), new Random(1));
+
+    for (int cell = 0; cell < 100; cell++) {
+      assertTrue(chance.getScore(cell) > 0 && chance.getScore(cell) < 1);
+      assertTrue(informed.getScore(cell) > chance.getScore(cell));
+    }
+    assertTrue(chance.getScore(0) < chance.getScore(44));
+    assertEquals(1, chance.getRebuilds());
+    assertThrows(IllegalArgumentException.class, () -> new EntropyStrategy(-1));
+  }
+
+  @Test
+  void rowAndColumnUpdateTest() {
+    EntropyStrategy strategy = new EntropyStrategy();
+    strategy.setup(15, 15, specs(2, 2, 2, 2), new Random(2));
+    double[] before = scores(strategy, 225);
+
+    strategy.recordShot(7 * 15 + 7, false);
+    assertEquals(1, strategy.getRebuilds());
+    assertTrue(strategy.getScore(7 * 15 + 8) < before[7 * 15 + 8]);
+    assertTrue(strategy.getScore(6 * 15 + 7) < before[6 * 15 + 7]);
+    // cells off the shot's row and column keep their cached score
+    assertEquals(before[3 * 15 + 3], strategy.getScore(3 * 15 + 3));
+    assertEquals(before[14 * 15 + 1], strategy.getScore(14 * 15 + 1));
+  }
+
+  @Test
+  void jointVolleyRestoresScoresTest() {
+    EntropyStrategy strategy = new EntropyStrategy();
+    strategy.setup(12, 12, specs(1, 1, 1, 1), new Random(3));
+    strategy.recordShot(40, true);
+    // the hit moves the totals enough that this volley rebuilds the cache
+    strategy.selectShots(1, new int[1]);
+    assertEquals(2, strategy.getRebuilds());
+    double[] before = scores(strategy, 144);
+
+    int[] cells = new int[4];
+    assertEquals(4, strategy.selectShots(4, cells));
+    assertEquals(2, strategy.getRebuilds());
+    for (int cell = 0; cell < 144; cell++) {
+      assertEquals(before[cell], strategy.getScore(cell), 1e-12);
+    }
+  }
+
+  @Test
+  void rebuildsAfterDriftTest() {
+    EntropyStrategy strategy = new EntropyStrategy();
+    strategy.setup(10, 10, specs(1, 1, 1, 1), new Random(4));
+
+    for (int cell = 0; cell < 10; cell++) {
+      strategy.recordShot(cell * 11, false);
+    }
+    assertEquals(1, strategy.getRebuilds());
+    strategy.selectShots(1, new int[1]);
+    assertEquals(2, strategy.getRebuilds());
+    // a rebuild is at most once a volley
+    strategy.selectShots(1, new int[1]);
+    assertEquals(2, strategy.getRebuilds());
+  }
+
+  private double[] scores(EntropyStrategy strategy, int cells) {
+    double[] scores = new double[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      scores[cell] = strategy.getScore(cell);
+    }
+    return scores;
+  }
+}
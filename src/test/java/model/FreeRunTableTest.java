@@ -0,0 +1,118 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FreeRunTableTest {
+
+  @Test
+  void emptyBoardTest() {
+    FreeRunTable table = new FreeRunTable(new Board(6, 8));
+
+    // a ship of size 3 fits at 6 columns of each of the 6 rows
+    assertEquals(36, table.countAnchors(3, Direction.HORIZONTAL));
+    // and at 4 rows of each of the 8 columns
+    assertEquals(32, table.countAnchors(3, Direction.VERTICAL));
+    assertEquals(0, table.countAnchors(7, Direction.VERTICAL));
+    assertEquals(0, table.countAnchors(20, Direction.HORIZONTAL));
+    // the seventh horizontal anchor is the first cell of the second row
+    assertEquals(8, table.anchor(3, Direction.HORIZONTAL, 6));
+    assertEquals(9, table.anchor(3, Direction.HORIZONTAL, 7));
+  }
+
+  @Test
+  void occupyTest() {
+    FreeRunTable table = new FreeRunTable(new Board(6, 6));
+
+    // a horizontal ship of size 3 in the middle of row 2
+    table.occupy(2 * 6 + 1, 3, Direction.HORIZONTAL);
+
+    // row 2 now has no room for a ship of size 3
+    assertEquals(20, table.countAnchors(3, Direction.HORIZONTAL));
+    // columns 1 to 3 each lose all of their vertical anchors but the one at row 3
+    assertEquals(15, table.countAnchors(3, Direction.VERTICAL));
+    assertEquals(3 * 6, table.anchor(3, Direction.HORIZONTAL, 8));
+  }
+
+  @Test
+  void matchesBoardScanTest() {
+    Random random = new Random(7);
+    Board board = new Board(12, 17);
+    FreeRunTable table = new FreeRunTable(board);
+
+    for (int placed = 0; placed < 20; placed++) {
+      int size = 2 + random.nextInt(5);
+      Direction direction = random.nextBoolean() ? Direction.HORIZONTAL : Direction.VERTICAL;
+      int count = table.countAnchors(size, direction);
+      if (count == 0) {
+        continue;
+      }
+      int anchor = table.anchor(size, direction, random.nextInt(count));
+      table.occupy(anchor, size, direction);
+      board.placeShip(shipAt(anchor % 17, anchor / 17, size, direction));
+
+      for (int s = 1; s <= 8; s++) {
+        assertEquals(scan(board, s, Direction.HORIZONTAL),
+            table.countAnchors(s, Direction.HORIZONTAL));
+        assertEquals(scan(board, s, Direction.VERTICAL),
+            table.countAnchors(s, Direction.VERTICAL));
+      }
+    }
+  }
+
+  @Test
+  void missingAnchorTest() {
+    FreeRunTable table = new FreeRunTable(new Board(6, 6));
+    assertThrows(IllegalArgumentException.class,
+        () -> table.anchor(6, Direction.HORIZONTAL, 6));
+  }
+
+  /**
+   * Counts the open anchors on the given board by checking every cell.
+   */
+  private int scan(Board board, int size, Direction direction) {
+    int count = 0;
+    for (int y = 0; y < board.getHeight(); y++) {
+      for (int x = 0; x < board.getWidth(); x++) {
+        if (isOpen(board, x, y, size, direction)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Checks if the given number of cells starting at (x, y) and running in the given direction are
+   * all on the given board and unknown.
+   */
+  private boolean isOpen(Board board, int x, int y, int size, Direction direction) {
+    for (int i = 0; i < size; i++) {
+      int cx = direction == Direction.HORIZONTAL ? x + i : x;
+      int cy = direction == Direction.VERTICAL ? y + i : y;
+      if (cx >= board.getWidth() || cy >= board.getHeight()
+          || board.getStatus(cx, cy) != CoordStatus.UNKNOWN) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds a ship with the given first cell, size and direction.
+   */
+  private Ship shipAt(int x, int y, int size, Direction direction) {
+    List<Coord> coords = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      int cx = direction == Direction.HORIZONTAL ? x + i : x;
+      int cy = direction == Direction.VERTICAL ? y + i : y;
+      coords.add(new Coord(cx, cy, CoordStatus.SUBMARINESTATUS));
+    }
+    return new Ship(ShipType.SUBMARINE, coords, false);
+  }
+}
@@ -0,0 +1,125 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static model.StrategyFixture.totalTurns;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import view.ViewImpl;
+
+class HeatmapStrategyTest {
+
+  private final Readable input = new StringReader("");
+  private final ViewImpl view = new ViewImpl(input, new StringBuilder(), new Scanner(input));
+
+  @Test
+  void firstVolleyTest() {
+    HeatmapStrategy strategy = new HeatmapStrategy();
+    strategy.setup(10, 10, specs(1, 1, 1, 1), new Random(1));
+    int[] cells = new int[4];
+
+    assertEquals(4, strategy.selectShots(4, cells));
+    for (int cell : cells) {
+      int x = cell % 10;
+      int y = cell / 10;
+      // the centre of the board is covered by the most placements
+      assertTrue(x >= 3 && x <= 6 && y >= 3 && y <= 6);
+    }
+    // corners are covered by the fewest placements
+    assertTrue(strategy.getDensity(0) < strategy.getDensity(44));
+  }
+
+  @Test
+  void missAndHitTest() {
+    HeatmapStrategy strategy = new HeatmapStrategy();
+    strategy.setup(8, 8, specs(0, 0, 0, 1), new Random(2));
+    long before = strategy.getDensity(3 * 8 + 4);
+
+    strategy.recordShot(3 * 8 + 3, false);
+    assertTrue(strategy.getDensity(3 * 8 + 4) < before);
+    assertEquals(0, strategy.getDensity(3 * 8 + 3));
+
+    strategy.recordShot(5 * 8 + 5, true);
+    int[] cells = new int[1];
+    assertEquals(1, strategy.selectShots(1, cells));
+    // the next shot goes next to the hit
+    int dx = Math.abs(cells[0] % 8 - 5);
+    int dy = Math.abs(cells[0] / 8 - 5);
+    assertEquals(1, dx + dy);
+  }
+
+  @Test
+  void exhaustsBoardTest() {
+    HeatmapStrategy strategy = new HeatmapStrategy();
+    strategy.setup(6, 6, specs(1, 1, 1, 1), new Random(3));
+    int[] cells = new int[36];
+    boolean[] seen = new boolean[36];
+
+    assertEquals(30, strategy.selectShots(30, cells));
+    for (int i = 0; i < 30; i++) {
+      seen[cells[i]] = true;
+    }
+    assertEquals(6, strategy.selectShots(10, cells));
+    for (int i = 0; i < 6; i++) {
+      assertTrue(!seen[cells[i]]);
+    }
+    assertEquals(0, strategy.selectShots(1, cells));
+  }
+
+  @Test
+  void jointSalvoBenchmarkTest() {
+    Map<ShipType, Integer> specs = specs(1, 2, 2, 1);
+
+    // about 10.5 turns a game, against 11.2 for the highest cells
+    assertTrue(totalTurns(HeatmapStrategy::new, 10, specs, 100)
+        < totalTurns(() -> new HeatmapStrategy(false), 10, specs, 100));
+  }
+
+  @Test
+  void jointSalvoSpreadsTest() {
+    HeatmapStrategy joint = new HeatmapStrategy();
+    joint.setup(8, 8, specs(0, 0, 0, 1), new Random(5));
+    joint.recordShot(3 * 8 + 3, true);
+    long[] before = new long[64];
+    for (int cell = 0; cell < 64; cell++) {
+      before[cell] = joint.getDensity(cell);
+    }
+
+    int[] cells = new int[4];
+    assertEquals(4, joint.selectShots(4, cells));
+    // the volley covers the ways the submarine can lie across the hit, and the density map is
+    // left as it was
+    assertEquals(4, Set.of(cells[0], cells[1], cells[2], cells[3]).size());
+    for (int cell : cells) {
+      assertTrue(Math.abs(cell % 8 - 3) + Math.abs(cell / 8 - 3) <= 2);
+    }
+    for (int cell = 0; cell < 64; cell++) {
+      assertEquals(before[cell], joint.getDensity(cell));
+    }
+  }
+
+  @Test
+  void heatmapPlayerTest() {
+    Board board = new Board(6, 6);
+    Board other = new Board(6, 6);
+    ArtificialPlayer placer = new ArtificialPlayer("placer", view, other, board, new Random(4));
+    placer.setup(6, 6, specs(1, 1, 1, 1));
+    HeatmapPlayer player = new HeatmapPlayer("heat", view, board, other, new Random(4));
+    player.setup(6, 6, specs(1, 1, 1, 1));
+
+    List<Coord> shots = player.takeShots();
+    assertEquals(4, shots.size());
+    player.successfulHits(placer.reportDamage(shots));
+    for (Coord shot : shots) {
+      assertTrue(other.getStatus(shot.getX(), shot.getY()) == CoordStatus.HIT
+          || other.getStatus(shot.getX(), shot.getY()) == CoordStatus.MISS);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import view.ViewImpl;
+
+class HuntTargetStrategyTest {
+
+  private final Readable input = new StringReader("");
+  private final ViewImpl view = new ViewImpl(input, new StringBuilder(), new Scanner(input));
+
+  @Test
+  void huntParityTest() {
+    HuntTargetStrategy strategy = new HuntTargetStrategy();
+    strategy.setup(9, 9, specs(1, 1, 1, 1), new Random(1));
+    int[] cells = new int[27];
+
+    // submarines are the smallest ships, so a third of the board is hunted first
+    assertEquals(27, strategy.selectShots(27, cells));
+    int remainder = (cells[0] % 9 + cells[0] / 9) % 3;
+    for (int cell : cells) {
+      assertEquals(remainder, (cell % 9 + cell / 9) % 3);
+    }
+
+    // then the rest of the board, each cell once
+    assertEquals(54, strategy.selectShots(60, new int[60]));
+    assertEquals(0, strategy.selectShots(1, cells));
+  }
+
+  @Test
+  void targetNeighboursTest() {
+    HuntTargetStrategy strategy = new HuntTargetStrategy();
+    strategy.setup(8, 8, specs(1, 1, 1, 1), new Random(2));
+
+    strategy.recordShot(3 * 8 + 3, true);
+    int[] cells = new int[4];
+    assertEquals(4, strategy.selectShots(4, cells));
+    Set<Integer> chosen = new HashSet<>();
+    for (int cell : cells) {
+      chosen.add(cell);
+    }
+    assertEquals(Set.of(3 * 8 + 2, 3 * 8 + 4, 2 * 8 + 3, 4 * 8 + 3), chosen);
+
+    // a corner hit only has two neighbours
+    strategy.recordShot(0, true);
+    assertEquals(2, strategy.selectShots(2, cells));
+    assertEquals(Set.of(1, 8), Set.of(cells[0], cells[1]));
+  }
+
+  @Test
+  void extendLineTest() {
+    HuntTargetStrategy strategy = new HuntTargetStrategy();
+    strategy.setup(8, 8, specs(1, 1, 1, 1), new Random(3));
+
+    strategy.recordShot(4 * 8 + 2, true);
+    strategy.recordShot(4 * 8 + 3, true);
+    int[] cells = new int[2];
+    assertEquals(2, strategy.selectShots(2, cells));
+    // both ends of the line come before any other neighbour
+    assertEquals(Set.of(4 * 8 + 1, 4 * 8 + 4), Set.of(cells[0], cells[1]));
+
+    strategy.recordShot(4 * 8 + 4, true);
+    strategy.recordShot(4 * 8 + 1, false);
+    assertEquals(1, strategy.selectShots(1, cells));
+    assertEquals(4 * 8 + 5, cells[0]);
+
+    // a line against the edge of the board does not wrap onto the next row
+    strategy.recordShot(7, true);
+    strategy.recordShot(6, true);
+    assertEquals(1, strategy.selectShots(1, cells));
+    assertEquals(5, cells[0]);
+  }
+
+  @Test
+  void huntTargetPlayerTest() {
+    Board board = new Board(6, 6);
+    Board other = new Board(6, 6);
+    ArtificialPlayer placer = new ArtificialPlayer("placer", view, other, board, new Random(4));
+    placer.setup(6, 6, specs(1, 1, 1, 1));
+    HuntTargetPlayer player = new HuntTargetPlayer("hunt", view, board, other, new Random(4));
+    player.setup(6, 6, specs(1, 1, 1, 1));
+
+    Set<Integer> fired = new HashSet<>();
+    for (int turn = 0; turn < 9; turn++) {
+      for (Coord shot : player.takeShots()) {
+        assertTrue(fired.add(shot.getY() * 6 + shot.getX()));
+      }
+    }
+    assertEquals(36, fired.size());
+  }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import view.ViewImpl;
+
+class MonteCarloStrategyTest {
+
+  private final Readable input = new StringReader("");
+  private final ViewImpl view = new ViewImpl(input, new StringBuilder(), new Scanner(input));
+
+  @Test
+  void consistentLayoutsTest() {
+    MonteCarloStrategy strategy = new MonteCarloStrategy(256, ForkJoinPool.commonPool());
+    strategy.setup(8, 8, specs(1, 1, 1, 1), new Random(1));
+    strategy.recordShot(3 * 8 + 3, true);
+    strategy.recordShot(3 * 8 + 4, true);
+    strategy.recordShot(3 * 8 + 2, false);
+    strategy.recordShot(0, false);
+
+    int[] counts = strategy.sampleCounts(7);
+    int layouts = counts[64];
+    assertEquals(256, layouts);
+    // every layout covers both hits and neither miss
+    assertEquals(layouts, counts[3 * 8 + 3]);
+    assertEquals(layouts, counts[3 * 8 + 4]);
+    assertEquals(0, counts[3 * 8 + 2]);
+    assertEquals(0, counts[0]);
+
+    // the fleet covers 18 cells in every layout
+    int covered = 0;
+    for (int cell = 0; cell < 64; cell++) {
+      covered += counts[cell];
+    }
+    assertEquals(18 * layouts, covered);
+  }
+
+  @Test
+  void reproducibleTest() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool many = new ForkJoinPool(4);
+    try {
+      MonteCarloStrategy first = new MonteCarloStrategy(1000, single);
+      MonteCarloStrategy second = new MonteCarloStrategy(1000, many);
+      first.setup(10, 10, specs(1, 2, 2, 1), new Random(2));
+      second.setup(10, 10, specs(1, 2, 2, 1), new Random(2));
+      for (MonteCarloStrategy strategy : List.of(first, second)) {
+        strategy.recordShot(55, true);
+        strategy.recordShot(12, false);
+      }
+
+      assertArrayEquals(first.sampleCounts(3), second.sampleCounts(3));
+      int[] firstCells = new int[6];
+      int[] secondCells = new int[6];
+      assertEquals(6, first.selectShots(6, firstCells));
+      assertEquals(6, second.selectShots(6, secondCells));
+      assertArrayEquals(firstCells, secondCells);
+    } finally {
+      single.shutdown();
+      many.shutdown();
+    }
+  }
+
+  @Test
+  void targetsAroundHitsTest() {
+    MonteCarloStrategy strategy = new MonteCarloStrategy(512, ForkJoinPool.commonPool());
+    strategy.setup(8, 8, specs(0, 0, 0, 1), new Random(3));
+    strategy.recordShot(5 * 8 + 5, true);
+
+    int[] cells = new int[1];
+    assertEquals(1, strategy.selectShots(1, cells));
+    assertEquals(1, Math.abs(cells[0] % 8 - 5) + Math.abs(cells[0] / 8 - 5));
+  }
+
+  @Test
+  void invalidSamplesTest() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy(0, ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  void monteCarloPlayerTest() {
+    Board board = new Board(6, 6);
+    Board other = new Board(6, 6);
+    ArtificialPlayer placer = new ArtificialPlayer("placer", view, other, board, new Random(4));
+    placer.setup(6, 6, specs(1, 1, 1, 1));
+    MonteCarloPlayer player = new MonteCarloPlayer("mc", view, board, other, new Random(4), 128,
+        ForkJoinPool.commonPool());
+    player.setup(6, 6, specs(1, 1, 1, 1));
+
+    List<Coord> shots = player.takeShots();
+    assertEquals(4, shots.size());
+    player.successfulHits(placer.reportDamage(shots));
+    assertEquals(4, player.takeShots().size());
+  }
+}
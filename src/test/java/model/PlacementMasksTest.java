@@ -0,0 +1,71 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class PlacementMasksTest {
+
+  @Test
+  void countTest() {
+    // 6 rows of 4 horizontal placements, then 2 rows of 8 vertical placements
+    PlacementMasks masks = PlacementMasks.of(6, 8, 5);
+    assertEquals(24 + 16, masks.count());
+    assertEquals(Direction.HORIZONTAL, masks.direction(23));
+    assertEquals(Direction.VERTICAL, masks.direction(24));
+    assertEquals(0, PlacementMasks.of(4, 4, 5).count());
+    assertEquals(6, PlacementMasks.of(3, 6, 5).count());
+  }
+
+  @Test
+  void cellsTest() {
+    PlacementMasks masks = PlacementMasks.of(6, 8, 3);
+    int vertical = masks.count() - 1;
+    assertEquals(3 * 8 + 7, masks.anchor(vertical));
+    assertEquals(5 * 8 + 7, masks.cell(vertical, 2));
+    assertEquals(1, masks.cell(1, 0));
+    assertEquals(3, masks.cell(1, 2));
+
+    // a corner cell is covered by one horizontal and one vertical placement
+    assertEquals(2, masks.coveringCount(0));
+    // a middle cell is covered by three of each
+    assertEquals(6, masks.coveringCount(2 * 8 + 3));
+    for (int i = 0; i < masks.coveringCount(20); i++) {
+      int p = masks.covering(20, i);
+      long[] cell = new long[1];
+      Bits.set(cell, 20);
+      assertTrue(masks.intersects(p, cell));
+    }
+  }
+
+  @Test
+  void addRemoveTest() {
+    PlacementMasks masks = PlacementMasks.of(10, 10, 4);
+    long[] cells = new long[Bits.words(100)];
+    masks.addTo(masks.count() - 1, cells);
+    assertEquals(4, Bits.count(cells));
+    assertTrue(Bits.get(cells, 99));
+    assertTrue(Bits.get(cells, 69));
+    masks.removeFrom(masks.count() - 1, cells);
+    assertFalse(Bits.intersects(cells, cells));
+  }
+
+  @Test
+  void sharedTest() throws Exception {
+    assertTrue(PlacementMasks.of(9, 11, 4) == PlacementMasks.of(9, 11, 4));
+
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      Future<PlacementMasks> a = pool.submit(() -> PlacementMasks.of(13, 14, 6));
+      Future<PlacementMasks> b = pool.submit(() -> PlacementMasks.of(13, 14, 6));
+      assertTrue(a.get() == b.get());
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package model;
+
+import static model.ShipType.CARRIER;
+import static model.ShipType.SUBMARINE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import view.ViewImpl;
+
+class PlacementSolverTest {
+
+  @Test
+  void solveFullBoardTest() {
+    // six carriers fill a 6x6 board exactly, which needs backtracking to find
+    PlacementSolver solver = new PlacementSolver(6, 6, Collections.nCopies(6, CARRIER));
+
+    for (int seed = 0; seed < 20; seed++) {
+      List<Ship> ships = solver.solve(new Random(seed));
+      assertEquals(6, ships.size());
+      assertEquals(36, coveredCells(ships, 6).size());
+    }
+  }
+
+  @Test
+  void infeasibleFleetTest() {
+    assertFalse(new PlacementSolver(6, 6, Collections.nCopies(7, CARRIER)).mayFit());
+    assertNull(new PlacementSolver(6, 6, Collections.nCopies(7, CARRIER)).solve(new Random(1)));
+    assertNull(new PlacementSolver(5, 5, List.of(CARRIER)).solve(new Random(1)));
+    assertNull(new PlacementSolver(5, 5, List.of(CARRIER)).sampleUniform(new Random(1)));
+
+    // five carriers have the cells of a 4x10 board, but only one fits across each of its rows
+    PlacementSolver rows = new PlacementSolver(4, 10, Collections.nCopies(5, CARRIER));
+    assertFalse(rows.mayFit());
+    assertNull(rows.solve(new Random(1)));
+    assertNull(rows.sampleUniform(new Random(1)));
+    assertTrue(new PlacementSolver(4, 10, Collections.nCopies(4, CARRIER)).mayFit());
+    assertFalse(new PlacementSolver(4, 11, Collections.nCopies(7, CARRIER)).mayFit());
+    // two fit across each row of a 4x12 board
+    PlacementSolver pairs = new PlacementSolver(4, 12, Collections.nCopies(8, CARRIER));
+    assertTrue(pairs.mayFit());
+    assertEquals(8, pairs.solve(new Random(1)).size());
+  }
+
+  @Test
+  void sampleUniformTest() {
+    // two submarines on a 3x3 board: either two of the three rows or two of the three columns
+    PlacementSolver solver = new PlacementSolver(3, 3, List.of(SUBMARINE, SUBMARINE));
+    Map<Set<Integer>, Integer> layouts = new HashMap<>();
+    Random random = new Random(3);
+
+    for (int i = 0; i < 6000; i++) {
+      Set<Integer> cells = coveredCells(solver.sampleUniform(random), 3);
+      assertEquals(6, cells.size());
+      layouts.merge(cells, 1, Integer::sum);
+    }
+
+    assertEquals(6, layouts.size());
+    for (int count : layouts.values()) {
+      assertTrue(count > 850 && count < 1150);
+    }
+  }
+
+  @Test
+  void setupFallsBackToSolverTest() {
+    Readable input = new StringReader("");
+    ViewImpl view = new ViewImpl(input, new StringBuilder(), new Scanner(input));
+    Map<ShipType, Integer> specs = new HashMap<>();
+    specs.put(CARRIER, 6);
+    specs.put(ShipType.BATTLESHIP, 0);
+    specs.put(ShipType.DESTROYER, 0);
+    specs.put(SUBMARINE, 0);
+
+    for (int seed = 0; seed < 20; seed++) {
+      Board board = new Board(6, 6);
+      AbstractPlayer player = new ArtificialPlayer("ai", view, board, board, new Random(seed));
+      assertEquals(6, player.setup(6, 6, specs).size());
+      assertEquals(6, player.shotsAvailable());
+    }
+
+    specs.put(CARRIER, 7);
+    Board board = new Board(6, 6);
+    AbstractPlayer player = new ArtificialPlayer("ai", view, board, board, new Random(1));
+    assertThrows(IllegalStateException.class, () -> player.setup(6, 6, specs));
+  }
+
+  /**
+   * Collects the packed cells covered by the given ships, checking that none overlap.
+   */
+  private Set<Integer> coveredCells(List<Ship> ships, int width) {
+    Set<Integer> cells = new HashSet<>();
+    for (Ship ship : ships) {
+      for (Coord coord : ship.getShipCoords()) {
+        assertTrue(cells.add(coord.getY() * width + coord.getX()));
+      }
+    }
+    return cells;
+  }
+}
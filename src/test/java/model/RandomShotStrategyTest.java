@@ -0,0 +1,47 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RandomShotStrategyTest {
+
+  private final Map<ShipType, Integer> specs = new HashMap<>();
+
+  @Test
+  void drawsEveryCellOnceTest() {
+    RandomShotStrategy strategy = new RandomShotStrategy();
+    strategy.setup(6, 7, specs, new Random(1));
+    int[] cells = new int[5];
+    Set<Integer> drawn = new HashSet<>();
+
+    for (int turn = 0; turn < 8; turn++) {
+      assertEquals(5, strategy.selectShots(5, cells));
+      for (int cell : cells) {
+        assertTrue(cell >= 0 && cell < 42 && drawn.add(cell));
+      }
+    }
+    assertEquals(2, strategy.selectShots(5, cells));
+    drawn.add(cells[0]);
+    drawn.add(cells[1]);
+    assertEquals(42, drawn.size());
+    assertEquals(0, strategy.selectShots(5, cells));
+  }
+
+  @Test
+  void setupRefillsTest() {
+    RandomShotStrategy strategy = new RandomShotStrategy();
+    strategy.setup(10, 10, specs, new Random(2));
+    int[] cells = new int[100];
+    assertEquals(100, strategy.selectShots(100, cells));
+
+    strategy.setup(6, 6, specs, new Random(3));
+    assertEquals(36, strategy.selectShots(100, cells));
+  }
+}
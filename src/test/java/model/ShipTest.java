@@ -5,6 +5,7 @@ import static model.CoordStatus.HIT;
 import static model.CoordStatus.SUBMARINESTATUS;
 import static model.ShipType.DESTROYER;
 import static model.ShipType.SUBMARINE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -71,6 +72,59 @@ class ShipTest {
     assertTrue(bs2.getSunk());
     dest.updateSunk();
     assertFalse(dest.getSunk());
+    cs3.updateSunk();
+    assertTrue(cs3.getSunk());
+    as1.hit(0, 2);
+    as1.updateSunk();
+    assertTrue(as1.getSunk());
+  }
+
+  @Test
+  void hitTest() {
+    assertFalse(as1.hit(0, 0));
+    assertFalse(as1.getSunk());
+    assertTrue(as1.hit(0, 2));
+    assertTrue(as1.getSunk());
+    assertFalse(as1.hit(0, 2));
+    assertFalse(dest.hit(0, 3));
+    assertFalse(dest.hit(0, 3));
+    assertFalse(dest.getSunk());
+  }
+
+  @Test
+  void madeSunkTest() {
+    // a ship made sunk stays sunk, and hitting it never sinks it again
+    Ship sunk = new Ship(DESTROYER, destCoords, true);
+    sunk.updateSunk();
+    assertTrue(sunk.getSunk());
+    assertFalse(sunk.hit(0, 3));
+    assertEquals(HIT, dest2.getStatus());
+    sunk.updateSunk();
+    assertTrue(sunk.getSunk());
+    for (Coord coord : destCoords) {
+      assertFalse(sunk.hit(coord.getX(), coord.getY()));
+    }
+    assertTrue(sunk.getSunk());
+  }
+
+  @Test
+  void hitOffShipTest() {
+    // before, past and beside the ship, none of which it populates
+    assertFalse(dest.hit(0, 1));
+    assertFalse(dest.hit(0, 6));
+    assertFalse(dest.hit(0, 40));
+    assertFalse(dest.hit(1, 3));
+    for (Coord coord : destCoords) {
+      assertEquals(DESTROYERSTATUS, coord.getStatus());
+    }
+
+    Ship reversed = new Ship(SUBMARINE, new ArrayList<>(Arrays.asList(
+        new Coord(4, 0, SUBMARINESTATUS), new Coord(3, 0, SUBMARINESTATUS),
+        new Coord(2, 0, SUBMARINESTATUS))), false);
+    assertFalse(reversed.hit(2, 0));
+    assertFalse(reversed.hit(5, 0));
+    assertFalse(reversed.hit(3, 0));
+    assertTrue(reversed.hit(4, 0));
   }
 
   @Test
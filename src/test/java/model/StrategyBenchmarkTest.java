@@ -0,0 +1,40 @@
+package model;
+
+import static model.StrategyFixture.specs;
+import static model.StrategyFixture.totalTurns;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares how many volleys each shot strategy takes to sink a fleet against random shots.
+ */
+class StrategyBenchmarkTest {
+
+  @Test
+  void beatsRandomShotsTest() {
+    Map<ShipType, Integer> specs = specs(1, 2, 2, 1);
+    // about 17 turns a game
+    int randomTurns = totalTurns(RandomShotStrategy::new, 10, specs, 30);
+
+    // about 13 turns a game
+    assertTrue(totalTurns(HuntTargetStrategy::new, 10, specs, 30) * 5 < randomTurns * 4);
+    // about 11 turns a game
+    assertTrue(totalTurns(() -> new HeatmapStrategy(false), 10, specs, 30) * 4 < randomTurns * 3);
+    // about 10.5 turns a game
+    assertTrue(totalTurns(HeatmapStrategy::new, 10, specs, 30) * 3 < randomTurns * 2);
+    // about 10 turns a game
+    assertTrue(totalTurns(() -> new MonteCarloStrategy(256, ForkJoinPool.commonPool()), 10,
+        specs, 30) * 4 < randomTurns * 3);
+  }
+
+  @Test
+  void largeBoardTest() {
+    Map<ShipType, Integer> specs = specs(2, 2, 2, 2);
+    int randomTurns = totalTurns(RandomShotStrategy::new, 15, specs, 20);
+
+    assertTrue(totalTurns(EntropyStrategy::new, 15, specs, 20) * 3 < randomTurns * 2);
+  }
+}
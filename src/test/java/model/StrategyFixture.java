@@ -0,0 +1,90 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Fleets and seeded games shared by the tests of shot strategies and of the players that use them.
+ */
+public final class StrategyFixture {
+
+  private StrategyFixture() {
+  }
+
+  /**
+   * Builds a fleet spec with the given number of each ship.
+   *
+   * @param carriers    - The number of carriers.
+   * @param battleships - The number of battleships.
+   * @param destroyers  - The number of destroyers.
+   * @param subs        - The number of submarines.
+   * @return - The fleet spec.
+   */
+  public static Map<ShipType, Integer> specs(int carriers, int battleships, int destroyers,
+                                             int subs) {
+    Map<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, carriers);
+    specs.put(ShipType.BATTLESHIP, battleships);
+    specs.put(ShipType.DESTROYER, destroyers);
+    specs.put(ShipType.SUBMARINE, subs);
+    return specs;
+  }
+
+  /**
+   * Plays one seeded game on a square board of a strategy whose own ships stay afloat against a
+   * placed fleet, firing a shot for each ship in the fleet every volley, and counts the volleys it
+   * takes to sink every ship.
+   *
+   * @param strategy - The strategy, set up by this game.
+   * @param size     - The width and height of the board.
+   * @param specs    - The fleet.
+   * @param seed     - The seed of the fleet's placement; the strategy's is the seed plus 1000.
+   * @return - The number of volleys.
+   */
+  public static int turnsToSink(ShotStrategy strategy, int size, Map<ShipType, Integer> specs,
+                                int seed) {
+    Board target = new Board(size, size);
+    Board own = new Board(size, size);
+    new ArtificialPlayer("placer", null, target, own, new Random(seed)).setup(size, size, specs);
+
+    strategy.setup(size, size, specs, new Random(seed + 1000));
+    int volley = 0;
+    for (int count : specs.values()) {
+      volley += count;
+    }
+    int[] cells = new int[volley];
+    int turns = 0;
+
+    while (target.getShipsAfloat() > 0) {
+      int count = strategy.selectShots(volley, cells);
+      for (int i = 0; i < count; i++) {
+        strategy.recordShot(cells[i], target.reportBoardDamage(new Coord(cells[i] % size,
+            cells[i] / size, CoordStatus.UNKNOWN)));
+      }
+      turns++;
+    }
+
+    return turns;
+  }
+
+  /**
+   * Plays the games of seeds 0 up to the given number with a new strategy each, and adds up the
+   * volleys they take.
+   *
+   * @param strategies - Makes the strategy of each game.
+   * @param size       - The width and height of the board.
+   * @param specs      - The fleet.
+   * @param games      - The number of games.
+   * @return - The number of volleys in all the games.
+   */
+  public static int totalTurns(Supplier<ShotStrategy> strategies, int size,
+                               Map<ShipType, Integer> specs, int games) {
+    int turns = 0;
+    for (int seed = 0; seed < games; seed++) {
+      turns += turnsToSink(strategies.get(), size, specs, seed);
+    }
+    return turns;
+  }
+}
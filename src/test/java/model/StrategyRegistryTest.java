@@ -0,0 +1,51 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class StrategyRegistryTest {
+
+  @Test
+  void shotStrategiesTest() {
+    Set<String> names = StrategyRegistry.shotStrategyNames();
+    assertEquals(List.of("endgame", "entropy", "heatmap", "hunt-target", "monte-carlo", "random"),
+        List.copyOf(names));
+
+    for (String name : names) {
+      ShotStrategy strategy = StrategyRegistry.shotStrategy(name);
+      assertEquals(name, strategy.name());
+      assertNotSame(strategy, StrategyRegistry.shotStrategy(name));
+    }
+    assertTrue(StrategyRegistry.shotStrategy("random") instanceof RandomShotStrategy);
+    assertEquals(TurnCost.CONSTANT, StrategyRegistry.shotStrategy("random").cost());
+    assertEquals(TurnCost.SEARCH, StrategyRegistry.shotStrategy("endgame").cost());
+    assertTrue(names.contains(StrategyRegistry.DEFAULT_SHOT_STRATEGY));
+  }
+
+  @Test
+  void placementStrategiesTest() {
+    Set<String> names = StrategyRegistry.placementStrategyNames();
+    assertEquals(List.of("greedy", "uniform"), List.copyOf(names));
+
+    assertTrue(StrategyRegistry.placementStrategy("greedy") instanceof GreedyPlacementStrategy);
+    assertTrue(StrategyRegistry.placementStrategy("uniform") instanceof UniformPlacementStrategy);
+    assertTrue(names.contains(StrategyRegistry.DEFAULT_PLACEMENT_STRATEGY));
+  }
+
+  @Test
+  void unknownStrategyTest() {
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> StrategyRegistry.shotStrategy("psychic"));
+    assertTrue(e.getMessage().contains("heatmap"));
+    assertThrows(IllegalArgumentException.class,
+        () -> StrategyRegistry.placementStrategy("random"));
+    assertThrows(UnsupportedOperationException.class,
+        () -> StrategyRegistry.shotStrategyNames().add("psychic"));
+  }
+}
@@ -0,0 +1,29 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TopCellsTest {
+
+  @Test
+  void chooseTest() {
+    double[] values = {1, 5, 3, 5, 0, 9, 2, 5};
+    long[] fired = new long[1];
+    Bits.set(fired, 5);
+    TopCells top = new TopCells();
+
+    int[] cells = new int[3];
+    top.choose(cell -> values[cell], fired, values.length, 0, 3, cells);
+    assertArrayEquals(new int[] {1, 3, 7}, cells);
+
+    // of equal values the first scanned is kept, and the scan wraps around the board
+    top.choose(cell -> values[cell], fired, values.length, 6, 2, cells);
+    assertArrayEquals(new int[] {7, 1}, new int[] {cells[0], cells[1]});
+
+    int[] more = new int[5];
+    top.choose(cell -> values[cell], fired, values.length, 4, 5, more);
+    assertArrayEquals(new int[] {7, 1, 3, 2, 6}, more);
+  }
+
+}
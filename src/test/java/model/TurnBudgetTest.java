@@ -0,0 +1,172 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import view.ViewImpl;
+
+class TurnBudgetTest {
+
+  private long now;
+
+  @Test
+  void refinesUntilDoneTest() {
+    TurnBudget budget = new TurnBudget(Duration.ofNanos(100), () -> now);
+    StepStrategy strategy = new StepStrategy(3, 10, false);
+
+    assertEquals(2, budget.run(strategy, 2, new int[2]));
+    assertEquals(3, strategy.refined);
+    assertEquals(1, budget.getTurns());
+    assertEquals(0, budget.getBudgetHits());
+    assertEquals(3, budget.getSteps());
+    assertEquals(Duration.ofNanos(30), budget.getSlowestTurn());
+  }
+
+  @Test
+  void stopsAtDeadlineTest() {
+    TurnBudget budget = new TurnBudget(Duration.ofNanos(25), () -> now);
+    StepStrategy strategy = new StepStrategy(100, 10, false);
+
+    int[] cells = new int[4];
+    assertEquals(4, budget.run(strategy, 4, cells));
+    // steps start at 0, 10 and 20 ns, and the check at 30 ns ends the turn
+    assertEquals(3, strategy.refined);
+    assertEquals(1, budget.getBudgetHits());
+
+    // a zero budget still gives a full volley
+    TurnBudget none = new TurnBudget(Duration.ZERO, () -> now);
+    strategy = new StepStrategy(100, 10, false);
+    assertEquals(4, none.run(strategy, 4, cells));
+    assertEquals(0, strategy.refined);
+    assertEquals(1, none.getBudgetHits());
+  }
+
+  @Test
+  void failingStepTest() {
+    TurnBudget budget = new TurnBudget(Duration.ofNanos(100), () -> now);
+    StepStrategy strategy = new StepStrategy(5, 10, true);
+
+    assertEquals(3, budget.run(strategy, 3, new int[3]));
+    assertEquals(1, budget.getFailures());
+    assertEquals(0, budget.getBudgetHits());
+    assertThrows(IllegalArgumentException.class, () -> new TurnBudget(Duration.ofMillis(-1)));
+  }
+
+  @Test
+  void mergeTest() {
+    TurnBudget budget = new TurnBudget(Duration.ofNanos(25), () -> now);
+    budget.run(new StepStrategy(100, 10, false), 2, new int[2]);
+    TurnBudget other = new TurnBudget(Duration.ofNanos(25), () -> now);
+    other.run(new StepStrategy(5, 10, true), 2, new int[2]);
+    other.run(new StepStrategy(1, 10, false), 2, new int[2]);
+
+    budget.merge(other);
+    assertEquals(3, budget.getTurns());
+    assertEquals(1, budget.getBudgetHits());
+    assertEquals(1, budget.getFailures());
+    assertEquals(6, budget.getSteps());
+    assertEquals(Duration.ofNanos(30), budget.getSlowestTurn());
+    assertEquals("turn budget 0.0 ms: 3 turns, 1 hit the budget, 1 failed, 6 steps, "
+        + "slowest 0.0 ms", budget.summary());
+  }
+
+  @Test
+  void budgetedPlayerTest() {
+    Readable input = new StringReader("");
+    ViewImpl view = new ViewImpl(input, new StringBuilder(), new Scanner(input));
+    Map<ShipType, Integer> specs = new HashMap<>();
+    for (ShipType type : ShipType.values()) {
+      specs.put(type, 1);
+    }
+    Board board = new Board(10, 10);
+    Board other = new Board(10, 10);
+    MonteCarloPlayer player = new MonteCarloPlayer("mc", view, board, other, new Random(1),
+        1 << 20, ForkJoinPool.commonPool());
+    player.setup(10, 10, specs);
+    TurnBudget budget = new TurnBudget(Duration.ofMillis(20));
+    player.setTurnBudget(budget);
+
+    List<Coord> shots = player.takeShots();
+    assertEquals(4, shots.size());
+    assertEquals(1, budget.getTurns());
+    // a million layouts cannot be sampled in 20 ms
+    assertEquals(1, budget.getBudgetHits());
+    assertTrue(budget.getSlowestTurn().toMillis() < 1000);
+    assertTrue(budget == player.getTurnBudget());
+  }
+
+  /**
+   * A strategy whose steps each move the test clock forward.
+   */
+  private class StepStrategy implements AnytimeStrategy {
+
+    private final int steps;
+    private final long stepNanos;
+    private final boolean fails;
+    private int refined;
+
+    StepStrategy(int steps, long stepNanos, boolean fails) {
+      this.steps = steps;
+      this.stepNanos = stepNanos;
+      this.fails = fails;
+    }
+
+    @Override
+    public String name() {
+      return "step";
+    }
+
+    @Override
+    public TurnCost cost() {
+      return TurnCost.SAMPLING;
+    }
+
+    @Override
+    public void setup(int height, int width, Map<ShipType, Integer> specifications,
+                      Random random) {
+      // nothing to prepare
+    }
+
+    @Override
+    public int selectShots(int shots, int[] cells) {
+      return bestVolley(shots, cells);
+    }
+
+    @Override
+    public void recordShot(int cell, boolean hit) {
+      // nothing to record
+    }
+
+    @Override
+    public void beginVolley() {
+      refined = 0;
+    }
+
+    @Override
+    public boolean refine() {
+      if (fails && refined == 2) {
+        throw new IllegalStateException("step failed");
+      }
+      now += stepNanos;
+      return ++refined < steps;
+    }
+
+    @Override
+    public int bestVolley(int shots, int[] cells) {
+      for (int i = 0; i < shots; i++) {
+        cells[i] = i;
+      }
+      return shots;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class UniformPlacementStrategyTest {
+
+  @Test
+  void placeTest() {
+    List<ShipType> fleet = List.of(ShipType.CARRIER, ShipType.BATTLESHIP, ShipType.DESTROYER,
+        ShipType.SUBMARINE, ShipType.SUBMARINE);
+    PlacementStrategy strategy = new UniformPlacementStrategy();
+    Random random = new Random(1);
+
+    for (int round = 0; round < 20; round++) {
+      Board board = new Board(7, 9);
+      List<Ship> ships = strategy.place(board, fleet, random);
+      assertEquals(fleet.size(), ships.size());
+
+      Set<Integer> cells = new HashSet<>();
+      for (Ship ship : ships) {
+        for (Coord coord : ship.getShipCoords()) {
+          assertTrue(coord.getX() < 9 && coord.getY() < 7);
+          assertTrue(cells.add(coord.getY() * 9 + coord.getX()));
+        }
+      }
+      assertEquals(6 + 5 + 4 + 3 + 3, cells.size());
+    }
+  }
+
+  @Test
+  void impossibleFleetTest() {
+    List<ShipType> fleet = List.of(ShipType.CARRIER, ShipType.CARRIER);
+    assertNull(new UniformPlacementStrategy().place(new Board(6, 1), fleet, new Random(2)));
+  }
+}
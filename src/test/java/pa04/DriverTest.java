@@ -1,7 +1,10 @@
 package pa04;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import cs3500.pa04.Driver;
 import org.junit.jupiter.api.Test;
 
 class DriverTest {
@@ -12,4 +15,14 @@ class DriverTest {
     assertEquals(5, 5);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void unknownStrategyTest() {
+    Exception shots = assertThrows(IllegalArgumentException.class,
+        () -> Driver.main(new String[] {"localhost", "35001", "psychic"}));
+    assertTrue(shots.getMessage().contains("psychic"));
+    Exception placement = assertThrows(IllegalArgumentException.class,
+        () -> Driver.main(new String[] {"localhost", "35001", "heatmap", "psychic"}));
+    assertTrue(placement.getMessage().contains("placement"));
+  }
+
+}